@@ -19,5 +19,13 @@
 package org.apache.skywalking.apm.commons.datacarrier.buffer;
 
 public enum BufferStrategy {
-    BLOCKING, IF_POSSIBLE
+    BLOCKING, IF_POSSIBLE,
+    /**
+     * Use {@link RingBuffer} as the channel, the producer waits for the free slot when the buffer is full.
+     */
+    RING_BLOCKING,
+    /**
+     * Use {@link RingBuffer} as the channel, the data is abandoned when the buffer is full.
+     */
+    RING_IF_POSSIBLE
 }
@@ -37,6 +37,9 @@ public class Channels<T> {
         for (int i = 0; i < channelSize; i++) {
             if (BufferStrategy.BLOCKING.equals(strategy)) {
                 bufferChannels[i] = new ArrayBlockingQueueBuffer<>(bufferSize, strategy);
+            } else if (BufferStrategy.RING_BLOCKING.equals(strategy) || BufferStrategy.RING_IF_POSSIBLE.equals(
+                strategy)) {
+                bufferChannels[i] = new RingBuffer<>(bufferSize, strategy);
             } else {
                 bufferChannels[i] = new Buffer<>(bufferSize, strategy);
             }
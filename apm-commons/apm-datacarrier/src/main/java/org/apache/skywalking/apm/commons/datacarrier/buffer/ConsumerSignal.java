@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ConsumerSignal parks the idle consumer thread, and the producers of the registered {@link RingBuffer}s unpark it when
+ * new data is published. For other {@link QueueBuffer} implementations, the consumer thread just waits for the timeout,
+ * as same as sleeping for the consume cycle.
+ */
+public class ConsumerSignal {
+    private final Thread consumer;
+    private volatile List<RingBuffer<?>> ringBuffers;
+    private volatile boolean waiting;
+
+    public ConsumerSignal(Thread consumer) {
+        this.consumer = consumer;
+        this.ringBuffers = new ArrayList<>();
+    }
+
+    /**
+     * Register the buffer, which is consumed by the {@link #consumer} thread.
+     */
+    public void register(QueueBuffer<?> buffer) {
+        if (buffer instanceof RingBuffer) {
+            RingBuffer<?> ringBuffer = (RingBuffer<?>) buffer;
+            // Recreate the new list to avoid change list while the list is used in waiting.
+            List<RingBuffer<?>> newList = new ArrayList<>(ringBuffers);
+            newList.add(ringBuffer);
+            ringBuffers = newList;
+            ringBuffer.setConsumerSignal(this);
+        }
+    }
+
+    /**
+     * Park the consumer thread until the timeout, or the new data is published into any registered {@link RingBuffer}.
+     * Should only be called by the consumer thread.
+     */
+    public void await(long timeoutInMillis) {
+        waiting = true;
+        try {
+            // Double check after the waiting flag is visible, to avoid missing the wake up signal.
+            for (RingBuffer<?> ringBuffer : ringBuffers) {
+                if (!ringBuffer.isEmpty()) {
+                    return;
+                }
+            }
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(timeoutInMillis));
+            // Ignore the interruption as the sleeping consumer did, otherwise the following parks return immediately.
+            Thread.interrupted();
+        } finally {
+            waiting = false;
+        }
+    }
+
+    /**
+     * Unpark the consumer thread if it is waiting.
+     */
+    void wakeUp() {
+        if (waiting) {
+            LockSupport.unpark(consumer);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The multiple producers, single consumer ring buffer.
+ * <p>
+ * Every slot has its own sequence. A producer claims the next sequence through CAS, writes the data, then publishes
+ * the slot by moving the slot sequence forward. The consumer only reads the published slots in the sequence order, and
+ * releases the slot to the next round after reading. So the unread data is never overwritten, and the consumer doesn't
+ * scan the empty slots.
+ * <p>
+ * The buffer size is rounded up to the power of 2. There must be only one consumer thread obtaining the data, which is
+ * guaranteed by {@link org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumeDriver} and {@link
+ * org.apache.skywalking.apm.commons.datacarrier.consumer.BulkConsumePool}.
+ */
+public class RingBuffer<T> implements QueueBuffer<T> {
+    private final Object[] buffer;
+    /**
+     * Slot sequence. Sequence == the claimable sequence means the slot is free, sequence == claimed sequence + 1 means
+     * the data in this slot has been published.
+     */
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong producerCursor;
+    /**
+     * Only accessed by the consumer thread.
+     */
+    private long consumerCursor;
+    private volatile BufferStrategy strategy;
+    private volatile ConsumerSignal consumerSignal;
+
+    RingBuffer(int bufferSize, BufferStrategy strategy) {
+        int capacity = 1;
+        while (capacity < bufferSize) {
+            capacity <<= 1;
+        }
+        buffer = new Object[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        mask = capacity - 1;
+        producerCursor = new AtomicLong(0);
+        consumerCursor = 0;
+        this.strategy = strategy;
+    }
+
+    @Override
+    public void setStrategy(BufferStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override
+    public boolean save(T data) {
+        long sequence;
+        int index;
+        while (true) {
+            sequence = producerCursor.get();
+            index = (int) sequence & mask;
+            final long diff = sequences.get(index) - sequence;
+            if (diff == 0) {
+                if (producerCursor.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+            } else if (diff < 0) {
+                // The slot hasn't been consumed since last round, the buffer is full.
+                if (!isBlocking()) {
+                    return false;
+                }
+                waitForConsumer();
+            }
+            // Otherwise, the sequence has been claimed by another producer, retry.
+        }
+
+        buffer[index] = data;
+        sequences.set(index, sequence + 1);
+
+        final ConsumerSignal signal = consumerSignal;
+        if (signal != null) {
+            signal.wakeUp();
+        }
+        return true;
+    }
+
+    @Override
+    public int getBufferSize() {
+        return buffer.length;
+    }
+
+    /**
+     * Obtain all published data in the sequence order. The slots are released to the producers one by one.
+     */
+    @Override
+    public void obtain(List<T> consumeList) {
+        long cursor = consumerCursor;
+        while (true) {
+            final int index = (int) cursor & mask;
+            if (sequences.get(index) != cursor + 1) {
+                break;
+            }
+            consumeList.add((T) buffer[index]);
+            buffer[index] = null;
+            sequences.lazySet(index, cursor + buffer.length);
+            cursor++;
+        }
+        consumerCursor = cursor;
+    }
+
+    /**
+     * @return true if there is no published data waiting for the consumer.
+     */
+    public boolean isEmpty() {
+        return sequences.get((int) consumerCursor & mask) != consumerCursor + 1;
+    }
+
+    /**
+     * Set the signal of the consumer thread, the producers wake up the consumer through it when new data is published.
+     */
+    public void setConsumerSignal(ConsumerSignal consumerSignal) {
+        this.consumerSignal = consumerSignal;
+    }
+
+    private boolean isBlocking() {
+        final BufferStrategy current = strategy;
+        return BufferStrategy.RING_BLOCKING.equals(current) || BufferStrategy.BLOCKING.equals(current);
+    }
+
+    private void waitForConsumer() {
+        final ConsumerSignal signal = consumerSignal;
+        if (signal != null) {
+            signal.wakeUp();
+        }
+        Thread.yield();
+    }
+}
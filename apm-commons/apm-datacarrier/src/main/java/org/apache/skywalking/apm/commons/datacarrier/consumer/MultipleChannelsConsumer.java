@@ -21,6 +21,7 @@ package org.apache.skywalking.apm.commons.datacarrier.consumer;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.ConsumerSignal;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.QueueBuffer;
 
 /**
@@ -33,11 +34,13 @@ public class MultipleChannelsConsumer extends Thread {
     @SuppressWarnings("NonAtomicVolatileUpdate")
     private volatile long size;
     private final long consumeCycle;
+    private final ConsumerSignal signal;
 
     public MultipleChannelsConsumer(String threadName, long consumeCycle) {
         super(threadName);
         this.consumeTargets = new ArrayList<Group>();
         this.consumeCycle = consumeCycle;
+        this.signal = new ConsumerSignal(this);
     }
 
     @Override
@@ -53,10 +56,7 @@ public class MultipleChannelsConsumer extends Thread {
             }
 
             if (!hasData) {
-                try {
-                    Thread.sleep(consumeCycle);
-                } catch (InterruptedException e) {
-                }
+                signal.await(consumeCycle);
             }
         }
 
@@ -94,6 +94,9 @@ public class MultipleChannelsConsumer extends Thread {
      */
     public void addNewTarget(Channels channels, IConsumer consumer) {
         Group group = new Group(channels, consumer);
+        for (int i = 0; i < channels.getChannelSize(); i++) {
+            signal.register(channels.getBuffer(i));
+        }
         // Recreate the new list to avoid change list while the list is used in consuming.
         ArrayList<Group> newList = new ArrayList<Group>();
         for (Group target : consumeTargets) {
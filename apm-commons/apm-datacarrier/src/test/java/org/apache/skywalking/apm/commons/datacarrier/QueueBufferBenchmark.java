@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.QueueBuffer;
+import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPartitioner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the {@link org.apache.skywalking.apm.commons.datacarrier.buffer.Buffer} and the {@link
+ * org.apache.skywalking.apm.commons.datacarrier.buffer.RingBuffer} in the non-blocking mode.
+ * <p>
+ * The produce/obtain group runs 4 producers and 1 consumer concurrently. The sparse obtain benchmark measures the cost
+ * of obtaining a few items from a large buffer, which is the normal case of the idle consumer threads.
+ */
+@BenchmarkMode({Mode.Throughput})
+public class QueueBufferBenchmark {
+
+    @State(Scope.Group)
+    public static class GroupState {
+        @Param({
+            "IF_POSSIBLE",
+            "RING_IF_POSSIBLE"
+        })
+        BufferStrategy strategy;
+
+        QueueBuffer<SampleData> buffer;
+        SampleData data = new SampleData();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            buffer = new Channels<>(1, 10000, new SimpleRollingPartitioner<SampleData>(), strategy).getBuffer(0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ConsumerState {
+        List<SampleData> consumeList = new ArrayList<>(10000);
+    }
+
+    @Benchmark
+    @Group("produceAndObtain")
+    @GroupThreads(4)
+    public boolean produce(GroupState state) {
+        return state.buffer.save(state.data);
+    }
+
+    @Benchmark
+    @Group("produceAndObtain")
+    @GroupThreads(1)
+    public int obtain(GroupState state, ConsumerState consumerState) {
+        consumerState.consumeList.clear();
+        state.buffer.obtain(consumerState.consumeList);
+        return consumerState.consumeList.size();
+    }
+
+    @State(Scope.Thread)
+    public static class SparseState {
+        @Param({
+            "BLOCKING",
+            "IF_POSSIBLE",
+            "RING_BLOCKING",
+            "RING_IF_POSSIBLE"
+        })
+        BufferStrategy strategy;
+
+        QueueBuffer<SampleData> buffer;
+        List<SampleData> consumeList = new ArrayList<>(10);
+        SampleData data = new SampleData();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            buffer = new Channels<>(1, 10000, new SimpleRollingPartitioner<SampleData>(), strategy).getBuffer(0);
+        }
+    }
+
+    @Benchmark
+    public void sparseObtain(SparseState state, Blackhole blackhole) {
+        for (int i = 0; i < 5; i++) {
+            state.buffer.save(state.data);
+        }
+        state.consumeList.clear();
+        state.buffer.obtain(state.consumeList);
+        blackhole.consume(state.consumeList);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(QueueBufferBenchmark.class.getName())
+                                          .addProfiler(GCProfiler.class)
+                                          .jvmArgsAppend("-Xmx512m", "-Xms512m")
+                                          .forks(1)
+                                          .build();
+        new Runner(opt).run();
+    }
+}
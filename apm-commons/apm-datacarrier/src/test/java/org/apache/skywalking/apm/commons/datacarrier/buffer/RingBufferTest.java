@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RingBufferTest {
+    @Test
+    public void testIfPossible() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(100, BufferStrategy.RING_IF_POSSIBLE);
+        Assert.assertEquals(128, buffer.getBufferSize());
+        Assert.assertTrue(buffer.isEmpty());
+
+        for (int i = 0; i < 128; i++) {
+            Assert.assertTrue(buffer.save(i));
+        }
+        // Never overwrite the unread data.
+        Assert.assertFalse(buffer.save(128));
+        Assert.assertFalse(buffer.isEmpty());
+
+        List<Integer> result = new ArrayList<>();
+        buffer.obtain(result);
+        Assert.assertEquals(128, result.size());
+        for (int i = 0; i < 128; i++) {
+            Assert.assertEquals(i, result.get(i).intValue());
+        }
+        Assert.assertTrue(buffer.isEmpty());
+
+        Assert.assertTrue(buffer.save(128));
+        result.clear();
+        buffer.obtain(result);
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals(128, result.get(0).intValue());
+    }
+
+    @Test
+    public void testMultipleProducers() throws InterruptedException {
+        final RingBuffer<Integer> buffer = new RingBuffer<>(64, BufferStrategy.RING_BLOCKING);
+        final int producerCount = 4;
+        final int countPerProducer = 10000;
+        final CountDownLatch latch = new CountDownLatch(producerCount);
+        for (int p = 0; p < producerCount; p++) {
+            final int base = p * countPerProducer;
+            new Thread(() -> {
+                for (int i = 0; i < countPerProducer; i++) {
+                    buffer.save(base + i);
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        Set<Integer> received = new HashSet<>();
+        List<Integer> consumeList = new ArrayList<>();
+        while (received.size() < producerCount * countPerProducer) {
+            buffer.obtain(consumeList);
+            for (Integer data : consumeList) {
+                Assert.assertTrue(received.add(data));
+            }
+            consumeList.clear();
+        }
+        latch.await();
+        Assert.assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testConsumerSignal() throws InterruptedException {
+        final RingBuffer<Integer> buffer = new RingBuffer<>(16, BufferStrategy.RING_IF_POSSIBLE);
+        final ConsumerSignal signal = new ConsumerSignal(Thread.currentThread());
+        signal.register(buffer);
+
+        new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+            }
+            buffer.save(1);
+        }).start();
+
+        long start = System.currentTimeMillis();
+        while (buffer.isEmpty()) {
+            signal.await(10_000);
+        }
+        Assert.assertTrue(System.currentTimeMillis() - start < 10_000);
+    }
+}
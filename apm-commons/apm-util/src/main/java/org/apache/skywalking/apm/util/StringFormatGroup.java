@@ -19,8 +19,11 @@
 package org.apache.skywalking.apm.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -29,10 +32,18 @@ import lombok.ToString;
 /**
  * Group patterns use {@link java.util.regex.Pattern} as core, could group the input strings to matched group or return
  * original string.
+ *
+ * The rules are compiled into a trie of their literal prefixes, and every rule keeps its literal suffix. So only the
+ * rules sharing the prefix and the suffix with the string are matched by the regex, in the order of the rules.
  */
 @ToString
 public class StringFormatGroup {
     private final List<PatternRule> rules;
+    /**
+     * The trie built from the current rules, it is rebuilt lazily after the rules are changed.
+     */
+    @ToString.Exclude
+    private volatile TrieNode compiled;
 
     public StringFormatGroup() {
         rules = new ArrayList<>();
@@ -52,6 +63,7 @@ public class StringFormatGroup {
         }
         PatternRule rule = new PatternRule(name, ruleRegex);
         rules.add(rule);
+        compiled = null;
     }
 
     /**
@@ -61,8 +73,20 @@ public class StringFormatGroup {
      * @return matched rule name, or original string.
      */
     public FormatResult format(String string) {
-        for (PatternRule rule : rules) {
-            if (rule.getPattern().matcher(string).matches()) {
+        TrieNode node = compiled;
+        if (node == null) {
+            node = compile();
+            compiled = node;
+        }
+        for (int i = 0; i < string.length(); i++) {
+            final TrieNode child = node.children.get(string.charAt(i));
+            if (child == null) {
+                break;
+            }
+            node = child;
+        }
+        for (PatternRule rule : node.candidates) {
+            if (string.endsWith(rule.literalSuffix) && rule.getPattern().matcher(string).matches()) {
                 return new FormatResult(true, rule.getName(), string);
             }
         }
@@ -71,6 +95,44 @@ public class StringFormatGroup {
 
     public void sortRules(Comparator<? super PatternRule> comparator) {
         rules.sort(comparator);
+        compiled = null;
+    }
+
+    private TrieNode compile() {
+        final TrieNode root = new TrieNode();
+        final Map<TrieNode, List<Integer>> ownRules = new HashMap<>();
+        for (int i = 0; i < rules.size(); i++) {
+            TrieNode node = root;
+            for (char c : rules.get(i).literalPrefix.toCharArray()) {
+                node = node.children.computeIfAbsent(c, k -> new TrieNode());
+            }
+            ownRules.computeIfAbsent(node, k -> new ArrayList<>()).add(i);
+        }
+        fillCandidates(root, new int[0], ownRules);
+        return root;
+    }
+
+    /**
+     * The candidates of the node are the rules whose prefixes end at this node or any ancestor, in the order of the
+     * rules.
+     */
+    private void fillCandidates(TrieNode node, int[] inherited, Map<TrieNode, List<Integer>> ownRules) {
+        final List<Integer> own = ownRules.get(node);
+        int[] indexes = inherited;
+        if (own != null) {
+            indexes = Arrays.copyOf(inherited, inherited.length + own.size());
+            for (int i = 0; i < own.size(); i++) {
+                indexes[inherited.length + i] = own.get(i);
+            }
+            Arrays.sort(indexes);
+        }
+        node.candidates = new PatternRule[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            node.candidates[i] = rules.get(indexes[i]);
+        }
+        for (TrieNode child : node.children.values()) {
+            fillCandidates(child, indexes, ownRules);
+        }
     }
 
     @Getter
@@ -84,12 +146,76 @@ public class StringFormatGroup {
     @Getter
     @ToString
     public static class PatternRule {
+        private static final String META_CHARS = "\\[](){}.*+?^$|";
+        /**
+         * The letters escaped as a single char, such as \d and \t.
+         */
+        private static final String SINGLE_CHAR_ESCAPES = "dDsSwWhHvVRXtnrfaebBAGzZ";
+
         private final String name;
         private final Pattern pattern;
+        /**
+         * The literal string every matched string starts with, could be empty.
+         */
+        private final String literalPrefix;
+        /**
+         * The literal string every matched string ends with, could be empty.
+         */
+        private final String literalSuffix;
 
         private PatternRule(String name, String ruleRegex) {
             this.name = name;
             pattern = Pattern.compile(ruleRegex);
+            // The alternations and the inline flags change the meaning of the literals, don't index them.
+            if (ruleRegex.indexOf('|') >= 0 || ruleRegex.contains("(?")) {
+                literalPrefix = "";
+                literalSuffix = "";
+            } else {
+                literalPrefix = literalPrefix(ruleRegex);
+                literalSuffix = literalSuffix(ruleRegex);
+            }
+        }
+
+        private static String literalPrefix(String regex) {
+            final int start = regex.startsWith("^") ? 1 : 0;
+            int end = start;
+            while (end < regex.length() && META_CHARS.indexOf(regex.charAt(end)) < 0) {
+                end++;
+            }
+            if (end < regex.length() && end > start) {
+                final char quantifier = regex.charAt(end);
+                // The last literal char is optional or repeated by the quantifier.
+                if (quantifier == '*' || quantifier == '?' || quantifier == '{') {
+                    end--;
+                }
+            }
+            return regex.substring(start, end);
+        }
+
+        private static String literalSuffix(String regex) {
+            if (regex.contains("\\Q")) {
+                // The quoted chars could be the meta chars.
+                return "";
+            }
+            int start = regex.length();
+            while (start > 0 && META_CHARS.indexOf(regex.charAt(start - 1)) < 0) {
+                start--;
+            }
+            if (start > 0 && start < regex.length() && regex.charAt(start - 1) == '\\') {
+                if (SINGLE_CHAR_ESCAPES.indexOf(regex.charAt(start)) < 0
+                    && Character.isLetterOrDigit(regex.charAt(start))) {
+                    // The escape takes more than one char, such as \x41 and \u0041.
+                    return "";
+                }
+                // The first char is escaped, such as \d.
+                start++;
+            }
+            return regex.substring(start);
         }
     }
+
+    private static class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private PatternRule[] candidates;
+    }
 }
@@ -54,6 +54,60 @@ public class StringFormatGroupTest {
         Assert.assertEquals("/name/*/add/{orderId}", group.format("/name/test/add/12323").getName());
     }
 
+    @Test
+    public void testRulesOrderKept() {
+        StringFormatGroup group = new StringFormatGroup();
+        group.addRule("all", "/.*");
+        group.addRule("/name/{id}", "/name/[^/]+");
+        Assert.assertEquals("all", group.format("/name/test").getName());
+
+        group.sortRules((rule1, rule2) -> rule1.getName().compareTo(rule2.getName()));
+        Assert.assertEquals("/name/{id}", group.format("/name/test").getName());
+        Assert.assertEquals("all", group.format("/other").getName());
+    }
+
+    @Test
+    public void testLiterals() {
+        StringFormatGroup group = new StringFormatGroup();
+        group.addRule("optional", "/ab?c/[0-9]+");
+        group.addRule("repeated", "^/x+y");
+        group.addRule("escaped", "/id/\\d");
+        group.addRule("alternation", "/left|/right");
+        group.addRule("ignore case", "/(?i)upper");
+        group.addRule("suffix", "/[^/]+/detail");
+
+        Assert.assertEquals("optional", group.format("/ac/1").getName());
+        Assert.assertEquals("optional", group.format("/abc/1").getName());
+        Assert.assertEquals("repeated", group.format("/xxy").getName());
+        Assert.assertEquals("escaped", group.format("/id/5").getName());
+        Assert.assertEquals("alternation", group.format("/right").getName());
+        Assert.assertEquals("ignore case", group.format("/UPPER").getName());
+        Assert.assertEquals("suffix", group.format("/order/detail").getName());
+
+        final StringFormatGroup.FormatResult result = group.format("/order/details");
+        Assert.assertFalse(result.isMatch());
+        Assert.assertEquals("/order/details", result.getName());
+    }
+
+    @Test
+    public void testMultiCharEscapedSuffix() {
+        StringFormatGroup group = new StringFormatGroup();
+        group.addRule("hex", "/hex/\\x41B");
+        group.addRule("unicode", "/unicode/\\u0041B");
+        group.addRule("octal", "/octal/\\0101B");
+        group.addRule("control", "/control/\\cJB");
+        group.addRule("quoted", "/quoted/\\Q.+\\E");
+        group.addRule("quoted to end", "/quote/\\Q(B)");
+
+        Assert.assertEquals("hex", group.format("/hex/AB").getName());
+        Assert.assertEquals("unicode", group.format("/unicode/AB").getName());
+        Assert.assertEquals("octal", group.format("/octal/AB").getName());
+        Assert.assertEquals("control", group.format("/control/\nB").getName());
+        Assert.assertEquals("quoted", group.format("/quoted/.+").getName());
+        Assert.assertEquals("quoted to end", group.format("/quote/(B)").getName());
+        Assert.assertFalse(group.format("/hex/x41B").isMatch());
+    }
+
     /**
      * The report below shows this pattern match performance is much about rule numbers. This is a single thread test.
      */
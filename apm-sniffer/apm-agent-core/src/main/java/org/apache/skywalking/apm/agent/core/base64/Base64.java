@@ -19,6 +19,7 @@
 package org.apache.skywalking.apm.agent.core.base64;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * A wrapper of {@link java.util.Base64} with convenient conversion methods between {@code byte[]} and {@code String}
@@ -26,6 +27,15 @@ import java.nio.charset.StandardCharsets;
 public final class Base64 {
     private static final java.util.Base64.Decoder DECODER = java.util.Base64.getDecoder();
     private static final java.util.Base64.Encoder ENCODER = java.util.Base64.getEncoder();
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final int[] DECODE_TABLE = new int[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE_TABLE[ALPHABET[i]] = i;
+        }
+    }
 
     private Base64() {
     }
@@ -38,4 +48,105 @@ public final class Base64 {
         return ENCODER.encodeToString(text.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Decode the part [start, end) of the text, as same as {@code decode2UTFString(in.substring(start, end))}, without
+     * creating the substring.
+     *
+     * @throws IllegalArgumentException if the part is not a valid Base64 text.
+     */
+    public static String decode2UTFString(String in, int start, int end) {
+        return new String(decode(in, start, end), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encode the text and append the result to the builder, as same as {@code builder.append(encode(text))}. The ASCII
+     * text is encoded from the chars directly, no intermediate bytes and string are created.
+     *
+     * @return the builder
+     */
+    public static StringBuilder encode(String text, StringBuilder builder) {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) >= 0x80) {
+                return encode(text.getBytes(StandardCharsets.UTF_8), builder);
+            }
+        }
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            appendUnit(builder, text.charAt(i), text.charAt(i + 1), text.charAt(i + 2), 3);
+        }
+        final int rest = length - i;
+        if (rest > 0) {
+            appendUnit(builder, text.charAt(i), rest > 1 ? text.charAt(i + 1) : 0, 0, rest);
+        }
+        return builder;
+    }
+
+    private static StringBuilder encode(byte[] bytes, StringBuilder builder) {
+        int i = 0;
+        for (; i + 3 <= bytes.length; i += 3) {
+            appendUnit(builder, bytes[i] & 0xFF, bytes[i + 1] & 0xFF, bytes[i + 2] & 0xFF, 3);
+        }
+        final int rest = bytes.length - i;
+        if (rest > 0) {
+            appendUnit(builder, bytes[i] & 0xFF, rest > 1 ? bytes[i + 1] & 0xFF : 0, 0, rest);
+        }
+        return builder;
+    }
+
+    /**
+     * Append the 4 chars encoded from the 3 bytes unit, padding with '=' if there are less than 3 bytes.
+     */
+    private static void appendUnit(StringBuilder builder, int b0, int b1, int b2, int count) {
+        final int bits = b0 << 16 | b1 << 8 | b2;
+        builder.append(ALPHABET[bits >>> 18 & 0x3F])
+               .append(ALPHABET[bits >>> 12 & 0x3F])
+               .append(count > 1 ? ALPHABET[bits >>> 6 & 0x3F] : '=')
+               .append(count > 2 ? ALPHABET[bits & 0x3F] : '=');
+    }
+
+    /**
+     * Follow the rules of {@link java.util.Base64#getDecoder()}, the padding is accepted but not required.
+     */
+    private static byte[] decode(String in, int start, int end) {
+        int dataEnd = end;
+        while (dataEnd > start && in.charAt(dataEnd - 1) == '=') {
+            dataEnd--;
+        }
+        final int padding = end - dataEnd;
+        final int length = dataEnd - start;
+        final int rest = length & 3;
+        if (padding > 2 || rest == 1 || padding > 0 && rest + padding != 4) {
+            throw new IllegalArgumentException("Illegal base64 text: " + in.substring(start, end));
+        }
+
+        final byte[] bytes = new byte[length / 4 * 3 + (rest == 0 ? 0 : rest - 1)];
+        int index = 0;
+        int i = start;
+        for (; i + 4 <= dataEnd; i += 4) {
+            final int bits = valueAt(in, i) << 18 | valueAt(in, i + 1) << 12
+                | valueAt(in, i + 2) << 6 | valueAt(in, i + 3);
+            bytes[index++] = (byte) (bits >> 16);
+            bytes[index++] = (byte) (bits >> 8);
+            bytes[index++] = (byte) bits;
+        }
+        if (rest == 2) {
+            bytes[index] = (byte) ((valueAt(in, i) << 18 | valueAt(in, i + 1) << 12) >> 16);
+        } else if (rest == 3) {
+            final int bits = valueAt(in, i) << 18 | valueAt(in, i + 1) << 12 | valueAt(in, i + 2) << 6;
+            bytes[index++] = (byte) (bits >> 16);
+            bytes[index] = (byte) (bits >> 8);
+        }
+        return bytes;
+    }
+
+    private static int valueAt(String in, int index) {
+        final char c = in.charAt(index);
+        final int value = c < DECODE_TABLE.length ? DECODE_TABLE[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Illegal base64 character " + Integer.toHexString(c));
+        }
+        return value;
+    }
+
 }
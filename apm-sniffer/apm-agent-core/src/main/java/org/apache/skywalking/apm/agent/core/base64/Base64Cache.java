@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.base64;
+
+/**
+ * Base64Cache keeps the Base64 results of the repetitive texts, such as the service name, instance name, endpoint names
+ * and peer addresses propagated through the cross-process headers.
+ * <p>
+ * The cache is a direct-mapped table, a new text replaces the old one in the same slot, so the memory is bounded.
+ * Looking up doesn't create anything, the decoding side compares the part of the header in place. The entries are
+ * immutable, so the cache could be shared by all threads without lock.
+ */
+public final class Base64Cache {
+    /**
+     * The longer texts are encoded and decoded directly.
+     */
+    private static final int MAX_CACHED_LENGTH = 512;
+
+    private final Entry[] encodingEntries;
+    private final Entry[] decodingEntries;
+    private final int mask;
+
+    /**
+     * @param size the number of the slots, rounded up to the power of 2.
+     */
+    public Base64Cache(int size) {
+        int capacity = 1;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        encodingEntries = new Entry[capacity];
+        decodingEntries = new Entry[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * As same as {@link Base64#encode(String, StringBuilder)}, the cached result is appended if it exists.
+     */
+    public StringBuilder encode(String text, StringBuilder builder) {
+        if (text.length() > MAX_CACHED_LENGTH) {
+            return Base64.encode(text, builder);
+        }
+        final int slot = spread(text.hashCode()) & mask;
+        Entry entry = encodingEntries[slot];
+        if (entry == null || !entry.text.equals(text)) {
+            entry = new Entry(text, Base64.encode(text));
+            encodingEntries[slot] = entry;
+        }
+        return builder.append(entry.base64);
+    }
+
+    /**
+     * As same as {@link Base64#decode2UTFString(String, int, int)}, the cached result is returned if it exists.
+     */
+    public String decode2UTFString(String in, int start, int end) {
+        final int length = end - start;
+        if (length > MAX_CACHED_LENGTH) {
+            return Base64.decode2UTFString(in, start, end);
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + in.charAt(i);
+        }
+        final int slot = spread(hash) & mask;
+        Entry entry = decodingEntries[slot];
+        if (entry == null || entry.base64.length() != length || !entry.base64.regionMatches(0, in, start, length)) {
+            entry = new Entry(Base64.decode2UTFString(in, start, end), in.substring(start, end));
+            decodingEntries[slot] = entry;
+        }
+        return entry.text;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final String base64;
+
+        private Entry(String text, String base64) {
+            this.text = text;
+            this.base64 = base64;
+        }
+    }
+}
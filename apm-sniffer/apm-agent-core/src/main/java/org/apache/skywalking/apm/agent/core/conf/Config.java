@@ -77,6 +77,13 @@ public class Config {
          */
         public static int SPAN_LIMIT_PER_SEGMENT = 300;
 
+        /**
+         * If true, the finished span is transformed into the segment protobuf builder immediately, rather than kept as
+         * span object until the segment is sent. The spans in async mode are still transformed when sending. Don't
+         * change the span after it is stopped, unless it is in async mode, the change would be lost.
+         */
+        public static boolean TRANSFORM_SPAN_ON_FINISH = false;
+
         /**
          * If true, SkyWalking agent will save all instrumented classes files in `/debugging` folder. SkyWalking team
          * may ask for these files in order to resolve compatible problem.
@@ -320,6 +327,14 @@ public class Config {
          * Mount the folders of the plugins. The folder path is relative to agent.jar.
          */
         public static List<String> MOUNT = Arrays.asList("plugins", "activations");
+
+        /**
+         * The file to persist the index of the plugin jars. The file path is relative to agent.jar, if it is not an
+         * absolute path. The index is reused in the next boot if the jars in the mounted folders are not changed, so
+         * the jars are not scanned again. Empty means the jars are not indexed, and every jar is checked to locate the
+         * classes.
+         */
+        public static String JAR_INDEX_FILE = "";
     }
 
     public static class Correlation {
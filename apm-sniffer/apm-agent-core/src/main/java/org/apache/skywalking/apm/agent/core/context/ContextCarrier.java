@@ -23,6 +23,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.skywalking.apm.agent.core.base64.Base64;
+import org.apache.skywalking.apm.agent.core.base64.Base64Cache;
 import org.apache.skywalking.apm.agent.core.conf.Constants;
 import org.apache.skywalking.apm.util.StringUtil;
 
@@ -33,6 +34,17 @@ import org.apache.skywalking.apm.util.StringUtil;
  */
 @Setter(AccessLevel.PACKAGE)
 public class ContextCarrier implements Serializable {
+    /**
+     * The service, instance, endpoint and address are repetitive in the headers, their Base64 results are cached, shared
+     * by all threads.
+     */
+    private static final Base64Cache HEADER_CACHE = new Base64Cache(256);
+    /**
+     * The builder is reused by the header serialization in the same thread, unless it grows too large.
+     */
+    private static final ThreadLocal<StringBuilder> HEADER_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final int MAX_REUSED_BUILDER_CAPACITY = 4096;
+
     @Getter
     private String traceId;
     /**
@@ -113,17 +125,15 @@ public class ContextCarrier implements Serializable {
      */
     String serialize(HeaderVersion version) {
         if (this.isValid(version)) {
-            return StringUtil.join(
-                '-',
-                "1",
-                Base64.encode(this.getTraceId()),
-                Base64.encode(this.getTraceSegmentId()),
-                this.getSpanId() + "",
-                Base64.encode(this.getParentService()),
-                Base64.encode(this.getParentServiceInstance()),
-                Base64.encode(this.getParentEndpoint()),
-                Base64.encode(this.getAddressUsedAtClient())
-            );
+            final StringBuilder builder = headerBuilder().append("1-");
+            Base64.encode(this.getTraceId(), builder).append('-');
+            Base64.encode(this.getTraceSegmentId(), builder).append('-');
+            builder.append(this.getSpanId()).append('-');
+            HEADER_CACHE.encode(this.getParentService(), builder).append('-');
+            HEADER_CACHE.encode(this.getParentServiceInstance(), builder).append('-');
+            HEADER_CACHE.encode(this.getParentEndpoint(), builder).append('-');
+            HEADER_CACHE.encode(this.getAddressUsedAtClient(), builder);
+            return builder.toString();
         }
         return "";
     }
@@ -131,24 +141,31 @@ public class ContextCarrier implements Serializable {
     /**
      * Initialize fields with the given text.
      *
-     * @param text carries {@link #traceSegmentId} and {@link #spanId}, with '|' split.
+     * @param text carries {@link #traceSegmentId} and {@link #spanId}, with '-' split.
      */
     ContextCarrier deserialize(String text, HeaderVersion version) {
         if (text == null) {
             return this;
         }
         if (HeaderVersion.v3.equals(version)) {
-            String[] parts = text.split("-", 8);
-            if (parts.length == 8) {
+            // Locate the 8 parts in place, the last part takes the rest text, as same as text.split("-", 8).
+            final int end0 = text.indexOf('-');
+            final int end1 = end0 < 0 ? -1 : text.indexOf('-', end0 + 1);
+            final int end2 = end1 < 0 ? -1 : text.indexOf('-', end1 + 1);
+            final int end3 = end2 < 0 ? -1 : text.indexOf('-', end2 + 1);
+            final int end4 = end3 < 0 ? -1 : text.indexOf('-', end3 + 1);
+            final int end5 = end4 < 0 ? -1 : text.indexOf('-', end4 + 1);
+            final int end6 = end5 < 0 ? -1 : text.indexOf('-', end5 + 1);
+            if (end6 >= 0) {
                 try {
                     // parts[0] is sample flag, always trace if header exists.
-                    this.traceId = Base64.decode2UTFString(parts[1]);
-                    this.traceSegmentId = Base64.decode2UTFString(parts[2]);
-                    this.spanId = Integer.parseInt(parts[3]);
-                    this.parentService = Base64.decode2UTFString(parts[4]);
-                    this.parentServiceInstance = Base64.decode2UTFString(parts[5]);
-                    this.parentEndpoint = Base64.decode2UTFString(parts[6]);
-                    this.addressUsedAtClient = Base64.decode2UTFString(parts[7]);
+                    this.traceId = Base64.decode2UTFString(text, end0 + 1, end1);
+                    this.traceSegmentId = Base64.decode2UTFString(text, end1 + 1, end2);
+                    this.spanId = parseSpanId(text, end2 + 1, end3);
+                    this.parentService = HEADER_CACHE.decode2UTFString(text, end3 + 1, end4);
+                    this.parentServiceInstance = HEADER_CACHE.decode2UTFString(text, end4 + 1, end5);
+                    this.parentEndpoint = HEADER_CACHE.decode2UTFString(text, end5 + 1, end6);
+                    this.addressUsedAtClient = HEADER_CACHE.decode2UTFString(text, end6 + 1, text.length());
                 } catch (IllegalArgumentException ignored) {
 
                 }
@@ -157,6 +174,37 @@ public class ContextCarrier implements Serializable {
         return this;
     }
 
+    /**
+     * @return the cleared builder reused in the current thread.
+     */
+    static StringBuilder headerBuilder() {
+        StringBuilder builder = HEADER_BUILDER.get();
+        if (builder.capacity() > MAX_REUSED_BUILDER_CAPACITY) {
+            builder = new StringBuilder(256);
+            HEADER_BUILDER.set(builder);
+        }
+        builder.setLength(0);
+        return builder;
+    }
+
+    /**
+     * As same as {@code Integer.parseInt(text.substring(start, end))}, without creating the substring.
+     */
+    private static int parseSpanId(String text, int start, int end) {
+        if (start >= end) {
+            throw new NumberFormatException("Empty span id");
+        }
+        int spanId = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || spanId > (Integer.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("Illegal span id: " + text.substring(start, end));
+            }
+            spanId = spanId * 10 + digit;
+        }
+        return spanId;
+    }
+
     public boolean isValid() {
         return isValid(HeaderVersion.v3);
     }
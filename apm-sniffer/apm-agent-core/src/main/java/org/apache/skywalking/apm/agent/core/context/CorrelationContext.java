@@ -24,8 +24,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import org.apache.skywalking.apm.agent.core.base64.Base64;
+import org.apache.skywalking.apm.agent.core.base64.Base64Cache;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.tag.StringTag;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
@@ -36,6 +36,11 @@ import org.apache.skywalking.apm.util.StringUtil;
  */
 public class CorrelationContext {
 
+    /**
+     * The keys are usually a few constant strings, their Base64 results are cached.
+     */
+    private static final Base64Cache KEY_CACHE = new Base64Cache(64);
+
     private final Map<String, String> data;
 
     private static final List<String> AUTO_TAG_KEYS;
@@ -115,9 +120,15 @@ public class CorrelationContext {
             return "";
         }
 
-        return data.entrySet().stream()
-                   .map(entry -> Base64.encode(entry.getKey()) + ":" + Base64.encode(entry.getValue()))
-                   .collect(Collectors.joining(","));
+        final StringBuilder builder = ContextCarrier.headerBuilder();
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            KEY_CACHE.encode(entry.getKey(), builder).append(':');
+            Base64.encode(entry.getValue(), builder);
+        }
+        return builder.toString();
     }
 
     /**
@@ -128,16 +139,22 @@ public class CorrelationContext {
             return;
         }
 
-        for (String perData : value.split(",")) {
+        // Scan the ',' split elements and the ':' split key and value in place, without splitting the text.
+        final int length = value.length();
+        for (int start = 0, end; start < length; start = end + 1) {
             // Only data with limited count of elements can be added
             if (data.size() >= Config.Correlation.ELEMENT_MAX_NUMBER) {
                 break;
             }
-            final String[] parts = perData.split(":");
-            if (parts.length != 2) {
+            end = value.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            final int colon = value.indexOf(':', start);
+            if (colon < 0 || colon + 1 >= end || value.lastIndexOf(':', end - 1) != colon) {
                 continue;
             }
-            data.put(Base64.decode2UTFString(parts[0]), Base64.decode2UTFString(parts[1]));
+            data.put(KEY_CACHE.decode2UTFString(value, start, colon), Base64.decode2UTFString(value, colon + 1, end));
         }
     }
 
@@ -52,6 +52,14 @@ public class TraceSegment {
      */
     private List<AbstractTracingSpan> spans;
 
+    /**
+     * The builder recording the finished spans directly, when {@link Config.Agent#TRANSFORM_SPAN_ON_FINISH} is true. The
+     * {@link #spans} only keeps the spans in async mode, which could still be changed after finished.
+     */
+    private SegmentObject.Builder recorder;
+
+    private int spanCount;
+
     /**
      * The <code>relatedGlobalTraceId</code> represent the related trace. Most time it related only one
      * element, because only one parent {@link TraceSegment} exists, but, in batch scenario, the num becomes greater
@@ -100,6 +108,14 @@ public class TraceSegment {
      * TraceSegment} to archive it.
      */
     public void archive(AbstractTracingSpan finishedSpan) {
+        spanCount++;
+        if (Config.Agent.TRANSFORM_SPAN_ON_FINISH && !finishedSpan.isInAsyncMode) {
+            if (recorder == null) {
+                recorder = SegmentObject.newBuilder();
+            }
+            recorder.addSpans(finishedSpan.transform());
+            return;
+        }
         spans.add(finishedSpan);
     }
 
@@ -127,7 +143,7 @@ public class TraceSegment {
     }
 
     public boolean isSingleSpanSegment() {
-        return this.spans != null && this.spans.size() == 1;
+        return spanCount == 1;
     }
 
     public boolean isIgnore() {
@@ -139,12 +155,14 @@ public class TraceSegment {
     }
 
     /**
-     * This is a high CPU cost method, only called when sending to collector or test cases.
+     * This is a high CPU cost method, only called when sending to collector or test cases. The spans recorded on
+     * finished are placed before the others.
      *
      * @return the segment as GRPC service parameter
      */
     public SegmentObject transform() {
-        SegmentObject.Builder traceSegmentBuilder = SegmentObject.newBuilder();
+        // Clone the recorder, which only copies the references of the recorded spans, keep this method repeatable.
+        SegmentObject.Builder traceSegmentBuilder = recorder == null ? SegmentObject.newBuilder() : recorder.clone();
         traceSegmentBuilder.setTraceId(getRelatedGlobalTrace().getId());
         /*
          * Trace Segment
@@ -19,11 +19,14 @@
 package org.apache.skywalking.apm.agent.core.plugin;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import net.bytebuddy.description.NamedElement;
+import java.util.concurrent.ConcurrentHashMap;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.apache.skywalking.apm.agent.core.plugin.bytebuddy.AbstractJunction;
@@ -32,17 +35,30 @@ import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
 import org.apache.skywalking.apm.agent.core.plugin.match.NameMatch;
 import org.apache.skywalking.apm.agent.core.plugin.match.ProtectiveShieldMatcher;
 
-import static net.bytebuddy.matcher.ElementMatchers.isInterface;
-import static net.bytebuddy.matcher.ElementMatchers.not;
-
 /**
  * The <code>PluginFinder</code> represents a finder , which assist to find the one from the given {@link
  * AbstractClassEnhancePluginDefine} list.
+ * <p>
+ * The plugins matching the class by name are found through the map of the names. Others are indexed by {@link
+ * SignatureMatchIndex}, so only the plugins, which could match the class, are checked. The names of the types matched
+ * nothing are cached, and the types are ignored when they are matched again, such as being loaded by another class
+ * loader, if the super class, the interfaces and the annotations of them are the same.
  */
 public class PluginFinder {
+    private static final int NEGATIVE_CACHE_SIZE = 16384;
+
     private final Map<String, LinkedList<AbstractClassEnhancePluginDefine>> nameMatchDefine = new HashMap<String, LinkedList<AbstractClassEnhancePluginDefine>>();
     private final List<AbstractClassEnhancePluginDefine> signatureMatchDefine = new ArrayList<AbstractClassEnhancePluginDefine>();
+    /**
+     * The matches of the {@link #signatureMatchDefine} in the same order.
+     */
+    private final List<IndirectMatch> signatureMatches = new ArrayList<IndirectMatch>();
+    private final SignatureMatchIndex signatureMatchIndex = new SignatureMatchIndex();
     private final List<AbstractClassEnhancePluginDefine> bootstrapClassMatchDefine = new ArrayList<AbstractClassEnhancePluginDefine>();
+    /**
+     * Type name -> the fingerprint of the type, which matched nothing.
+     */
+    private final ConcurrentHashMap<String, Integer> unmatchedTypes = new ConcurrentHashMap<String, Integer>();
 
     public PluginFinder(List<AbstractClassEnhancePluginDefine> plugins) {
         for (AbstractClassEnhancePluginDefine plugin : plugins) {
@@ -61,7 +77,9 @@ public class PluginFinder {
                 }
                 pluginDefines.add(plugin);
             } else {
+                signatureMatchIndex.add(signatureMatchDefine.size(), (IndirectMatch) match);
                 signatureMatchDefine.add(plugin);
+                signatureMatches.add((IndirectMatch) match);
             }
 
             if (plugin.isBootstrapInstrumentation()) {
@@ -77,10 +95,10 @@ public class PluginFinder {
             matchedPlugins.addAll(nameMatchDefine.get(typeName));
         }
 
-        for (AbstractClassEnhancePluginDefine pluginDefine : signatureMatchDefine) {
-            IndirectMatch match = (IndirectMatch) pluginDefine.enhanceClass();
-            if (match.isMatch(typeDescription)) {
-                matchedPlugins.add(pluginDefine);
+        BitSet candidates = signatureMatchIndex.candidates(typeDescription);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (signatureMatches.get(i).isMatch(typeDescription)) {
+                matchedPlugins.add(signatureMatchDefine.get(i));
             }
         }
 
@@ -88,23 +106,70 @@ public class PluginFinder {
     }
 
     public ElementMatcher<? super TypeDescription> buildMatch() {
-        ElementMatcher.Junction judge = new AbstractJunction<NamedElement>() {
+        final List<ElementMatcher> junctions = new ArrayList<ElementMatcher>(signatureMatches.size());
+        for (IndirectMatch match : signatureMatches) {
+            junctions.add(match.buildJunction());
+        }
+        ElementMatcher.Junction<TypeDescription> judge = new AbstractJunction<TypeDescription>() {
             @Override
-            public boolean matches(NamedElement target) {
-                return nameMatchDefine.containsKey(target.getActualName());
+            public boolean matches(TypeDescription target) {
+                String typeName = target.getActualName();
+                Integer unmatchedFingerprint = unmatchedTypes.get(typeName);
+                int fingerprint = 0;
+                if (unmatchedFingerprint != null) {
+                    fingerprint = fingerprint(target);
+                    if (unmatchedFingerprint == fingerprint) {
+                        return false;
+                    }
+                }
+
+                if (nameMatchDefine.containsKey(typeName) && !target.isInterface()) {
+                    return true;
+                }
+                BitSet candidates = signatureMatchIndex.candidates(target);
+                for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                    if (junctions.get(i).matches(target)) {
+                        return true;
+                    }
+                }
+
+                if (unmatchedTypes.size() >= NEGATIVE_CACHE_SIZE) {
+                    unmatchedTypes.clear();
+                }
+                unmatchedTypes.put(typeName, unmatchedFingerprint == null ? fingerprint(target) : fingerprint);
+                return false;
             }
         };
-        judge = judge.and(not(isInterface()));
-        for (AbstractClassEnhancePluginDefine define : signatureMatchDefine) {
-            ClassMatch match = define.enhanceClass();
-            if (match instanceof IndirectMatch) {
-                judge = judge.or(((IndirectMatch) match).buildJunction());
-            }
-        }
         return new ProtectiveShieldMatcher(judge);
     }
 
     public List<AbstractClassEnhancePluginDefine> getBootstrapClassMatchDefine() {
         return bootstrapClassMatchDefine;
     }
+
+    /**
+     * The fingerprint of the type, which decides the result of the match besides the name. The super types of the
+     * super class and the interfaces are not included, as they are the same in most cases.
+     */
+    private int fingerprint(TypeDescription typeDescription) {
+        int fingerprint = typeDescription.isInterface() ? 1 : 0;
+        TypeDescription.Generic superClass = typeDescription.getSuperClass();
+        if (superClass != null) {
+            fingerprint = 31 * fingerprint + superClass.asErasure().getActualName().hashCode();
+        }
+        for (TypeDescription.Generic anInterface : typeDescription.getInterfaces()) {
+            fingerprint = 31 * fingerprint + anInterface.asErasure().getActualName().hashCode();
+        }
+        for (AnnotationDescription annotation : typeDescription.getDeclaredAnnotations()) {
+            fingerprint = 31 * fingerprint + annotation.getAnnotationType().getActualName().hashCode();
+        }
+        if (signatureMatchIndex.hasMethodAnnotationIndex()) {
+            for (MethodDescription method : typeDescription.getDeclaredMethods()) {
+                for (AnnotationDescription annotation : method.getDeclaredAnnotations()) {
+                    fingerprint = 31 * fingerprint + annotation.getAnnotationType().getActualName().hashCode();
+                }
+            }
+        }
+        return fingerprint;
+    }
 }
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassAnnotationMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.MethodAnnotationMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.MultiClassNameMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.PrefixMatch;
+
+/**
+ * SignatureMatchIndex indexes the {@link IndirectMatch}es by the class names, the prefixes of the class names, the
+ * annotations and the super types, which they require. So only the matches, which could match the type, are checked,
+ * rather than all of them. The matches couldn't be indexed, such as {@link
+ * org.apache.skywalking.apm.agent.core.plugin.match.RegexMatch} and the logical matches, are always checked.
+ * <p>
+ * The matches are identified by their ordinals, and the candidates are returned in the ordinal order.
+ */
+final class SignatureMatchIndex {
+    private static final int[] NO_ORDINALS = new int[0];
+
+    private final Map<String, int[]> names = new HashMap<>();
+    private final Map<String, int[]> prefixes = new HashMap<>();
+    private int[] prefixLengths = NO_ORDINALS;
+    private final Map<String, int[]> classAnnotations = new HashMap<>();
+    private final Map<String, int[]> methodAnnotations = new HashMap<>();
+    private final Map<String, int[]> superTypes = new HashMap<>();
+    private final BitSet unindexed = new BitSet();
+
+    /**
+     * Index the match. For the match requiring multiple annotations or super types, only the first one is indexed, as
+     * the type couldn't match without it.
+     */
+    void add(int ordinal, IndirectMatch match) {
+        if (match instanceof MultiClassNameMatch) {
+            for (String name : ((MultiClassNameMatch) match).getMatchClassNames()) {
+                put(names, name, ordinal);
+            }
+        } else if (match instanceof PrefixMatch) {
+            for (String prefix : ((PrefixMatch) match).getPrefixes()) {
+                put(prefixes, prefix, ordinal);
+                addPrefixLength(prefix.length());
+            }
+        } else if (match instanceof ClassAnnotationMatch) {
+            put(classAnnotations, ((ClassAnnotationMatch) match).getAnnotations()[0], ordinal);
+        } else if (match instanceof MethodAnnotationMatch) {
+            put(methodAnnotations, ((MethodAnnotationMatch) match).getAnnotations()[0], ordinal);
+        } else if (match instanceof HierarchyMatch) {
+            put(superTypes, ((HierarchyMatch) match).getParentTypes()[0], ordinal);
+        } else {
+            unindexed.set(ordinal);
+        }
+    }
+
+    /**
+     * @return the ordinals of the matches, which could match the type.
+     */
+    BitSet candidates(TypeDescription typeDescription) {
+        final BitSet candidates = (BitSet) unindexed.clone();
+        final String name = typeDescription.getActualName();
+        collect(names, name, candidates);
+        for (int length : prefixLengths) {
+            if (length > name.length()) {
+                break;
+            }
+            collect(prefixes, name.substring(0, length), candidates);
+        }
+        if (!classAnnotations.isEmpty()) {
+            for (AnnotationDescription annotation : typeDescription.getDeclaredAnnotations()) {
+                collect(classAnnotations, annotation.getAnnotationType().getActualName(), candidates);
+            }
+        }
+        if (!methodAnnotations.isEmpty()) {
+            for (MethodDescription method : typeDescription.getDeclaredMethods()) {
+                for (AnnotationDescription annotation : method.getDeclaredAnnotations()) {
+                    collect(methodAnnotations, annotation.getAnnotationType().getActualName(), candidates);
+                }
+            }
+        }
+        if (!superTypes.isEmpty()) {
+            collectSuperTypes(typeDescription, new HashSet<>(), candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * @return true if the matches are selected by the annotations on the methods.
+     */
+    boolean hasMethodAnnotationIndex() {
+        return !methodAnnotations.isEmpty();
+    }
+
+    /**
+     * Collect the type and all its super classes and interfaces, as same as {@link
+     * net.bytebuddy.matcher.ElementMatchers#hasSuperType}.
+     */
+    private void collectSuperTypes(TypeDefinition type, Set<String> visited, BitSet candidates) {
+        for (TypeDefinition current = type; current != null; current = current.getSuperClass()) {
+            final String name = current.asErasure().getActualName();
+            if (!visited.add(name)) {
+                return;
+            }
+            collect(superTypes, name, candidates);
+            for (TypeDefinition anInterface : current.getInterfaces()) {
+                collectSuperTypes(anInterface, visited, candidates);
+            }
+        }
+    }
+
+    private void addPrefixLength(int length) {
+        if (Arrays.binarySearch(prefixLengths, length) < 0) {
+            prefixLengths = Arrays.copyOf(prefixLengths, prefixLengths.length + 1);
+            prefixLengths[prefixLengths.length - 1] = length;
+            Arrays.sort(prefixLengths);
+        }
+    }
+
+    private static void put(Map<String, int[]> index, String key, int ordinal) {
+        final int[] ordinals = index.get(key);
+        if (ordinals == null) {
+            index.put(key, new int[] {ordinal});
+        } else {
+            final int[] newOrdinals = Arrays.copyOf(ordinals, ordinals.length + 1);
+            newOrdinals[ordinals.length] = ordinal;
+            index.put(key, newOrdinals);
+        }
+    }
+
+    private static void collect(Map<String, int[]> index, String key, BitSet candidates) {
+        final int[] ordinals = index.get(key);
+        if (ordinals != null) {
+            for (int ordinal : ordinals) {
+                candidates.set(ordinal);
+            }
+        }
+    }
+}
@@ -18,15 +18,18 @@
 
 package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
 
+import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.implementation.SuperMethodCall;
 import net.bytebuddy.implementation.bind.annotation.Morph;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.utility.RandomString;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.plugin.AbstractClassEnhancePluginDefine;
@@ -43,8 +46,14 @@ import org.apache.skywalking.apm.agent.core.plugin.interceptor.v2.StaticMethodsI
 import org.apache.skywalking.apm.util.StringUtil;
 
 import static net.bytebuddy.jar.asm.Opcodes.ACC_PRIVATE;
+import static net.bytebuddy.jar.asm.Opcodes.ACC_PUBLIC;
+import static net.bytebuddy.jar.asm.Opcodes.ACC_STATIC;
+import static net.bytebuddy.jar.asm.Opcodes.ACC_SYNTHETIC;
 import static net.bytebuddy.jar.asm.Opcodes.ACC_VOLATILE;
+import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
 import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.not;
 
 /**
@@ -56,6 +65,8 @@ import static net.bytebuddy.matcher.ElementMatchers.not;
 public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePluginDefine {
     private static final ILog LOGGER = LogManager.getLogger(ClassEnhancePluginDefine.class);
 
+    private static final String ADVICE_INTER_FIELD_PREFIX = "_$EnhancedClassAdviceInter_";
+
     /**
      * Enhance a class to intercept constructors and class instance methods.
      *
@@ -116,6 +127,9 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
                                                                                                                  .to(BootstrapInstrumentBoost
                                                                                                                      .forInternalDelegateClass(constructorInterceptPoint
                                                                                                                          .getConstructorInterceptor()))));
+                } else if (isAdviceEnhancement()) {
+                    newClassBuilder = advice(newClassBuilder, ConstructorAdvice.class, new ConstructorAdviceInter(constructorInterceptPoint
+                        .getConstructorInterceptor(), classLoader), isConstructor().and(constructorInterceptPoint.getConstructorMatcher()));
                 } else {
                     newClassBuilder = newClassBuilder.constructor(constructorInterceptPoint.getConstructorMatcher())
                                                      .intercept(SuperMethodCall.INSTANCE.andThen(MethodDelegation.withDefaultConfiguration()
@@ -138,7 +152,11 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
                 if (instanceMethodsInterceptPoint instanceof DeclaredInstanceMethodsInterceptPoint) {
                     junction = junction.and(ElementMatchers.<MethodDescription>isDeclaredBy(typeDescription));
                 }
-                if (instanceMethodsInterceptPoint.isOverrideArgs()) {
+                if (isAdviceEnhancement() && !isBootstrapInstrumentation()) {
+                    Class<?> adviceClass = instanceMethodsInterceptPoint.isOverrideArgs() ? InstMethodsWithOverrideArgsAdvice.class : InstMethodsAdvice.class;
+                    newClassBuilder = advice(newClassBuilder, adviceClass, new InstMethodsAdviceInter(interceptor, classLoader),
+                                             isMethod().and(junction));
+                } else if (instanceMethodsInterceptPoint.isOverrideArgs()) {
                     if (isBootstrapInstrumentation()) {
                         newClassBuilder = newClassBuilder.method(junction)
                                                          .intercept(MethodDelegation.withDefaultConfiguration()
@@ -188,7 +206,11 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
                 throw new EnhanceException("no StaticMethodsAroundInterceptor define to enhance class " + enhanceOriginClassName);
             }
 
-            if (staticMethodsInterceptPoint.isOverrideArgs()) {
+            if (isAdviceEnhancement() && !isBootstrapInstrumentation()) {
+                Class<?> adviceClass = staticMethodsInterceptPoint.isOverrideArgs() ? StaticMethodsWithOverrideArgsAdvice.class : StaticMethodsAdvice.class;
+                newClassBuilder = advice(newClassBuilder, adviceClass, new StaticMethodsAdviceInter(interceptor, classLoader),
+                                         isMethod().and(isStatic()).and(staticMethodsInterceptPoint.getMethodsMatcher()));
+            } else if (staticMethodsInterceptPoint.isOverrideArgs()) {
                 if (isBootstrapInstrumentation()) {
                     newClassBuilder = newClassBuilder.method(isStatic().and(staticMethodsInterceptPoint.getMethodsMatcher()))
                                                      .intercept(MethodDelegation.withDefaultConfiguration()
@@ -217,6 +239,35 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
         return newClassBuilder;
     }
 
+    /**
+     * @return true to enhance the constructors and methods by the byte-buddy {@link Advice}, which inlines the calls of
+     * the interceptors into the enhanced code, rather than delegating the calls to {@link ConstructorInter}, {@link
+     * InstMethodsInter} and {@link StaticMethodsInter}. The advice doesn't create the callable and the intercept result
+     * per call, and resolves the method and its parameter types only once. The advice could only enhance the methods
+     * declared by the enhanced class, so the plugin should not expect to intercept the inherited methods in this mode.
+     * The bootstrap instrumentation always delegates the calls.
+     */
+    public boolean isAdviceEnhancement() {
+        return false;
+    }
+
+    /**
+     * Define a static field holding the interceptor in the enhanced class, as same as the delegation does, and bind it
+     * to the {@link AdviceInterField} parameter of the advice.
+     */
+    private static DynamicType.Builder<?> advice(DynamicType.Builder<?> newClassBuilder, Class<?> adviceClass,
+        Object inter, ElementMatcher<? super MethodDescription> matcher) {
+        final String fieldName = ADVICE_INTER_FIELD_PREFIX + RandomString.make();
+        return newClassBuilder.defineField(fieldName, Object.class, ACC_PUBLIC | ACC_STATIC | ACC_VOLATILE | ACC_SYNTHETIC)
+                              .initializer(new LoadedTypeInitializer.ForStaticField(fieldName, inter))
+                              .visit(Advice.withCustomMapping()
+                                           .bind(AdviceInterField.class, (instrumentedType, instrumentedMethod, assigner, argumentHandler, sort) ->
+                                               new Advice.OffsetMapping.Target.ForField.ReadOnly(
+                                                   instrumentedType.getDeclaredFields().filter(named(fieldName)).getOnly()))
+                                           .to(adviceClass)
+                                           .on(matcher));
+    }
+
     /**
      * @return null, means enhance no v2 instance methods.
      */
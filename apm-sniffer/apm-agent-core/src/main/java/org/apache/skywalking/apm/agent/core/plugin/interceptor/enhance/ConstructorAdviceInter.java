@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.plugin.PluginException;
+import org.apache.skywalking.apm.agent.core.plugin.loader.InterceptorInstanceLoader;
+
+/**
+ * The interceptor of the constructors in the advice enhancement, which is called by the advice code inlined into the
+ * enhanced constructors.
+ */
+public class ConstructorAdviceInter {
+    private static final ILog LOGGER = LogManager.getLogger(ConstructorAdviceInter.class);
+
+    private final InstanceConstructorInterceptor interceptor;
+
+    /**
+     * @param constructorInterceptorClassName class full name.
+     */
+    public ConstructorAdviceInter(String constructorInterceptorClassName, ClassLoader classLoader) {
+        try {
+            interceptor = InterceptorInstanceLoader.load(constructorInterceptorClassName, classLoader);
+        } catch (Throwable t) {
+            throw new PluginException("Can't create InstanceConstructorInterceptor.", t);
+        }
+    }
+
+    public void onConstruct(Object obj, Object[] allArguments) {
+        try {
+            interceptor.onConstruct((EnhancedInstance) obj, allArguments);
+        } catch (Throwable t) {
+            LOGGER.error("ConstructorAdviceInter failure.", t);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+/**
+ * The advice of the class instance methods, which is inlined into the enhanced methods and delegates to {@link
+ * InstMethodsAdviceInter}. The arguments changed by the interceptor are written back before calling the origin method.
+ * The code here is copied into the enhanced classes, so it should only access the public members.
+ */
+class InstMethodsWithOverrideArgsAdvice {
+    @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+    public static Object enter(@AdviceInterField Object adviceInter,
+                               @Advice.This Object obj,
+                               @Advice.Origin Class<?> clazz,
+                               @Advice.Origin("#m#d") String signature,
+                               @Advice.AllArguments(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object[] allArguments,
+                               @Advice.Local("inter") InstMethodsAdviceInter inter,
+                               @Advice.Local("method") InterceptedMethod method,
+                               @Advice.Local("arguments") Object[] arguments) {
+        inter = (InstMethodsAdviceInter) adviceInter;
+        method = inter.method(clazz, signature);
+        // Every read of the all arguments creates a new array, so read it only once.
+        arguments = allArguments;
+        final Object skipped = inter.beforeMethod(obj, method, arguments);
+        // Write the arguments back, which could be overridden by the interceptor.
+        allArguments = arguments;
+        return skipped;
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void exit(@Advice.This Object obj,
+                            @Advice.Enter Object skipped,
+                            @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object ret,
+                            @Advice.Thrown Throwable throwable,
+                            @Advice.Local("inter") InstMethodsAdviceInter inter,
+                            @Advice.Local("method") InterceptedMethod method,
+                            @Advice.Local("arguments") Object[] arguments) {
+        if (inter != null) {
+            ret = inter.afterMethod(obj, method, arguments, skipped, ret, throwable);
+        }
+    }
+}
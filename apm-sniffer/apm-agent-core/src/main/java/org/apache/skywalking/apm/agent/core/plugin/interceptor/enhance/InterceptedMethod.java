@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Method;
+import net.bytebuddy.description.method.MethodDescription;
+
+/**
+ * The method enhanced by the advice, with its parameter types, which are resolved once rather than being cloned by
+ * {@link Method#getParameterTypes()} in every call.
+ */
+public final class InterceptedMethod {
+    private final Method method;
+    private final Class<?>[] parameterTypes;
+
+    private InterceptedMethod(Method method) {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * @param clazz     the enhanced class.
+     * @param signature the method name followed by the method descriptor, such as {@code get(I)Ljava/lang/Object;}.
+     */
+    static InterceptedMethod resolve(Class<?> clazz, String signature) {
+        final int descriptorStart = signature.indexOf('(');
+        final String name = signature.substring(0, descriptorStart);
+        final String descriptor = signature.substring(descriptorStart);
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.getName().equals(name)
+                && new MethodDescription.ForLoadedMethod(method).getDescriptor().equals(descriptor)) {
+                return new InterceptedMethod(method);
+            }
+        }
+        throw new IllegalStateException("Can't find the method " + signature + " in " + clazz);
+    }
+}
@@ -56,4 +56,12 @@ public class MethodInterceptResult {
     public Object _ret() {
         return ret;
     }
+
+    /**
+     * Reset the result to continue the origin method, for reusing it in the advice enhancement.
+     */
+    void reset() {
+        this.isContinue = true;
+        this.ret = null;
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+
+/**
+ * The base of the interceptors of the advice enhancement. Every instance serves one intercept point of one enhanced
+ * class, so the methods are cached by the signatures only.
+ */
+public abstract class MethodsAdviceInter {
+    private static final ILog LOGGER = LogManager.getLogger(MethodsAdviceInter.class);
+
+    /**
+     * The results are only used in the before method, and reused by the following calls in the same thread. The results
+     * are kept as a stack, in case the before method calls another enhanced method.
+     */
+    private static final ThreadLocal<ResultStack> RESULTS = ThreadLocal.withInitial(ResultStack::new);
+
+    private final Map<String, InterceptedMethod> methods = new ConcurrentHashMap<>();
+
+    /**
+     * @return the enhanced method, or null if it can't be resolved, then the call is not intercepted.
+     */
+    public InterceptedMethod method(Class<?> clazz, String signature) {
+        InterceptedMethod method = methods.get(signature);
+        if (method == null) {
+            try {
+                method = InterceptedMethod.resolve(clazz, signature);
+                methods.put(signature, method);
+            } catch (Throwable t) {
+                LOGGER.error(t, "class[{}] resolve method[{}] failure", clazz, signature);
+            }
+        }
+        return method;
+    }
+
+    static MethodInterceptResult acquireResult() {
+        return RESULTS.get().acquire();
+    }
+
+    static void releaseResult() {
+        RESULTS.get().release();
+    }
+
+    /**
+     * @return null to continue the origin method, or the result to skip it.
+     */
+    static MethodInterceptResult skipped(MethodInterceptResult result) {
+        if (result.isContinue()) {
+            return null;
+        }
+        final MethodInterceptResult skipped = new MethodInterceptResult();
+        skipped.defineReturnValue(result._ret());
+        return skipped;
+    }
+
+    private static class ResultStack {
+        private MethodInterceptResult[] results = new MethodInterceptResult[4];
+        private int depth;
+
+        MethodInterceptResult acquire() {
+            if (depth == results.length) {
+                results = Arrays.copyOf(results, depth << 1);
+            }
+            MethodInterceptResult result = results[depth];
+            if (result == null) {
+                result = new MethodInterceptResult();
+                results[depth] = result;
+            } else {
+                result.reset();
+            }
+            depth++;
+            return result;
+        }
+
+        void release() {
+            depth--;
+        }
+    }
+}
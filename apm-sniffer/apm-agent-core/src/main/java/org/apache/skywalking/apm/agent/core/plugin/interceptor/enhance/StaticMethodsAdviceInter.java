@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.plugin.PluginException;
+import org.apache.skywalking.apm.agent.core.plugin.loader.InterceptorInstanceLoader;
+
+/**
+ * The interceptor of the class static methods in the advice enhancement, which is called by the advice code inlined
+ * into the enhanced methods. It works as same as {@link StaticMethodsInter}, but without the callable and the intercept
+ * result per call.
+ */
+public class StaticMethodsAdviceInter extends MethodsAdviceInter {
+    private static final ILog LOGGER = LogManager.getLogger(StaticMethodsAdviceInter.class);
+
+    private final StaticMethodsAroundInterceptor interceptor;
+
+    /**
+     * @param staticMethodsAroundInterceptorClassName class full name.
+     */
+    public StaticMethodsAdviceInter(String staticMethodsAroundInterceptorClassName, ClassLoader classLoader) {
+        try {
+            interceptor = InterceptorInstanceLoader.load(staticMethodsAroundInterceptorClassName, classLoader);
+        } catch (Throwable t) {
+            throw new PluginException("Can't create StaticMethodsAroundInterceptor.", t);
+        }
+    }
+
+    /**
+     * @return null to continue the origin method, or the result to skip it.
+     */
+    public Object beforeMethod(Class<?> clazz, InterceptedMethod method, Object[] allArguments) {
+        if (method == null) {
+            return null;
+        }
+        final MethodInterceptResult result = acquireResult();
+        try {
+            interceptor.beforeMethod(clazz, method.getMethod(), allArguments, method.getParameterTypes(), result);
+            return skipped(result);
+        } catch (Throwable t) {
+            LOGGER.error(t, "class[{}] before static method[{}] intercept failure", clazz, method.getMethod().getName());
+            return skipped(result);
+        } finally {
+            releaseResult();
+        }
+    }
+
+    /**
+     * @param skipped   the result returned by {@link #beforeMethod(Class, InterceptedMethod, Object[])}.
+     * @param ret       the return value of the origin method.
+     * @param throwable the exception thrown by the origin method, or null.
+     * @return the return value of the enhanced method.
+     */
+    public Object afterMethod(Class<?> clazz, InterceptedMethod method, Object[] allArguments, Object skipped,
+        Object ret, Throwable throwable) {
+        if (method == null) {
+            return ret;
+        }
+        if (skipped != null) {
+            ret = ((MethodInterceptResult) skipped)._ret();
+        }
+        if (throwable != null) {
+            // As same as the delegation, there is no return value when the origin method throws.
+            ret = null;
+            try {
+                interceptor.handleMethodException(
+                    clazz, method.getMethod(), allArguments, method.getParameterTypes(), throwable);
+            } catch (Throwable t2) {
+                LOGGER.error(t2, "class[{}] handle static method[{}] exception failure", clazz, method.getMethod().getName());
+            }
+        }
+        try {
+            ret = interceptor.afterMethod(clazz, method.getMethod(), allArguments, method.getParameterTypes(), ret);
+        } catch (Throwable t) {
+            LOGGER.error(t, "class[{}] after static method[{}] intercept failure", clazz, method.getMethod().getName());
+        }
+        return ret;
+    }
+}
@@ -18,28 +18,21 @@
 
 package org.apache.skywalking.apm.agent.core.plugin.loader;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.Enumeration;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
-import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.apm.agent.core.boot.AgentPackageNotFoundException;
 import org.apache.skywalking.apm.agent.core.boot.AgentPackagePath;
 import org.apache.skywalking.apm.agent.core.boot.PluginConfig;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.conf.SnifferConfigInitializer;
-import org.apache.skywalking.apm.agent.core.logging.api.ILog;
-import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.plugin.PluginBootstrap;
+import org.apache.skywalking.apm.util.StringUtil;
 
 /**
  * The <code>AgentClassLoader</code> represents a classloader, which is in charge of finding plugins and interceptors.
@@ -53,15 +46,20 @@ public class AgentClassLoader extends ClassLoader {
         registerAsParallelCapable();
     }
 
-    private static final ILog LOGGER = LogManager.getLogger(AgentClassLoader.class);
     /**
      * The default class loader for the agent.
      */
     private static AgentClassLoader DEFAULT_LOADER;
 
+    /**
+     * The index of the plugin jars, which is shared by all agent class loaders with the same classpath, as {@link
+     * InterceptorInstanceLoader} creates an agent class loader for every class loader of the enhanced classes.
+     */
+    private static volatile PluginJarIndex JAR_INDEX;
+    private static final ReentrantLock JAR_SCAN_LOCK = new ReentrantLock();
+
     private List<File> classpath;
-    private List<Jar> allJars;
-    private ReentrantLock jarScanLock = new ReentrantLock();
+    private File jarIndexFile;
 
     public static AgentClassLoader getDefault() {
         return DEFAULT_LOADER;
@@ -87,74 +85,32 @@ public class AgentClassLoader extends ClassLoader {
         File agentDictionary = AgentPackagePath.getPath();
         classpath = new LinkedList<>();
         Config.Plugin.MOUNT.forEach(mountFolder -> classpath.add(new File(agentDictionary, mountFolder)));
+        if (StringUtil.isNotEmpty(Config.Plugin.JAR_INDEX_FILE)) {
+            jarIndexFile = new File(Config.Plugin.JAR_INDEX_FILE);
+            if (!jarIndexFile.isAbsolute()) {
+                jarIndexFile = new File(agentDictionary, Config.Plugin.JAR_INDEX_FILE);
+            }
+        }
     }
 
     @Override
     protected Class<?> findClass(String name) throws ClassNotFoundException {
-        List<Jar> allJars = getAllJars();
         String path = name.replace('.', '/').concat(".class");
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(path);
-            if (entry == null) {
-                continue;
-            }
-            try {
-                URL classFileUrl = new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + path);
-                byte[] data;
-                try (final BufferedInputStream is = new BufferedInputStream(
-                    classFileUrl.openStream()); final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                    int ch;
-                    while ((ch = is.read()) != -1) {
-                        baos.write(ch);
-                    }
-                    data = baos.toByteArray();
-                }
-                return processLoadedClass(defineClass(name, data, 0, data.length));
-            } catch (IOException e) {
-                LOGGER.error(e, "find class fail.");
-            }
+        byte[] data = getJarIndex().read(path);
+        if (data == null) {
+            throw new ClassNotFoundException("Can't find " + name);
         }
-        throw new ClassNotFoundException("Can't find " + name);
+        return processLoadedClass(defineClass(name, data, 0, data.length));
     }
 
     @Override
     protected URL findResource(String name) {
-        List<Jar> allJars = getAllJars();
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(name);
-            if (entry != null) {
-                try {
-                    return new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + name);
-                } catch (MalformedURLException ignored) {
-                }
-            }
-        }
-        return null;
+        return getJarIndex().findResource(name);
     }
 
     @Override
     protected Enumeration<URL> findResources(String name) throws IOException {
-        List<URL> allResources = new LinkedList<>();
-        List<Jar> allJars = getAllJars();
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(name);
-            if (entry != null) {
-                allResources.add(new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + name));
-            }
-        }
-
-        final Iterator<URL> iterator = allResources.iterator();
-        return new Enumeration<URL>() {
-            @Override
-            public boolean hasMoreElements() {
-                return iterator.hasNext();
-            }
-
-            @Override
-            public URL nextElement() {
-                return iterator.next();
-            }
-        };
+        return Collections.enumeration(getJarIndex().findResources(name));
     }
 
     private Class<?> processLoadedClass(Class<?> loadedClass) {
@@ -169,44 +125,20 @@ public class AgentClassLoader extends ClassLoader {
         return loadedClass;
     }
 
-    private List<Jar> getAllJars() {
-        if (allJars == null) {
-            jarScanLock.lock();
+    private PluginJarIndex getJarIndex() {
+        PluginJarIndex index = JAR_INDEX;
+        if (index == null || !index.isBuiltFrom(classpath)) {
+            JAR_SCAN_LOCK.lock();
             try {
-                if (allJars == null) {
-                    allJars = doGetJars();
+                index = JAR_INDEX;
+                if (index == null || !index.isBuiltFrom(classpath)) {
+                    index = PluginJarIndex.build(classpath, jarIndexFile);
+                    JAR_INDEX = index;
                 }
             } finally {
-                jarScanLock.unlock();
+                JAR_SCAN_LOCK.unlock();
             }
         }
-
-        return allJars;
-    }
-
-    private LinkedList<Jar> doGetJars() {
-        LinkedList<Jar> jars = new LinkedList<>();
-        for (File path : classpath) {
-            if (path.exists() && path.isDirectory()) {
-                String[] jarFileNames = path.list((dir, name) -> name.endsWith(".jar"));
-                for (String fileName : jarFileNames) {
-                    try {
-                        File file = new File(path, fileName);
-                        Jar jar = new Jar(new JarFile(file), file);
-                        jars.add(jar);
-                        LOGGER.info("{} loaded.", file.toString());
-                    } catch (IOException e) {
-                        LOGGER.error(e, "{} jar file can't be resolved", fileName);
-                    }
-                }
-            }
-        }
-        return jars;
-    }
-
-    @RequiredArgsConstructor
-    private static class Jar {
-        private final JarFile jarFile;
-        private final File sourceFile;
+        return index;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.loader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+
+/**
+ * PluginJarIndex opens the plugin jars once for all agent class loaders, and maps the directories of the entries to the
+ * plugin jars including them, as same as the jar index of the JDK, so the classes and resources are located without
+ * checking every jar.
+ * <p>
+ * Reading all entries of every jar costs more than checking every jar in a single boot, so the jars are only indexed
+ * when the index is persisted into a file. The file records the path, the size and the last modified time of every
+ * plugin jar as the fingerprint of the plugin folders, and it is reused in the next boot if the fingerprint matches, so
+ * the jars are not scanned again, and are only opened when the first entry of them is read.
+ */
+final class PluginJarIndex {
+    private static final ILog LOGGER = LogManager.getLogger(PluginJarIndex.class);
+
+    private static final int MAGIC = 0x534b4a49;
+    private static final int VERSION = 1;
+
+    private final List<File> classpath;
+    private final File[] files;
+    private final long[] lengths;
+    private final long[] lastModifiedTimes;
+    /**
+     * The opened jars, which are shared by all agent class loaders, so they are read without the lock once opened.
+     */
+    private final AtomicReferenceArray<JarFile> jarFiles;
+    /**
+     * Directory -> the indexes of the jars including the entries in it, in the order of the jars. Null means the jars
+     * are not indexed, then all jars are checked.
+     */
+    private final Map<String, int[]> directories;
+    private final int[] allJars;
+
+    private PluginJarIndex(List<File> classpath, File[] files, JarFile[] jarFiles, Map<String, int[]> directories) {
+        this.classpath = classpath;
+        this.files = files;
+        this.jarFiles = new AtomicReferenceArray<>(jarFiles);
+        this.directories = directories;
+        this.allJars = new int[files.length];
+        for (int i = 0; i < files.length; i++) {
+            allJars[i] = i;
+        }
+        this.lengths = new long[files.length];
+        this.lastModifiedTimes = new long[files.length];
+        for (int i = 0; i < files.length; i++) {
+            lengths[i] = files[i].length();
+            lastModifiedTimes[i] = files[i].lastModified();
+        }
+    }
+
+    /**
+     * Open the jars in the classpath folders. Reuse the persisted index if it matches the jars, otherwise scan the jars
+     * and persist the new index.
+     *
+     * @param indexFile the file to persist the index, null means not indexing the jars.
+     */
+    static PluginJarIndex build(List<File> classpath, File indexFile) {
+        final List<File> jars = listJars(classpath);
+        if (indexFile != null && indexFile.isFile()) {
+            final PluginJarIndex persisted = load(classpath, jars, indexFile);
+            if (persisted != null) {
+                LOGGER.info("{} jars are indexed by {}.", persisted.files.length, indexFile);
+                return persisted;
+            }
+        }
+
+        final List<File> files = new ArrayList<>(jars.size());
+        final List<JarFile> jarFiles = new ArrayList<>(jars.size());
+        final Map<String, int[]> directories = indexFile == null ? null : new HashMap<>();
+        final Set<String> jarDirectories = new HashSet<>();
+        for (File jar : jars) {
+            final JarFile jarFile;
+            try {
+                jarFile = new JarFile(jar);
+                if (directories != null) {
+                    readDirectories(jarFile, jarDirectories);
+                }
+            } catch (IOException e) {
+                LOGGER.error(e, "{} jar file can't be resolved", jar.getName());
+                jarDirectories.clear();
+                continue;
+            }
+            final int index = files.size();
+            files.add(jar);
+            jarFiles.add(jarFile);
+            for (String directory : jarDirectories) {
+                final int[] indexes = directories.get(directory);
+                if (indexes == null) {
+                    directories.put(directory, new int[] {index});
+                } else {
+                    final int[] newIndexes = Arrays.copyOf(indexes, indexes.length + 1);
+                    newIndexes[indexes.length] = index;
+                    directories.put(directory, newIndexes);
+                }
+            }
+            jarDirectories.clear();
+            LOGGER.info("{} loaded.", jar.toString());
+        }
+
+        final PluginJarIndex index = new PluginJarIndex(
+            classpath, files.toArray(new File[0]), jarFiles.toArray(new JarFile[0]), directories);
+        if (indexFile != null) {
+            index.persist(indexFile);
+        }
+        return index;
+    }
+
+    /**
+     * @return true if the index is built from the same classpath folders.
+     */
+    boolean isBuiltFrom(List<File> classpath) {
+        return this.classpath.equals(classpath);
+    }
+
+    /**
+     * @return the content of the first entry with the given name, or null if no jar includes it.
+     */
+    byte[] read(String name) {
+        final int[] indexes = jarsOf(name);
+        if (indexes == null) {
+            return null;
+        }
+        for (int index : indexes) {
+            final JarFile jarFile = jarFile(index);
+            final JarEntry entry = jarFile == null ? null : jarFile.getJarEntry(name);
+            if (entry == null) {
+                continue;
+            }
+            try (InputStream is = jarFile.getInputStream(entry)) {
+                return readFully(is, entry.getSize());
+            } catch (IOException e) {
+                LOGGER.error(e, "read {} from {} fail.", name, files[index]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the URL of the first entry with the given name, or null if no jar includes it.
+     */
+    URL findResource(String name) {
+        final int[] indexes = jarsOf(name);
+        if (indexes == null) {
+            return null;
+        }
+        for (int index : indexes) {
+            if (contains(index, name)) {
+                try {
+                    return toURL(index, name);
+                } catch (MalformedURLException ignored) {
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the URLs of all entries with the given name.
+     */
+    List<URL> findResources(String name) throws MalformedURLException {
+        final int[] indexes = jarsOf(name);
+        if (indexes == null) {
+            return Collections.emptyList();
+        }
+        final List<URL> urls = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            if (contains(index, name)) {
+                urls.add(toURL(index, name));
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * @return the indexes of the jars which may include the entry.
+     */
+    private int[] jarsOf(String name) {
+        return directories == null ? allJars : directories.get(directoryOf(name));
+    }
+
+    private boolean contains(int index, String name) {
+        final JarFile jarFile = jarFile(index);
+        return jarFile != null && jarFile.getJarEntry(name) != null;
+    }
+
+    private URL toURL(int index, String name) throws MalformedURLException {
+        return new URL("jar:file:" + files[index].getAbsolutePath() + "!/" + name);
+    }
+
+    private JarFile jarFile(int index) {
+        JarFile jarFile = jarFiles.get(index);
+        if (jarFile != null) {
+            return jarFile;
+        }
+        synchronized (this) {
+            jarFile = jarFiles.get(index);
+            if (jarFile == null) {
+                try {
+                    jarFile = new JarFile(files[index]);
+                    jarFiles.set(index, jarFile);
+                    LOGGER.info("{} loaded.", files[index].toString());
+                } catch (IOException e) {
+                    LOGGER.error(e, "{} jar file can't be resolved", files[index].getName());
+                }
+            }
+        }
+        return jarFile;
+    }
+
+    private void persist(File indexFile) {
+        final File tempFile = new File(indexFile.getPath() + ".tmp");
+        try {
+            final File folder = indexFile.getAbsoluteFile().getParentFile();
+            if (folder != null && !folder.exists() && !folder.mkdirs()) {
+                throw new IOException("Can't create the folder " + folder);
+            }
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tempFile), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(files.length);
+                for (int i = 0; i < files.length; i++) {
+                    out.writeUTF(files[i].getAbsolutePath());
+                    out.writeLong(lengths[i]);
+                    out.writeLong(lastModifiedTimes[i]);
+                }
+                out.writeInt(directories.size());
+                for (Map.Entry<String, int[]> entry : directories.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    final int[] indexes = entry.getValue();
+                    out.writeInt(indexes.length);
+                    for (int index : indexes) {
+                        out.writeInt(index);
+                    }
+                }
+            }
+            Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn(e, "Can't persist the plugin jar index into {}", indexFile);
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * @return the persisted index, or null if the index file doesn't match the current jars.
+     */
+    private static PluginJarIndex load(List<File> classpath, List<File> jars, File indexFile) {
+        try (DataInputStream in = new DataInputStream(
+            new BufferedInputStream(new FileInputStream(indexFile), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != jars.size()) {
+                return null;
+            }
+            for (File jar : jars) {
+                if (!jar.getAbsolutePath().equals(in.readUTF())
+                    || jar.length() != in.readLong() || jar.lastModified() != in.readLong()) {
+                    return null;
+                }
+            }
+            final int size = in.readInt();
+            final Map<String, int[]> directories = new HashMap<>(size * 4 / 3 + 1);
+            for (int i = 0; i < size; i++) {
+                final String name = in.readUTF();
+                final int[] indexes = new int[in.readInt()];
+                for (int j = 0; j < indexes.length; j++) {
+                    indexes[j] = in.readInt();
+                    if (indexes[j] < 0 || indexes[j] >= jars.size()) {
+                        throw new IOException("The jar index " + indexes[j] + " of " + name + " is out of the "
+                                                  + jars.size() + " jars.");
+                    }
+                }
+                directories.put(name, indexes);
+            }
+            return new PluginJarIndex(
+                classpath, jars.toArray(new File[0]), new JarFile[jars.size()], directories);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn(e, "Can't load the plugin jar index from {}, rebuild it.", indexFile);
+            return null;
+        }
+    }
+
+    private static List<File> listJars(List<File> classpath) {
+        final List<File> jars = new ArrayList<>();
+        for (File path : classpath) {
+            if (path.exists() && path.isDirectory()) {
+                final String[] jarFileNames = path.list((dir, name) -> name.endsWith(".jar"));
+                if (jarFileNames == null) {
+                    continue;
+                }
+                // Keep the order stable, which decides the jar to load the duplicated classes from.
+                Arrays.sort(jarFileNames);
+                for (String fileName : jarFileNames) {
+                    jars.add(new File(path, fileName));
+                }
+            }
+        }
+        return jars;
+    }
+
+    /**
+     * @return the directory of the entry, or empty string for the entries in the root directory.
+     */
+    private static String directoryOf(String name) {
+        final int index = name.lastIndexOf('/');
+        return index < 0 ? "" : name.substring(0, index);
+    }
+
+    private static void readDirectories(JarFile jarFile, Set<String> directories) {
+        final Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            directories.add(directoryOf(entries.nextElement().getName()));
+        }
+    }
+
+    private static byte[] readFully(InputStream is, long size) throws IOException {
+        if (size >= 0 && size <= Integer.MAX_VALUE) {
+            final byte[] data = new byte[(int) size];
+            int offset = 0;
+            int read;
+            while (offset < data.length && (read = is.read(data, offset, data.length - offset)) != -1) {
+                offset += read;
+            }
+            if (offset != data.length) {
+                throw new IOException("Unexpected end of the entry, expected " + size + " bytes, got " + offset);
+            }
+            return data;
+        }
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            baos.write(buffer, 0, read);
+        }
+        return baos.toByteArray();
+    }
+}
@@ -72,6 +72,13 @@ public class ClassAnnotationMatch implements IndirectMatch {
         return isAnnotatedWith(named(annotationName));
     }
 
+    /**
+     * @return the annotations required on the class.
+     */
+    public String[] getAnnotations() {
+        return annotations;
+    }
+
     public static ClassAnnotationMatch byClassAnnotationMatch(String... annotations) {
         return new ClassAnnotationMatch(annotations);
     }
@@ -96,6 +96,13 @@ public class HierarchyMatch implements IndirectMatch {
 
     }
 
+    /**
+     * @return the super classes or interfaces required.
+     */
+    public String[] getParentTypes() {
+        return parentTypes;
+    }
+
     public static IndirectMatch byHierarchyMatch(String... parentTypes) {
         return new HierarchyMatch(parentTypes);
     }
@@ -81,6 +81,13 @@ public class MethodAnnotationMatch implements IndirectMatch {
         return isAnnotatedWith(named(annotationName));
     }
 
+    /**
+     * @return the annotations required on one of the declared methods.
+     */
+    public String[] getAnnotations() {
+        return annotations;
+    }
+
     public static IndirectMatch byMethodAnnotationMatch(String... annotations) {
         return new MethodAnnotationMatch(annotations);
     }
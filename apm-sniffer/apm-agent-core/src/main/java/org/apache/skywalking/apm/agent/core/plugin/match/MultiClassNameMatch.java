@@ -57,6 +57,13 @@ public class MultiClassNameMatch implements IndirectMatch {
         return matchClassNames.contains(typeDescription.getTypeName());
     }
 
+    /**
+     * @return the names of the matched classes.
+     */
+    public List<String> getMatchClassNames() {
+        return matchClassNames;
+    }
+
     public static IndirectMatch byMultiClassMatch(String... classNames) {
         return new MultiClassNameMatch(classNames);
     }
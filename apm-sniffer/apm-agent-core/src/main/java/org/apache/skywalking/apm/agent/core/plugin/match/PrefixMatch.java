@@ -61,6 +61,13 @@ public class PrefixMatch implements IndirectMatch {
         return false;
     }
 
+    /**
+     * @return the prefixes of the class names.
+     */
+    public String[] getPrefixes() {
+        return prefixes;
+    }
+
     public static PrefixMatch nameStartsWith(final String... prefixes) {
         return new PrefixMatch(prefixes);
     }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The dictionary of the code signatures of the dumped stack elements in one profiling task. The same frames show up in
+ * almost all dumps of the profiled threads, so the signature of every frame is only built once, and shared by the
+ * snapshots waiting for the transportation.
+ * <p>
+ * Not thread safe, it should only be used by the {@link ProfileThread} of the task.
+ */
+class CodeSignatureDictionary {
+    /**
+     * The max number of the cached signatures, to avoid the dictionary growing without limitation when the profiled
+     * code keeps generating new classes.
+     */
+    static final int MAX_SIZE = 10_000;
+
+    private final Map<StackTraceElement, String> signatures = new HashMap<>();
+
+    /**
+     * @return code sign: className.methodName:lineNumber
+     */
+    String signature(StackTraceElement element) {
+        String signature = signatures.get(element);
+        if (signature == null) {
+            signature = element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber();
+            if (signatures.size() < MAX_SIZE) {
+                signatures.put(element, signature);
+            }
+        }
+        return signature;
+    }
+
+    int size() {
+        return signatures.size();
+    }
+}
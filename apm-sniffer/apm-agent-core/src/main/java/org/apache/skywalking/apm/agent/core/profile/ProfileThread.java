@@ -19,24 +19,40 @@
 package org.apache.skywalking.apm.agent.core.profile;
 
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * Profile task process thread, dump the executing thread stack.
+ * Profile task process thread, dump the executing thread stack. All profiling threads are dumped through one {@link
+ * ThreadMXBean#getThreadInfo(long[], int)} call in every period, which stops the application at the safepoint only
+ * once, rather than once per profiling thread.
  */
 public class ProfileThread implements Runnable {
 
     private static final ILog LOGGER = LogManager.getLogger(ProfileThread.class);
 
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
     // profiling task context
     private final ProfileTaskExecutionContext taskExecutionContext;
 
     private final ProfileTaskExecutionService profileTaskExecutionService;
     private final ProfileTaskChannelService profileTaskChannelService;
 
+    // code signatures of the dumped frames in current task
+    private final CodeSignatureDictionary codeSignatureDictionary = new CodeSignatureDictionary();
+
+    // profilers to dump in current period
+    private final List<ThreadProfiler> dumpingProfilers = new ArrayList<>();
+
     public ProfileThread(ProfileTaskExecutionContext taskExecutionContext) {
         this.taskExecutionContext = taskExecutionContext;
         profileTaskExecutionService = ServiceManager.INSTANCE.findService(ProfileTaskExecutionService.class);
@@ -89,19 +105,18 @@ public class ProfileThread implements Runnable {
                         break;
 
                     case PROFILING:
-                        // dump stack
-                        TracingThreadSnapshot snapshot = currentProfiler.buildSnapshot();
-                        if (snapshot != null) {
-                            profileTaskChannelService.addProfilingSnapshot(snapshot);
-                        } else {
-                            // tell execution context current tracing thread dump failed, stop it
-                            executionContext.stopTracingProfile(currentProfiler.tracingContext());
-                        }
+                        dumpingProfilers.add(currentProfiler);
                         break;
 
                 }
             }
 
+            // dump stack
+            if (!dumpingProfilers.isEmpty()) {
+                dumpSnapshots(executionContext);
+                dumpingProfilers.clear();
+            }
+
             // sleep to next period
             // if out of period, sleep one period
             long needToSleep = (currentLoopStartTime + maxSleepPeriod) - System.currentTimeMillis();
@@ -110,4 +125,39 @@ public class ProfileThread implements Runnable {
         }
     }
 
+    /**
+     * dump all profiling threads in one batch, and build their snapshots
+     */
+    private void dumpSnapshots(ProfileTaskExecutionContext executionContext) {
+        final int count = dumpingProfilers.size();
+        final long[] threadIds = new long[count];
+        for (int i = 0; i < count; i++) {
+            threadIds[i] = dumpingProfilers.get(i).profilingThreadId();
+        }
+
+        final long dumpTime = System.currentTimeMillis();
+        ThreadInfo[] threadInfos;
+        try {
+            threadInfos = THREAD_MX_BEAN.getThreadInfo(threadIds, Config.Profile.DUMP_MAX_STACK_DEPTH);
+        } catch (Exception e) {
+            // dump error ignore and make these profilers stop
+            LOGGER.warn(e, "Dump profiling threads fail. taskId:{}", executionContext.getTask().getTaskId());
+            threadInfos = new ThreadInfo[count];
+        }
+
+        for (int i = 0; i < count; i++) {
+            final ThreadProfiler profiler = dumpingProfilers.get(i);
+            // thread info is null, means thread is not alive
+            final ThreadInfo threadInfo = threadInfos[i];
+            TracingThreadSnapshot snapshot = profiler.buildSnapshot(
+                dumpTime, threadInfo == null ? null : threadInfo.getStackTrace(), codeSignatureDictionary);
+            if (snapshot != null) {
+                profileTaskChannelService.addProfilingSnapshot(snapshot);
+            } else {
+                // tell execution context current tracing thread dump failed, stop it
+                executionContext.stopTracingProfile(profiler.tracingContext());
+            }
+        }
+    }
+
 }
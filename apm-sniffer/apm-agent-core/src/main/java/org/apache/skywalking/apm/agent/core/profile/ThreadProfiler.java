@@ -78,27 +78,22 @@ public class ThreadProfiler {
     }
 
     /**
-     * dump tracing thread and build thread snapshot
+     * build thread snapshot from the stack trace, which is dumped with the other profiled threads in one batch
      *
+     * @param dumpTime   the time of the batch dump.
+     * @param stackTrace the top {@link Config.Profile#DUMP_MAX_STACK_DEPTH} elements of the profiling thread stack,
+     *                   null means the thread is not alive.
      * @return snapshot, if null means dump snapshot error, should stop it
      */
-    public TracingThreadSnapshot buildSnapshot() {
+    public TracingThreadSnapshot buildSnapshot(long dumpTime,
+                                               StackTraceElement[] stackTrace,
+                                               CodeSignatureDictionary dictionary) {
         if (!isProfilingContinuable()) {
             return null;
         }
 
-        long currentTime = System.currentTimeMillis();
-        // dump thread
-        StackTraceElement[] stackTrace;
-        try {
-            stackTrace = profilingThread.getStackTrace();
-
-            // stack depth is zero, means thread is already run finished
-            if (stackTrace.length == 0) {
-                return null;
-            }
-        } catch (Exception e) {
-            // dump error ignore and make this profiler stop
+        // stack depth is zero, means thread is already run finished
+        if (stackTrace == null || stackTrace.length == 0) {
             return null;
         }
 
@@ -112,20 +107,11 @@ public class ThreadProfiler {
         // use inverted order, because thread dump is start with bottom
         final ArrayList<String> stackList = new ArrayList<>(dumpElementCount);
         for (int i = dumpElementCount - 1; i >= 0; i--) {
-            stackList.add(buildStackElementCodeSignature(stackTrace[i]));
+            stackList.add(dictionary.signature(stackTrace[i]));
         }
 
         String taskId = executionContext.getTask().getTaskId();
-        return new TracingThreadSnapshot(taskId, traceSegmentId, dumpSequence++, currentTime, stackList);
-    }
-
-    /**
-     * build thread stack element code signature
-     *
-     * @return code sign: className.methodName:lineNumber
-     */
-    private String buildStackElementCodeSignature(StackTraceElement element) {
-        return element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber();
+        return new TracingThreadSnapshot(taskId, traceSegmentId, dumpSequence++, dumpTime, stackList);
     }
 
     /**
@@ -145,6 +131,13 @@ public class ThreadProfiler {
         return System.currentTimeMillis() - profilingStartTime < profilingMaxTimeMills;
     }
 
+    /**
+     * @return the id of the profiling thread, used to dump its stack.
+     */
+    public long profilingThreadId() {
+        return profilingThread.getId();
+    }
+
     public TracingContext tracingContext() {
         return tracingContext;
     }
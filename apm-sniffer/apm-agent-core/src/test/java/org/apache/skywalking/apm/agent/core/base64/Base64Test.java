@@ -19,7 +19,10 @@
 package org.apache.skywalking.apm.agent.core.base64;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
+import java.nio.charset.StandardCharsets;
 import org.junit.Test;
 
 public class Base64Test {
@@ -33,4 +36,51 @@ public class Base64Test {
     public void testEncode() {
         assertEquals(Base64.encode("SkyWalking"), "U2t5V2Fsa2luZw==");
     }
+
+    @Test
+    public void testEncodeToBuilder() {
+        for (String text : new String[] {
+            "", "S", "Sk", "Sky", "SkyWalking", "\u670D\u52A1-\u5B9E\u4F8B", "emoji \uD83D\uDE00", "unpaired \uD800 surrogate"
+        }) {
+            final String expected = java.util.Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+            assertEquals(expected, Base64.encode(text));
+            assertEquals("-" + expected, Base64.encode(text, new StringBuilder("-")).toString());
+            assertEquals(new String(text.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8),
+                         Base64.decode2UTFString("-" + expected + "-", 1, expected.length() + 1));
+        }
+    }
+
+    @Test
+    public void testDecodePart() {
+        assertEquals("SkyWalking", Base64.decode2UTFString("1-U2t5V2Fsa2luZw==-2", 2, 18));
+        // The padding is not required, as same as java.util.Base64
+        assertEquals("SkyWalking", Base64.decode2UTFString("U2t5V2Fsa2luZw", 0, 14));
+        assertEquals("", Base64.decode2UTFString("--", 1, 1));
+
+        for (String illegal : new String[] {"U2t5V", "U2t5V2=", "U2t5V2===", "U2t5-2Fs", "=U2t"}) {
+            try {
+                Base64.decode2UTFString(illegal, 0, illegal.length());
+                fail("Illegal base64 text should be rejected: " + illegal);
+            } catch (IllegalArgumentException e) {
+                try {
+                    java.util.Base64.getDecoder().decode(illegal);
+                    fail("JDK accepts the text: " + illegal);
+                } catch (IllegalArgumentException expected) {
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCache() {
+        final Base64Cache cache = new Base64Cache(4);
+        assertEquals("U2t5V2Fsa2luZw==", cache.encode("SkyWalking", new StringBuilder()).toString());
+        assertEquals("U2t5V2Fsa2luZw==", cache.encode("SkyWalking", new StringBuilder()).toString());
+
+        final String header = "1-U2t5V2Fsa2luZw==-2";
+        final String decoded = cache.decode2UTFString(header, 2, 18);
+        assertEquals("SkyWalking", decoded);
+        assertSame(decoded, cache.decode2UTFString("U2t5V2Fsa2luZw==", 0, 16));
+        assertEquals("Sky", cache.decode2UTFString("U2t5", 0, 4));
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.skywalking.apm.agent.core.base64.Base64;
+import org.apache.skywalking.apm.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the sw8 header codec with the previous split and join implementation.
+ */
+@State(Scope.Thread)
+public class ContextCarrierBenchmark {
+    private static final String HEADER = "1-YTFiMmMzZDRlNWY2LjEyMy4xNjI0ODcwMDAwMDAwMDAwMQ==-"
+        + "YTFiMmMzZDRlNWY2LjEyNC4xNjI0ODcwMDAwMDAwMDAwMg==-3-b3JkZXItc2VydmljZQ==-YTFiMmMzZDRlNWY2QDEwLjAuMC4x-"
+        + "L29yZGVyL3tpZH0vZGV0YWls-MTAuMC4wLjI6ODA4MA==";
+    private static final String CORRELATION = "dGVuYW50:YWNtZQ==,dXNlcg==:MTIzNDU2,c2NlbmU=:Y2hlY2tvdXQ=";
+
+    private final ContextCarrier carrier = new ContextCarrier().deserialize(HEADER, ContextCarrier.HeaderVersion.v3);
+    private final CorrelationContext correlation = new CorrelationContext();
+    private final Map<String, String> correlationData = new HashMap<>();
+
+    {
+        correlation.deserialize(CORRELATION);
+        correlationData.put("tenant", "acme");
+        correlationData.put("user", "123456");
+        correlationData.put("scene", "checkout");
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void serialize(Blackhole bh) {
+        bh.consume(carrier.serialize(ContextCarrier.HeaderVersion.v3));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void legacySerialize(Blackhole bh) {
+        bh.consume(StringUtil.join(
+            '-',
+            "1",
+            Base64.encode(carrier.getTraceId()),
+            Base64.encode(carrier.getTraceSegmentId()),
+            carrier.getSpanId() + "",
+            Base64.encode(carrier.getParentService()),
+            Base64.encode(carrier.getParentServiceInstance()),
+            Base64.encode(carrier.getParentEndpoint()),
+            Base64.encode(carrier.getAddressUsedAtClient())
+        ));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void deserialize(Blackhole bh) {
+        bh.consume(new ContextCarrier().deserialize(HEADER, ContextCarrier.HeaderVersion.v3));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void legacyDeserialize(Blackhole bh) {
+        String[] parts = HEADER.split("-", 8);
+        bh.consume(Base64.decode2UTFString(parts[1]));
+        bh.consume(Base64.decode2UTFString(parts[2]));
+        bh.consume(Integer.parseInt(parts[3]));
+        bh.consume(Base64.decode2UTFString(parts[4]));
+        bh.consume(Base64.decode2UTFString(parts[5]));
+        bh.consume(Base64.decode2UTFString(parts[6]));
+        bh.consume(Base64.decode2UTFString(parts[7]));
+        // The carrier holding the fields, as same as the deserialize benchmark.
+        bh.consume(new ContextCarrier());
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void serializeCorrelation(Blackhole bh) {
+        bh.consume(correlation.serialize());
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void legacySerializeCorrelation(Blackhole bh) {
+        bh.consume(correlationData.entrySet().stream()
+                              .map(entry -> Base64.encode(entry.getKey()) + ":" + Base64.encode(entry.getValue()))
+                              .collect(Collectors.joining(",")));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void deserializeCorrelation(Blackhole bh) {
+        CorrelationContext context = new CorrelationContext();
+        context.deserialize(CORRELATION);
+        bh.consume(context);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void legacyDeserializeCorrelation(Blackhole bh) {
+        CorrelationContext context = new CorrelationContext();
+        for (String perData : CORRELATION.split(",")) {
+            final String[] parts = perData.split(":");
+            if (parts.length == 2) {
+                context.put(Base64.decode2UTFString(parts[0]), Base64.decode2UTFString(parts[1]));
+            }
+        }
+        bh.consume(context);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(ContextCarrierBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 3 s each
+     * # Timeout: 10 min per iteration
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                                           Mode  Cnt     Score     Error   Units
+     * ContextCarrierBenchmark.deserialize                                                 avgt    5  1180.711 ± 434.766   ns/op
+     * ContextCarrierBenchmark.deserialize:·gc.alloc.rate.norm                             avgt    5   552.000 ±   0.001    B/op
+     * ContextCarrierBenchmark.deserializeCorrelation                                      avgt    5   410.232 ± 172.001   ns/op
+     * ContextCarrierBenchmark.deserializeCorrelation:·gc.alloc.rate.norm                  avgt    5   544.000 ±   0.001    B/op
+     * ContextCarrierBenchmark.legacyDeserialize                                           avgt    5  1292.501 ± 528.899   ns/op
+     * ContextCarrierBenchmark.legacyDeserialize:·gc.alloc.rate.norm                       avgt    5  2776.000 ±   0.001    B/op
+     * ContextCarrierBenchmark.legacyDeserializeCorrelation                                avgt    5  1633.985 ± 947.488   ns/op
+     * ContextCarrierBenchmark.legacyDeserializeCorrelation:·gc.alloc.rate.norm            avgt    5  2992.000 ±   0.001    B/op
+     * ContextCarrierBenchmark.legacySerialize                                             avgt    5  1415.225 ± 291.185   ns/op
+     * ContextCarrierBenchmark.legacySerialize:·gc.alloc.rate.norm                         avgt    5  3248.000 ±   0.001    B/op
+     * ContextCarrierBenchmark.legacySerializeCorrelation                                  avgt    5  1316.912 ± 353.240   ns/op
+     * ContextCarrierBenchmark.legacySerializeCorrelation:·gc.alloc.rate.norm              avgt    5  2776.000 ±   0.001    B/op
+     * ContextCarrierBenchmark.serialize                                                   avgt    5   558.185 ± 190.058   ns/op
+     * ContextCarrierBenchmark.serialize:·gc.alloc.rate.norm                               avgt    5   440.000 ±   0.001    B/op
+     * ContextCarrierBenchmark.serializeCorrelation                                        avgt    5   204.173 ±  29.864   ns/op
+     * ContextCarrierBenchmark.serializeCorrelation:·gc.alloc.rate.norm                    avgt    5   160.000 ±   0.001    B/op
+     */
+}
@@ -162,4 +162,43 @@ public class ContextCarrierV3HeaderTest {
         Assert.assertEquals(contextCarrier.getCorrelationContext(), contextCarrier2.getCorrelationContext());
         Assert.assertEquals(contextCarrier.getExtensionContext(), contextCarrier2.getExtensionContext());
     }
+
+    @Test
+    public void testDeserializeIllegalV3Header() {
+        Assert.assertFalse(new ContextCarrier().deserialize(
+            "1-My40LjU=-MS4yLjM=-4-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==", ContextCarrier.HeaderVersion.v3).isValid());
+        Assert.assertFalse(new ContextCarrier().deserialize(
+            "1-My40LjU=-MS4yLjM=-x-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=",
+            ContextCarrier.HeaderVersion.v3
+        ).isValid());
+        // The last part takes the rest text, the extra '-' makes it an illegal base64 text.
+        Assert.assertFalse(new ContextCarrier().deserialize(
+            "1-My40LjU=-MS4yLjM=-4-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=-",
+            ContextCarrier.HeaderVersion.v3
+        ).isValid());
+    }
+
+    @Test
+    public void testNonASCIIV3Header() {
+        ContextCarrier contextCarrier = new ContextCarrier();
+        contextCarrier.setTraceSegmentId("1.2.3");
+        contextCarrier.setTraceId("3.4.5");
+        contextCarrier.setSpanId(12);
+        contextCarrier.setParentService("\u670D\u52A1");
+        contextCarrier.setParentServiceInstance("\u5B9E\u4F8B@host");
+        contextCarrier.setAddressUsedAtClient("127.0.0.1:8080");
+        contextCarrier.setParentEndpoint("/\u5E94\u7528");
+
+        String header = contextCarrier.serialize(ContextCarrier.HeaderVersion.v3);
+        ContextCarrier contextCarrier2 = new ContextCarrier().deserialize(header, ContextCarrier.HeaderVersion.v3);
+        Assert.assertTrue(contextCarrier2.isValid());
+        Assert.assertEquals("3.4.5", contextCarrier2.getTraceId());
+        Assert.assertEquals("1.2.3", contextCarrier2.getTraceSegmentId());
+        Assert.assertEquals(12, contextCarrier2.getSpanId());
+        Assert.assertEquals("\u670D\u52A1", contextCarrier2.getParentService());
+        Assert.assertEquals("\u5B9E\u4F8B@host", contextCarrier2.getParentServiceInstance());
+        Assert.assertEquals("/\u5E94\u7528", contextCarrier2.getParentEndpoint());
+        Assert.assertEquals("127.0.0.1:8080", contextCarrier2.getAddressUsedAtClient());
+        Assert.assertEquals(header, contextCarrier2.serialize(ContextCarrier.HeaderVersion.v3));
+    }
 }
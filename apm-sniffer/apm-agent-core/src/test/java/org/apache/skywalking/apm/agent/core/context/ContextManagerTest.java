@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Objects;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.tag.StringTag;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
@@ -284,4 +285,57 @@ public class ContextManagerTest {
         assertThat(values.get(2).getValue(), is("exception"));
         assertTrue(values.get(2).getValue().length() <= 4000);
     }
+
+    @Test
+    public void transformSpanOnFinish() {
+        Config.Agent.TRANSFORM_SPAN_ON_FINISH = true;
+        AbstractSpan asyncSpan;
+        try {
+            AbstractSpan entrySpan = ContextManager.createEntrySpan("/testEntrySpan", null);
+            entrySpan.setComponent(ComponentsDefine.TOMCAT);
+            asyncSpan = ContextManager.createLocalSpan("/testAsyncSpan");
+            asyncSpan.prepareForAsync();
+            ContextManager.stopSpan();
+            AbstractSpan exitSpan = ContextManager.createExitSpan("/testExitSpan", "127.0.0.1:8080");
+            exitSpan.log(new RuntimeException("exception"));
+            ContextManager.stopSpan();
+            ContextManager.stopSpan();
+        } finally {
+            Config.Agent.TRANSFORM_SPAN_ON_FINISH = false;
+        }
+        assertThat(tracingData.getTraceSegments().size(), is(0));
+        asyncSpan.tag(new StringTag("async"), "true");
+        asyncSpan.asyncFinish();
+
+        TraceSegment actualSegment = tracingData.getTraceSegments().get(0);
+        // Only the span in async mode is kept as object.
+        assertThat(SegmentHelper.getSpan(actualSegment).size(), is(1));
+
+        SegmentObject segmentObject = actualSegment.transform();
+        assertThat(segmentObject.getSpansCount(), is(3));
+        assertThat(segmentObject.getSpans(0).getOperationName(), is("/testExitSpan"));
+        assertThat(segmentObject.getSpans(0).getLogsCount(), is(1));
+        assertThat(segmentObject.getSpans(1).getOperationName(), is("/testEntrySpan"));
+        assertThat(segmentObject.getSpans(1).getComponentId(), is(ComponentsDefine.TOMCAT.getId()));
+        assertThat(segmentObject.getSpans(2).getOperationName(), is("/testAsyncSpan"));
+        assertThat(segmentObject.getSpans(2).getTags(0).getKey(), is("async"));
+        assertThat(actualSegment.transform(), is(segmentObject));
+    }
+
+    @Test
+    public void createDeepSpans() {
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/testEntrySpan", null);
+        for (int i = 0; i < 20; i++) {
+            ContextManager.createLocalSpan("/testLocalSpan" + i);
+        }
+        for (int i = 19; i >= 0; i--) {
+            assertThat(ContextManager.activeSpan().getOperationName(), is("/testLocalSpan" + i));
+            ContextManager.stopSpan();
+        }
+        assertThat(ContextManager.activeSpan(), is(entrySpan));
+        ContextManager.stopSpan();
+
+        TraceSegment actualSegment = tracingData.getTraceSegments().get(0);
+        assertThat(SegmentHelper.getSpan(actualSegment).size(), is(21));
+    }
 }
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.NamedElement;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.bytebuddy.AbstractJunction;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.ConstructorInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.InstanceMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ClassInstanceMethodsEnhancePluginDefine;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.NameMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static net.bytebuddy.matcher.ElementMatchers.isInterface;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static org.apache.skywalking.apm.agent.core.plugin.match.ClassAnnotationMatch.byClassAnnotationMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch.byHierarchyMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.MethodAnnotationMatch.byMethodAnnotationMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.PrefixMatch.nameStartsWith;
+import static org.apache.skywalking.apm.agent.core.plugin.match.RegexMatch.byRegexMatch;
+
+/**
+ * Match all classes of the byte-buddy jar at the startup, against 200 plugins matching by the class names and 100
+ * plugins matching by the hierarchies, the annotations, the prefixes and the regex expressions.
+ */
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PluginFinderBenchmark {
+
+    @State(Scope.Thread)
+    public static class MyState {
+        private List<AbstractClassEnhancePluginDefine> plugins;
+        private List<TypeDescription> types;
+        private ElementMatcher<? super TypeDescription> legacyMatcher;
+        private ElementMatcher<? super TypeDescription> warmedMatcher;
+
+        @Setup
+        public void setup() throws IOException {
+            plugins = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                plugins.add(new MatchPluginDefine(NameMatch.byName("org.apache.skywalking.Enhanced" + i)));
+            }
+            for (int i = 0; i < 60; i++) {
+                plugins.add(new MatchPluginDefine(byHierarchyMatch("org.springframework.Parent" + i)));
+            }
+            plugins.add(new MatchPluginDefine(byHierarchyMatch(Runnable.class.getName())));
+            for (int i = 0; i < 15; i++) {
+                plugins.add(new MatchPluginDefine(byClassAnnotationMatch("org.springframework.ClassAnnotation" + i)));
+            }
+            for (int i = 0; i < 10; i++) {
+                plugins.add(new MatchPluginDefine(byMethodAnnotationMatch("org.springframework.MethodAnnotation" + i)));
+            }
+            for (int i = 0; i < 12; i++) {
+                plugins.add(new MatchPluginDefine(nameStartsWith("org.apache.dubbo.Prefix" + i)));
+            }
+            plugins.add(new MatchPluginDefine(byRegexMatch("org\\.springframework\\..*Controller")));
+            plugins.add(new MatchPluginDefine(byRegexMatch("org\\.springframework\\..*Service")));
+
+            types = new ArrayList<>();
+            final File jar = new File(ByteBuddy.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+            try (JarFile jarFile = new JarFile(jar)) {
+                final Enumeration<JarEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    final String name = entries.nextElement().getName();
+                    if (!name.endsWith(".class") || name.contains("-")) {
+                        continue;
+                    }
+                    try {
+                        final Class<?> type = Class.forName(
+                            name.substring(0, name.length() - 6).replace('/', '.'), false, ByteBuddy.class.getClassLoader());
+                        types.add(TypeDescription.ForLoadedType.of(type));
+                    } catch (Throwable ignored) {
+                    }
+                }
+            }
+
+            legacyMatcher = legacyMatch(plugins);
+            warmedMatcher = new PluginFinder(plugins).buildMatch();
+            match(warmedMatcher, types);
+        }
+    }
+
+    /**
+     * The matcher before indexing, which checks all junctions of the plugins.
+     */
+    @Benchmark
+    public int legacyMatch(MyState state) {
+        return match(state.legacyMatcher, state.types);
+    }
+
+    @Benchmark
+    public int indexedMatch(MyState state) {
+        return match(new PluginFinder(state.plugins).buildMatch(), state.types);
+    }
+
+    /**
+     * The same types are matched again, such as loaded by another class loader.
+     */
+    @Benchmark
+    public int indexedMatchAgain(MyState state) {
+        return match(state.warmedMatcher, state.types);
+    }
+
+    private static int match(ElementMatcher<? super TypeDescription> matcher, List<TypeDescription> types) {
+        int matched = 0;
+        for (TypeDescription type : types) {
+            if (matcher.matches(type)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    private static ElementMatcher<? super TypeDescription> legacyMatch(List<AbstractClassEnhancePluginDefine> plugins) {
+        final Set<String> names = new HashSet<>();
+        final List<IndirectMatch> matches = new ArrayList<>();
+        for (AbstractClassEnhancePluginDefine plugin : plugins) {
+            final ClassMatch match = plugin.enhanceClass();
+            if (match instanceof NameMatch) {
+                names.add(((NameMatch) match).getClassName());
+            } else {
+                matches.add((IndirectMatch) match);
+            }
+        }
+        ElementMatcher.Junction judge = new AbstractJunction<NamedElement>() {
+            @Override
+            public boolean matches(NamedElement target) {
+                return names.contains(target.getActualName());
+            }
+        };
+        judge = judge.and(not(isInterface()));
+        for (IndirectMatch match : matches) {
+            judge = judge.or(match.buildJunction());
+        }
+        return judge;
+    }
+
+    private static class MatchPluginDefine extends ClassInstanceMethodsEnhancePluginDefine {
+        private final ClassMatch match;
+
+        private MatchPluginDefine(ClassMatch match) {
+            this.match = match;
+        }
+
+        @Override
+        protected ClassMatch enhanceClass() {
+            return match;
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return null;
+        }
+
+        @Override
+        public InstanceMethodsInterceptPoint[] getInstanceMethodsInterceptPoints() {
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(PluginFinderBenchmark.class.getName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 3 s each
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                   Mode  Cnt          Score        Error  Units
+     * PluginFinderBenchmark.indexedMatch                          avgt    5         12.983 ±      2.404  ms/op
+     * PluginFinderBenchmark.indexedMatch:·gc.alloc.rate.norm      avgt    5   16623423.376 ±     46.041   B/op
+     * PluginFinderBenchmark.indexedMatchAgain                     avgt    5          1.912 ±      1.046  ms/op
+     * PluginFinderBenchmark.indexedMatchAgain:·gc.alloc.rate.norm avgt    5    2305685.836 ±    178.419   B/op
+     * PluginFinderBenchmark.legacyMatch                           avgt    5        278.932 ±     59.846  ms/op
+     * PluginFinderBenchmark.legacyMatch:·gc.alloc.rate.norm       avgt    5  362371289.673 ±     61.956   B/op
+     */
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.ConstructorInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.InstanceMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ClassInstanceMethodsEnhancePluginDefine;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.MatchTestAnnotation;
+import org.apache.skywalking.apm.agent.core.plugin.match.NameMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.logical.LogicalMatchOperation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.skywalking.apm.agent.core.plugin.match.ClassAnnotationMatch.byClassAnnotationMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch.byHierarchyMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.MethodAnnotationMatch.byMethodAnnotationMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.MultiClassNameMatch.byMultiClassMatch;
+import static org.apache.skywalking.apm.agent.core.plugin.match.PrefixMatch.nameStartsWith;
+import static org.apache.skywalking.apm.agent.core.plugin.match.RegexMatch.byRegexMatch;
+
+public class PluginFinderTest {
+    private static final Class<?>[] TYPES = new Class<?>[] {
+        Object.class,
+        String.class,
+        Thread.class,
+        Runnable.class,
+        ArrayList.class,
+        LinkedList.class,
+        HashMap.class,
+        ConcurrentHashMap.class,
+        Callable.class,
+        TestService.class,
+        TestDao.class,
+        TestSubDao.class,
+        TestController.class,
+        TestApi.class
+    };
+
+    private List<AbstractClassEnhancePluginDefine> plugins;
+    private PluginFinder finder;
+
+    @Before
+    public void setUp() {
+        plugins = Arrays.asList(
+            new MatchPluginDefine(NameMatch.byName(ArrayList.class.getName())),
+            new MatchPluginDefine(NameMatch.byName(Runnable.class.getName())),
+            new MatchPluginDefine(byMultiClassMatch(HashMap.class.getName(), Callable.class.getName())),
+            new MatchPluginDefine(nameStartsWith("java.util.concurrent.", "java.lang.Th")),
+            new MatchPluginDefine(byClassAnnotationMatch(MatchTestAnnotation.class.getName())),
+            new MatchPluginDefine(byMethodAnnotationMatch(Deprecated.class.getName())),
+            new MatchPluginDefine(byHierarchyMatch("java.util.AbstractList", "java.util.RandomAccess")),
+            new MatchPluginDefine(byHierarchyMatch(Runnable.class.getName())),
+            new MatchPluginDefine(byRegexMatch(".*Service.*")),
+            new MatchPluginDefine(LogicalMatchOperation.or(
+                byHierarchyMatch("java.util.Map"), byClassAnnotationMatch(MatchTestAnnotation.class.getName()))),
+            new MatchPluginDefine(null)
+        );
+        finder = new PluginFinder(plugins);
+    }
+
+    @Test
+    public void testFind() {
+        for (Class<?> type : TYPES) {
+            TypeDescription typeDescription = TypeDescription.ForLoadedType.of(type);
+            List<AbstractClassEnhancePluginDefine> expected = new ArrayList<>();
+            for (AbstractClassEnhancePluginDefine plugin : plugins) {
+                ClassMatch match = plugin.enhanceClass();
+                if (match instanceof NameMatch && ((NameMatch) match).getClassName().equals(type.getName())) {
+                    expected.add(plugin);
+                }
+            }
+            for (AbstractClassEnhancePluginDefine plugin : plugins) {
+                ClassMatch match = plugin.enhanceClass();
+                if (match instanceof IndirectMatch && ((IndirectMatch) match).isMatch(typeDescription)) {
+                    expected.add(plugin);
+                }
+            }
+            Assert.assertEquals(type.getName(), expected, finder.find(typeDescription));
+        }
+    }
+
+    @Test
+    public void testBuildMatch() {
+        ElementMatcher<? super TypeDescription> matcher = finder.buildMatch();
+        for (Class<?> type : TYPES) {
+            TypeDescription typeDescription = TypeDescription.ForLoadedType.of(type);
+            boolean expected = false;
+            for (AbstractClassEnhancePluginDefine plugin : plugins) {
+                ClassMatch match = plugin.enhanceClass();
+                if (match instanceof NameMatch) {
+                    expected |= ((NameMatch) match).getClassName().equals(type.getName()) && !type.isInterface();
+                } else if (match instanceof IndirectMatch) {
+                    expected |= ((IndirectMatch) match).buildJunction().matches(typeDescription);
+                }
+            }
+            Assert.assertEquals(type.getName(), expected, matcher.matches(typeDescription));
+            // Match again through the cache of the unmatched types.
+            Assert.assertEquals(type.getName(), expected, matcher.matches(typeDescription));
+        }
+    }
+
+    @Test
+    public void testUnmatchedTypeWithAnotherShape() {
+        ElementMatcher<? super TypeDescription> matcher = finder.buildMatch();
+        TypeDescription plain = new ByteBuddy().subclass(Object.class)
+                                               .name("org.apache.skywalking.Same")
+                                               .make()
+                                               .getTypeDescription();
+        TypeDescription runnable = new ByteBuddy().subclass(Object.class)
+                                                  .implement(Runnable.class)
+                                                  .name("org.apache.skywalking.Same")
+                                                  .make()
+                                                  .getTypeDescription();
+        Assert.assertFalse(matcher.matches(plain));
+        Assert.assertTrue(matcher.matches(runnable));
+        Assert.assertFalse(matcher.matches(plain));
+    }
+
+    public static class TestService implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    @MatchTestAnnotation
+    public static class TestDao {
+    }
+
+    public static class TestSubDao extends TestDao {
+    }
+
+    public static class TestController {
+        @Deprecated
+        public void handle() {
+        }
+    }
+
+    @MatchTestAnnotation
+    public interface TestApi {
+    }
+
+    private static class MatchPluginDefine extends ClassInstanceMethodsEnhancePluginDefine {
+        private final ClassMatch match;
+
+        private MatchPluginDefine(ClassMatch match) {
+            this.match = match;
+        }
+
+        @Override
+        protected ClassMatch enhanceClass() {
+            return match;
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return null;
+        }
+
+        @Override
+        public InstanceMethodsInterceptPoint[] getInstanceMethodsInterceptPoints() {
+            return null;
+        }
+    }
+}
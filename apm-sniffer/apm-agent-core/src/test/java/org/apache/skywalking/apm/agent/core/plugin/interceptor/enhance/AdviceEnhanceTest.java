@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.EnhanceContext;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.ConstructorInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.InstanceMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.StaticMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.NameMatch;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import static net.bytebuddy.matcher.ElementMatchers.any;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Make sure the advice enhancement works as same as the delegation.
+ */
+@RunWith(Parameterized.class)
+public class AdviceEnhanceTest {
+    private static final List<String> EVENTS = new ArrayList<>();
+    private static Object DEFINED_RETURN_VALUE;
+    private static Object[] OVERRIDE_ARGUMENTS;
+
+    private final boolean advice;
+    private Class<?> enhancedClass;
+
+    public AdviceEnhanceTest(boolean advice) {
+        this.advice = advice;
+    }
+
+    @Parameterized.Parameters(name = "advice: {0}")
+    public static Object[] parameters() {
+        return new Object[] {
+            false,
+            true
+        };
+    }
+
+    @Before
+    public void setUp() {
+        EVENTS.clear();
+        DEFINED_RETURN_VALUE = null;
+        OVERRIDE_ARGUMENTS = null;
+        enhancedClass = enhance(advice, false, RecordInterceptor.class.getName());
+    }
+
+    @Test
+    public void testInstanceMethod() throws Exception {
+        final Object target = newTarget(enhancedClass);
+        assertTrue(target instanceof EnhancedInstance);
+        assertEquals("constructor [skywalking]", EVENTS.get(0));
+        assertEquals("skywalking", ((EnhancedInstance) target).getSkyWalkingDynamicField());
+
+        EVENTS.clear();
+        assertEquals("Hello skywalking x2 after", invoke(target, "greet", "Hello", 2));
+        assertEquals(Arrays.asList(
+            "before greet [Hello, 2] [class java.lang.String, int]",
+            "after greet Hello skywalking x2"
+        ), EVENTS);
+    }
+
+    @Test
+    public void testVoidMethod() throws Exception {
+        final Object target = newTarget(enhancedClass);
+        EVENTS.clear();
+        assertNull(invoke(target, "run"));
+        assertEquals(Arrays.asList("before run [] []", "after run null"), EVENTS);
+    }
+
+    @Test
+    public void testSkipOriginMethod() throws Exception {
+        final Object target = newTarget(enhancedClass);
+        EVENTS.clear();
+        DEFINED_RETURN_VALUE = 100L;
+        assertEquals(100L, invoke(target, "fail"));
+        assertEquals(Arrays.asList("before fail [] []", "after fail 100"), EVENTS);
+    }
+
+    @Test
+    public void testException() throws Exception {
+        final Object target = newTarget(enhancedClass);
+        EVENTS.clear();
+        try {
+            invoke(target, "fail");
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(Arrays.asList("before fail [] []", "exception fail fail", "after fail null"), EVENTS);
+    }
+
+    @Test
+    public void testOverrideArgs() throws Exception {
+        enhancedClass = enhance(advice, true, RecordInterceptor.class.getName());
+        final Object target = newTarget(enhancedClass);
+        EVENTS.clear();
+        OVERRIDE_ARGUMENTS = new Object[] {
+            "Hi",
+            3
+        };
+        assertEquals("Hi skywalking x3 after", invoke(target, "greet", "Hello", 2));
+        OVERRIDE_ARGUMENTS = new Object[] {
+            5L,
+            6L
+        };
+        assertEquals(11L, enhancedClass.getMethod("sum", long.class, long.class).invoke(null, 1L, 2L));
+    }
+
+    @Test
+    public void testStaticMethod() throws Exception {
+        assertEquals(3L, enhancedClass.getMethod("sum", long.class, long.class).invoke(null, 1L, 2L));
+        assertEquals(Arrays.asList("before static sum [1, 2] [long, long]", "after static sum 3"), EVENTS);
+
+        EVENTS.clear();
+        DEFINED_RETURN_VALUE = 10L;
+        assertEquals(10L, enhancedClass.getMethod("sum", long.class, long.class).invoke(null, 1L, 2L));
+    }
+
+    @Test
+    public void testInterceptorFailure() throws Exception {
+        final Object target = newTarget(enhancedClass);
+        DEFINED_RETURN_VALUE = new IllegalArgumentException("interceptor failure");
+        assertEquals("Hello skywalking x2 after", invoke(target, "greet", "Hello", 2));
+    }
+
+    @Test
+    public void testInterceptorHeldByEnhancedClass() throws Exception {
+        assumeTrue(advice);
+        final List<Object> inters = new ArrayList<>();
+        for (Field field : enhancedClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getName().startsWith("_$EnhancedClassAdviceInter_")) {
+                inters.add(field.get(null));
+            }
+        }
+        // The constructors, the instance methods and the static methods.
+        assertEquals(3, inters.size());
+        assertTrue(inters.stream().anyMatch(ConstructorAdviceInter.class::isInstance));
+        assertTrue(inters.stream().anyMatch(InstMethodsAdviceInter.class::isInstance));
+        assertTrue(inters.stream().anyMatch(StaticMethodsAdviceInter.class::isInstance));
+    }
+
+    private static Object newTarget(Class<?> clazz) throws Exception {
+        return clazz.getConstructor(String.class).newInstance("skywalking");
+    }
+
+    private static Object invoke(Object target, String method, Object... args) throws Exception {
+        for (Method m : target.getClass().getMethods()) {
+            if (m.getName().equals(method)) {
+                return m.invoke(target, args);
+            }
+        }
+        throw new NoSuchMethodException(method);
+    }
+
+    static Class<?> enhance(boolean advice, boolean overrideArgs, String interceptor) {
+        final TypeDescription typeDescription = TypeDescription.ForLoadedType.of(EnhanceTarget.class);
+        final ClassLoader classLoader = EnhanceTarget.class.getClassLoader();
+        DynamicType.Builder<?> builder = new ByteBuddy().rebase(EnhanceTarget.class)
+                                                        .name(EnhanceTarget.class.getName() + "$$" + (advice ? "Advice" : "Delegation") + (overrideArgs ? "OverrideArgs" : ""));
+        builder = new TestPluginDefine(advice, overrideArgs, interceptor)
+            .define(typeDescription, builder, classLoader, new EnhanceContext());
+        return builder.make().load(classLoader, ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+    }
+
+    static class TestPluginDefine extends ClassEnhancePluginDefine {
+        private final boolean advice;
+        private final boolean overrideArgs;
+        private final String interceptor;
+
+        TestPluginDefine(boolean advice, boolean overrideArgs, String interceptor) {
+            this.advice = advice;
+            this.overrideArgs = overrideArgs;
+            this.interceptor = interceptor;
+        }
+
+        @Override
+        protected ClassMatch enhanceClass() {
+            return NameMatch.byName(EnhanceTarget.class.getName());
+        }
+
+        @Override
+        public boolean isAdviceEnhancement() {
+            return advice;
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return new ConstructorInterceptPoint[] {
+                new ConstructorInterceptPoint() {
+                    @Override
+                    public ElementMatcher<MethodDescription> getConstructorMatcher() {
+                        return any();
+                    }
+
+                    @Override
+                    public String getConstructorInterceptor() {
+                        return interceptor;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public InstanceMethodsInterceptPoint[] getInstanceMethodsInterceptPoints() {
+            return new InstanceMethodsInterceptPoint[] {
+                new InstanceMethodsInterceptPoint() {
+                    @Override
+                    public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return named("greet").or(named("fail")).or(named("run")).or(named("applyAsInt"));
+                    }
+
+                    @Override
+                    public String getMethodsInterceptor() {
+                        return interceptor;
+                    }
+
+                    @Override
+                    public boolean isOverrideArgs() {
+                        return overrideArgs;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public StaticMethodsInterceptPoint[] getStaticMethodsInterceptPoints() {
+            return new StaticMethodsInterceptPoint[] {
+                new StaticMethodsInterceptPoint() {
+                    @Override
+                    public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return named("sum");
+                    }
+
+                    @Override
+                    public String getMethodsInterceptor() {
+                        return interceptor;
+                    }
+
+                    @Override
+                    public boolean isOverrideArgs() {
+                        return overrideArgs;
+                    }
+                }
+            };
+        }
+    }
+
+    public static class RecordInterceptor implements InstanceMethodsAroundInterceptor, StaticMethodsAroundInterceptor, InstanceConstructorInterceptor {
+        @Override
+        public void onConstruct(EnhancedInstance objInst, Object[] allArguments) {
+            EVENTS.add("constructor " + Arrays.toString(allArguments));
+            objInst.setSkyWalkingDynamicField(allArguments[0]);
+        }
+
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, MethodInterceptResult result) {
+            EVENTS.add("before " + method.getName() + " " + Arrays.toString(allArguments) + " " + Arrays.toString(argumentsTypes));
+            before(allArguments, result);
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, Object ret) {
+            EVENTS.add("after " + method.getName() + " " + ret);
+            return ret instanceof String ? ret + " after" : ret;
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, Throwable t) {
+            EVENTS.add("exception " + method.getName() + " " + t.getMessage());
+        }
+
+        @Override
+        public void beforeMethod(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
+            MethodInterceptResult result) {
+            EVENTS.add("before static " + method.getName() + " " + Arrays.toString(allArguments) + " " + Arrays.toString(parameterTypes));
+            before(allArguments, result);
+        }
+
+        @Override
+        public Object afterMethod(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
+            Object ret) {
+            EVENTS.add("after static " + method.getName() + " " + ret);
+            return ret;
+        }
+
+        @Override
+        public void handleMethodException(Class clazz, Method method, Object[] allArguments,
+            Class<?>[] parameterTypes, Throwable t) {
+            EVENTS.add("exception static " + method.getName() + " " + t.getMessage());
+        }
+
+        private static void before(Object[] allArguments, MethodInterceptResult result) {
+            if (DEFINED_RETURN_VALUE instanceof RuntimeException) {
+                throw (RuntimeException) DEFINED_RETURN_VALUE;
+            }
+            if (DEFINED_RETURN_VALUE != null) {
+                result.defineReturnValue(DEFINED_RETURN_VALUE);
+            }
+            if (OVERRIDE_ARGUMENTS != null) {
+                System.arraycopy(OVERRIDE_ARGUMENTS, 0, allArguments, 0, OVERRIDE_ARGUMENTS.length);
+            }
+        }
+    }
+}
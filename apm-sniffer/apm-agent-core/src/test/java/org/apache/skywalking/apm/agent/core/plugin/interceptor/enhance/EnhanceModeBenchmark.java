@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntBinaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the cost of the delegation and the advice enhancement, with an empty interceptor.
+ */
+@Fork(value = 1, warmups = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class EnhanceModeBenchmark {
+
+    @State(Scope.Thread)
+    public static class MyState {
+        private IntBinaryOperator origin;
+        private IntBinaryOperator delegation;
+        private IntBinaryOperator advice;
+        private int left;
+        private int right;
+
+        @Setup
+        public void setup() throws Exception {
+            origin = new EnhanceTarget("origin");
+            delegation = newOperator(false);
+            advice = newOperator(true);
+            left = 1;
+            right = 2;
+        }
+
+        private static IntBinaryOperator newOperator(boolean advice) throws Exception {
+            final Class<?> enhanced = AdviceEnhanceTest.enhance(advice, false, NoopInterceptor.class.getName());
+            return (IntBinaryOperator) enhanced.getConstructor(String.class).newInstance("enhanced");
+        }
+    }
+
+    @Benchmark
+    public int origin(MyState state) {
+        return state.origin.applyAsInt(state.left, state.right);
+    }
+
+    @Benchmark
+    public int delegation(MyState state) {
+        return state.delegation.applyAsInt(state.left, state.right);
+    }
+
+    @Benchmark
+    public int advice(MyState state) {
+        return state.advice.applyAsInt(state.left, state.right);
+    }
+
+    public static class NoopInterceptor implements InstanceMethodsAroundInterceptor, StaticMethodsAroundInterceptor, InstanceConstructorInterceptor {
+        @Override
+        public void onConstruct(EnhancedInstance objInst, Object[] allArguments) {
+        }
+
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, MethodInterceptResult result) {
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, Object ret) {
+            return ret;
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, Throwable t) {
+        }
+
+        @Override
+        public void beforeMethod(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
+            MethodInterceptResult result) {
+        }
+
+        @Override
+        public Object afterMethod(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
+            Object ret) {
+            return ret;
+        }
+
+        @Override
+        public void handleMethodException(Class clazz, Method method, Object[] allArguments,
+            Class<?>[] parameterTypes, Throwable t) {
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(EnhanceModeBenchmark.class.getName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                               Mode  Cnt     Score     Error   Units
+     * EnhanceModeBenchmark.advice                             avgt    5    29.242 ±  20.302   ns/op
+     * EnhanceModeBenchmark.advice:·gc.alloc.rate.norm         avgt    5    24.000 ±   0.001    B/op
+     * EnhanceModeBenchmark.delegation                         avgt    5    35.351 ±  10.958   ns/op
+     * EnhanceModeBenchmark.delegation:·gc.alloc.rate.norm     avgt    5    96.000 ±   0.001    B/op
+     * EnhanceModeBenchmark.origin                             avgt    5     3.267 ±   1.560   ns/op
+     * EnhanceModeBenchmark.origin:·gc.alloc.rate.norm         avgt    5    ≈ 10⁻⁶              B/op
+     */
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.util.function.IntBinaryOperator;
+
+public class EnhanceTarget implements IntBinaryOperator {
+    private final String name;
+
+    public EnhanceTarget(String name) {
+        this.name = name;
+    }
+
+    public String greet(String greeting, int times) {
+        return greeting + " " + name + " x" + times;
+    }
+
+    public long fail() {
+        throw new IllegalStateException("fail");
+    }
+
+    public void run() {
+    }
+
+    @Override
+    public int applyAsInt(int left, int right) {
+        return left + right;
+    }
+
+    public static long sum(long left, long right) {
+        return left + right;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.loader;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Simulate the plugin loading at the agent startup, with 150 plugin jars of 300 classes. The plugin definitions of all
+ * jars are found, then 2 classes are loaded from every jar by every agent class loader, as {@link
+ * InterceptorInstanceLoader} creates an agent class loader for every class loader of the enhanced classes.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PluginJarIndexBenchmark {
+    private static final ILog LOGGER = LogManager.getLogger(PluginJarIndexBenchmark.class);
+    private static final int JAR_SIZE = 150;
+    private static final int CLASS_SIZE = 300;
+
+    @State(Scope.Benchmark)
+    public static class MyState {
+        private File root;
+        private List<File> classpath;
+        private File indexFile;
+        private List<String> classes;
+        @Param({
+            "1",
+            "4"
+        })
+        private int loaders;
+
+        @Setup
+        public void setup() throws IOException {
+            root = Files.createTempDirectory("plugin-jar-index").toFile();
+            final File plugins = new File(root, "plugins");
+            plugins.mkdirs();
+            classpath = Collections.singletonList(plugins);
+            classes = new ArrayList<>();
+            final byte[] content = new byte[1024];
+            for (int i = 0; i < JAR_SIZE; i++) {
+                try (JarOutputStream out = new JarOutputStream(new FileOutputStream(new File(plugins, "plugin-" + i + ".jar")))) {
+                    out.putNextEntry(new JarEntry("skywalking-plugin.def"));
+                    out.write(("plugin-" + i + "=org.plugin" + i + ".define.Instrumentation").getBytes());
+                    out.closeEntry();
+                    for (int j = 0; j < CLASS_SIZE; j++) {
+                        out.putNextEntry(new JarEntry("org/plugin" + i + "/Class" + j + ".class"));
+                        out.write(content);
+                        out.closeEntry();
+                    }
+                }
+                classes.add("org/plugin" + i + "/Class0.class");
+                classes.add("org/plugin" + i + "/Class" + (CLASS_SIZE - 1) + ".class");
+            }
+            indexFile = new File(root, "plugin-jar.index");
+            PluginJarIndex.build(classpath, indexFile);
+        }
+
+        @TearDown
+        public void tearDown() {
+            for (File folder : classpath) {
+                for (File jar : folder.listFiles()) {
+                    jar.delete();
+                }
+                folder.delete();
+            }
+            indexFile.delete();
+            root.delete();
+        }
+    }
+
+    /**
+     * The jar scanning of the agent class loader before indexing, which opens the jars in every agent class loader.
+     */
+    @Benchmark
+    public void scanJars(MyState state, Blackhole bh) throws IOException {
+        for (int loader = 0; loader < state.loaders; loader++) {
+            final List<JarFile> jars = new LinkedList<>();
+            final List<File> files = new LinkedList<>();
+            for (File path : state.classpath) {
+                for (String fileName : path.list((dir, name) -> name.endsWith(".jar"))) {
+                    final File file = new File(path, fileName);
+                    jars.add(new JarFile(file));
+                    files.add(file);
+                    LOGGER.info("{} loaded.", file.toString());
+                }
+            }
+            if (loader == 0) {
+                for (int i = 0; i < jars.size(); i++) {
+                    if (jars.get(i).getJarEntry("skywalking-plugin.def") != null) {
+                        bh.consume(new URL("jar:file:" + files.get(i).getAbsolutePath() + "!/skywalking-plugin.def"));
+                    }
+                }
+            }
+            for (String name : state.classes) {
+                for (int i = 0; i < jars.size(); i++) {
+                    if (jars.get(i).getJarEntry(name) == null) {
+                        continue;
+                    }
+                    final URL url = new URL("jar:file:" + files.get(i).getAbsolutePath() + "!/" + name);
+                    try (BufferedInputStream is = new BufferedInputStream(url.openStream());
+                         ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                        int ch;
+                        while ((ch = is.read()) != -1) {
+                            baos.write(ch);
+                        }
+                        bh.consume(baos.toByteArray());
+                    }
+                    break;
+                }
+            }
+            for (JarFile jar : jars) {
+                jar.close();
+            }
+        }
+    }
+
+    /**
+     * The default config, the jars are opened once, but not indexed.
+     */
+    @Benchmark
+    public void buildIndex(MyState state, Blackhole bh) throws IOException {
+        load(PluginJarIndex.build(state.classpath, null), state, bh);
+    }
+
+    @Benchmark
+    public void loadPersistedIndex(MyState state, Blackhole bh) throws IOException {
+        load(PluginJarIndex.build(state.classpath, state.indexFile), state, bh);
+    }
+
+    /**
+     * The index is shared by all agent class loaders.
+     */
+    private static void load(PluginJarIndex index, MyState state, Blackhole bh) throws IOException {
+        bh.consume(index.findResources("skywalking-plugin.def"));
+        for (int loader = 0; loader < state.loaders; loader++) {
+            for (String name : state.classes) {
+                bh.consume(index.read(name));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(PluginJarIndexBenchmark.class.getName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 5 iterations, single-shot each
+     * # Measurement: 20 iterations, single-shot each
+     * # Benchmark mode: Single shot invocation time
+     *
+     * Benchmark                                                      (loaders)  Mode  Cnt         Score         Error  Units
+     * PluginJarIndexBenchmark.buildIndex                                     1    ss   20        47.884 ±      13.632  ms/op
+     * PluginJarIndexBenchmark.buildIndex:·gc.alloc.rate.norm                 1    ss   20   7512197.200 ±   59109.621   B/op
+     * PluginJarIndexBenchmark.buildIndex                                     4    ss   20        83.796 ±      23.407  ms/op
+     * PluginJarIndexBenchmark.buildIndex:·gc.alloc.rate.norm                 4    ss   20  25555912.400 ±  140369.316   B/op
+     * PluginJarIndexBenchmark.loadPersistedIndex                             1    ss   20        22.683 ±       6.711  ms/op
+     * PluginJarIndexBenchmark.loadPersistedIndex:·gc.alloc.rate.norm         1    ss   20   2852814.400 ±  212612.764   B/op
+     * PluginJarIndexBenchmark.loadPersistedIndex                             4    ss   20        45.816 ±      15.909  ms/op
+     * PluginJarIndexBenchmark.loadPersistedIndex:·gc.alloc.rate.norm         4    ss   20   6176524.800 ±   97971.691   B/op
+     * PluginJarIndexBenchmark.scanJars                                       1    ss   20        51.591 ±      16.029  ms/op
+     * PluginJarIndexBenchmark.scanJars:·gc.alloc.rate.norm                   1    ss   20  11938196.000 ±   81976.005   B/op
+     * PluginJarIndexBenchmark.scanJars                                       4    ss   20       146.147 ±      46.446  ms/op
+     * PluginJarIndexBenchmark.scanJars:·gc.alloc.rate.norm                   4    ss   20  46404353.600 ±  210097.543   B/op
+     */
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.loader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PluginJarIndexTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File plugins;
+    private File activations;
+    private List<File> classpath;
+    private PluginJarIndex index;
+
+    @Before
+    public void setUp() throws IOException {
+        plugins = temporaryFolder.newFolder("plugins");
+        activations = temporaryFolder.newFolder("activations");
+        classpath = Arrays.asList(plugins, activations, new File(temporaryFolder.getRoot(), "absent"));
+        writeJar(new File(plugins, "b-plugin.jar"), "skywalking-plugin.def", "b", "org/b/B.class", "class b");
+        writeJar(new File(plugins, "a-plugin.jar"), "skywalking-plugin.def", "a", "org/a/A.class", "class a");
+        writeJar(new File(activations, "c-activation.jar"), "skywalking-plugin.def", "c", "org/a/A.class", "class c");
+        new File(plugins, "readme.txt").createNewFile();
+    }
+
+    @Test
+    public void testFindEntries() throws IOException {
+        index = PluginJarIndex.build(classpath, null);
+        assertTrue(index.isBuiltFrom(classpath));
+
+        assertArrayEquals(bytes("class a"), index.read("org/a/A.class"));
+        assertArrayEquals(bytes("class b"), index.read("org/b/B.class"));
+        assertNull(index.read("org/c/C.class"));
+
+        assertEquals(jarUrl(plugins, "a-plugin.jar", "org/a/A.class"), index.findResource("org/a/A.class"));
+        assertNull(index.findResource("org/c/C.class"));
+        assertEquals(Arrays.asList(
+            jarUrl(plugins, "a-plugin.jar", "skywalking-plugin.def"),
+            jarUrl(plugins, "b-plugin.jar", "skywalking-plugin.def"),
+            jarUrl(activations, "c-activation.jar", "skywalking-plugin.def")
+        ), index.findResources("skywalking-plugin.def"));
+        assertEquals(Collections.emptyList(), index.findResources("org/c/C.class"));
+    }
+
+    @Test
+    public void testPersistedIndex() throws IOException {
+        final File indexFile = new File(temporaryFolder.getRoot(), "index/plugin-jar.index");
+        PluginJarIndex.build(classpath, indexFile);
+        assertTrue(indexFile.isFile());
+        assertTrue(indexFile.setLastModified(1000L));
+
+        index = PluginJarIndex.build(classpath, indexFile);
+        assertEquals(1000L, indexFile.lastModified());
+        assertArrayEquals(bytes("class a"), index.read("org/a/A.class"));
+        assertEquals(3, index.findResources("skywalking-plugin.def").size());
+
+        writeJar(new File(activations, "d-activation.jar"), "org/d/D.class", "class d");
+        index = PluginJarIndex.build(classpath, indexFile);
+        assertTrue(indexFile.lastModified() != 1000L);
+        assertArrayEquals(bytes("class d"), index.read("org/d/D.class"));
+        assertEquals(3, index.findResources("skywalking-plugin.def").size());
+    }
+
+    @Test
+    public void testBrokenIndexFile() throws IOException {
+        final File indexFile = temporaryFolder.newFile("plugin-jar.index");
+        try (FileOutputStream out = new FileOutputStream(indexFile)) {
+            out.write(bytes("broken"));
+        }
+        index = PluginJarIndex.build(classpath, indexFile);
+        assertArrayEquals(bytes("class a"), index.read("org/a/A.class"));
+
+        index = PluginJarIndex.build(classpath, indexFile);
+        assertArrayEquals(bytes("class b"), index.read("org/b/B.class"));
+    }
+
+    @Test
+    public void testCorruptedJarIndexes() throws IOException {
+        final File indexFile = new File(temporaryFolder.getRoot(), "plugin-jar.index");
+        PluginJarIndex.build(classpath, indexFile);
+        // The last int of the index file is the index of a jar, point it out of the jars.
+        final byte[] content = Files.readAllBytes(indexFile.toPath());
+        ByteBuffer.wrap(content).putInt(content.length - 4, 3);
+        Files.write(indexFile.toPath(), content);
+        assertTrue(indexFile.setLastModified(1000L));
+
+        index = PluginJarIndex.build(classpath, indexFile);
+        assertTrue(indexFile.lastModified() != 1000L);
+        assertArrayEquals(bytes("class a"), index.read("org/a/A.class"));
+        assertArrayEquals(bytes("class b"), index.read("org/b/B.class"));
+        assertEquals(3, index.findResources("skywalking-plugin.def").size());
+    }
+
+    private static void writeJar(File file, String... entries) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                out.putNextEntry(new JarEntry(entries[i]));
+                out.write(bytes(entries[i + 1]));
+                out.closeEntry();
+            }
+        }
+    }
+
+    private static URL jarUrl(File folder, String jar, String entry) throws IOException {
+        return new URL("jar:file:" + new File(folder, jar).getAbsolutePath() + "!/" + entry);
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CodeSignatureDictionaryTest {
+
+    @Test
+    public void testSignatureIsShared() {
+        final CodeSignatureDictionary dictionary = new CodeSignatureDictionary();
+        final String signature = dictionary.signature(new StackTraceElement("a.b.C", "run", "C.java", 10));
+        Assert.assertEquals("a.b.C.run:10", signature);
+        Assert.assertSame(signature, dictionary.signature(new StackTraceElement("a.b.C", "run", "C.java", 10)));
+        Assert.assertEquals("a.b.C.run:11", dictionary.signature(new StackTraceElement("a.b.C", "run", "C.java", 11)));
+        Assert.assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    public void testSizeLimitation() {
+        final CodeSignatureDictionary dictionary = new CodeSignatureDictionary();
+        for (int i = 0; i < CodeSignatureDictionary.MAX_SIZE + 10; i++) {
+            Assert.assertEquals(
+                "a.b.C.run:" + i, dictionary.signature(new StackTraceElement("a.b.C", "run", "C.java", i)));
+        }
+        Assert.assertEquals(CodeSignatureDictionary.MAX_SIZE, dictionary.size());
+    }
+}
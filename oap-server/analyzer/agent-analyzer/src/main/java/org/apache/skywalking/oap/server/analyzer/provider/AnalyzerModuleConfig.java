@@ -23,6 +23,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.DBLatencyThresholdsAndWatcher;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceLatencyThresholdsAndWatcher;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceSampleRateWatcher;
@@ -121,6 +122,28 @@ public class AnalyzerModuleConfig extends ModuleConfig {
     @Getter
     private String segmentStatusAnalysisStrategy = FROM_SPAN_STATUS.name();
 
+    /**
+     * The number of threads analyzing the segments asynchronously. The segments are partitioned by the trace id, so the
+     * segments of one trace are analyzed in order. 0 means analyzing the segments in the receiver threads.
+     */
+    @Setter
+    @Getter
+    private int segmentAnalysisThreads = 0;
+
+    /**
+     * The max number of the segments waiting for the analysis, per analysis thread.
+     */
+    @Setter
+    @Getter
+    private int segmentAnalysisQueueSize = 10000;
+
+    /**
+     * What to do when the analysis queue is full. `BLOCKING` blocks the receivers, `IF_POSSIBLE` drops the segments.
+     */
+    @Setter
+    @Getter
+    private String segmentAnalysisQueueStrategy = BufferStrategy.BLOCKING.name();
+
     private List<Integer> virtualPeers;
 
     /**
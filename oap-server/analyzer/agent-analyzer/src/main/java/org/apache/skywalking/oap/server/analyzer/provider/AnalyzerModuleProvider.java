@@ -20,6 +20,8 @@ package org.apache.skywalking.oap.server.analyzer.provider;
 
 import java.util.List;
 import lombok.Getter;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.oap.meter.analyzer.dsl.counter.CounterWindow;
 import org.apache.skywalking.oap.server.analyzer.module.AnalyzerModule;
 import org.apache.skywalking.oap.server.analyzer.provider.meter.config.MeterConfig;
 import org.apache.skywalking.oap.server.analyzer.provider.meter.config.MeterConfigs;
@@ -30,6 +32,7 @@ import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceLatencyThre
 import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceSampleRateWatcher;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.UninstrumentedGatewaysConfig;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.ISegmentParserService;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.SegmentAnalysisQueue;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.SegmentParserListenerManager;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.SegmentParserServiceImpl;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.MultiScopesAnalysisListener;
@@ -46,6 +49,7 @@ import org.apache.skywalking.oap.server.library.module.ModuleProvider;
 import org.apache.skywalking.oap.server.library.module.ModuleStartException;
 import org.apache.skywalking.oap.server.library.module.ServiceNotProvidedException;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 public class AnalyzerModuleProvider extends ModuleProvider {
     @Getter
@@ -125,8 +129,24 @@ public class AnalyzerModuleProvider extends ModuleProvider {
         dynamicConfigurationService.registerConfigChangeWatcher(traceLatencyThresholdsAndWatcher);
 
         segmentParserService.setListenerManager(listenerManager());
+        if (moduleConfig.getSegmentAnalysisThreads() > 0) {
+            final BufferStrategy strategy;
+            try {
+                strategy = BufferStrategy.valueOf(moduleConfig.getSegmentAnalysisQueueStrategy());
+            } catch (IllegalArgumentException e) {
+                throw new ModuleStartException(
+                    "Unknown segment analysis queue strategy: " + moduleConfig.getSegmentAnalysisQueueStrategy(), e);
+            }
+            segmentParserService.setAnalysisQueue(new SegmentAnalysisQueue(
+                moduleConfig.getSegmentAnalysisThreads(), moduleConfig.getSegmentAnalysisQueueSize(), strategy,
+                segmentParserService::analyze,
+                getManager().find(TelemetryModule.NAME).provider().getService(MetricsCreator.class)
+            ));
+        }
 
         processService.start(meterConfigs);
+        CounterWindow.INSTANCE.initTelemetry(
+            getManager().find(TelemetryModule.NAME).provider().getService(MetricsCreator.class));
     }
 
     @Override
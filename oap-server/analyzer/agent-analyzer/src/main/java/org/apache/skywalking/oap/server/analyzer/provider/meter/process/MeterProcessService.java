@@ -23,6 +23,8 @@ import org.apache.skywalking.oap.server.analyzer.provider.meter.config.MeterConf
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterSystem;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -41,7 +43,12 @@ public class MeterProcessService implements IMeterProcessService {
 
     public void start(List<MeterConfig> configs) {
         final MeterSystem meterSystem = manager.find(CoreModule.NAME).provider().getService(MeterSystem.class);
-        this.metricConverts = configs.stream().map(c -> new MetricConvert(c, meterSystem)).collect(Collectors.toList());
+        final MetricsCreator metricsCreator = manager.find(TelemetryModule.NAME)
+                                                     .provider()
+                                                     .getService(MetricsCreator.class);
+        this.metricConverts = configs.stream()
+                                     .map(c -> new MetricConvert(c, meterSystem, metricsCreator))
+                                     .collect(Collectors.toList());
     }
 
     /**
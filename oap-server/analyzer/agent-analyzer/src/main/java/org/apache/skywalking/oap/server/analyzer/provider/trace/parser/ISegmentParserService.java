@@ -26,4 +26,16 @@ import org.apache.skywalking.oap.server.library.module.Service;
  */
 public interface ISegmentParserService extends Service {
     void send(SegmentObject segment);
+
+    /**
+     * Send the segment with its original serialized binary, which is received from the network. The binary is stored
+     * as the segment raw data directly, rather than serializing the segment again. The default implementation ignores
+     * the binary, and sends the segment only.
+     *
+     * @param segment        parsed from the original binary.
+     * @param originalBinary the exact binary of the segment.
+     */
+    default void send(SegmentObject segment, byte[] originalBinary) {
+        send(segment);
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.GaugeMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * SegmentAnalysisQueue moves the segment analysis out of the receiver threads. The segments are partitioned by the
+ * trace id into the bounded channels, and every channel is consumed by one analysis thread, so the segments of the
+ * same trace are analyzed in the received order.
+ *
+ * When the channels are full, {@link BufferStrategy#BLOCKING} blocks the receiver threads as the back pressure, and
+ * {@link BufferStrategy#IF_POSSIBLE} drops the segment.
+ */
+@Slf4j
+public class SegmentAnalysisQueue {
+    private final DataCarrier<PendingSegment> dataCarrier;
+    private final GaugeMetrics queueDepth;
+    private final HistogramMetrics waitLatency;
+    private final CounterMetrics droppedCounter;
+    private final CounterMetrics errorCounter;
+
+    /**
+     * @param threads   the number of the analysis threads, also the number of the channels.
+     * @param queueSize the max number of the pending segments of every channel.
+     * @param strategy  of the full channels.
+     * @param analyzer  analyzes the segment in the analysis thread.
+     */
+    public SegmentAnalysisQueue(int threads, int queueSize, BufferStrategy strategy, SegmentAnalyzer analyzer,
+                                MetricsCreator metricsCreator) {
+        queueDepth = metricsCreator.createGauge(
+            "segment_analysis_queue_depth", "The number of segments waiting for the analysis",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        waitLatency = metricsCreator.createHistogramMetric(
+            "segment_analysis_queue_wait_latency", "The waiting time of segments in the analysis queue",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        droppedCounter = metricsCreator.createCounter(
+            "segment_analysis_dropped_count", "The number of segments dropped due to the full analysis queue",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        errorCounter = metricsCreator.createCounter(
+            "segment_analysis_error_count", "The error number of the asynchronous segment analysis",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+
+        dataCarrier = new DataCarrier<>("SegmentAnalysisQueue", "SEGMENT_ANALYSIS", threads, queueSize, strategy);
+        dataCarrier.setPartitioner(new TraceIdPartitioner());
+        dataCarrier.consume(new AnalysisConsumer(analyzer), threads);
+    }
+
+    /**
+     * Add the segment into the queue. It blocks when the channel is full and the strategy is {@link
+     * BufferStrategy#BLOCKING}.
+     *
+     * @return false if the segment is dropped.
+     */
+    public boolean offer(SegmentObject segment, byte[] originalBinary) {
+        queueDepth.inc();
+        if (dataCarrier.produce(new PendingSegment(segment, originalBinary, System.nanoTime()))) {
+            return true;
+        }
+        queueDepth.dec();
+        droppedCounter.inc();
+        if (log.isDebugEnabled()) {
+            log.debug("Segment {} is dropped, the analysis queue is full.", segment.getTraceSegmentId());
+        }
+        return false;
+    }
+
+    public void shutdown() {
+        dataCarrier.shutdownConsumers();
+    }
+
+    /**
+     * The segment analysis executed in the analysis threads.
+     */
+    public interface SegmentAnalyzer {
+        void analyze(SegmentObject segment, byte[] originalBinary);
+    }
+
+    @RequiredArgsConstructor
+    private static class PendingSegment {
+        private final SegmentObject segment;
+        private final byte[] originalBinary;
+        private final long enqueueTime;
+    }
+
+    private static class TraceIdPartitioner implements IDataPartitioner<PendingSegment> {
+        @Override
+        public int partition(final int total, final PendingSegment data) {
+            return (data.segment.getTraceId().hashCode() & Integer.MAX_VALUE) % total;
+        }
+
+        @Override
+        public int maxRetryCount() {
+            return 1;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class AnalysisConsumer implements IConsumer<PendingSegment> {
+        private final SegmentAnalyzer analyzer;
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void consume(final List<PendingSegment> data) {
+            queueDepth.dec(data.size());
+            final long now = System.nanoTime();
+            for (final PendingSegment pending : data) {
+                waitLatency.observe((double) (now - pending.enqueueTime) / 1.0E9D);
+                try {
+                    analyzer.analyze(pending.segment, pending.originalBinary);
+                } catch (Exception e) {
+                    errorCounter.inc();
+                    log.error(e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(final List<PendingSegment> data, final Throwable t) {
+            log.error(t.getMessage(), t);
+        }
+
+        @Override
+        public void onExit() {
+        }
+    }
+}
@@ -33,10 +33,38 @@ public class SegmentParserServiceImpl implements ISegmentParserService {
     private final AnalyzerModuleConfig config;
     @Setter
     private SegmentParserListenerManager listenerManager;
+    /**
+     * Nullable, the segments are analyzed in the caller threads without the queue.
+     */
+    @Setter
+    private SegmentAnalysisQueue analysisQueue;
+    /**
+     * The analyzer and its listeners are reused in the same thread.
+     */
+    private final ThreadLocal<TraceAnalyzer> traceAnalyzers = ThreadLocal.withInitial(this::createTraceAnalyzer);
 
     @Override
     public void send(SegmentObject segment) {
-        final TraceAnalyzer traceAnalyzer = new TraceAnalyzer(moduleManager, listenerManager, config);
-        traceAnalyzer.doAnalysis(segment);
+        send(segment, null);
+    }
+
+    @Override
+    public void send(SegmentObject segment, byte[] originalBinary) {
+        if (analysisQueue != null) {
+            analysisQueue.offer(segment, originalBinary);
+        } else {
+            analyze(segment, originalBinary);
+        }
+    }
+
+    /**
+     * Analyze the segment in the current thread.
+     */
+    public void analyze(SegmentObject segment, byte[] originalBinary) {
+        traceAnalyzers.get().doAnalysis(segment, originalBinary);
+    }
+
+    private TraceAnalyzer createTraceAnalyzer() {
+        return new TraceAnalyzer(moduleManager, listenerManager, config);
     }
 }
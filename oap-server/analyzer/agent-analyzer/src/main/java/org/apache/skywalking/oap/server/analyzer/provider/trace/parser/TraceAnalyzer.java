@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,7 @@ import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
 import org.apache.skywalking.apm.network.language.agent.v3.SpanType;
 import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.AnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.AnalysisListenerFactory;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.EntryAnalysisListener;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.ExitAnalysisListener;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.FirstAnalysisListener;
@@ -34,91 +36,130 @@ import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.SegmentListener;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 
+/**
+ * TraceAnalyzer notifies the listeners at the analysis points of the segment.
+ *
+ * The listeners are kept after the analysis, and reused for the next segment if they are reset successfully, see {@link
+ * AnalysisListener#reset()}. So the TraceAnalyzer is not thread safe, it should be reused in one thread only.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class TraceAnalyzer {
     private final ModuleManager moduleManager;
     private final SegmentParserListenerManager listenerManager;
     private final AnalyzerModuleConfig config;
-    private List<AnalysisListener> analysisListeners = new ArrayList<>();
+
+    private AnalysisListenerFactory[] factories;
+    private AnalysisListener[] analysisListeners;
+    /**
+     * The listeners grouped by the analysis points, rebuilt when any listener is recreated.
+     */
+    private SegmentListener[] segmentListeners;
+    private FirstAnalysisListener[] firstListeners;
+    private EntryAnalysisListener[] entryListeners;
+    private ExitAnalysisListener[] exitListeners;
+    private LocalAnalysisListener[] localListeners;
 
     public void doAnalysis(SegmentObject segmentObject) {
-        if (segmentObject.getSpansList().size() == 0) {
+        doAnalysis(segmentObject, null);
+    }
+
+    /**
+     * @param originalBinary the serialized segment received from the network, nullable.
+     */
+    public void doAnalysis(SegmentObject segmentObject, byte[] originalBinary) {
+        if (segmentObject.getSpansCount() == 0) {
             return;
         }
 
         createSpanListeners();
-
-        notifySegmentListener(segmentObject);
-
-        segmentObject.getSpansList().forEach(spanObject -> {
-            if (spanObject.getSpanId() == 0) {
-                notifyFirstListener(spanObject, segmentObject);
+        try {
+            for (final SegmentListener listener : segmentListeners) {
+                listener.parseSegment(segmentObject, originalBinary);
             }
 
-            if (SpanType.Exit.equals(spanObject.getSpanType())) {
-                notifyExitListener(spanObject, segmentObject);
-            } else if (SpanType.Entry.equals(spanObject.getSpanType())) {
-                notifyEntryListener(spanObject, segmentObject);
-            } else if (SpanType.Local.equals(spanObject.getSpanType())) {
-                notifyLocalListener(spanObject, segmentObject);
-            } else {
-                log.error("span type value was unexpected, span type name: {}", spanObject.getSpanType()
-                                                                                          .name());
+            for (int i = 0; i < segmentObject.getSpansCount(); i++) {
+                final SpanObject spanObject = segmentObject.getSpans(i);
+                if (spanObject.getSpanId() == 0) {
+                    for (final FirstAnalysisListener listener : firstListeners) {
+                        listener.parseFirst(spanObject, segmentObject);
+                    }
+                }
+
+                final SpanType spanType = spanObject.getSpanType();
+                if (SpanType.Exit.equals(spanType)) {
+                    for (final ExitAnalysisListener listener : exitListeners) {
+                        listener.parseExit(spanObject, segmentObject);
+                    }
+                } else if (SpanType.Entry.equals(spanType)) {
+                    for (final EntryAnalysisListener listener : entryListeners) {
+                        listener.parseEntry(spanObject, segmentObject);
+                    }
+                } else if (SpanType.Local.equals(spanType)) {
+                    for (final LocalAnalysisListener listener : localListeners) {
+                        listener.parseLocal(spanObject, segmentObject);
+                    }
+                } else {
+                    log.error("span type value was unexpected, span type name: {}", spanType.name());
+                }
             }
-        });
-
-        notifyListenerToBuild();
-    }
 
-    private void notifyListenerToBuild() {
-        analysisListeners.forEach(AnalysisListener::build);
-    }
-
-    private void notifyExitListener(SpanObject span, SegmentObject segmentObject) {
-        analysisListeners.forEach(listener -> {
-            if (listener.containsPoint(AnalysisListener.Point.Exit)) {
-                ((ExitAnalysisListener) listener).parseExit(span, segmentObject);
+            for (final AnalysisListener listener : analysisListeners) {
+                listener.build();
             }
-        });
+        } finally {
+            resetListeners();
+        }
     }
 
-    private void notifyEntryListener(SpanObject span, SegmentObject segmentObject) {
-        analysisListeners.forEach(listener -> {
-            if (listener.containsPoint(AnalysisListener.Point.Entry)) {
-                ((EntryAnalysisListener) listener).parseEntry(span, segmentObject);
-            }
-        });
-    }
+    private void createSpanListeners() {
+        if (factories == null) {
+            factories = listenerManager.getSpanListenerFactories().toArray(new AnalysisListenerFactory[0]);
+            analysisListeners = new AnalysisListener[factories.length];
+        }
 
-    private void notifyLocalListener(SpanObject span, SegmentObject segmentObject) {
-        analysisListeners.forEach(listener -> {
-            if (listener.containsPoint(AnalysisListener.Point.Local)) {
-                ((LocalAnalysisListener) listener).parseLocal(span, segmentObject);
+        boolean created = false;
+        for (int i = 0; i < factories.length; i++) {
+            if (analysisListeners[i] == null) {
+                analysisListeners[i] = factories[i].create(moduleManager, config);
+                created = true;
             }
-        });
+        }
+        if (created) {
+            segmentListeners = listenersAt(AnalysisListener.Point.Segment, SegmentListener.class);
+            firstListeners = listenersAt(AnalysisListener.Point.First, FirstAnalysisListener.class);
+            entryListeners = listenersAt(AnalysisListener.Point.Entry, EntryAnalysisListener.class);
+            exitListeners = listenersAt(AnalysisListener.Point.Exit, ExitAnalysisListener.class);
+            localListeners = listenersAt(AnalysisListener.Point.Local, LocalAnalysisListener.class);
+        }
     }
 
-    private void notifyFirstListener(SpanObject span, SegmentObject segmentObject) {
-        analysisListeners.forEach(listener -> {
-            if (listener.containsPoint(AnalysisListener.Point.First)) {
-                ((FirstAnalysisListener) listener).parseFirst(span, segmentObject);
+    /**
+     * The listener, which can't be reset, is released, and would be recreated in the next analysis.
+     */
+    private void resetListeners() {
+        for (int i = 0; i < analysisListeners.length; i++) {
+            final AnalysisListener listener = analysisListeners[i];
+            boolean reusable = false;
+            try {
+                reusable = listener.reset();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
             }
-        });
-    }
-
-    private void notifySegmentListener(SegmentObject segmentObject) {
-        analysisListeners.forEach(listener -> {
-            if (listener.containsPoint(AnalysisListener.Point.Segment)) {
-                ((SegmentListener) listener).parseSegment(segmentObject);
+            if (!reusable) {
+                analysisListeners[i] = null;
             }
-        });
+        }
     }
 
-    private void createSpanListeners() {
-        listenerManager.getSpanListenerFactories()
-                       .forEach(
-                           spanListenerFactory -> analysisListeners.add(
-                               spanListenerFactory.create(moduleManager, config)));
+    @SuppressWarnings("unchecked")
+    private <T> T[] listenersAt(AnalysisListener.Point point, Class<T> type) {
+        final List<T> listeners = new ArrayList<>(analysisListeners.length);
+        for (final AnalysisListener listener : analysisListeners) {
+            if (listener.containsPoint(point)) {
+                listeners.add(type.cast(listener));
+            }
+        }
+        return listeners.toArray((T[]) Array.newInstance(type, listeners.size()));
     }
 }
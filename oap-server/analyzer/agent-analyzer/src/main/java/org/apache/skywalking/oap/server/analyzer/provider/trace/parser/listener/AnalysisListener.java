@@ -33,6 +33,16 @@ public interface AnalysisListener {
      */
     boolean containsPoint(Point point);
 
+    /**
+     * Clear the state of the analyzed segment after {@link #build()}, then the listener could be reused to analyze the
+     * next segment in the same thread.
+     *
+     * @return false, if the listener can't be reused, a new listener would be created for the next segment.
+     */
+    default boolean reset() {
+        return false;
+    }
+
     /**
      * Analysis point when the analysis core traverses the segment
      */
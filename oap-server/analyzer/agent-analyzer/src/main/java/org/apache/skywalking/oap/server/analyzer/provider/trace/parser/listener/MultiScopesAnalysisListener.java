@@ -74,6 +74,15 @@ public class MultiScopesAnalysisListener implements EntryAnalysisListener, ExitA
         return Point.Entry.equals(point) || Point.Exit.equals(point) || Point.Local.equals(point);
     }
 
+    @Override
+    public boolean reset() {
+        entrySourceBuilders.clear();
+        exitSourceBuilders.clear();
+        dbSlowStatementBuilders.clear();
+        logicEndpointBuilders.clear();
+        return true;
+    }
+
     /**
      * All entry spans are transferred as the Service, Instance and Endpoint related sources. Entry spans are treated on
      * the behalf of the observability status of the service reported these spans.
@@ -25,4 +25,12 @@ import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
  */
 public interface SegmentListener extends AnalysisListener {
     void parseSegment(SegmentObject segmentObject);
+
+    /**
+     * @param originalBinary the serialized segment received from the network, it is null when the segment is not
+     *                       received in the protobuf binary format.
+     */
+    default void parseSegment(SegmentObject segmentObject, byte[] originalBinary) {
+        parseSegment(segmentObject);
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SegmentAnalysisQueueTest {
+    @Test
+    public void testSegmentsOfOneTraceAnalyzedInOrder() throws InterruptedException {
+        final int traces = 20;
+        final int segmentsPerTrace = 100;
+        final Map<String, List<Integer>> analyzed = new ConcurrentHashMap<>();
+        final CountDownLatch latch = new CountDownLatch(traces * segmentsPerTrace);
+        final SegmentAnalysisQueue queue = new SegmentAnalysisQueue(
+            4, 100, BufferStrategy.BLOCKING, (segment, originalBinary) -> {
+            analyzed.computeIfAbsent(segment.getTraceId(), traceId -> new ArrayList<>())
+                    .add(Integer.parseInt(segment.getTraceSegmentId()));
+            latch.countDown();
+        }, new MetricsCreatorNoop());
+
+        try {
+            for (int i = 0; i < segmentsPerTrace; i++) {
+                for (int trace = 0; trace < traces; trace++) {
+                    Assert.assertTrue(queue.offer(segment("trace-" + trace, i), null));
+                }
+            }
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            queue.shutdown();
+        }
+
+        Assert.assertEquals(traces, analyzed.size());
+        for (final List<Integer> segmentIds : analyzed.values()) {
+            Assert.assertEquals(segmentsPerTrace, segmentIds.size());
+            for (int i = 0; i < segmentsPerTrace; i++) {
+                Assert.assertEquals(i, segmentIds.get(i).intValue());
+            }
+        }
+    }
+
+    @Test
+    public void testDropWhenQueueIsFull() throws InterruptedException {
+        final CountDownLatch analyzing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final SegmentAnalysisQueue queue = new SegmentAnalysisQueue(
+            1, 10, BufferStrategy.IF_POSSIBLE, (segment, originalBinary) -> {
+            analyzing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, new MetricsCreatorNoop());
+
+        try {
+            Assert.assertTrue(queue.offer(segment("trace", 0), null));
+            Assert.assertTrue(analyzing.await(10, TimeUnit.SECONDS));
+
+            int accepted = 0;
+            for (int i = 1; i <= 20; i++) {
+                if (queue.offer(segment("trace", i), null)) {
+                    accepted++;
+                }
+            }
+            Assert.assertEquals(10, accepted);
+        } finally {
+            release.countDown();
+            queue.shutdown();
+        }
+    }
+
+    private static SegmentObject segment(String traceId, int segmentId) {
+        return SegmentObject.newBuilder()
+                            .setTraceId(traceId)
+                            .setTraceSegmentId(String.valueOf(segmentId))
+                            .build();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
+
+import java.util.Arrays;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+import org.apache.skywalking.apm.network.language.agent.v3.RefType;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentReference;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanLayer;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanType;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleProvider;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.DBLatencyThresholdsAndWatcher;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceLatencyThresholdsAndWatcher;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceSampleRateWatcher;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.UninstrumentedGatewaysConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.MultiScopesAnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.NetworkAddressAliasMappingListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.SegmentAnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.TraceSegmentSampler;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.strategy.SegmentStatusStrategy;
+import org.apache.skywalking.oap.server.core.CoreModuleConfig;
+import org.apache.skywalking.oap.server.core.analysis.DispatcherDetectorListener;
+import org.apache.skywalking.oap.server.core.cache.NetworkAddressAliasCache;
+import org.apache.skywalking.oap.server.core.config.NamingControl;
+import org.apache.skywalking.oap.server.core.config.group.EndpointNameGrouping;
+import org.apache.skywalking.oap.server.core.source.ISource;
+import org.apache.skywalking.oap.server.core.source.SourceReceiver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Analyze the segments through the official listeners, with the source receiver doing nothing. The listeners are
+ * created for every segment in {@link #testNewAnalyzerPerSegment}, and reused in {@link #testReusedAnalyzer}. Run with
+ * {@code -prof gc} to compare the allocation per segment.
+ */
+@Fork(2)
+@BenchmarkMode(Mode.Throughput)
+public class TraceAnalyzerBenchmark {
+
+    @State(Scope.Thread)
+    public static class MyState {
+        SegmentObject[] segments;
+        SegmentParserListenerManager listenerManager;
+        TraceAnalyzer reusedAnalyzer;
+        long received;
+
+        @Setup
+        public void setup() {
+            final AnalyzerModuleProvider provider = new AnalyzerModuleProvider();
+            final AnalyzerModuleConfig config = provider.getModuleConfig();
+            config.setDbLatencyThresholdsAndWatcher(new DBLatencyThresholdsAndWatcher("default:200", provider));
+            config.setUninstrumentedGatewaysConfig(new UninstrumentedGatewaysConfig(provider));
+            config.setTraceSampleRateWatcher(new TraceSampleRateWatcher(provider));
+            config.setTraceLatencyThresholdsAndWatcher(new TraceLatencyThresholdsAndWatcher(provider));
+
+            final SourceReceiver sourceReceiver = new SourceReceiver() {
+                @Override
+                public void receive(final ISource source) {
+                    received++;
+                }
+
+                @Override
+                public DispatcherDetectorListener getDispatcherDetectorListener() {
+                    return null;
+                }
+            };
+            final NamingControl namingControl = new NamingControl(70, 100, 150, new EndpointNameGrouping());
+            final NetworkAddressAliasCache aliasCache = new NetworkAddressAliasCache(new CoreModuleConfig());
+            final TraceSegmentSampler sampler = new TraceSegmentSampler(config.getTraceSampleRateWatcher());
+
+            listenerManager = new SegmentParserListenerManager();
+            listenerManager.add((moduleManager, moduleConfig) -> new MultiScopesAnalysisListener(
+                sourceReceiver, config, aliasCache, namingControl));
+            listenerManager.add((moduleManager, moduleConfig) -> new NetworkAddressAliasMappingListener(
+                sourceReceiver, config, namingControl));
+            listenerManager.add((moduleManager, moduleConfig) -> new SegmentAnalysisListener(
+                sourceReceiver, sampler, true, namingControl, Arrays.asList("http.method", "status_code"),
+                SegmentStatusStrategy.FROM_SPAN_STATUS.getExceptionAnalyzer(),
+                config.getTraceLatencyThresholdsAndWatcher()
+            ));
+            reusedAnalyzer = new TraceAnalyzer(null, listenerManager, config);
+
+            segments = new SegmentObject[100];
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = segment(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public long testNewAnalyzerPerSegment(MyState myState) {
+        for (final SegmentObject segment : myState.segments) {
+            new TraceAnalyzer(null, myState.listenerManager, null).doAnalysis(segment);
+        }
+        return myState.received;
+    }
+
+    @Benchmark
+    public long testReusedAnalyzer(MyState myState) {
+        for (final SegmentObject segment : myState.segments) {
+            myState.reusedAnalyzer.doAnalysis(segment);
+        }
+        return myState.received;
+    }
+
+    /**
+     * A typical segment of a web service, the entry span is called by the upstream service, then it queries the
+     * database and calls the downstream service.
+     */
+    private static SegmentObject segment(int index) {
+        final long startTime = System.currentTimeMillis();
+        final String service = "service-" + (index % 10);
+        return SegmentObject.newBuilder()
+                            .setTraceId("trace-" + index)
+                            .setTraceSegmentId("segment-" + index)
+                            .setService(service)
+                            .setServiceInstance("instance-" + (index % 3) + "@" + service)
+                            .addSpans(SpanObject.newBuilder()
+                                                .setSpanId(0)
+                                                .setParentSpanId(-1)
+                                                .setSpanType(SpanType.Entry)
+                                                .setSpanLayer(SpanLayer.Http)
+                                                .setComponentId(1)
+                                                .setOperationName("/users/" + (index % 20))
+                                                .setPeer("10.0.0.1:8080")
+                                                .setStartTime(startTime)
+                                                .setEndTime(startTime + 100)
+                                                .addRefs(SegmentReference.newBuilder()
+                                                                         .setRefType(RefType.CrossProcess)
+                                                                         .setTraceId("trace-" + index)
+                                                                         .setParentTraceSegmentId("parent-" + index)
+                                                                         .setParentSpanId(1)
+                                                                         .setParentService("gateway")
+                                                                         .setParentServiceInstance("gateway-instance")
+                                                                         .setParentEndpoint("/api/users")
+                                                                         .setNetworkAddressUsedAtPeer(
+                                                                             "10.0.0.1:8080"))
+                                                .addTags(tag("http.method", "GET"))
+                                                .addTags(tag("url", "http://10.0.0.1:8080/users/" + index))
+                                                .addTags(tag("status_code", "200")))
+                            .addSpans(SpanObject.newBuilder()
+                                                .setSpanId(1)
+                                                .setParentSpanId(0)
+                                                .setSpanType(SpanType.Exit)
+                                                .setSpanLayer(SpanLayer.Database)
+                                                .setComponentId(5)
+                                                .setOperationName("Mysql/JDBI/PreparedStatement/executeQuery")
+                                                .setPeer("mysql:3306")
+                                                .setStartTime(startTime + 10)
+                                                .setEndTime(startTime + 30)
+                                                .addTags(tag("db.type", "sql"))
+                                                .addTags(tag("db.statement", "select * from users where id = ?")))
+                            .addSpans(SpanObject.newBuilder()
+                                                .setSpanId(2)
+                                                .setParentSpanId(0)
+                                                .setSpanType(SpanType.Local)
+                                                .setOperationName("UserService.render")
+                                                .setStartTime(startTime + 30)
+                                                .setEndTime(startTime + 40))
+                            .addSpans(SpanObject.newBuilder()
+                                                .setSpanId(3)
+                                                .setParentSpanId(0)
+                                                .setSpanType(SpanType.Exit)
+                                                .setSpanLayer(SpanLayer.Http)
+                                                .setComponentId(2)
+                                                .setOperationName("/orders")
+                                                .setPeer("10.0.0.2:8080")
+                                                .setStartTime(startTime + 40)
+                                                .setEndTime(startTime + 90)
+                                                .addTags(tag("http.method", "POST"))
+                                                .addTags(tag("status_code", "200")))
+                            .build();
+    }
+
+    private static KeyStringValuePair tag(String key, String value) {
+        return KeyStringValuePair.newBuilder().setKey(key).setValue(value).build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(TraceAnalyzerBenchmark.class.getName())
+            .addProfiler("gc")
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanType;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.EntryAnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.ExitAnalysisListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TraceAnalyzerTest {
+    @Test
+    public void testReuseResettableListeners() {
+        final List<MockEntryListener> entryListeners = new ArrayList<>();
+        final List<MockExitListener> exitListeners = new ArrayList<>();
+        final SegmentParserListenerManager listenerManager = new SegmentParserListenerManager();
+        listenerManager.add((moduleManager, config) -> {
+            final MockEntryListener listener = new MockEntryListener();
+            entryListeners.add(listener);
+            return listener;
+        });
+        listenerManager.add((moduleManager, config) -> {
+            final MockExitListener listener = new MockExitListener();
+            exitListeners.add(listener);
+            return listener;
+        });
+        final TraceAnalyzer traceAnalyzer = new TraceAnalyzer(null, listenerManager, null);
+
+        traceAnalyzer.doAnalysis(segment());
+        traceAnalyzer.doAnalysis(segment());
+        traceAnalyzer.doAnalysis(segment());
+
+        // The resettable listener is created once, the other one is created for every segment.
+        Assert.assertEquals(1, entryListeners.size());
+        Assert.assertEquals(3, exitListeners.size());
+
+        final MockEntryListener entryListener = entryListeners.get(0);
+        Assert.assertEquals(3, entryListener.resetCount);
+        Assert.assertEquals(3, entryListener.builtEntries.size());
+        for (final Integer entries : entryListener.builtEntries) {
+            Assert.assertEquals(1, entries.intValue());
+        }
+        for (final MockExitListener exitListener : exitListeners) {
+            Assert.assertEquals(2, exitListener.exits);
+        }
+    }
+
+    @Test
+    public void testResetAfterFailure() {
+        final MockEntryListener entryListener = new MockEntryListener();
+        final SegmentParserListenerManager listenerManager = new SegmentParserListenerManager();
+        listenerManager.add((moduleManager, config) -> entryListener);
+        final TraceAnalyzer traceAnalyzer = new TraceAnalyzer(null, listenerManager, null);
+
+        entryListener.failOnBuild = true;
+        try {
+            traceAnalyzer.doAnalysis(segment());
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(1, entryListener.resetCount);
+        }
+
+        entryListener.failOnBuild = false;
+        traceAnalyzer.doAnalysis(segment());
+        Assert.assertEquals(1, entryListener.builtEntries.get(0).intValue());
+    }
+
+    private static SegmentObject segment() {
+        return SegmentObject.newBuilder()
+                            .setTraceId("trace")
+                            .setTraceSegmentId("segment")
+                            .addSpans(SpanObject.newBuilder().setSpanId(0).setSpanType(SpanType.Entry))
+                            .addSpans(SpanObject.newBuilder().setSpanId(1).setSpanType(SpanType.Exit))
+                            .addSpans(SpanObject.newBuilder().setSpanId(2).setSpanType(SpanType.Exit))
+                            .build();
+    }
+
+    private static class MockEntryListener implements EntryAnalysisListener {
+        private final List<Integer> builtEntries = new ArrayList<>();
+        private int entries;
+        private int resetCount;
+        private boolean failOnBuild;
+
+        @Override
+        public void parseEntry(final SpanObject span, final SegmentObject segmentObject) {
+            entries++;
+        }
+
+        @Override
+        public void build() {
+            if (failOnBuild) {
+                throw new IllegalStateException();
+            }
+            builtEntries.add(entries);
+        }
+
+        @Override
+        public boolean containsPoint(final Point point) {
+            return Point.Entry.equals(point);
+        }
+
+        @Override
+        public boolean reset() {
+            entries = 0;
+            resetCount++;
+            return true;
+        }
+    }
+
+    private static class MockExitListener implements ExitAnalysisListener {
+        private int exits;
+
+        @Override
+        public void parseExit(final SpanObject span, final SegmentObject segmentObject) {
+            exits++;
+        }
+
+        @Override
+        public void build() {
+        }
+
+        @Override
+        public boolean containsPoint(final Point point) {
+            return Point.Exit.equals(point);
+        }
+    }
+}
@@ -52,12 +52,13 @@ public class DSL {
                 ),
                 CompileStatic.class
             );
-        cc.addCompilationCustomizers(customizer);
+        final ParsedFieldsCollector parsedFieldsCollector = new ParsedFieldsCollector();
+        cc.addCompilationCustomizers(customizer, parsedFieldsCollector);
         cc.setScriptBaseClass(LALDelegatingScript.class.getName());
 
         final GroovyShell sh = new GroovyShell(cc);
         final DelegatingScript script = (DelegatingScript) sh.parse(dsl);
-        final FilterSpec filterSpec = new FilterSpec(moduleManager, config);
+        final FilterSpec filterSpec = new FilterSpec(moduleManager, config, parsedFieldsCollector.fields());
         script.setDelegate(filterSpec);
 
         return new DSL(script, filterSpec);
@@ -70,4 +71,11 @@ public class DSL {
     public void evaluate() {
         script.run();
     }
+
+    /**
+     * Forward the results buffered by the sinks of the logs evaluated in the current thread.
+     */
+    public void flush() {
+        filterSpec.flush();
+    }
 }
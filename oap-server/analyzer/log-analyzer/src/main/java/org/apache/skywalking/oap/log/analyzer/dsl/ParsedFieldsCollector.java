@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.dsl;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.codehaus.groovy.ast.ClassCodeVisitorSupport;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.expr.ConstantExpression;
+import org.codehaus.groovy.ast.expr.Expression;
+import org.codehaus.groovy.ast.expr.PropertyExpression;
+import org.codehaus.groovy.ast.expr.VariableExpression;
+import org.codehaus.groovy.classgen.GeneratorContext;
+import org.codehaus.groovy.control.CompilePhase;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.control.customizers.CompilationCustomizer;
+
+/**
+ * ParsedFieldsCollector collects the fields referred as {@code parsed.xxx} in the LAL script, so the parsers only
+ * materialize these fields of the logs. If the {@code parsed} is used in other ways, such as {@code parsed[key]}, all
+ * fields are required.
+ */
+class ParsedFieldsCollector extends CompilationCustomizer {
+    private static final String PARSED = "parsed";
+
+    /**
+     * The properties of {@link Binding.Parsed} itself, which are not the fields of the logs.
+     */
+    private static final Set<String> PARSED_PROPERTIES = new HashSet<>(
+        Arrays.asList("matcher", "map", "log", "extraLog", "metaClass", "class"));
+
+    private final Set<String> fields = new HashSet<>();
+
+    private boolean allFields;
+
+    ParsedFieldsCollector() {
+        super(CompilePhase.CONVERSION);
+    }
+
+    @Override
+    public void call(final SourceUnit source, final GeneratorContext context, final ClassNode classNode) {
+        new ClassCodeVisitorSupport() {
+            @Override
+            protected SourceUnit getSourceUnit() {
+                return source;
+            }
+
+            @Override
+            public void visitPropertyExpression(final PropertyExpression expression) {
+                final Expression object = expression.getObjectExpression();
+                if (object instanceof VariableExpression
+                    && PARSED.equals(((VariableExpression) object).getName())
+                    && expression.getProperty() instanceof ConstantExpression) {
+                    final String field = expression.getPropertyAsString();
+                    if (PARSED_PROPERTIES.contains(field)) {
+                        allFields = true;
+                    } else {
+                        fields.add(field);
+                    }
+                    return;
+                }
+                super.visitPropertyExpression(expression);
+            }
+
+            @Override
+            public void visitVariableExpression(final VariableExpression expression) {
+                if (PARSED.equals(expression.getName())) {
+                    allFields = true;
+                }
+            }
+        }.visitClass(classNode);
+    }
+
+    /**
+     * @return the fields referred in the script, or null if all fields are required.
+     */
+    Set<String> fields() {
+        return allFields ? null : fields;
+    }
+}
@@ -18,7 +18,6 @@
 
 package org.apache.skywalking.oap.log.analyzer.dsl.spec.filter;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.protobuf.Message;
 import com.google.protobuf.TextFormat;
 import groovy.lang.Closure;
@@ -26,6 +25,8 @@ import groovy.lang.DelegatesTo;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
 import org.apache.skywalking.oap.log.analyzer.dsl.Binding;
 import org.apache.skywalking.oap.log.analyzer.dsl.spec.AbstractSpec;
@@ -35,6 +36,7 @@ import org.apache.skywalking.oap.log.analyzer.dsl.spec.parser.TextParserSpec;
 import org.apache.skywalking.oap.log.analyzer.dsl.spec.parser.YamlParserSpec;
 import org.apache.skywalking.oap.log.analyzer.dsl.spec.sink.SinkSpec;
 import org.apache.skywalking.oap.log.analyzer.provider.LogAnalyzerModuleConfig;
+import org.apache.skywalking.oap.log.analyzer.provider.log.listener.LogAnalysisListener;
 import org.apache.skywalking.oap.log.analyzer.provider.log.listener.LogAnalysisListenerFactory;
 import org.apache.skywalking.oap.log.analyzer.provider.log.listener.RecordAnalysisListener;
 import org.apache.skywalking.oap.log.analyzer.provider.log.listener.TrafficAnalysisListener;
@@ -48,6 +50,11 @@ public class FilterSpec extends AbstractSpec {
 
     private final List<LogAnalysisListenerFactory> factories;
 
+    /**
+     * The listeners created by {@link #factories} are reused by the logs sunk in the same thread.
+     */
+    private final ThreadLocal<List<LogAnalysisListener>> listeners;
+
     private final TextParserSpec textParser;
 
     private final JsonParserSpec jsonParser;
@@ -58,22 +65,28 @@ public class FilterSpec extends AbstractSpec {
 
     private final SinkSpec sink;
 
-    private final TypeReference<Map<String, Object>> parsedType;
-
     public FilterSpec(final ModuleManager moduleManager,
                       final LogAnalyzerModuleConfig moduleConfig) throws ModuleStartException {
-        super(moduleManager, moduleConfig);
+        this(moduleManager, moduleConfig, null);
+    }
 
-        parsedType = new TypeReference<Map<String, Object>>() {
-        };
+    /**
+     * @param parsedFields the fields of the parsed logs referred in the script, or null if all fields are required.
+     */
+    public FilterSpec(final ModuleManager moduleManager,
+                      final LogAnalyzerModuleConfig moduleConfig,
+                      final Set<String> parsedFields) throws ModuleStartException {
+        super(moduleManager, moduleConfig);
 
         factories = Arrays.asList(
             new RecordAnalysisListener.Factory(moduleManager(), moduleConfig()),
             new TrafficAnalysisListener.Factory(moduleManager(), moduleConfig())
         );
+        listeners = ThreadLocal.withInitial(
+            () -> factories.stream().map(LogAnalysisListenerFactory::create).collect(Collectors.toList()));
 
         textParser = new TextParserSpec(moduleManager(), moduleConfig());
-        jsonParser = new JsonParserSpec(moduleManager(), moduleConfig());
+        jsonParser = new JsonParserSpec(moduleManager(), moduleConfig(), parsedFields);
         yamlParser = new YamlParserSpec(moduleManager(), moduleConfig());
 
         extractor = new ExtractorSpec(moduleManager(), moduleConfig());
@@ -101,9 +114,7 @@ public class FilterSpec extends AbstractSpec {
         final LogData.Builder logData = BINDING.get().log();
         try {
 
-            final Map<String, Object> parsed = jsonParser.create().readValue(
-                logData.getBody().getJson().getJson(), parsedType
-            );
+            final Map<String, Object> parsed = jsonParser.parse(logData.getBody().getJson().getJson());
 
             BINDING.get().parsed(parsed);
         } catch (final Exception e) {
@@ -163,9 +174,16 @@ public class FilterSpec extends AbstractSpec {
             return;
         }
 
-        factories.stream()
-                 .map(LogAnalysisListenerFactory::create)
-                 .forEach(it -> it.parse(logData, extraLog).build());
+        for (final LogAnalysisListener listener : listeners.get()) {
+            listener.parse(logData, extraLog).build();
+        }
+    }
+
+    /**
+     * Forward the logs sunk in the current thread, which are buffered by the listeners.
+     */
+    public void flush() {
+        listeners.get().forEach(LogAnalysisListener::flush);
     }
 
     @SuppressWarnings("unused")
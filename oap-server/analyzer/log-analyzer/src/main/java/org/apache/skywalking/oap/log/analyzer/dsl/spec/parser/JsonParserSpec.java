@@ -18,23 +18,74 @@
 
 package org.apache.skywalking.oap.log.analyzer.dsl.spec.parser;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import org.apache.skywalking.oap.log.analyzer.provider.LogAnalyzerModuleConfig;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 
 public class JsonParserSpec extends AbstractParserSpec {
     private final ObjectMapper mapper;
 
+    private final ObjectReader mapReader;
+
+    /**
+     * The top-level fields to be materialized, null means all fields.
+     */
+    private final Set<String> fields;
+
     public JsonParserSpec(final ModuleManager moduleManager,
                           final LogAnalyzerModuleConfig moduleConfig) {
+        this(moduleManager, moduleConfig, null);
+    }
+
+    public JsonParserSpec(final ModuleManager moduleManager,
+                          final LogAnalyzerModuleConfig moduleConfig,
+                          final Set<String> fields) {
         super(moduleManager, moduleConfig);
 
         // We just create a mapper instance in advance for now (for the sake of performance),
         // when we want to provide some extra options, we'll move this into method "create" then.
         mapper = new ObjectMapper();
+        mapReader = mapper.readerFor(new TypeReference<Map<String, Object>>() {
+        });
+        this.fields = fields;
     }
 
     public ObjectMapper create() {
         return mapper;
     }
+
+    /**
+     * Parse the JSON object. If the fields are specified, the other top-level fields are skipped by the streaming
+     * parser rather than materialized.
+     */
+    public Map<String, Object> parse(final String json) throws IOException {
+        if (fields == null) {
+            return mapReader.readValue(json);
+        }
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "The JSON log should be an object");
+            }
+            final Map<String, Object> parsed = new LinkedHashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                parser.nextToken();
+                if (fields.contains(name)) {
+                    parsed.put(name, mapper.readValue(parser, Object.class));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return parsed;
+        }
+    }
 }
@@ -18,6 +18,9 @@
 
 package org.apache.skywalking.oap.log.analyzer.dsl.spec.parser;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
@@ -25,6 +28,17 @@ import org.apache.skywalking.oap.log.analyzer.provider.LogAnalyzerModuleConfig;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 
 public class TextParserSpec extends AbstractParserSpec {
+    /**
+     * The patterns in the scripts, which are compiled only once.
+     */
+    private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+    /**
+     * The matchers are reset and reused for the logs processed by the same thread. The matched one is kept in the
+     * binding until the thread processes the next log.
+     */
+    private final ThreadLocal<Map<Pattern, Matcher>> matchers = ThreadLocal.withInitial(HashMap::new);
+
     public TextParserSpec(final ModuleManager moduleManager,
                           final LogAnalyzerModuleConfig moduleConfig) {
         super(moduleManager, moduleConfig);
@@ -32,7 +46,7 @@ public class TextParserSpec extends AbstractParserSpec {
 
     @SuppressWarnings("unused")
     public void regexp(final String regexp) {
-        regexp(Pattern.compile(regexp));
+        regexp(patterns.computeIfAbsent(regexp, Pattern::compile));
     }
 
     public void regexp(final Pattern pattern) {
@@ -40,7 +54,9 @@ public class TextParserSpec extends AbstractParserSpec {
             return;
         }
         final LogData.Builder log = BINDING.get().log();
-        final Matcher matcher = pattern.matcher(log.getBody().getText().getText());
+        final Matcher matcher = matchers.get()
+                                        .computeIfAbsent(pattern, it -> it.matcher(""))
+                                        .reset(log.getBody().getText().getText());
         final boolean matched = matcher.find();
         if (matched) {
             BINDING.get().parsed(matcher);
@@ -29,14 +29,21 @@ import org.yaml.snakeyaml.representer.Representer;
 public class YamlParserSpec extends AbstractParserSpec {
     private final LoaderOptions loaderOptions;
 
+    /**
+     * {@link Yaml} is not thread safe, so every thread keeps its own instance, rather than creating it for every log.
+     */
+    private final ThreadLocal<Yaml> yaml;
+
     public YamlParserSpec(final ModuleManager moduleManager,
                           final LogAnalyzerModuleConfig moduleConfig) {
         super(moduleManager, moduleConfig);
 
         loaderOptions = new LoaderOptions();
+        yaml = ThreadLocal.withInitial(
+            () -> new Yaml(new SafeConstructor(), new Representer(), new DumperOptions(), loaderOptions));
     }
 
     public Yaml create() {
-        return new Yaml(new SafeConstructor(), new Representer(), new DumperOptions(), loaderOptions);
+        return yaml.get();
     }
 }
@@ -18,6 +18,7 @@
 package org.apache.skywalking.oap.log.analyzer.provider.log;
 
 import com.google.protobuf.Message;
+import java.util.List;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
 import org.apache.skywalking.oap.server.library.module.Service;
 
@@ -32,4 +33,11 @@ public interface ILogAnalyzerService extends Service {
         doAnalysis(logData.toBuilder(), extraLog);
     }
 
+    /**
+     * Analyze a batch of logs without the extra logs, the analysis results are forwarded in batch.
+     */
+    default void doAnalysis(List<LogData.Builder> logs) {
+        logs.forEach(it -> doAnalysis(it, null));
+    }
+
 }
@@ -29,7 +29,8 @@ import org.apache.skywalking.oap.log.analyzer.provider.log.listener.LogAnalysisL
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 
 /**
- * Analyze the collected log data, is the entry point for log analysis.
+ * Analyze the collected log data, is the entry point for log analysis. The analyzer and its listeners are reused by the
+ * logs analyzed in the same thread, so it is not thread safe.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -38,15 +39,42 @@ public class LogAnalyzer {
     private final LogAnalyzerModuleConfig moduleConfig;
     private final ILogAnalysisListenerFactoryManager factoryManager;
 
-    private final List<LogAnalysisListener> listeners = new ArrayList<>();
+    private List<LogAnalysisListener> listeners;
 
     public void doAnalysis(LogData.Builder builder, Message extraLog) {
+        createListeners();
+        try {
+            analyze(builder, extraLog);
+        } finally {
+            notifyListenerToFlush();
+        }
+    }
+
+    /**
+     * Analyze a batch of logs, the analysis results are flushed after all logs are built. The failure of one log
+     * doesn't stop the rest of the batch.
+     */
+    public void doAnalysis(List<LogData.Builder> builders) {
+        createListeners();
+        try {
+            for (final LogData.Builder builder : builders) {
+                try {
+                    analyze(builder, null);
+                } catch (Exception e) {
+                    log.error("Failed to analyze the log of service: {}", builder.getService(), e);
+                }
+            }
+        } finally {
+            notifyListenerToFlush();
+        }
+    }
+
+    private void analyze(LogData.Builder builder, Message extraLog) {
         if (StringUtil.isEmpty(builder.getService())) {
             // If the service name is empty, the log will be ignored.
             log.debug("The log is ignored because the Service name is empty");
             return;
         }
-        createListeners();
         if (builder.getTimestamp() == 0) {
             // If no timestamp, OAP server would use the received timestamp as log's timestamp
             builder.setTimestamp(System.currentTimeMillis());
@@ -64,8 +92,17 @@ public class LogAnalyzer {
         listeners.forEach(LogAnalysisListener::build);
     }
 
+    private void notifyListenerToFlush() {
+        listeners.forEach(LogAnalysisListener::flush);
+    }
+
     private void createListeners() {
+        if (listeners != null) {
+            return;
+        }
+        final List<LogAnalysisListener> created = new ArrayList<>();
         factoryManager.getLogAnalysisListenerFactories()
-                      .forEach(factory -> listeners.add(factory.create()));
+                      .forEach(factory -> created.add(factory.create()));
+        listeners = created;
     }
 }
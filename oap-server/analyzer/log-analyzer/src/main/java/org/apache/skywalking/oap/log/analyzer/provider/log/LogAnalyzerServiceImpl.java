@@ -20,6 +20,8 @@ package org.apache.skywalking.oap.log.analyzer.provider.log;
 import com.google.protobuf.Message;
 import java.util.ArrayList;
 import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
 import org.apache.skywalking.oap.log.analyzer.provider.LogAnalyzerModuleConfig;
@@ -28,14 +30,26 @@ import org.apache.skywalking.oap.server.library.module.ModuleManager;
 
 @RequiredArgsConstructor
 public class LogAnalyzerServiceImpl implements ILogAnalyzerService, ILogAnalysisListenerFactoryManager {
+    @Getter(AccessLevel.PRIVATE)
     private final ModuleManager moduleManager;
+    @Getter(AccessLevel.PRIVATE)
     private final LogAnalyzerModuleConfig moduleConfig;
     private final List<LogAnalysisListenerFactory> factories = new ArrayList<>();
 
+    /**
+     * The analyzers hold the listeners, which are reused by the logs analyzed in the same thread.
+     */
+    private final ThreadLocal<LogAnalyzer> analyzers = ThreadLocal.withInitial(
+        () -> new LogAnalyzer(getModuleManager(), getModuleConfig(), this));
+
     @Override
     public void doAnalysis(final LogData.Builder log, Message extraLog) {
-        LogAnalyzer analyzer = new LogAnalyzer(moduleManager, moduleConfig, this);
-        analyzer.doAnalysis(log, extraLog);
+        analyzers.get().doAnalysis(log, extraLog);
+    }
+
+    @Override
+    public void doAnalysis(final List<LogData.Builder> logs) {
+        analyzers.get().doAnalysis(logs);
     }
 
     @Override
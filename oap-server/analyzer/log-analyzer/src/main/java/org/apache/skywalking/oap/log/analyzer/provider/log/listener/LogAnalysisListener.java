@@ -21,7 +21,9 @@ import com.google.protobuf.Message;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
 
 /**
- * LogAnalysisListener represents the callback when OAP does the log data analysis.
+ * LogAnalysisListener represents the callback when OAP does the log data analysis. The listener instances are reused for
+ * the logs analyzed by the same thread, so {@link #parse(LogData.Builder, Message)} should reset the state of the
+ * previous log.
  */
 public interface LogAnalysisListener {
     /**
@@ -35,4 +37,11 @@ public interface LogAnalysisListener {
      * @return {@code this} for chaining.
      */
     LogAnalysisListener parse(LogData.Builder logData, final Message extraLog);
+
+    /**
+     * Called after a batch of logs has been built. The implementations buffering the analysis results should forward
+     * them here.
+     */
+    default void flush() {
+    }
 }
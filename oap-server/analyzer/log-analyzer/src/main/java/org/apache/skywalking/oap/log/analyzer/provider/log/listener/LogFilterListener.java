@@ -31,21 +31,32 @@ import org.apache.skywalking.oap.log.analyzer.provider.LALConfig;
 import org.apache.skywalking.oap.log.analyzer.provider.LALConfigs;
 import org.apache.skywalking.oap.log.analyzer.provider.LogAnalyzerModuleConfig;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
 
 @Slf4j
 @RequiredArgsConstructor
 public class LogFilterListener implements LogAnalysisListener {
     private final List<DSL> dsls;
 
+    /**
+     * The evaluation latency of every rule, in the same order as {@link #dsls}.
+     */
+    private final List<HistogramMetrics> evaluationLatencies;
+
     @Override
     public void build() {
-        dsls.forEach(dsl -> {
-            try {
+        for (int i = 0; i < dsls.size(); i++) {
+            final DSL dsl = dsls.get(i);
+            try (HistogramMetrics.Timer ignored = evaluationLatencies.get(i).createTimer()) {
                 dsl.evaluate();
             } catch (final Exception e) {
                 log.warn("Failed to evaluate dsl: {}", dsl, e);
             }
-        });
+        }
     }
 
     @Override
@@ -56,11 +67,22 @@ public class LogFilterListener implements LogAnalysisListener {
         return this;
     }
 
+    @Override
+    public void flush() {
+        dsls.forEach(DSL::flush);
+    }
+
     public static class Factory implements LogAnalysisListenerFactory {
         private final List<DSL> dsls;
+        private final List<HistogramMetrics> evaluationLatencies;
 
         public Factory(final ModuleManager moduleManager, final LogAnalyzerModuleConfig config) throws Exception {
             dsls = new ArrayList<>();
+            evaluationLatencies = new ArrayList<>();
+            // The latency is reported only if the telemetry module is installed, which is not required by LAL.
+            final MetricsCreator metricsCreator = moduleManager.has(TelemetryModule.NAME)
+                ? moduleManager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class)
+                : new MetricsCreatorNoop();
 
             final List<LALConfig> configList = LALConfigs.load(config.getLalPath(), config.lalFiles())
                                                          .stream()
@@ -68,12 +90,16 @@ public class LogFilterListener implements LogAnalysisListener {
                                                          .collect(Collectors.toList());
             for (final LALConfig c : configList) {
                 dsls.add(DSL.of(moduleManager, config, c.getDsl()));
+                evaluationLatencies.add(metricsCreator.createHistogramMetric(
+                    "lal_rule_latency", "The latency of evaluating a log by a LAL rule",
+                    new MetricsTag.Keys("rule"), new MetricsTag.Values(c.getName())
+                ));
             }
         }
 
         @Override
         public LogAnalysisListener create() {
-            return new LogFilterListener(dsls);
+            return new LogFilterListener(dsls, evaluationLatencies);
         }
     }
 }
@@ -18,6 +18,7 @@
 package org.apache.skywalking.oap.log.analyzer.provider.log.listener;
 
 import com.google.protobuf.Message;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -46,18 +47,31 @@ import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import static org.apache.skywalking.oap.server.library.util.ProtoBufJsonUtils.toJSON;
 
 /**
- * RecordAnalysisListener forwards the log data to the persistence layer with the query required conditions.
+ * RecordAnalysisListener forwards the log data to the persistence layer with the query required conditions. The logs
+ * are buffered until {@link #flush()}, and forwarded in batch.
  */
 @RequiredArgsConstructor
 public class RecordAnalysisListener implements LogAnalysisListener {
     private final SourceReceiver sourceReceiver;
     private final NamingControl namingControl;
     private final List<String> searchableTagKeys;
-    private final Log log = new Log();
+    private List<Log> logs = new ArrayList<>();
+    private Log log;
 
     @Override
     public void build() {
-        sourceReceiver.receive(log);
+        logs.add(log);
+        log = null;
+    }
+
+    @Override
+    public void flush() {
+        if (logs.isEmpty()) {
+            return;
+        }
+        final List<Log> batch = logs;
+        logs = new ArrayList<>(batch.size());
+        sourceReceiver.receive(batch);
     }
 
     @Override
@@ -65,6 +79,8 @@ public class RecordAnalysisListener implements LogAnalysisListener {
     public LogAnalysisListener parse(final LogData.Builder logData,
                                      final Message extraLog) {
         LogDataBody body = logData.getBody();
+        // The log source is forwarded in the batch, so it can't be reused.
+        log = new Log();
         log.setUniqueId(UUID.randomUUID().toString().replace("-", ""));
         // timestamp
         log.setTimestamp(logData.getTimestamp());
@@ -65,6 +65,9 @@ public class TrafficAnalysisListener implements LogAnalysisListener {
     public LogAnalysisListener parse(final LogData.Builder logData,
                                      final Message extraLog) {
         final long timeBucket = TimeBucket.getTimeBucket(System.currentTimeMillis(), DownSampling.Minute);
+        serviceMeta = null;
+        instanceMeta = null;
+        endpointMeta = null;
         // to service traffic
         String serviceName = namingControl.formatServiceName(logData.getService());
         String serviceId = IDManager.ServiceID.buildId(serviceName, NodeType.Normal);
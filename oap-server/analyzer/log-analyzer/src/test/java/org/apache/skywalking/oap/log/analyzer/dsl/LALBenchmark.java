@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.dsl;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.logging.v3.JSONLog;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.LogDataBody;
+import org.apache.skywalking.apm.network.logging.v3.TextLog;
+import org.apache.skywalking.apm.network.logging.v3.YAMLLog;
+import org.apache.skywalking.oap.log.analyzer.provider.LogAnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.config.ConfigService;
+import org.apache.skywalking.oap.server.core.source.SourceReceiver;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleStartException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.powermock.reflect.Whitebox;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Feed the envoy access logs(JSON), the YAML logs and the text logs through the LAL scripts, which parse the logs and
+ * extract a few fields of them, as the envoy-als and default rules do. The sinks are disabled.
+ */
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LALBenchmark {
+    private static final String JSON_SCRIPT =
+        "filter {\n" +
+            "  json {}\n" +
+            "  if (parsed?.response?.responseCode as Integer < 400 && !parsed?.commonProperties?.responseFlags) {\n" +
+            "    abort {}\n" +
+            "  }\n" +
+            "  extractor {\n" +
+            "    tag 'status.code': parsed?.response?.responseCode as int\n" +
+            "    tag 'response.flag': (parsed?.commonProperties?.responseFlags as Map)?.keySet()\n" +
+            "  }\n" +
+            "  sink {}\n" +
+            "}";
+
+    private static final String YAML_SCRIPT =
+        "filter {\n" +
+            "  yaml {}\n" +
+            "  extractor {\n" +
+            "    service parsed.service as String\n" +
+            "    instance parsed.instance as String\n" +
+            "    tag level: parsed.level\n" +
+            "  }\n" +
+            "  sink {}\n" +
+            "}";
+
+    private static final String TEXT_SCRIPT =
+        "filter {\n" +
+            "  text {\n" +
+            "    regexp $/(?s)(?<timestamp>\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}.\\d{3}) \\[TID:(?<tid>.+?)] \\[(?<thread>.+?)] (?<level>\\w{4,}) (?<logger>.{1,36}) (?<msg>.+)/$\n" +
+            "  }\n" +
+            "  extractor {\n" +
+            "    traceId parsed.tid as String\n" +
+            "    tag level: parsed.level, thread: parsed.thread\n" +
+            "  }\n" +
+            "  sink {}\n" +
+            "}";
+
+    private static final String JSON_LOG =
+        "{\"commonProperties\":{\"downstreamRemoteAddress\":{\"socketAddress\":{\"address\":\"10.0.1.12\",\"portValue\":" +
+            "49152}},\"downstreamLocalAddress\":{\"socketAddress\":{\"address\":\"10.0.1.13\",\"portValue\":8080}}," +
+            "\"startTime\":\"2021-06-01T08:00:00.123Z\",\"timeToLastRxByte\":\"0.000052s\",\"timeToFirstUpstreamTxByte\":" +
+            "\"0.000133s\",\"timeToLastUpstreamTxByte\":\"0.000135s\",\"timeToFirstUpstreamRxByte\":\"0.012503s\"," +
+            "\"timeToLastUpstreamRxByte\":\"0.012571s\",\"timeToFirstDownstreamTxByte\":\"0.012560s\"," +
+            "\"timeToLastDownstreamTxByte\":\"0.012574s\",\"upstreamRemoteAddress\":{\"socketAddress\":{\"address\":" +
+            "\"10.0.2.21\",\"portValue\":8080}},\"upstreamCluster\":\"outbound|8080||productpage.default.svc.cluster." +
+            "local\",\"responseFlags\":{\"upstreamConnectionFailure\":true},\"routeName\":\"default\"}," +
+            "\"protocolVersion\":\"HTTP11\",\"request\":{\"requestMethod\":\"GET\",\"scheme\":\"http\",\"authority\":" +
+            "\"productpage:9080\",\"path\":\"/productpage\",\"userAgent\":\"curl/7.64.0\",\"requestId\":" +
+            "\"3b7a3a4e-8a6b-9d0e-a1b2-c3d4e5f6a7b8\",\"requestHeadersBytes\":\"512\"},\"response\":{\"responseCode\":503," +
+            "\"responseHeadersBytes\":\"166\",\"responseBodyBytes\":\"91\",\"responseCodeDetails\":" +
+            "\"upstream_reset_before_response_started{connection_failure}\"}}";
+
+    private static final String YAML_LOG =
+        "service: productpage\n" +
+            "instance: productpage-v1-6b746f74dc-6zwtb\n" +
+            "level: ERROR\n" +
+            "logger: org.apache.skywalking.productpage.Controller\n" +
+            "thread: http-nio-8080-exec-1\n" +
+            "msg: Failed to call the reviews service\n" +
+            "exception:\n" +
+            "  type: java.net.ConnectException\n" +
+            "  stack:\n" +
+            "    - java.net.PlainSocketImpl.socketConnect(Native Method)\n" +
+            "    - java.net.AbstractPlainSocketImpl.doConnect(AbstractPlainSocketImpl.java:350)\n";
+
+    private static final String TEXT_LOG =
+        "2021-06-01 08:00:00.123 [TID:3b7a3a4e8a6b4d0e.95.16224816001230001] [http-nio-8080-exec-1] ERROR " +
+            "o.a.s.productpage.Controller Failed to call the reviews service";
+
+    @State(Scope.Thread)
+    public static class MyState {
+        DSL json;
+        DSL yaml;
+        DSL text;
+
+        LogData jsonLog;
+        LogData yamlLog;
+        LogData textLog;
+
+        @Setup
+        public void setup() throws ModuleStartException {
+            final ModuleManager manager = mock(ModuleManager.class);
+            Whitebox.setInternalState(manager, "isInPrepareStage", false);
+            when(manager.find(anyString())).thenReturn(mock(ModuleProviderHolder.class));
+            when(manager.find(CoreModule.NAME).provider()).thenReturn(mock(ModuleServiceHolder.class));
+            when(manager.find(CoreModule.NAME).provider().getService(SourceReceiver.class))
+                .thenReturn(mock(SourceReceiver.class));
+            when(manager.find(CoreModule.NAME).provider().getService(ConfigService.class))
+                .thenReturn(mock(ConfigService.class));
+            when(manager.find(CoreModule.NAME).provider().getService(ConfigService.class).getSearchableLogsTags())
+                .thenReturn("");
+
+            json = of(manager, JSON_SCRIPT);
+            yaml = of(manager, YAML_SCRIPT);
+            text = of(manager, TEXT_SCRIPT);
+
+            jsonLog = log(LogDataBody.newBuilder().setJson(JSONLog.newBuilder().setJson(JSON_LOG)));
+            yamlLog = log(LogDataBody.newBuilder().setYaml(YAMLLog.newBuilder().setYaml(YAML_LOG)));
+            textLog = log(LogDataBody.newBuilder().setText(TextLog.newBuilder().setText(TEXT_LOG)));
+        }
+
+        private static DSL of(final ModuleManager manager, final String script) throws ModuleStartException {
+            final DSL dsl = DSL.of(manager, new LogAnalyzerModuleConfig(), script);
+            Whitebox.setInternalState(
+                Whitebox.getInternalState(dsl, "filterSpec"), "factories", Collections.emptyList()
+            );
+            return dsl;
+        }
+
+        private static LogData log(final LogDataBody.Builder body) {
+            return LogData.newBuilder().setService("productpage").setServiceInstance("productpage-v1").setBody(body)
+                          .build();
+        }
+    }
+
+    @Benchmark
+    public void json(MyState state) {
+        run(state.json, state.jsonLog);
+    }
+
+    @Benchmark
+    public void yaml(MyState state) {
+        run(state.yaml, state.yamlLog);
+    }
+
+    @Benchmark
+    public void text(MyState state) {
+        run(state.text, state.textLog);
+    }
+
+    private static void run(final DSL dsl, final LogData log) {
+        dsl.bind(new Binding().log(log));
+        dsl.evaluate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(LALBenchmark.class.getName())
+            .addProfiler("gc")
+            .build();
+        new Runner(opt).run();
+    }
+}
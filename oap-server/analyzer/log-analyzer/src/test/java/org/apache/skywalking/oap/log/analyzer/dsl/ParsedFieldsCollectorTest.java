@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.dsl;
+
+import com.google.common.collect.Sets;
+import groovy.lang.GroovyShell;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParsedFieldsCollectorTest {
+
+    @Test
+    public void testCollectReferredFields() {
+        final ParsedFieldsCollector collector = collect(
+            "filter {\n" +
+                "  json {}\n" +
+                "  extractor {\n" +
+                "    service parsed.service as String\n" +
+                "    tag level: parsed?.level, code: \"${parsed.response.code}\"\n" +
+                "  }\n" +
+                "}");
+        Assert.assertEquals(Sets.newHashSet("service", "level", "response"), collector.fields());
+    }
+
+    @Test
+    public void testAllFieldsRequired() {
+        Assert.assertNull(collect("filter { extractor { service parsed['service'] as String } }").fields());
+        Assert.assertNull(collect("filter { extractor { tag all: parsed.map } }").fields());
+    }
+
+    private ParsedFieldsCollector collect(final String script) {
+        final ParsedFieldsCollector collector = new ParsedFieldsCollector();
+        final CompilerConfiguration cc = new CompilerConfiguration();
+        cc.addCompilationCustomizers(collector);
+        new GroovyShell(cc).parse(script);
+        return collector;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.dsl.spec.parser;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import org.apache.skywalking.oap.log.analyzer.provider.LogAnalyzerModuleConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JsonParserSpecTest {
+    private static final String JSON =
+        "{\"service\":\"svc\",\"skipped\":{\"a\":[1,{\"b\":null}]},\"response\":{\"code\":200},\"level\":null}";
+
+    @Test
+    public void testParseAllFields() throws IOException {
+        final Map<String, Object> parsed = new JsonParserSpec(null, new LogAnalyzerModuleConfig()).parse(JSON);
+        Assert.assertEquals(4, parsed.size());
+        Assert.assertEquals("svc", parsed.get("service"));
+    }
+
+    @Test
+    public void testParseReferredFields() throws IOException {
+        final JsonParserSpec spec = new JsonParserSpec(
+            null, new LogAnalyzerModuleConfig(), Sets.newHashSet("service", "response", "level", "absent"));
+        final Map<String, Object> parsed = spec.parse(JSON);
+        Assert.assertEquals(3, parsed.size());
+        Assert.assertEquals("svc", parsed.get("service"));
+        Assert.assertEquals(ImmutableMap.of("code", 200), parsed.get("response"));
+        Assert.assertTrue(parsed.containsKey("level"));
+        Assert.assertNull(parsed.get("level"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testParseNonObject() throws IOException {
+        new JsonParserSpec(null, new LogAnalyzerModuleConfig(), Collections.emptySet()).parse("[1, 2]");
+    }
+}
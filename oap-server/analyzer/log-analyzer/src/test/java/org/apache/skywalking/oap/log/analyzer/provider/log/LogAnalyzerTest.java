@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.provider.log;
+
+import com.google.protobuf.Message;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.TraceContext;
+import org.apache.skywalking.oap.log.analyzer.provider.LogAnalyzerModuleConfig;
+import org.apache.skywalking.oap.log.analyzer.provider.log.listener.LogAnalysisListener;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.mock;
+
+public class LogAnalyzerTest {
+    private final List<String> events = new ArrayList<>();
+    private int created;
+    private LogAnalyzerServiceImpl service;
+
+    @Before
+    public void setUp() {
+        service = new LogAnalyzerServiceImpl(mock(ModuleManager.class), new LogAnalyzerModuleConfig());
+        service.addListenerFactory(() -> {
+            created++;
+            return new RecordingListener();
+        });
+    }
+
+    @Test
+    public void testBatchFlushesOnce() {
+        service.doAnalysis(Arrays.asList(log("a", "1"), log("a", "2"), log("a", "3")));
+
+        assertEquals(
+            Arrays.asList("parse:1", "build:1", "parse:2", "build:2", "parse:3", "build:3", "flush"),
+            events
+        );
+    }
+
+    @Test
+    public void testBatchSkipsLogWithoutService() {
+        service.doAnalysis(Arrays.asList(log("a", "1"), log("", "2"), log("a", "3")));
+
+        assertEquals(Arrays.asList("parse:1", "build:1", "parse:3", "build:3", "flush"), events);
+    }
+
+    @Test
+    public void testBatchContinuesAfterFailure() {
+        service.doAnalysis(Arrays.asList(log("a", "1"), log("a", "fail"), log("a", "3")));
+
+        assertEquals(Arrays.asList("parse:1", "build:1", "parse:fail", "parse:3", "build:3", "flush"), events);
+    }
+
+    @Test
+    public void testBatchSetsTimestamp() {
+        final LogData.Builder builder = log("a", "1");
+        service.doAnalysis(Collections.singletonList(builder));
+
+        assertNotEquals(0, builder.getTimestamp());
+    }
+
+    @Test
+    public void testListenersReusedInThread() {
+        service.doAnalysis(Collections.singletonList(log("a", "1")));
+        service.doAnalysis(log("a", "2"), null);
+        service.doAnalysis(Collections.singletonList(log("a", "3")));
+
+        assertEquals(1, created);
+        assertEquals(
+            Arrays.asList("parse:1", "build:1", "flush", "parse:2", "build:2", "flush", "parse:3", "build:3", "flush"),
+            events
+        );
+    }
+
+    private static LogData.Builder log(final String service, final String traceId) {
+        return LogData.newBuilder().setService(service).setTraceContext(
+            TraceContext.newBuilder().setTraceId(traceId));
+    }
+
+    private class RecordingListener implements LogAnalysisListener {
+        private String traceId;
+
+        @Override
+        public void build() {
+            events.add("build:" + traceId);
+        }
+
+        @Override
+        public LogAnalysisListener parse(final LogData.Builder logData, final Message extraLog) {
+            traceId = logData.getTraceContext().getTraceId();
+            events.add("parse:" + traceId);
+            if ("fail".equals(traceId)) {
+                throw new IllegalStateException("Failed to parse the log.");
+            }
+            return this;
+        }
+
+        @Override
+        public void flush() {
+            events.add("flush");
+        }
+    }
+}
@@ -27,6 +27,10 @@ import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.meter.analyzer.dsl.SampleFamily;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterSystem;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
 import org.elasticsearch.common.Strings;
 
 import static java.util.stream.Collectors.toList;
@@ -46,7 +50,19 @@ public class MetricConvert {
 
     private final List<Analyzer> analyzers;
 
+    /**
+     * The analysis latency of every rule, in the same order as {@link #analyzers}.
+     */
+    private final List<HistogramMetrics> analysisLatencies;
+
     public MetricConvert(MetricRuleConfig rule, MeterSystem service) {
+        this(rule, service, new MetricsCreatorNoop());
+    }
+
+    /**
+     * @param metricsCreator creates the {@code mal_rule_latency} histogram of every rule.
+     */
+    public MetricConvert(MetricRuleConfig rule, MeterSystem service, MetricsCreator metricsCreator) {
         Preconditions.checkState(!Strings.isNullOrEmpty(rule.getMetricPrefix()));
         this.analyzers = rule.getMetricsRules().stream().map(
             r -> Analyzer.build(
@@ -56,6 +72,12 @@ public class MetricConvert {
                 service
             )
         ).collect(toList());
+        this.analysisLatencies = rule.getMetricsRules().stream().map(
+            r -> metricsCreator.createHistogramMetric(
+                "mal_rule_latency", "The latency of analyzing the samples by a MAL rule",
+                new MetricsTag.Keys("metricName"), new MetricsTag.Values(formatMetricName(rule, r.getName()))
+            )
+        ).collect(toList());
     }
 
     /**
@@ -68,8 +90,9 @@ public class MetricConvert {
         if (sampleFamilies.size() < 1) {
             return;
         }
-        for (Analyzer each : analyzers) {
-            try {
+        for (int i = 0; i < analyzers.size(); i++) {
+            Analyzer each = analyzers.get(i);
+            try (HistogramMetrics.Timer ignored = analysisLatencies.get(i).createTimer()) {
                 each.analyse(sampleFamilies);
             } catch (Throwable t) {
                 log.error("Analyze {} error", each, t);
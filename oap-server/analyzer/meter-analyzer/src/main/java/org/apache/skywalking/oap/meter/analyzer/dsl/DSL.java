@@ -20,30 +20,58 @@ package org.apache.skywalking.oap.meter.analyzer.dsl;
 
 import groovy.lang.Binding;
 import groovy.lang.GroovyShell;
+import groovy.transform.CompileStatic;
 import groovy.util.DelegatingScript;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.meter.analyzer.dsl.tagOpt.K8sRetagType;
+import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
 import org.codehaus.groovy.control.customizers.ImportCustomizer;
 
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+
 /**
  * DSL combines methods to parse groovy based DSL expression.
  */
+@Slf4j
 public final class DSL {
 
     /**
-     * Parse string literal to Expression object, which can be reused.
+     * Parse string literal to Expression object, which can be reused. The expression is compiled statically through
+     * {@link MALPrecompiledExtension}, and falls back to be compiled dynamically if it uses the constructs the static
+     * compilation doesn't support.
      *
      * @param expression string literal represents the DSL expression.
      * @return Expression object could be executed.
      */
     public static Expression parse(final String expression) {
+        try {
+            return new Expression(expression, compile(expression, true));
+        } catch (CompilationFailedException e) {
+            log.info("\"{}\" can't be compiled statically, fall back to the dynamic mode: {}", expression, e.getMessage());
+        }
+        return new Expression(expression, compile(expression, false));
+    }
+
+    /**
+     * @throws CompilationFailedException if the expression can't be compiled, or doesn't pass the type checking in the
+     *                                    static mode.
+     */
+    static DelegatingScript compile(final String expression, final boolean statically) {
         CompilerConfiguration cc = new CompilerConfiguration();
         cc.setScriptBaseClass(DelegatingScript.class.getName());
         ImportCustomizer icz = new ImportCustomizer();
         icz.addImport("K8sRetagType", K8sRetagType.class.getName());
         cc.addCompilationCustomizers(icz);
+        if (statically) {
+            cc.addCompilationCustomizers(new ASTTransformationCustomizer(
+                singletonMap("extensions", singletonList(MALPrecompiledExtension.class.getName())),
+                CompileStatic.class
+            ));
+        }
         GroovyShell sh = new GroovyShell(new Binding(), cc);
-        DelegatingScript script = (DelegatingScript) sh.parse(expression);
-        return new Expression(expression, script);
+        return (DelegatingScript) sh.parse(expression);
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.meter.analyzer.dsl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.List;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.codehaus.groovy.ast.expr.ArgumentListExpression;
+import org.codehaus.groovy.ast.expr.MethodCall;
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.codehaus.groovy.ast.expr.PropertyExpression;
+import org.codehaus.groovy.ast.expr.VariableExpression;
+import org.codehaus.groovy.transform.stc.AbstractTypeCheckingExtension;
+import org.codehaus.groovy.transform.stc.ExtensionMethodNode;
+import org.codehaus.groovy.transform.stc.StaticTypeCheckingVisitor;
+
+import static org.codehaus.groovy.ast.ClassHelper.Number_TYPE;
+import static org.codehaus.groovy.ast.ClassHelper.OBJECT_TYPE;
+import static org.codehaus.groovy.ast.ClassHelper.getWrapper;
+import static org.codehaus.groovy.ast.ClassHelper.makeCached;
+
+/**
+ * MALPrecompiledExtension makes the MAL expressions compile statically. The metric names are resolved by {@link
+ * Expression.ExpressionDelegate} at runtime, so they are typed as {@link SampleFamily} and accessed dynamically, so
+ * are the methods and properties those can't be resolved statically, such as the labels in the tag closures, and the
+ * binary operations with a number on the left-hand side.
+ */
+public class MALPrecompiledExtension extends AbstractTypeCheckingExtension {
+    private static final ClassNode SAMPLE_FAMILY = makeCached(SampleFamily.class);
+    private static final ClassNode OPERATORS = makeCached(MALPrecompiledExtension.class);
+
+    public MALPrecompiledExtension(final StaticTypeCheckingVisitor typeCheckingVisitor) {
+        super(typeCheckingVisitor);
+    }
+
+    @Override
+    public boolean handleUnresolvedVariableExpression(final VariableExpression vexp) {
+        makeDynamic(vexp, delegateConstantType(vexp.getName()));
+        return true;
+    }
+
+    @Override
+    public boolean handleUnresolvedProperty(final PropertyExpression pexp) {
+        makeDynamic(pexp);
+        return true;
+    }
+
+    @Override
+    public List<MethodNode> handleMissingMethod(final ClassNode receiver,
+                                                final String name,
+                                                final ArgumentListExpression argumentList,
+                                                final ClassNode[] argumentTypes,
+                                                final MethodCall call) {
+        if (argumentTypes.length == 1 && SAMPLE_FAMILY.equals(argumentTypes[0])
+            && getWrapper(receiver).isDerivedFrom(Number_TYPE)) {
+            final MethodNode operator = OPERATORS.getMethod(name, new Parameter[] {
+                new Parameter(Number_TYPE, "number"),
+                new Parameter(SAMPLE_FAMILY, "sampleFamily")
+            });
+            if (operator != null) {
+                final ExtensionMethodNode node = new ExtensionMethodNode(
+                    operator, name, operator.getModifiers(), SAMPLE_FAMILY,
+                    new Parameter[] {operator.getParameters()[1]}, ClassNode.EMPTY_ARRAY, null, false
+                );
+                node.setDeclaringClass(Number_TYPE);
+                return Collections.singletonList(node);
+            }
+        }
+        if (!(call instanceof MethodCallExpression)) {
+            return Collections.emptyList();
+        }
+        for (final ClassNode argumentType : argumentTypes) {
+            if (SAMPLE_FAMILY.equals(argumentType)) {
+                return Collections.singletonList(makeDynamic(call, SAMPLE_FAMILY));
+            }
+        }
+        return Collections.singletonList(makeDynamic(call, OBJECT_TYPE));
+    }
+
+    /**
+     * The binary operations with a number on the left-hand side, which are registered into {@link Number} by {@link
+     * Expression} for the dynamic mode.
+     */
+    public static SampleFamily plus(final Number number, final SampleFamily sampleFamily) {
+        return sampleFamily.plus(number);
+    }
+
+    public static SampleFamily minus(final Number number, final SampleFamily sampleFamily) {
+        return sampleFamily.minus(number).negative();
+    }
+
+    public static SampleFamily multiply(final Number number, final SampleFamily sampleFamily) {
+        return sampleFamily.multiply(number);
+    }
+
+    public static SampleFamily div(final Number number, final SampleFamily sampleFamily) {
+        return sampleFamily.newValue(v -> number.doubleValue() / v);
+    }
+
+    /**
+     * @return the type of the constant defined in {@link Expression.ExpressionDelegate}, or {@link SampleFamily} as
+     * the other variables are the metric names.
+     */
+    private static ClassNode delegateConstantType(final String name) {
+        try {
+            final Field field = Expression.ExpressionDelegate.class.getField(name);
+            if (Modifier.isStatic(field.getModifiers())) {
+                return makeCached(field.getType());
+            }
+        } catch (NoSuchFieldException ignored) {
+        }
+        return SAMPLE_FAMILY;
+    }
+}
@@ -25,8 +25,6 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.AtomicDouble;
 import groovy.lang.Closure;
-import io.vavr.Function2;
-import io.vavr.Function3;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -43,6 +41,7 @@ import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterEntity;
 import org.apache.skywalking.oap.server.core.analysis.meter.ScopeType;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -50,19 +49,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiPredicate;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static com.google.common.collect.ImmutableMap.toImmutableMap;
-import static java.util.function.UnaryOperator.identity;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.mapping;
-import static java.util.stream.Collectors.toList;
-
 /**
  * SampleFamily represents a collection of {@link Sample}.
  */
@@ -96,36 +92,36 @@ public class SampleFamily {
     }
 
     public SampleFamily tagMatch(String[] labels) {
-        return match(labels, String::matches);
+        return match(labels, (sv, lv) -> InternalOps.regexMatch(sv, lv));
     }
 
     public SampleFamily tagNotMatch(String[] labels) {
-        return match(labels, (sv, lv) -> !sv.matches(lv));
+        return match(labels, (sv, lv) -> !InternalOps.regexMatch(sv, lv));
     }
 
     /* value filter operations*/
     public SampleFamily valueEqual(double compValue) {
-        return valueMatch(CompType.EQUAL, compValue, InternalOps::doubleComp);
+        return valueMatch(CompType.EQUAL, compValue);
     }
 
     public SampleFamily valueNotEqual(double compValue) {
-        return valueMatch(CompType.NOT_EQUAL, compValue, InternalOps::doubleComp);
+        return valueMatch(CompType.NOT_EQUAL, compValue);
     }
 
     public SampleFamily valueGreater(double compValue) {
-        return valueMatch(CompType.GREATER, compValue, InternalOps::doubleComp);
+        return valueMatch(CompType.GREATER, compValue);
     }
 
     public SampleFamily valueGreaterEqual(double compValue) {
-        return valueMatch(CompType.GREATER_EQUAL, compValue, InternalOps::doubleComp);
+        return valueMatch(CompType.GREATER_EQUAL, compValue);
     }
 
     public SampleFamily valueLess(double compValue) {
-        return valueMatch(CompType.LESS, compValue, InternalOps::doubleComp);
+        return valueMatch(CompType.LESS, compValue);
     }
 
     public SampleFamily valueLessEqual(double compValue) {
-        return valueMatch(CompType.LESS_EQUAL, compValue, InternalOps::doubleComp);
+        return valueMatch(CompType.LESS_EQUAL, compValue);
     }
 
     /* Binary operator overloading*/
@@ -215,19 +211,19 @@ public class SampleFamily {
             return SampleFamily.build(this.context, InternalOps.newSample(samples[0].name, ImmutableMap.of(), samples[0].timestamp, result));
         }
 
-        return SampleFamily.build(
-            this.context,
-            Arrays.stream(samples)
-                  .collect(groupingBy(it -> InternalOps.getLabels(by, it), mapping(identity(), toList())))
-                  .entrySet().stream()
-                  .map(entry -> InternalOps.newSample(
-                      entry.getValue().get(0).getName(),
-                      entry.getKey(),
-                      entry.getValue().get(0).getTimestamp(),
-                      entry.getValue().stream().mapToDouble(Sample::getValue).average().orElse(0.0D)
-                  ))
-                  .toArray(Sample[]::new)
-        );
+        Grouping grouping = Grouping.of(samples, by);
+        double[] sums = new double[grouping.size()];
+        int[] counts = new int[grouping.size()];
+        for (int i = 0; i < samples.length; i++) {
+            int group = grouping.groups[i];
+            sums[group] += samples[i].value;
+            counts[group]++;
+        }
+        double[] result = new double[sums.length];
+        for (int group = 0; group < sums.length; group++) {
+            result[group] = sums[group] / counts[group];
+        }
+        return SampleFamily.build(this.context, grouping.toSamples(samples, result));
     }
 
     protected SampleFamily aggregate(List<String> by, DoubleBinaryOperator aggregator) {
@@ -236,22 +232,22 @@ public class SampleFamily {
             return EMPTY;
         }
         if (by == null) {
-            double result = Arrays.stream(samples).mapToDouble(s -> s.value).reduce(aggregator).orElse(0.0D);
+            double result = samples[0].value;
+            for (int i = 1; i < samples.length; i++) {
+                result = aggregator.applyAsDouble(result, samples[i].value);
+            }
             return SampleFamily.build(this.context, InternalOps.newSample(samples[0].name, ImmutableMap.of(), samples[0].timestamp, result));
         }
-        return SampleFamily.build(
-            this.context,
-            Arrays.stream(samples)
-                  .collect(groupingBy(it -> InternalOps.getLabels(by, it), mapping(identity(), toList())))
-                  .entrySet().stream()
-                  .map(entry -> InternalOps.newSample(
-                      entry.getValue().get(0).getName(),
-                      entry.getKey(),
-                      entry.getValue().get(0).getTimestamp(),
-                      entry.getValue().stream().mapToDouble(Sample::getValue).reduce(aggregator).orElse(0.0D)
-                  ))
-                  .toArray(Sample[]::new)
-        );
+
+        Grouping grouping = Grouping.of(samples, by);
+        double[] result = new double[grouping.size()];
+        for (int i = 0; i < samples.length; i++) {
+            int group = grouping.groups[i];
+            result[group] = grouping.firstSamples[group] == i
+                ? samples[i].value
+                : aggregator.applyAsDouble(result[group], samples[i].value);
+        }
+        return SampleFamily.build(this.context, grouping.toSamples(samples, result));
     }
 
     /* Function */
@@ -430,38 +426,58 @@ public class SampleFamily {
 
     private SampleFamily createMeterSamples(EntityDescription entityDescription) {
         Map<MeterEntity, Sample[]> meterSamples = new HashMap<>();
-        Arrays.stream(samples)
-              .collect(groupingBy(it -> InternalOps.getLabels(entityDescription.getLabelKeys(), it), mapping(identity(), toList())))
-              .forEach((labels, samples) -> {
-                  MeterEntity meterEntity = InternalOps.buildMeterEntity(samples, entityDescription);
-                  meterSamples.put(meterEntity, InternalOps.left(samples, entityDescription.getLabelKeys()));
-              });
+        Grouping grouping = Grouping.of(samples, entityDescription.getLabelKeys());
+        List<List<Sample>> groupedSamples = new ArrayList<>(grouping.size());
+        for (int group = 0; group < grouping.size(); group++) {
+            groupedSamples.add(new ArrayList<>());
+        }
+        for (int i = 0; i < samples.length; i++) {
+            groupedSamples.get(grouping.groups[i]).add(samples[i]);
+        }
+        for (List<Sample> samples : groupedSamples) {
+            MeterEntity meterEntity = InternalOps.buildMeterEntity(samples, entityDescription);
+            meterSamples.put(meterEntity, InternalOps.left(samples, entityDescription.getLabelKeys()));
+        }
 
         this.context.setMeterSamples(meterSamples);
         //This samples is original, The grouped samples is in context which mapping with MeterEntity
         return SampleFamily.build(this.context, samples);
     }
 
-    private SampleFamily match(String[] labels, Function2<String, String, Boolean> op) {
+    private SampleFamily match(String[] labels, BiPredicate<String, String> op) {
         Preconditions.checkArgument(labels.length % 2 == 0);
         Map<String, String> ll = new HashMap<>(labels.length / 2);
         for (int i = 0; i < labels.length; i += 2) {
             ll.put(labels[i], labels[i + 1]);
         }
-        Sample[] ss = Arrays.stream(samples)
-                            .filter(sample -> ll.entrySet()
-                                                .stream()
-                                                .allMatch(entry -> op.apply(sample.labels.getOrDefault(entry.getKey(), ""), entry.getValue())))
-                            .toArray(Sample[]::new);
-        return ss.length > 0 ? SampleFamily.build(this.context, ss) : EMPTY;
+        String[] keys = ll.keySet().toArray(new String[0]);
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = ll.get(keys[i]);
+        }
+        Sample[] ss = new Sample[samples.length];
+        int size = 0;
+        for (Sample sample : samples) {
+            boolean matched = true;
+            for (int i = 0; i < keys.length && matched; i++) {
+                matched = op.test(sample.labels.getOrDefault(keys[i], ""), values[i]);
+            }
+            if (matched) {
+                ss[size++] = sample;
+            }
+        }
+        return size > 0 ? SampleFamily.build(this.context, Arrays.copyOf(ss, size)) : EMPTY;
     }
 
-    private SampleFamily valueMatch(CompType compType,
-                                    double compValue,
-                                    Function3<CompType, Double, Double, Boolean> op) {
-        Sample[] ss = Arrays.stream(samples)
-                            .filter(sample -> op.apply(compType, sample.value, compValue)).toArray(Sample[]::new);
-        return ss.length > 0 ? SampleFamily.build(this.context, ss) : EMPTY;
+    private SampleFamily valueMatch(CompType compType, double compValue) {
+        Sample[] ss = new Sample[samples.length];
+        int size = 0;
+        for (Sample sample : samples) {
+            if (InternalOps.doubleComp(compType, sample.value, compValue)) {
+                ss[size++] = sample;
+            }
+        }
+        return size > 0 ? SampleFamily.build(this.context, Arrays.copyOf(ss, size)) : EMPTY;
     }
 
     SampleFamily newValue(Function<Double, Double> transform) {
@@ -475,15 +491,24 @@ public class SampleFamily {
         return SampleFamily.build(this.context, ss);
     }
 
-    private SampleFamily newValue(SampleFamily another, Function2<Double, Double, Double> transform) {
-        Sample[] ss = Arrays.stream(samples)
-                            .flatMap(cs -> io.vavr.collection.Stream.of(another.samples)
-                                                                    .find(as -> cs.labels.equals(as.labels))
-                                                                    .map(as -> cs.toBuilder().value(transform.apply(cs.value, as.value)))
-                                                                    .map(Sample.SampleBuilder::build)
-                                                                    .toJavaStream())
-                            .toArray(Sample[]::new);
-        return ss.length > 0 ? SampleFamily.build(this.context, ss) : EMPTY;
+    /**
+     * Join the samples with the same labels through a hash index of another family, and keep the first one when the
+     * labels of another family are duplicated.
+     */
+    private SampleFamily newValue(SampleFamily another, DoubleBinaryOperator transform) {
+        Map<ImmutableMap<String, String>, Sample> index = new HashMap<>(another.samples.length * 2);
+        for (Sample as : another.samples) {
+            index.putIfAbsent(as.labels, as);
+        }
+        Sample[] ss = new Sample[samples.length];
+        int size = 0;
+        for (Sample cs : samples) {
+            Sample as = index.get(cs.labels);
+            if (as != null) {
+                ss[size++] = cs.toBuilder().value(transform.applyAsDouble(cs.value, as.value)).build();
+            }
+        }
+        return size > 0 ? SampleFamily.build(this.context, Arrays.copyOf(ss, size)) : EMPTY;
     }
 
     public SampleFamily downsampling(final DownsamplingType type) {
@@ -517,7 +542,68 @@ public class SampleFamily {
         private TimeUnit defaultHistogramBucketUnit;
     }
 
+    /**
+     * Grouping assigns every sample an int group id through a dictionary of the label values, so the aggregations
+     * accumulate the values into the arrays indexed by the group id, rather than collecting the samples of every group
+     * and building the labels map for every sample.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Grouping {
+        /**
+         * The group id of every sample.
+         */
+        private final int[] groups;
+        /**
+         * The index of the first sample of every group, in the order of the group id.
+         */
+        private final int[] firstSamples;
+        private final List<String> labelKeys;
+
+        static Grouping of(Sample[] samples, List<String> labelKeys) {
+            String[] keys = labelKeys.toArray(new String[0]);
+            int[] groups = new int[samples.length];
+            int[] firstSamples = new int[samples.length];
+            Map<List<String>, Integer> dictionary = new HashMap<>();
+            for (int i = 0; i < samples.length; i++) {
+                String[] values = new String[keys.length];
+                for (int k = 0; k < keys.length; k++) {
+                    values[k] = samples[i].labels.getOrDefault(keys[k], "");
+                }
+                Integer group = dictionary.putIfAbsent(Arrays.asList(values), dictionary.size());
+                if (group == null) {
+                    group = dictionary.size() - 1;
+                    firstSamples[group] = i;
+                }
+                groups[i] = group;
+            }
+            return new Grouping(groups, Arrays.copyOf(firstSamples, dictionary.size()), labelKeys);
+        }
+
+        int size() {
+            return firstSamples.length;
+        }
+
+        /**
+         * Build a sample for every group, named and timed by the first sample of the group. The samples are in the
+         * same order as the groups were collected into a {@link HashMap} keyed by the labels.
+         */
+        Sample[] toSamples(Sample[] samples, double[] values) {
+            Map<ImmutableMap<String, String>, Integer> ordered = new HashMap<>();
+            for (int firstSample : firstSamples) {
+                ordered.put(InternalOps.getLabels(labelKeys, samples[firstSample]), ordered.size());
+            }
+            Sample[] result = new Sample[ordered.size()];
+            int i = 0;
+            for (Map.Entry<ImmutableMap<String, String>, Integer> entry : ordered.entrySet()) {
+                Sample first = samples[firstSamples[entry.getValue()]];
+                result[i++] = InternalOps.newSample(first.name, entry.getKey(), first.timestamp, values[entry.getValue()]);
+            }
+            return result;
+        }
+    }
+
     private static class InternalOps {
+        private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
 
         private static Sample[] left(List<Sample> samples, List<String> labelKeys) {
             return samples.stream().map(s -> {
@@ -594,11 +680,19 @@ public class SampleFamily {
         }
 
         private static ImmutableMap<String, String> getLabels(final List<String> labelKeys, final Sample sample) {
-            return labelKeys.stream()
-                            .collect(toImmutableMap(
-                                Function.identity(),
-                                labelKey -> sample.labels.getOrDefault(labelKey, "")
-                            ));
+            ImmutableMap.Builder<String, String> builder = ImmutableMap.builderWithExpectedSize(labelKeys.size());
+            for (String labelKey : labelKeys) {
+                builder.put(labelKey, sample.labels.getOrDefault(labelKey, ""));
+            }
+            return builder.build();
+        }
+
+        /**
+         * The regular expressions come from the MAL rules, so the compiled patterns are cached rather than compiled
+         * for every sample as {@link String#matches(String)} does.
+         */
+        private static boolean regexMatch(String value, String regex) {
+            return PATTERNS.computeIfAbsent(regex, Pattern::compile).matcher(value).matches();
         }
     }
 
@@ -19,73 +19,232 @@
 package org.apache.skywalking.oap.meter.analyzer.dsl.counter;
 
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 import io.vavr.Tuple;
 import io.vavr.Tuple2;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
-import lombok.AccessLevel;
-import lombok.EqualsAndHashCode;
-import lombok.RequiredArgsConstructor;
-import lombok.ToString;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.apache.skywalking.oap.server.telemetry.api.GaugeMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 /**
  * CounterWindow stores a series of counter samples in order to calculate the increase
  * or instant rate of increase.
  *
+ * The series are kept in a {@link ConcurrentHashMap}, and every series is locked by itself, so the samples of the
+ * different series are processed concurrently. The samples of one series are kept in the primitive arrays sorted by
+ * the timestamp, rather than boxed tuples in a heap. The series not accessed in {@link #idleTimeout} are evicted, as
+ * the labels of the counters, such as the pod names, keep changing in the dynamic environments.
  */
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-@ToString
-@EqualsAndHashCode
 public class CounterWindow {
+    private static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.HOURS.toMillis(1);
+    private static final long DEFAULT_EVICTION_INTERVAL = TimeUnit.MINUTES.toMillis(1);
 
-    public static final CounterWindow INSTANCE = new CounterWindow();
+    public static final CounterWindow INSTANCE = new CounterWindow(
+        DEFAULT_IDLE_TIMEOUT, DEFAULT_EVICTION_INTERVAL, System::currentTimeMillis);
 
-    private final Map<ID, Tuple2<Long, Double>> lastElementMap = Maps.newHashMap();
-    private final Map<ID, Queue<Tuple2<Long, Double>>> windows = Maps.newHashMap();
+    private final ConcurrentHashMap<ID, Series> series = new ConcurrentHashMap<>();
+    private final long idleTimeout;
+    private final long evictionInterval;
+    private final LongSupplier clock;
+    private final AtomicLong lastEviction;
+    private volatile GaugeMetrics residentSeries;
 
-    public Tuple2<Long, Double> increase(String name, ImmutableMap<String, String> labels, Double value, long windowSize, long now) {
-        ID id = new ID(name, labels);
-        if (!windows.containsKey(id)) {
-            windows.put(id, new PriorityQueue<>());
+    CounterWindow(long idleTimeout, long evictionInterval, LongSupplier clock) {
+        this.idleTimeout = idleTimeout;
+        this.evictionInterval = evictionInterval;
+        this.clock = clock;
+        this.lastEviction = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Report the number of the resident series through the telemetry module. Only the first call takes effect, it
+     * should be called by the module provider once the telemetry module is ready.
+     */
+    public void initTelemetry(MetricsCreator metricsCreator) {
+        if (residentSeries != null) {
+            return;
         }
+        synchronized (this) {
+            if (residentSeries == null) {
+                GaugeMetrics gauge = metricsCreator.createGauge(
+                    "meter_counter_window_series", "The number of the counter series in the meter analyzer window",
+                    MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+                );
+                gauge.setValue(series.size());
+                residentSeries = gauge;
+            }
+        }
+    }
 
-        Queue<Tuple2<Long, Double>> window = windows.get(id);
-        window.offer(Tuple.of(now, value));
-        long waterLevel = now - windowSize;
-        Tuple2<Long, Double> peek = window.peek();
-        if (peek._1 > waterLevel) {
-            return peek;
+    public Tuple2<Long, Double> increase(String name, ImmutableMap<String, String> labels, Double value, long windowSize, long now) {
+        Series s = getSeries(new ID(name, labels));
+        synchronized (s) {
+            return s.increase(value, windowSize, now);
         }
+    }
 
-        Tuple2<Long, Double> result = peek;
-        while (peek._1 < waterLevel) {
-            result = window.poll();
-            peek = window.element();
+    public Tuple2<Long, Double> pop(String name, ImmutableMap<String, String> labels, Double value, long now) {
+        Series s = getSeries(new ID(name, labels));
+        synchronized (s) {
+            return s.pop(value, now);
         }
+    }
 
-        // Choose the closed slot to the expected timestamp
-        if (waterLevel - result._1 <= peek._1 - waterLevel) {
-            return result;
+    public void reset() {
+        for (Series s : series.values()) {
+            synchronized (s) {
+                s.clearWindow();
+            }
         }
+    }
 
-        return peek;
+    int size() {
+        return series.size();
     }
 
-    public Tuple2<Long, Double> pop(String name, ImmutableMap<String, String> labels, Double value, long now) {
-        ID id = new ID(name, labels);
+    private Series getSeries(ID id) {
+        long current = clock.getAsLong();
+        evictIdleSeries(current);
 
-        Tuple2<Long, Double> element = Tuple.of(now, value);
-        Tuple2<Long, Double> result = lastElementMap.get(id);
-        lastElementMap.put(id, element);
-        if (result == null) {
-            return element;
+        Series s = series.get(id);
+        if (s == null) {
+            Series created = new Series();
+            s = series.putIfAbsent(id, created);
+            if (s == null) {
+                s = created;
+                updateResidentSeries();
+            }
         }
-        return result;
+        s.lastAccess = current;
+        return s;
     }
 
-    public void reset() {
-        windows.clear();
+    /**
+     * Evict the idle series at most once per {@link #evictionInterval}, the thread winning the CAS does the scan. A
+     * sample racing with the eviction of its series may be lost, then the series starts over as a new one, the same
+     * as the samples arriving after the eviction.
+     */
+    private void evictIdleSeries(long current) {
+        long last = lastEviction.get();
+        if (current - last < evictionInterval || !lastEviction.compareAndSet(last, current)) {
+            return;
+        }
+        if (series.values().removeIf(s -> current - s.lastAccess > idleTimeout)) {
+            updateResidentSeries();
+        }
+    }
+
+    private void updateResidentSeries() {
+        GaugeMetrics gauge = residentSeries;
+        if (gauge != null) {
+            gauge.setValue(series.size());
+        }
+    }
+
+    /**
+     * The samples of one counter series. The window samples are kept in a ring of primitive arrays sorted by
+     * (timestamp, value), the head is the earliest one.
+     */
+    private static class Series {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+        private double[] values = new double[INITIAL_CAPACITY];
+        private int head;
+        private int size;
+
+        private boolean hasLast;
+        private long lastTimestamp;
+        private double lastValue;
+
+        private volatile long lastAccess;
+
+        Tuple2<Long, Double> increase(double value, long windowSize, long now) {
+            offer(now, value);
+            long waterLevel = now - windowSize;
+            if (timestampAt(0) > waterLevel) {
+                return Tuple.of(timestampAt(0), valueAt(0));
+            }
+
+            long resultTimestamp = timestampAt(0);
+            double resultValue = valueAt(0);
+            while (timestampAt(0) < waterLevel) {
+                resultTimestamp = timestampAt(0);
+                resultValue = valueAt(0);
+                head = (head + 1) & (timestamps.length - 1);
+                size--;
+            }
+
+            // Choose the closed slot to the expected timestamp
+            if (waterLevel - resultTimestamp <= timestampAt(0) - waterLevel) {
+                return Tuple.of(resultTimestamp, resultValue);
+            }
+
+            return Tuple.of(timestampAt(0), valueAt(0));
+        }
+
+        Tuple2<Long, Double> pop(double value, long now) {
+            Tuple2<Long, Double> result = hasLast ? Tuple.of(lastTimestamp, lastValue) : Tuple.of(now, value);
+            hasLast = true;
+            lastTimestamp = now;
+            lastValue = value;
+            return result;
+        }
+
+        void clearWindow() {
+            head = 0;
+            size = 0;
+        }
+
+        /**
+         * Insert the sample from the tail, the samples usually arrive in order, so no element is moved in most cases.
+         */
+        private void offer(long timestamp, double value) {
+            if (size == timestamps.length) {
+                grow();
+            }
+            int mask = timestamps.length - 1;
+            int i = size;
+            while (i > 0 && compare(timestampAt(i - 1), valueAt(i - 1), timestamp, value) > 0) {
+                int from = (head + i - 1) & mask;
+                int to = (head + i) & mask;
+                timestamps[to] = timestamps[from];
+                values[to] = values[from];
+                i--;
+            }
+            int index = (head + i) & mask;
+            timestamps[index] = timestamp;
+            values[index] = value;
+            size++;
+        }
+
+        private void grow() {
+            int mask = timestamps.length - 1;
+            long[] newTimestamps = new long[timestamps.length << 1];
+            double[] newValues = new double[values.length << 1];
+            for (int i = 0; i < size; i++) {
+                newTimestamps[i] = timestamps[(head + i) & mask];
+                newValues[i] = values[(head + i) & mask];
+            }
+            timestamps = newTimestamps;
+            values = newValues;
+            head = 0;
+        }
+
+        private long timestampAt(int i) {
+            return timestamps[(head + i) & (timestamps.length - 1)];
+        }
+
+        private double valueAt(int i) {
+            return values[(head + i) & (values.length - 1)];
+        }
+
+        private static int compare(long timestamp1, double value1, long timestamp2, double value2) {
+            int result = Long.compare(timestamp1, timestamp2);
+            return result != 0 ? result : Double.compare(value1, value2);
+        }
     }
 }
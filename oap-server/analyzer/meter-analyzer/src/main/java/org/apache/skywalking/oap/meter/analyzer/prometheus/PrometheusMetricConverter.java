@@ -41,6 +41,8 @@ import org.apache.skywalking.oap.server.library.util.prometheus.metrics.Gauge;
 import org.apache.skywalking.oap.server.library.util.prometheus.metrics.Histogram;
 import org.apache.skywalking.oap.server.library.util.prometheus.metrics.Metric;
 import org.apache.skywalking.oap.server.library.util.prometheus.metrics.Summary;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
 
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static io.vavr.API.$;
@@ -70,7 +72,14 @@ public class PrometheusMetricConverter {
     private final MetricConvert convert;
 
     public PrometheusMetricConverter(Rule rule, MeterSystem service) {
-        this.convert = new MetricConvert(rule, service);
+        this(rule, service, new MetricsCreatorNoop());
+    }
+
+    /**
+     * @param metricsCreator creates the {@code mal_rule_latency} histogram of every rule.
+     */
+    public PrometheusMetricConverter(Rule rule, MeterSystem service, MetricsCreator metricsCreator) {
+        this.convert = new MetricConvert(rule, service, metricsCreator);
         this.metricsNameEscapePattern = Pattern.compile("\\.");
     }
 
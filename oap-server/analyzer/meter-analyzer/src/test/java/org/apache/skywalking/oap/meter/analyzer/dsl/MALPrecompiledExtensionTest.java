@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.meter.analyzer.dsl;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.junit.Test;
+import org.yaml.snakeyaml.Yaml;
+
+import static com.google.common.collect.ImmutableMap.of;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MALPrecompiledExtensionTest {
+    private static final String[] RULE_DIRECTORIES = {
+        "envoy-metrics-rules",
+        "fetcher-prom-rules",
+        "log-mal-rules",
+        "meter-analyzer-config",
+        "otel-oc-rules",
+        "zabbix-rules"
+    };
+
+    private static final ImmutableMap<String, SampleFamily> INPUT = of(
+        "instance_cpu_percentage", SampleFamilyBuilder.newBuilder(
+            Sample.builder().labels(of("idc", "t1")).value(4).name("instance_cpu_percentage").build(),
+            Sample.builder().labels(of("idc", "t2")).value(8).name("instance_cpu_percentage").build()
+        ).build()
+    );
+
+    @Test
+    public void testNumberOnLeftHandSide() {
+        final String[] expressions = {
+            "2 * instance_cpu_percentage",
+            "100 - instance_cpu_percentage",
+            "1 / instance_cpu_percentage",
+            "10 + instance_cpu_percentage",
+            "2.5 * instance_cpu_percentage",
+            "100 - instance_cpu_percentage.tagEqual('idc', 't1')",
+            "(1 / instance_cpu_percentage).sum(['idc'])"
+        };
+        for (final String expression : expressions) {
+            final Result statically = new Expression(expression, DSL.compile(expression, true)).run(INPUT);
+            final Result dynamically = new Expression(expression, DSL.compile(expression, false)).run(INPUT);
+            assertTrue(expression, statically.isSuccess());
+            assertEquals(expression, dynamically, statically);
+        }
+    }
+
+    @Test
+    public void testFallbackToDynamicMode() {
+        final String expression = "long factor = 2.5; instance_cpu_percentage * factor";
+        try {
+            DSL.compile(expression, true);
+            fail("The expression should not pass the static type checking.");
+        } catch (CompilationFailedException ignored) {
+        }
+
+        final Result result = DSL.parse(expression).run(INPUT);
+        assertTrue(result.isSuccess());
+        assertEquals(new Expression(expression, DSL.compile(expression, false)).run(INPUT), result);
+    }
+
+    @Test
+    public void testShippedRulesCompileStatically() throws IOException {
+        final File resources = new File("../../server-bootstrap/src/main/resources");
+        final List<String> failures = new ArrayList<>();
+        int count = 0;
+        for (final String directory : RULE_DIRECTORIES) {
+            final File[] files = new File(resources, directory).listFiles(
+                (dir, name) -> name.endsWith(".yaml") || name.endsWith(".yml"));
+            assertTrue(directory, files != null);
+            for (final File file : files) {
+                for (final String expression : expressions(file)) {
+                    count++;
+                    try {
+                        DSL.compile(expression, true);
+                    } catch (CompilationFailedException e) {
+                        failures.add(file.getName() + ": " + expression + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+        assertFalse(count == 0);
+        assertEquals(String.join("\n", failures), 0, failures.size());
+    }
+
+    /**
+     * @return the expressions of the rule file, combined with the suffix as {@link
+     * org.apache.skywalking.oap.meter.analyzer.MetricConvert} does.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> expressions(final File file) throws IOException {
+        final List<String> expressions = new ArrayList<>();
+        try (Reader reader = new FileReader(file)) {
+            final Map<String, Object> config = new Yaml().load(reader);
+            if (config == null) {
+                return expressions;
+            }
+            final String suffix = (String) config.get("expSuffix");
+            final Object rules = config.containsKey("metricsRules") ? config.get("metricsRules") : config.get(
+                "metrics");
+            if (rules == null) {
+                return expressions;
+            }
+            for (final Map<String, Object> rule : (List<Map<String, Object>>) rules) {
+                final String exp = (String) rule.get("exp");
+                expressions.add(suffix == null || suffix.isEmpty() ? exp : String.format("(%s).%s", exp, suffix));
+            }
+        }
+        return expressions;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.meter.analyzer.dsl;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the expressions picked from the otel-oc-rules over the samples of a large scrape. The counter functions, such as
+ * increase() and rate(), are left out, as they keep the state in the counter window across the invocations.
+ */
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SampleFamilyBenchmark {
+    private static final String[] EXPRESSIONS = {
+        // oap.yaml
+        "jvm_memory_bytes_used.sum(['service', 'host_name'])",
+        "jvm_gc_collection_seconds_sum.tagMatch('gc', 'PS Scavenge|Copy|ParNew|G1 Young Generation').sum(['service', 'host_name']) * 1000",
+        "metrics_aggregation.tagEqual('dimensionality', 'minute', 'level', '1').sum(['service', 'host_name'])",
+        "trace_in_latency.sum(['le', 'service', 'host_name']).histogram().histogram_percentile([50,70,90,99])",
+        "jvm_memory_bytes_used.sum(['service', 'host_name']).tag({tags -> tags.service = 'oap::' + tags.service}).instance(['service'], ['host_name'])",
+        // vm.yaml
+        "node_memory_MemTotal_bytes - node_memory_MemAvailable_bytes",
+        "100 - ((node_filesystem_avail_bytes * 100).sum(['node_identifier_host_name' , 'mountpoint']) / node_filesystem_size_bytes.sum(['node_identifier_host_name' , 'mountpoint']))",
+        // k8s-node.yaml
+        "(kube_node_status_capacity * 1000).tagEqual('resource' , 'cpu').sum(['cluster' , 'node'])",
+        "kube_node_status_capacity.tagEqual('resource' , 'memory').avg(['cluster'])",
+    };
+
+    @State(Scope.Thread)
+    public static class MyState {
+        @Param({"500"})
+        int hosts;
+
+        Expression[] expressions;
+        ImmutableMap<String, SampleFamily> sampleFamilies;
+
+        @Setup
+        public void setup() {
+            expressions = new Expression[EXPRESSIONS.length];
+            for (int i = 0; i < EXPRESSIONS.length; i++) {
+                expressions[i] = DSL.parse(EXPRESSIONS[i]);
+            }
+
+            long now = System.currentTimeMillis();
+            ImmutableMap.Builder<String, SampleFamily> builder = ImmutableMap.builder();
+            builder.put("jvm_memory_bytes_used", family("jvm_memory_bytes_used", now, "area", "heap", "nonheap"));
+            builder.put("jvm_gc_collection_seconds_sum", family(
+                "jvm_gc_collection_seconds_sum", now, "gc", "PS Scavenge", "PS MarkSweep", "G1 Young Generation",
+                "G1 Old Generation"
+            ));
+            List<Sample> aggregations = new ArrayList<>();
+            for (String dimensionality : new String[] {"minute", "hour", "day"}) {
+                for (String level : new String[] {"1", "2"}) {
+                    for (int host = 0; host < hosts; host++) {
+                        aggregations.add(sample("metrics_aggregation", now, host, ImmutableMap.of(
+                            "dimensionality", dimensionality, "level", level)));
+                    }
+                }
+            }
+            builder.put("metrics_aggregation", build(aggregations));
+            builder.put("trace_in_latency", family(
+                "trace_in_latency", now, "le", "0.005", "0.01", "0.025", "0.05", "0.1", "0.25", "0.5", "1", "2.5",
+                "5", "10"
+            ));
+            builder.put("node_memory_MemTotal_bytes", family("node_memory_MemTotal_bytes", now, null));
+            builder.put("node_memory_MemAvailable_bytes", family("node_memory_MemAvailable_bytes", now, null));
+            builder.put("node_filesystem_avail_bytes", family(
+                "node_filesystem_avail_bytes", now, "mountpoint", "/", "/boot", "/data", "/var/lib/docker"));
+            builder.put("node_filesystem_size_bytes", family(
+                "node_filesystem_size_bytes", now, "mountpoint", "/", "/boot", "/data", "/var/lib/docker"));
+            builder.put("kube_node_status_capacity", family(
+                "kube_node_status_capacity", now, "resource", "cpu", "memory", "pods", "ephemeral_storage"));
+            sampleFamilies = builder.build();
+        }
+
+        /**
+         * Build the samples of every host, and every value of the label if the label is given.
+         */
+        private SampleFamily family(String name, long now, String label, String... values) {
+            List<Sample> samples = new ArrayList<>();
+            for (int host = 0; host < hosts; host++) {
+                if (label == null) {
+                    samples.add(sample(name, now, host, ImmutableMap.of()));
+                    continue;
+                }
+                for (String value : values) {
+                    samples.add(sample(name, now, host, ImmutableMap.of(label, value)));
+                }
+            }
+            return build(samples);
+        }
+
+        private Sample sample(String name, long now, int host, ImmutableMap<String, String> labels) {
+            return Sample.builder()
+                         .name(name)
+                         .labels(ImmutableMap.<String, String>builder()
+                                             .putAll(labels)
+                                             .put("service", "oap")
+                                             .put("host_name", "oap-" + host)
+                                             .put("node_identifier_host_name", "node-" + host)
+                                             .put("cluster", "cluster-" + host % 5)
+                                             .put("node", "node-" + host)
+                                             .build())
+                         .value(host * 10 + labels.size())
+                         .timestamp(now)
+                         .build();
+        }
+
+        private SampleFamily build(List<Sample> samples) {
+            return SampleFamilyBuilder.newBuilder(samples.toArray(new Sample[0])).build();
+        }
+    }
+
+    @Benchmark
+    public void runRules(MyState state, Blackhole bh) {
+        for (Expression expression : state.expressions) {
+            bh.consume(expression.run(state.sampleFamilies));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(SampleFamilyBenchmark.class.getName())
+            .addProfiler("gc")
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -22,6 +22,7 @@ import com.google.common.collect.Lists;
 import io.vavr.Tuple2;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -93,4 +94,45 @@ public class CounterWindowTest {
 
         Assert.assertArrayEquals(new double[] {0, 1d, 2d, 3d, 4d, 0d, 1d, 2d}, actuals, 0.d);
     }
+
+    @Test
+    public void testEvictIdleSeries() {
+        AtomicLong clock = new AtomicLong(0);
+        CounterWindow window = new CounterWindow(100, 10, clock::get);
+        ImmutableMap<String, String> labels = ImmutableMap.of("pod", "a");
+
+        window.increase("idle", labels, 1d, 1000, 0);
+        window.pop("idle", labels, 1d, 0);
+        window.increase("active", labels, 1d, 1000, 0);
+        Assert.assertEquals(2, window.size());
+
+        clock.set(60);
+        window.increase("active", labels, 2d, 1000, 60);
+        clock.set(120);
+        window.increase("active", labels, 3d, 1000, 120);
+        Assert.assertEquals(1, window.size());
+
+        // The evicted series starts over.
+        Tuple2<Long, Double> increase = window.increase("idle", labels, 5d, 1000, 120);
+        Assert.assertEquals(5d, increase._2, 0d);
+        Tuple2<Long, Double> last = window.pop("idle", labels, 5d, 120);
+        Assert.assertEquals(120L, last._1.longValue());
+        // The active series keeps all the samples.
+        increase = window.increase("active", labels, 4d, 1000, 180);
+        Assert.assertEquals(0L, increase._1.longValue());
+        Assert.assertEquals(1d, increase._2, 0d);
+    }
+
+    @Test
+    public void testOutOfOrderSamplesBeyondInitialCapacity() {
+        CounterWindow window = new CounterWindow(Long.MAX_VALUE, Long.MAX_VALUE, () -> 0);
+        ImmutableMap<String, String> labels = ImmutableMap.of();
+        for (int i = 100; i > 0; i--) {
+            Tuple2<Long, Double> increase = window.increase("test", labels, (double) i, 10_000, i * 10L);
+            Assert.assertEquals(i * 10L, increase._1.longValue());
+        }
+        Tuple2<Long, Double> increase = window.increase("test", labels, 200d, 500, 1000);
+        Assert.assertEquals(500L, increase._1.longValue());
+        Assert.assertEquals(50d, increase._2, 0d);
+    }
 }
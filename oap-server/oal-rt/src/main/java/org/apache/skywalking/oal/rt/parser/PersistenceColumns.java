@@ -27,6 +27,11 @@ public class PersistenceColumns {
     private List<PersistenceField> doubleFields = new LinkedList<>();
     private List<PersistenceField> intFields = new LinkedList<>();
     private List<PersistenceField> objectFields = new LinkedList<>();
+    private List<PersistenceField> binaryObjectFields = new LinkedList<>();
+    /**
+     * All object fields in the column order, which are transferred as strings by the OAP of the previous versions.
+     */
+    private List<PersistenceField> legacyObjectFields = new LinkedList<>();
 
     public void addStringField(String fieldName) {
         stringFields.add(new PersistenceField(fieldName, "String"));
@@ -46,6 +51,12 @@ public class PersistenceColumns {
 
     public void addObjectField(String fieldName, String fieldType) {
         objectFields.add(new PersistenceField(fieldName, fieldType));
+        legacyObjectFields.add(new PersistenceField(fieldName, fieldType));
+    }
+
+    public void addBinaryObjectField(String fieldName, String fieldType) {
+        binaryObjectFields.add(new PersistenceField(fieldName, fieldType));
+        legacyObjectFields.add(new PersistenceField(fieldName, fieldType));
     }
 
     public List<PersistenceField> getStringFields() {
@@ -67,4 +78,12 @@ public class PersistenceColumns {
     public List<PersistenceField> getObjectFields() {
         return objectFields;
     }
+
+    public List<PersistenceField> getBinaryObjectFields() {
+        return binaryObjectFields;
+    }
+
+    public List<PersistenceField> getLegacyObjectFields() {
+        return legacyObjectFields;
+    }
 }
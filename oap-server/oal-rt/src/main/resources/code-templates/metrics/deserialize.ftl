@@ -15,8 +15,24 @@ public void deserialize(org.apache.skywalking.oap.server.core.remote.grpc.proto.
     ${field.setter}(remoteData.getDataIntegers(${field?index}));
 </#list>
 
+<#if serializeFields.binaryObjectFields?has_content>
+if (remoteData.getDataObjectBinariesCount() == 0) {
+    <#-- The OAP of the previous versions transfers all objects as strings, keep compatible in the rolling upgrade. -->
+    <#list serializeFields.legacyObjectFields as field>
+    ${field.setter}(new ${field.fieldType}(remoteData.getDataObjectStrings(${field?index})));
+    </#list>
+} else {
+    <#list serializeFields.objectFields as field>
+    ${field.setter}(new ${field.fieldType}(remoteData.getDataObjectStrings(${field?index})));
+    </#list>
+    <#list serializeFields.binaryObjectFields as field>
+    ${field.setter}(new ${field.fieldType}(remoteData.getDataObjectBinaries(${field?index})));
+    </#list>
+}
+<#else>
 <#list serializeFields.objectFields as field>
     ${field.setter}(new ${field.fieldType}(remoteData.getDataObjectStrings(${field?index})));
 </#list>
+</#if>
 
 }
\ No newline at end of file
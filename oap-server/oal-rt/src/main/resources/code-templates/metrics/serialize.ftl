@@ -20,5 +20,9 @@ org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData.Builder remot
     remoteBuilder.addDataObjectStrings(${field.getter}().toStorageData());
 </#list>
 
+<#list serializeFields.binaryObjectFields as field>
+    remoteBuilder.addDataObjectBinaries(${field.getter}().toBinary());
+</#list>
+
 return remoteBuilder;
 }
\ No newline at end of file
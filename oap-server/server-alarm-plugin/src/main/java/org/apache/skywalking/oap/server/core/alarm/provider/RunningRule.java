@@ -18,19 +18,15 @@
 
 package org.apache.skywalking.oap.server.core.alarm.provider;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
-import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.util.StringUtil;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
@@ -45,16 +41,14 @@ import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.analysis.metrics.MultiIntValuesHolder;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 import org.joda.time.LocalDateTime;
-import org.joda.time.Minutes;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
 
 /**
  * RunningRule represents each rule in running status. Based on the {@link AlarmRule} definition,
  */
 @Slf4j
 public class RunningRule {
-    private static DateTimeFormatter TIME_BUCKET_FORMATTER = DateTimeFormat.forPattern("yyyyMMddHHmm");
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private static final long NOT_INITIALIZED = Long.MIN_VALUE / 2;
 
     private final String ruleName;
     private final int period;
@@ -253,89 +247,146 @@ public class RunningRule {
         return alarmMessageList;
     }
 
+    /**
+     * Check whether the value of the metrics matches the threshold.
+     */
+    private boolean matchThreshold(Metrics metrics) {
+        switch (valueType) {
+            case LONG:
+                return op.test(threshold.getLongThreshold(), ((LongValueHolder) metrics).getValue());
+            case INT:
+                return op.test(threshold.getIntThreshold(), ((IntValueHolder) metrics).getValue());
+            case DOUBLE:
+                return op.test(threshold.getDoubleThreshold(), ((DoubleValueHolder) metrics).getValue());
+            case MULTI_INTS:
+                int[] ivalueArray = ((MultiIntValuesHolder) metrics).getValues();
+                Integer[] iaexpected = threshold.getIntValuesThreshold();
+                if (log.isTraceEnabled()) {
+                    log.trace("Value array is {}, expected array is {}", ivalueArray, iaexpected);
+                }
+                for (int i = 0; i < ivalueArray.length; i++) {
+                    int ivalue = ivalueArray[i];
+                    Integer iNullableExpected = 0;
+                    if (iaexpected.length > i) {
+                        iNullableExpected = iaexpected[i];
+                        if (iNullableExpected == null) {
+                            continue;
+                        }
+                    }
+                    if (op.test(iNullableExpected, ivalue)) {
+                        if (log.isTraceEnabled()) {
+                            log.trace("Matched, expected {}, value {}", iNullableExpected, ivalue);
+                        }
+                        return true;
+                    }
+                }
+                return false;
+            case LABELED_LONG:
+                DataTable values = ((LabeledValueHolder) metrics).getValue();
+                long lexpected = threshold.getLongThreshold();
+                for (String label : values.keys()) {
+                    if (validate(label, includeLabels, excludeLabels, includeLabelsRegex, excludeLabelsRegex)
+                        && op.test(lexpected, values.get(label))) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Convert the time bucket in minute, in the format of yyyyMMddHHmm, to the minutes since the epoch. The conversion
+     * uses the local date time fields only, as same as {@link #toEpochMinute(LocalDateTime)}.
+     */
+    static long toEpochMinute(long timeBucket) {
+        final int minute = (int) (timeBucket % 100);
+        timeBucket /= 100;
+        final int hour = (int) (timeBucket % 100);
+        timeBucket /= 100;
+        final int day = (int) (timeBucket % 100);
+        timeBucket /= 100;
+        final int month = (int) (timeBucket % 100);
+        final int year = (int) (timeBucket / 100);
+        return LocalDate.of(year, month, day).toEpochDay() * MINUTES_PER_DAY + hour * 60 + minute;
+    }
+
+    static long toEpochMinute(LocalDateTime time) {
+        return LocalDate.of(time.getYear(), time.getMonthOfYear(), time.getDayOfMonth()).toEpochDay() * MINUTES_PER_DAY
+            + time.getHourOfDay() * 60 + time.getMinuteOfHour();
+    }
+
     /**
      * A metrics window, based on AlarmRule#period. This window slides with time, just keeps the recent N(period)
      * buckets.
+     *
+     * The buckets are kept in a ring, the bucket of a minute is located at (minute % period), and the slot is valid
+     * only when the minute kept in the slot is in the window. So sliding the window only moves the end minute. Only
+     * the result of the threshold check is kept for every bucket, which is evaluated once when the metrics is added.
      */
     public class Window {
-        private LocalDateTime endTime;
-        private int period;
+        /**
+         * The end of the window in the minutes since the epoch, {@link #NOT_INITIALIZED} before the first bucket.
+         */
+        private long endMinute;
+        private final int period;
         private int silenceCountdown;
 
-        private LinkedList<Metrics> values;
-        private ReentrantLock lock = new ReentrantLock();
+        /**
+         * The minute kept in every slot.
+         */
+        private final long[] minutes;
+        /**
+         * Whether the metrics of the minute in the same slot matches the threshold.
+         */
+        private final boolean[] matches;
 
         public Window(int period) {
             this.period = period;
             // -1 means silence countdown is not running.
             silenceCountdown = -1;
-            init();
+            endMinute = NOT_INITIALIZED;
+            minutes = new long[period];
+            matches = new boolean[period];
+            Arrays.fill(minutes, NOT_INITIALIZED);
         }
 
-        public void moveTo(LocalDateTime current) {
-            lock.lock();
-            try {
-                if (endTime == null) {
-                    init();
-                } else {
-                    int minutes = Minutes.minutesBetween(endTime, current).getMinutes();
-                    if (minutes <= 0) {
-                        return;
-                    }
-                    if (minutes > values.size()) {
-                        // re-init
-                        init();
-                    } else {
-                        for (int i = 0; i < minutes; i++) {
-                            values.removeFirst();
-                            values.addLast(null);
-                        }
-                    }
-                }
-                endTime = current;
-            } finally {
-                lock.unlock();
+        public synchronized void moveTo(LocalDateTime current) {
+            final long currentMinute = toEpochMinute(current);
+            if (currentMinute > endMinute) {
+                endMinute = currentMinute;
             }
             if (log.isTraceEnabled()) {
-                log.trace("Move window {}", transformValues(values));
+                log.trace("Move window to {}, {}", current, this);
             }
         }
 
         public void add(Metrics metrics) {
-            long bucket = metrics.getTimeBucket();
-
-            LocalDateTime timeBucket = TIME_BUCKET_FORMATTER.parseLocalDateTime(bucket + "");
+            final long bucketMinute = toEpochMinute(metrics.getTimeBucket());
+            final boolean matched = matchThreshold(metrics);
 
-            this.lock.lock();
-            try {
-                if (this.endTime == null) {
-                    init();
-                    this.endTime = timeBucket;
+            synchronized (this) {
+                if (bucketMinute > endMinute) {
+                    endMinute = bucketMinute;
                 }
-                int minutes = Minutes.minutesBetween(timeBucket, this.endTime).getMinutes();
-                if (minutes < 0) {
-                    this.moveTo(timeBucket);
-                    minutes = 0;
-                }
-
-                if (minutes >= values.size()) {
+                if (bucketMinute <= endMinute - period) {
                     // too old data
                     // also should happen, but maybe if agent/probe mechanism time is not right.
                     if (log.isTraceEnabled()) {
                         log.trace(
-                            "Timebucket is {}, endTime is {} and value size is {}", timeBucket, this.endTime,
-                            values.size()
+                            "Timebucket is {}, end minute is {} and period is {}", metrics.getTimeBucket(), endMinute,
+                            period
                         );
                     }
                     return;
                 }
-
-                this.values.set(values.size() - minutes - 1, metrics);
-            } finally {
-                this.lock.unlock();
+                final int slot = (int) Math.floorMod(bucketMinute, (long) period);
+                minutes[slot] = bucketMinute;
+                matches[slot] = matched;
             }
             if (log.isTraceEnabled()) {
-                log.trace("Add metric {} to window {}", metrics, transformValues(this.values));
+                log.trace("Add metric {} to window {}", metrics, this);
             }
         }
 
@@ -358,74 +409,11 @@ public class RunningRule {
             return Optional.empty();
         }
 
-        private boolean isMatch() {
+        private synchronized boolean isMatch() {
             int matchCount = 0;
-            for (Metrics metrics : values) {
-                if (metrics == null) {
-                    continue;
-                }
-
-                switch (valueType) {
-                    case LONG:
-                        long lvalue = ((LongValueHolder) metrics).getValue();
-                        long lexpected = RunningRule.this.threshold.getLongThreshold();
-                        if (op.test(lexpected, lvalue)) {
-                            matchCount++;
-                        }
-                        break;
-                    case INT:
-                        int ivalue = ((IntValueHolder) metrics).getValue();
-                        int iexpected = RunningRule.this.threshold.getIntThreshold();
-                        if (op.test(iexpected, ivalue)) {
-                            matchCount++;
-                        }
-                        break;
-                    case DOUBLE:
-                        double dvalue = ((DoubleValueHolder) metrics).getValue();
-                        double dexpected = RunningRule.this.threshold.getDoubleThreshold();
-                        if (op.test(dexpected, dvalue)) {
-                            matchCount++;
-                        }
-                        break;
-                    case MULTI_INTS:
-                        int[] ivalueArray = ((MultiIntValuesHolder) metrics).getValues();
-                        Integer[] iaexpected = RunningRule.this.threshold.getIntValuesThreshold();
-                        if (log.isTraceEnabled()) {
-                            log.trace("Value array is {}, expected array is {}", ivalueArray, iaexpected);
-                        }
-                        for (int i = 0; i < ivalueArray.length; i++) {
-                            ivalue = ivalueArray[i];
-                            Integer iNullableExpected = 0;
-                            if (iaexpected.length > i) {
-                                iNullableExpected = iaexpected[i];
-                                if (iNullableExpected == null) {
-                                    continue;
-                                }
-                            }
-                            if (op.test(iNullableExpected, ivalue)) {
-                                if (log.isTraceEnabled()) {
-                                    log.trace("Matched, expected {}, value {}", iNullableExpected, ivalue);
-                                }
-                                matchCount++;
-                                break;
-                            }
-                        }
-                        break;
-                    case LABELED_LONG:
-                        DataTable values = ((LabeledValueHolder) metrics).getValue();
-                        lexpected = RunningRule.this.threshold.getLongThreshold();
-                        if (values.keys().stream().anyMatch(label ->
-                                                                validate(
-                                                                    label,
-                                                                    RunningRule.this.includeLabels,
-                                                                    RunningRule.this.excludeLabels,
-                                                                    RunningRule.this.includeLabelsRegex,
-                                                                    RunningRule.this.excludeLabelsRegex
-                                                                )
-                                                                    && op.test(lexpected, values.get(label)))) {
-                            matchCount++;
-                        }
-                        break;
+            for (int i = 0; i < period; i++) {
+                if (matches[i] && minutes[i] > endMinute - period) {
+                    matchCount++;
                 }
             }
 
@@ -436,52 +424,14 @@ public class RunningRule {
             return matchCount >= countThreshold;
         }
 
-        private void init() {
-            values = new LinkedList<>();
-            for (int i = 0; i < period; i++) {
-                values.add(null);
+        @Override
+        public synchronized String toString() {
+            StringBuilder builder = new StringBuilder("Window[");
+            for (long minute = endMinute - period + 1; minute <= endMinute; minute++) {
+                final int slot = (int) Math.floorMod(minute, (long) period);
+                builder.append(minutes[slot] == minute ? (matches[slot] ? "Y" : "N") : "-");
             }
+            return builder.append("]").toString();
         }
     }
-
-    private LinkedList<TraceLogMetric> transformValues(final LinkedList<Metrics> values) {
-        LinkedList<TraceLogMetric> r = new LinkedList<>();
-        values.forEach(m -> {
-            if (m == null) {
-                r.add(null);
-                return;
-            }
-            switch (valueType) {
-                case LONG:
-                    r.add(new TraceLogMetric(m.getTimeBucket(), new Number[] {((LongValueHolder) m).getValue()}));
-                    break;
-                case INT:
-                    r.add(new TraceLogMetric(m.getTimeBucket(), new Number[] {((IntValueHolder) m).getValue()}));
-                    break;
-                case DOUBLE:
-                    r.add(new TraceLogMetric(m.getTimeBucket(), new Number[] {((DoubleValueHolder) m).getValue()}));
-                    break;
-                case MULTI_INTS:
-                    int[] iArr = ((MultiIntValuesHolder) m).getValues();
-                    r.add(new TraceLogMetric(m.getTimeBucket(), Arrays.stream(iArr).boxed().toArray(Number[]::new)));
-                    break;
-                case LABELED_LONG:
-                    DataTable dt = ((LabeledValueHolder) m).getValue();
-                    TraceLogMetric l = new TraceLogMetric(
-                        m.getTimeBucket(), dt.sortedValues(Comparator.naturalOrder())
-                                             .toArray(new Number[0]));
-                    l.labels = dt.sortedKeys(Comparator.naturalOrder()).toArray(new String[0]);
-                    r.add(l);
-            }
-        });
-        return r;
-    }
-
-    @RequiredArgsConstructor
-    @ToString
-    private static class TraceLogMetric {
-        private final long timeBucket;
-        private final Number[] value;
-        private String[] labels;
-    }
 }
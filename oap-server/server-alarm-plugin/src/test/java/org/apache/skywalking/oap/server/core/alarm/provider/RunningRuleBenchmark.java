@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.alarm.provider;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
+import org.apache.skywalking.oap.server.core.alarm.EndpointMetaInAlarm;
+import org.apache.skywalking.oap.server.core.analysis.metrics.IntValueHolder;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.joda.time.LocalDateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Simulate the alarm of an endpoint rule with high cardinality. Every invocation is one minute, the metrics of all
+ * endpoints are received, then the windows slide and are checked, as {@link AlarmCore} does.
+ */
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RunningRuleBenchmark {
+
+    @State(Scope.Thread)
+    public static class MyState {
+        @Param({"40000"})
+        int endpoints;
+
+        RunningRule runningRule;
+        EndpointMetaInAlarm[] metas;
+        EndpointSlaMetrics[] metrics;
+        LocalDateTime time;
+
+        @Setup
+        public void setup() {
+            // The test logging configuration traces the alarm provider, which is not the case in the production.
+            Configurator.setLevel(RunningRule.class.getName(), Level.INFO);
+
+            AlarmRule alarmRule = new AlarmRule();
+            alarmRule.setAlarmRuleName("endpoint_sla_rule");
+            alarmRule.setMetricsName("endpoint_sla");
+            alarmRule.setOp("<");
+            alarmRule.setThreshold("8000");
+            alarmRule.setCount(2);
+            alarmRule.setPeriod(10);
+            alarmRule.setSilencePeriod(10);
+            alarmRule.setMessage("Successful rate of endpoint {name} is lower than 80%");
+            alarmRule.setTags(Collections.emptyMap());
+            runningRule = new RunningRule(alarmRule);
+
+            metas = new EndpointMetaInAlarm[endpoints];
+            metrics = new EndpointSlaMetrics[endpoints];
+            for (int i = 0; i < endpoints; i++) {
+                metas[i] = new EndpointMetaInAlarm();
+                metas[i].setMetricsName("endpoint_sla");
+                metas[i].setId("service.endpoint_" + i);
+                metas[i].setName("/api/endpoint_" + i + " in service");
+                metrics[i] = new EndpointSlaMetrics();
+                // About 1% of the endpoints are alarmed.
+                metrics[i].value = i % 100 == 0 ? 5000 : 10000;
+            }
+            time = new LocalDateTime(2021, 6, 1, 0, 0);
+        }
+    }
+
+    @Benchmark
+    public List<AlarmMessage> receiveAndCheckOneMinute(MyState state) {
+        final LocalDateTime time = state.time;
+        final long timeBucket = time.getYear() * 100000000L + time.getMonthOfYear() * 1000000L
+            + time.getDayOfMonth() * 10000L + time.getHourOfDay() * 100L + time.getMinuteOfHour();
+        for (int i = 0; i < state.endpoints; i++) {
+            state.metrics[i].setTimeBucket(timeBucket);
+            state.runningRule.in(state.metas[i], state.metrics[i]);
+        }
+        state.time = time.plusMinutes(1);
+        state.runningRule.moveTo(state.time);
+        return state.runningRule.check();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(RunningRuleBenchmark.class.getName())
+            .addProfiler("gc")
+            .build();
+        new Runner(opt).run();
+    }
+
+    private static class EndpointSlaMetrics extends Metrics implements IntValueHolder {
+        private int value;
+
+        @Override
+        protected String id0() {
+            return null;
+        }
+
+        @Override
+        public boolean combine(Metrics metrics) {
+            return true;
+        }
+
+        @Override
+        public void calculate() {
+        }
+
+        @Override
+        public Metrics toHour() {
+            return null;
+        }
+
+        @Override
+        public Metrics toDay() {
+            return null;
+        }
+
+        @Override
+        public int getValue() {
+            return value;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return 0;
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+    }
+}
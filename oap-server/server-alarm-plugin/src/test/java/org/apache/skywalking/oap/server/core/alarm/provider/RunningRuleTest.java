@@ -72,13 +72,57 @@ public class RunningRuleTest {
         Map<MetaInAlarm, RunningRule.Window> windows = Whitebox.getInternalState(runningRule, "windows");
 
         RunningRule.Window window = windows.get(getMetaInAlarm(123));
-        LocalDateTime endTime = Whitebox.getInternalState(window, "endTime");
+        long endMinute = Whitebox.getInternalState(window, "endMinute");
         int period = Whitebox.getInternalState(window, "period");
-        LinkedList<Metrics> metricsBuffer = Whitebox.getInternalState(window, "values");
+        long[] minutes = Whitebox.getInternalState(window, "minutes");
 
-        Assert.assertTrue(startTime.equals(endTime));
+        Assert.assertEquals(RunningRule.toEpochMinute(startTime), endMinute);
+        Assert.assertEquals(RunningRule.toEpochMinute(timeInPeriod1), endMinute);
         Assert.assertEquals(15, period);
-        Assert.assertEquals(15, metricsBuffer.size());
+        Assert.assertEquals(15, minutes.length);
+    }
+
+    @Test
+    public void testToEpochMinute() {
+        for (String bucket : new String[] {"201808302359", "201808310000", "201812312359", "202002290130"}) {
+            Assert.assertEquals(
+                RunningRule.toEpochMinute(TIME_BUCKET_FORMATTER.parseLocalDateTime(bucket)),
+                RunningRule.toEpochMinute(Long.parseLong(bucket))
+            );
+        }
+        Assert.assertEquals(
+            RunningRule.toEpochMinute(201808302359L) + 1, RunningRule.toEpochMinute(201808310000L));
+    }
+
+    @Test
+    public void testWindowSlidesAcrossDays() {
+        AlarmRule alarmRule = new AlarmRule();
+        alarmRule.setAlarmRuleName("endpoint_percent_rule");
+        alarmRule.setMetricsName("endpoint_percent");
+        alarmRule.setOp("<");
+        alarmRule.setThreshold("75");
+        alarmRule.setCount(3);
+        alarmRule.setPeriod(3);
+        alarmRule.setMessage("Successful rate of endpoint {name} is lower than 75%");
+        alarmRule.setTags(new HashMap<>());
+        RunningRule runningRule = new RunningRule(alarmRule);
+
+        runningRule.in(getMetaInAlarm(123), getMetrics(201808302358L, 70));
+        runningRule.in(getMetaInAlarm(123), getMetrics(201808302359L, 70));
+        runningRule.in(getMetaInAlarm(123), getMetrics(201808310000L, 70));
+        // Out of the window, ignored.
+        runningRule.in(getMetaInAlarm(123), getMetrics(201808302357L, 80));
+        Assert.assertEquals(1, runningRule.check().size());
+
+        // The bucket of 201808302358 slides out, and its slot is reused by 201808310001.
+        runningRule.moveTo(TIME_BUCKET_FORMATTER.parseLocalDateTime("201808310001"));
+        Assert.assertEquals(0, runningRule.check().size());
+        runningRule.in(getMetaInAlarm(123), getMetrics(201808310001L, 70));
+        Assert.assertEquals(1, runningRule.check().size());
+
+        // Replace the value of the existing bucket.
+        runningRule.in(getMetaInAlarm(123), getMetrics(201808310001L, 80));
+        Assert.assertEquals(0, runningRule.check().size());
     }
 
     @Test
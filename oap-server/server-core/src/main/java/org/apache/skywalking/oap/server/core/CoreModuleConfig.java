@@ -88,6 +88,17 @@ public class CoreModuleConfig extends ModuleConfig {
      */
 
     private int remoteTimeout = 20;
+    /**
+     * The gRPC compressor of cluster internal communication, such as gzip. Empty means no compression.
+     */
+    private String remoteCompression = "";
+    /**
+     * Route the metrics to the L2 aggregation OAP node by a consistent hash ring instead of the hash code modulo the
+     * node number, so only about 1/N of the metrics move when a node joins or leaves. All nodes of the cluster must use
+     * the same value, otherwise they route the same metrics to different L2 nodes. When upgrading from a version
+     * without this option, keep it disabled during the rolling upgrade, and enable it on all nodes at once afterwards.
+     */
+    private boolean enableRemoteConsistentHash = false;
     /**
      * The size of network address alias.
      */
@@ -63,6 +63,32 @@ public class DispatcherManager implements DispatcherDetectorListener {
         }
     }
 
+    /**
+     * Forward a batch of sources. The consecutive sources of the same scope are dispatched as one batch.
+     */
+    @SuppressWarnings("unchecked")
+    public void forward(List<? extends ISource> sources) {
+        final int size = sources.size();
+        int from = 0;
+        while (from < size) {
+            final int scope = sources.get(from).scope();
+            int to = from + 1;
+            while (to < size && sources.get(to).scope() == scope) {
+                to++;
+            }
+
+            List<SourceDispatcher> dispatchers = dispatcherMap.get(scope);
+            if (dispatchers != null) {
+                final List<? extends ISource> batch = sources.subList(from, to);
+                batch.forEach(ISource::prepare);
+                for (SourceDispatcher dispatcher : dispatchers) {
+                    dispatcher.dispatch(batch);
+                }
+            }
+            from = to;
+        }
+    }
+
     /**
      * Scan all classes under `org.apache.skywalking` package,
      * <p>
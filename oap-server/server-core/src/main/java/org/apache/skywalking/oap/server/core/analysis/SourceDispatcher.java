@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis;
 
+import java.util.List;
 import org.apache.skywalking.oap.server.core.source.ISource;
 
 /**
@@ -31,4 +32,12 @@ import org.apache.skywalking.oap.server.core.source.ISource;
  */
 public interface SourceDispatcher<SOURCE extends ISource> {
     void dispatch(SOURCE source);
+
+    /**
+     * Dispatch a batch of sources, all of them are in the scope of this dispatcher. The implementations could override
+     * this to push the batch into the streaming process at once.
+     */
+    default void dispatch(List<SOURCE> sources) {
+        sources.forEach(this::dispatch);
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+
+/**
+ * HashedMergableBufferedData is an alternative of {@link MergableBufferedData}. It has the same merging semantics, but
+ * the metrics are located through {@link Metrics#hashCode()} and {@link Metrics#equals(Object)}, which are built from
+ * the entity ID and the time bucket, rather than through the {@link Metrics#id()} string. So no ID string is built in
+ * the aggregation.
+ *
+ * The metrics are kept in an open-addressing(linear probing) table, which is cleared but not released in every {@link
+ * #read()}, so the buffer doesn't allocate anything in the steady state.
+ *
+ * This buffer is not thread safe, and the list returned by {@link #read()} is reused, it is only valid until the next
+ * {@link #read()} call.
+ */
+public class HashedMergableBufferedData<METRICS extends Metrics> implements BufferedData<METRICS> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The hash table. Every slot holds the (index + 1) of the entry in {@link #entries}, 0 means empty slot.
+     */
+    private int[] slots;
+    /**
+     * The hashes of the entries, used to do the fast comparison and rehash.
+     */
+    private int[] hashes;
+    /**
+     * The entries in the insertion order.
+     */
+    private Metrics[] entries;
+    /**
+     * The entry has been abandoned by {@link Metrics#combine(Metrics)}. The abandoned entry is still used as the key,
+     * and would be replaced by the next accepted metrics with the same key.
+     */
+    private boolean[] abandoned;
+    private int size;
+    private int threshold;
+    private final ArrayList<METRICS> readBuffer;
+
+    public HashedMergableBufferedData() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity the expected number of the metrics in one flush period.
+     */
+    public HashedMergableBufferedData(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity should be positive, but got " + initialCapacity);
+        }
+        allocate(tableSizeFor(initialCapacity));
+        readBuffer = new ArrayList<>(initialCapacity);
+    }
+
+    /**
+     * Accept the data into the cache and merge with the existing value.
+     *
+     * This method is not thread safe, should avoid concurrency calling.
+     *
+     * @param data to be added potentially.
+     */
+    @Override
+    public void accept(final METRICS data) {
+        final int hash = spread(data.hashCode());
+        final int mask = slots.length - 1;
+        int slot = hash & mask;
+        int index;
+        while ((index = slots[slot] - 1) >= 0) {
+            if (hashes[index] == hash) {
+                final Metrics existed = entries[index];
+                if (existed.equals(data)) {
+                    if (abandoned[index]) {
+                        entries[index] = data;
+                        abandoned[index] = false;
+                    } else if (!existed.combine(data)) {
+                        abandoned[index] = true;
+                    }
+                    return;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size >= threshold) {
+            resize();
+            slot = hash & (slots.length - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+        }
+        hashes[size] = hash;
+        entries[size] = data;
+        slots[slot] = ++size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<METRICS> read() {
+        readBuffer.clear();
+        for (int i = 0; i < size; i++) {
+            if (!abandoned[i]) {
+                readBuffer.add((METRICS) entries[i]);
+            }
+            entries[i] = null;
+            abandoned[i] = false;
+        }
+        if (size > 0) {
+            Arrays.fill(slots, 0);
+        }
+        size = 0;
+        return readBuffer;
+    }
+
+    private void resize() {
+        if (slots.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Too many metrics in the L1 aggregation buffer, size: " + size);
+        }
+        final int[] oldHashes = hashes;
+        final Metrics[] oldEntries = entries;
+        final boolean[] oldAbandoned = abandoned;
+        allocate(slots.length << 1);
+        System.arraycopy(oldHashes, 0, hashes, 0, size);
+        System.arraycopy(oldEntries, 0, entries, 0, size);
+        System.arraycopy(oldAbandoned, 0, abandoned, 0, size);
+
+        final int mask = slots.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hashes[i] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Keep the load factor at 0.5, which keeps the probe sequences of linear probing short.
+     */
+    private void allocate(int tableSize) {
+        slots = new int[tableSize];
+        threshold = tableSize >>> 1;
+        hashes = new int[threshold];
+        entries = new Metrics[threshold];
+        abandoned = new boolean[threshold];
+    }
+
+    private static int tableSizeFor(int capacity) {
+        final int expected = (int) Math.min((long) capacity << 1, MAXIMUM_CAPACITY);
+        final int tableSize = Integer.highestOneBit(expected);
+        return tableSize == expected ? tableSize : Math.min(tableSize << 1, MAXIMUM_CAPACITY);
+    }
+
+    /**
+     * The hash codes of the metrics are usually built by {@code 31 * h + timeBucket}, mix the bits to avoid clustering
+     * in the linear probing.
+     */
+    private static int spread(int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
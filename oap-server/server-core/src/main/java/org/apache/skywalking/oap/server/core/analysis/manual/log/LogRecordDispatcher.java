@@ -17,6 +17,8 @@
 
 package org.apache.skywalking.oap.server.core.analysis.manual.log;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.skywalking.oap.server.core.analysis.SourceDispatcher;
 import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.Tag;
 import org.apache.skywalking.oap.server.core.analysis.worker.RecordStreamProcessor;
@@ -26,6 +28,19 @@ public class LogRecordDispatcher implements SourceDispatcher<Log> {
 
     @Override
     public void dispatch(final Log source) {
+        RecordStreamProcessor.getInstance().in(toRecord(source));
+    }
+
+    @Override
+    public void dispatch(final List<Log> sources) {
+        final List<LogRecord> records = new ArrayList<>(sources.size());
+        for (final Log source : sources) {
+            records.add(toRecord(source));
+        }
+        RecordStreamProcessor.getInstance().in(records);
+    }
+
+    private static LogRecord toRecord(final Log source) {
         LogRecord record = new LogRecord();
         record.setUniqueId(source.getUniqueId());
         record.setTimestamp(source.getTimestamp());
@@ -42,7 +57,6 @@ public class LogRecordDispatcher implements SourceDispatcher<Log> {
         record.setTagsRawData(source.getTagsRawData());
         record.setTagsInString(Tag.Util.toStringList(source.getTags()));
         record.setTags(source.getTags());
-
-        RecordStreamProcessor.getInstance().in(record);
+        return record;
     }
 }
@@ -122,7 +122,12 @@ public abstract class HistogramFunction extends Metrics implements AcceptableVal
 
         this.setEntityId(remoteData.getDataStrings(0));
 
-        this.setDataset(new DataTable(remoteData.getDataObjectStrings(0)));
+        if (remoteData.getDataObjectBinariesCount() == 0) {
+            // Sent as strings by the OAP of the previous versions, keep compatible in the rolling upgrade.
+            this.setDataset(new DataTable(remoteData.getDataObjectStrings(0)));
+        } else {
+            this.setDataset(new DataTable(remoteData.getDataObjectBinaries(0)));
+        }
     }
 
     @Override
@@ -132,7 +137,7 @@ public abstract class HistogramFunction extends Metrics implements AcceptableVal
 
         remoteBuilder.addDataStrings(entityId);
 
-        remoteBuilder.addDataObjectStrings(dataset.toStorageData());
+        remoteBuilder.addDataObjectBinaries(dataset.toBinary());
 
         return remoteBuilder;
     }
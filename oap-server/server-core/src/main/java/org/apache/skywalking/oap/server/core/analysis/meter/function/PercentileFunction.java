@@ -226,9 +226,16 @@ public abstract class PercentileFunction extends Metrics implements AcceptableVa
 
         this.setEntityId(remoteData.getDataStrings(0));
 
-        this.setDataset(new DataTable(remoteData.getDataObjectStrings(0)));
-        this.setRanks(new IntList(remoteData.getDataObjectStrings(1)));
-        this.setPercentileValues(new DataTable(remoteData.getDataObjectStrings(2)));
+        if (remoteData.getDataObjectBinariesCount() == 0) {
+            // Sent as strings by the OAP of the previous versions, keep compatible in the rolling upgrade.
+            this.setDataset(new DataTable(remoteData.getDataObjectStrings(0)));
+            this.setRanks(new IntList(remoteData.getDataObjectStrings(1)));
+            this.setPercentileValues(new DataTable(remoteData.getDataObjectStrings(2)));
+        } else {
+            this.setDataset(new DataTable(remoteData.getDataObjectBinaries(0)));
+            this.setRanks(new IntList(remoteData.getDataObjectBinaries(1)));
+            this.setPercentileValues(new DataTable(remoteData.getDataObjectBinaries(2)));
+        }
     }
 
     @Override
@@ -238,9 +245,9 @@ public abstract class PercentileFunction extends Metrics implements AcceptableVa
 
         remoteBuilder.addDataStrings(entityId);
 
-        remoteBuilder.addDataObjectStrings(dataset.toStorageData());
-        remoteBuilder.addDataObjectStrings(ranks.toStorageData());
-        remoteBuilder.addDataObjectStrings(percentileValues.toStorageData());
+        remoteBuilder.addDataObjectBinaries(dataset.toBinary());
+        remoteBuilder.addDataObjectBinaries(ranks.toBinary());
+        remoteBuilder.addDataObjectBinaries(percentileValues.toBinary());
 
         return remoteBuilder;
     }
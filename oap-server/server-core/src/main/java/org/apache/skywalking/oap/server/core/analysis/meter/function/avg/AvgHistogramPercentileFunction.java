@@ -296,10 +296,18 @@ public abstract class AvgHistogramPercentileFunction extends Metrics implements
 
         this.setEntityId(remoteData.getDataStrings(0));
 
-        this.setSummation(new DataTable(remoteData.getDataObjectStrings(0)));
-        this.setCount(new DataTable(remoteData.getDataObjectStrings(1)));
-        this.setRanks(new IntList(remoteData.getDataObjectStrings(2)));
-        this.setPercentileValues(new DataTable(remoteData.getDataObjectStrings(3)));
+        if (remoteData.getDataObjectBinariesCount() == 0) {
+            // Sent as strings by the OAP of the previous versions, keep compatible in the rolling upgrade.
+            this.setSummation(new DataTable(remoteData.getDataObjectStrings(0)));
+            this.setCount(new DataTable(remoteData.getDataObjectStrings(1)));
+            this.setRanks(new IntList(remoteData.getDataObjectStrings(2)));
+            this.setPercentileValues(new DataTable(remoteData.getDataObjectStrings(3)));
+        } else {
+            this.setSummation(new DataTable(remoteData.getDataObjectBinaries(0)));
+            this.setCount(new DataTable(remoteData.getDataObjectBinaries(1)));
+            this.setRanks(new IntList(remoteData.getDataObjectBinaries(2)));
+            this.setPercentileValues(new DataTable(remoteData.getDataObjectBinaries(3)));
+        }
     }
 
     @Override
@@ -309,10 +317,10 @@ public abstract class AvgHistogramPercentileFunction extends Metrics implements
 
         remoteBuilder.addDataStrings(entityId);
 
-        remoteBuilder.addDataObjectStrings(summation.toStorageData());
-        remoteBuilder.addDataObjectStrings(count.toStorageData());
-        remoteBuilder.addDataObjectStrings(ranks.toStorageData());
-        remoteBuilder.addDataObjectStrings(percentileValues.toStorageData());
+        remoteBuilder.addDataObjectBinaries(summation.toBinary());
+        remoteBuilder.addDataObjectBinaries(count.toBinary());
+        remoteBuilder.addDataObjectBinaries(ranks.toBinary());
+        remoteBuilder.addDataObjectBinaries(percentileValues.toBinary());
 
         return remoteBuilder;
     }
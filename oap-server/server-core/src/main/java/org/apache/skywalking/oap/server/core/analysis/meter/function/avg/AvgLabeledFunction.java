@@ -128,8 +128,14 @@ public abstract class AvgLabeledFunction extends Metrics implements AcceptableVa
 
     @Override
     public void deserialize(final RemoteData remoteData) {
-        this.setCount(new DataTable(remoteData.getDataObjectStrings(0)));
-        this.setSummation(new DataTable(remoteData.getDataObjectStrings(1)));
+        if (remoteData.getDataObjectBinariesCount() == 0) {
+            // Sent as strings by the OAP of the previous versions, keep compatible in the rolling upgrade.
+            this.setCount(new DataTable(remoteData.getDataObjectStrings(0)));
+            this.setSummation(new DataTable(remoteData.getDataObjectStrings(1)));
+        } else {
+            this.setCount(new DataTable(remoteData.getDataObjectBinaries(0)));
+            this.setSummation(new DataTable(remoteData.getDataObjectBinaries(1)));
+        }
         setTimeBucket(remoteData.getDataLongs(0));
 
         this.entityId = remoteData.getDataStrings(0);
@@ -139,8 +145,8 @@ public abstract class AvgLabeledFunction extends Metrics implements AcceptableVa
     @Override
     public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.addDataObjectStrings(count.toStorageData());
-        remoteBuilder.addDataObjectStrings(summation.toStorageData());
+        remoteBuilder.addDataObjectBinaries(count.toBinary());
+        remoteBuilder.addDataObjectBinaries(summation.toBinary());
         remoteBuilder.addDataLongs(getTimeBucket());
 
         remoteBuilder.addDataStrings(entityId);
@@ -17,15 +17,23 @@
 
 package org.apache.skywalking.oap.server.core.analysis.metrics;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
+import org.apache.skywalking.oap.server.core.remote.BinarySerializable;
 import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
 
 /**
@@ -33,7 +41,7 @@ import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObje
  */
 @ToString
 @EqualsAndHashCode
-public class DataTable implements StorageDataComplexObject<DataTable> {
+public class DataTable implements StorageDataComplexObject<DataTable>, BinarySerializable {
     private HashMap<String, Long> data;
 
     public DataTable() {
@@ -49,6 +57,11 @@ public class DataTable implements StorageDataComplexObject<DataTable> {
         toObject(data);
     }
 
+    public DataTable(ByteString binary) {
+        this();
+        fromBinary(binary);
+    }
+
     public Long get(String key) {
         return data.get(key);
     }
@@ -136,6 +149,45 @@ public class DataTable implements StorageDataComplexObject<DataTable> {
         }
     }
 
+    /**
+     * The binary format is the varint encoded size, followed by the pairs of UTF-8 key and zigzag varint encoded value.
+     */
+    @Override
+    public ByteString toBinary() {
+        int size = CodedOutputStream.computeUInt32SizeNoTag(data.size());
+        for (final Map.Entry<String, Long> entry : data.entrySet()) {
+            size += CodedOutputStream.computeStringSizeNoTag(entry.getKey());
+            size += CodedOutputStream.computeSInt64SizeNoTag(entry.getValue());
+        }
+        final byte[] binary = new byte[size];
+        final CodedOutputStream output = CodedOutputStream.newInstance(binary);
+        try {
+            output.writeUInt32NoTag(data.size());
+            for (final Map.Entry<String, Long> entry : data.entrySet()) {
+                output.writeStringNoTag(entry.getKey());
+                output.writeSInt64NoTag(entry.getValue());
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new UnexpectedException(e.getMessage(), e);
+        }
+        return UnsafeByteOperations.unsafeWrap(binary);
+    }
+
+    @Override
+    public void fromBinary(final ByteString binary) {
+        final CodedInputStream input = binary.newCodedInput();
+        try {
+            final int size = input.readUInt32();
+            for (int i = 0; i < size; i++) {
+                final String key = input.readStringRequireUtf8();
+                this.data.put(key, input.readSInt64());
+            }
+        } catch (IOException e) {
+            throw new UnexpectedException("Illegal binary data of DataTable", e);
+        }
+    }
+
     @Override
     public void copyFrom(final DataTable source) {
         this.append(source);
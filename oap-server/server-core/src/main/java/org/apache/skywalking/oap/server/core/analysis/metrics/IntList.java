@@ -18,11 +18,18 @@
 
 package org.apache.skywalking.oap.server.core.analysis.metrics;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
+import org.apache.skywalking.oap.server.core.remote.BinarySerializable;
 import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
 
 /**
@@ -30,7 +37,7 @@ import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObje
  */
 @ToString
 @EqualsAndHashCode
-public class IntList implements StorageDataComplexObject<IntList> {
+public class IntList implements StorageDataComplexObject<IntList>, BinarySerializable {
     private List<Integer> data;
 
     public IntList(int initialSize) {
@@ -41,6 +48,10 @@ public class IntList implements StorageDataComplexObject<IntList> {
         toObject(valueString);
     }
 
+    public IntList(ByteString binary) {
+        fromBinary(binary);
+    }
+
     public int size() {
         return data.size();
     }
@@ -72,6 +83,44 @@ public class IntList implements StorageDataComplexObject<IntList> {
         }
     }
 
+    /**
+     * The binary format is the varint encoded size, followed by the zigzag varint encoded elements.
+     */
+    @Override
+    public ByteString toBinary() {
+        int size = CodedOutputStream.computeUInt32SizeNoTag(data.size());
+        for (final Integer element : data) {
+            size += CodedOutputStream.computeSInt32SizeNoTag(element);
+        }
+        final byte[] binary = new byte[size];
+        final CodedOutputStream output = CodedOutputStream.newInstance(binary);
+        try {
+            output.writeUInt32NoTag(data.size());
+            for (final Integer element : data) {
+                output.writeSInt32NoTag(element);
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new UnexpectedException(e.getMessage(), e);
+        }
+        return UnsafeByteOperations.unsafeWrap(binary);
+    }
+
+    @Override
+    public void fromBinary(final ByteString binary) {
+        final CodedInputStream input = binary.newCodedInput();
+        try {
+            final int size = input.readUInt32();
+            // Every element takes one byte at least.
+            this.data = new ArrayList<>(Math.min(size, binary.size()));
+            for (int i = 0; i < size; i++) {
+                this.data.add(input.readSInt32());
+            }
+        } catch (IOException e) {
+            throw new UnexpectedException("Illegal binary data of IntList", e);
+        }
+    }
+
     @Override
     public void copyFrom(final IntList source) {
         this.data.addAll(source.data);
@@ -34,6 +34,7 @@ import org.apache.skywalking.oap.server.core.analysis.StreamDefinition;
 import org.apache.skywalking.oap.server.core.analysis.StreamProcessor;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.config.DownSamplingConfigService;
+import org.apache.skywalking.oap.server.core.remote.selector.Selector;
 import org.apache.skywalking.oap.server.core.storage.IMetricsDAO;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilderFactory;
 import org.apache.skywalking.oap.server.core.storage.StorageDAO;
@@ -76,6 +77,11 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
     @Setter
     @Getter
     private long l1FlushPeriod = 500;
+    /**
+     * The selector of the L2 aggregation OAP node, see CoreModuleConfig#enableRemoteConsistentHash.
+     */
+    @Setter
+    private Selector remoteSelector = Selector.HashCode;
     /**
      * Hold and forward CoreModuleConfig#enableDatabaseSession to the persistent worker.
      */
@@ -181,7 +187,8 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
                                                                        .getService(IWorkerInstanceSetter.class);
         workerInstanceSetter.put(remoteReceiverWorkerName, minutePersistentWorker, metricsClass);
 
-        MetricsRemoteWorker remoteWorker = new MetricsRemoteWorker(moduleDefineHolder, remoteReceiverWorkerName);
+        MetricsRemoteWorker remoteWorker = new MetricsRemoteWorker(
+            moduleDefineHolder, remoteReceiverWorkerName, remoteSelector);
         MetricsAggregateWorker aggregateWorker = new MetricsAggregateWorker(
             moduleDefineHolder, remoteWorker, stream.getName(), l1FlushPeriod);
 
@@ -19,6 +19,8 @@
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.skywalking.oap.server.core.analysis.record.Record;
 import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
 import org.apache.skywalking.oap.server.core.storage.IRecordDAO;
@@ -54,4 +56,20 @@ public class RecordPersistentWorker extends AbstractWorker<Record> {
             LOGGER.error(e.getMessage(), e);
         }
     }
+
+    /**
+     * Prepare the insert requests of all records, then push them into the storage in one batch. The record failed to
+     * prepare is logged and skipped.
+     */
+    public void in(List<? extends Record> records) {
+        final List<InsertRequest> insertRequests = new ArrayList<>(records.size());
+        for (final Record record : records) {
+            try {
+                insertRequests.add(recordDAO.prepareBatchInsert(model, record));
+            } catch (IOException e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }
+        batchDAO.insert(insertRequests);
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.skywalking.oap.server.core.analysis.worker;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
@@ -56,6 +57,27 @@ public class RecordStreamProcessor implements StreamProcessor<Record> {
         }
     }
 
+    /**
+     * Push a batch of records. The consecutive records of the same type are persisted as one batch.
+     */
+    public void in(List<? extends Record> records) {
+        final int size = records.size();
+        int from = 0;
+        while (from < size) {
+            final Class<? extends Record> recordClass = records.get(from).getClass();
+            int to = from + 1;
+            while (to < size && records.get(to).getClass() == recordClass) {
+                to++;
+            }
+
+            RecordPersistentWorker worker = workers.get(recordClass);
+            if (worker != null) {
+                worker.in(records.subList(from, to));
+            }
+            from = to;
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void create(ModuleDefineHolder moduleDefineHolder, Stream stream, Class<? extends Record> recordClass) throws StorageException {
@@ -18,19 +18,58 @@
 
 package org.apache.skywalking.oap.server.core.config.group;
 
-import lombok.Setter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.util.StringFormatGroup;
 import org.apache.skywalking.oap.server.core.config.group.openapi.EndpointGroupingRule4Openapi;
 
+/**
+ * EndpointNameGrouping formats the endpoint names by the custom rules and the OpenAPI rules. The formatted names are
+ * cached per service, the least recently used ones are evicted when the cache of the service is full, as well as the
+ * caches of the least recently used services. The caches are dropped when the rules change.
+ */
 @Slf4j
 public class EndpointNameGrouping {
-    @Setter
+    private static final int MAX_CACHED_SERVICES = 1000;
+    private static final int MAX_CACHED_ENDPOINTS_PER_SERVICE = 1000;
+
     private volatile EndpointGroupingRule endpointGroupingRule;
-    @Setter
     private volatile EndpointGroupingRule4Openapi endpointGroupingRule4Openapi;
+    private volatile Cache<String, Cache<String, String>> formattedNames = newServiceCache();
+
+    public void setEndpointGroupingRule(final EndpointGroupingRule endpointGroupingRule) {
+        this.endpointGroupingRule = endpointGroupingRule;
+        // Set the rule before the cache, the names formatted by the old rule are never put into the new cache.
+        this.formattedNames = newServiceCache();
+    }
+
+    public void setEndpointGroupingRule4Openapi(final EndpointGroupingRule4Openapi endpointGroupingRule4Openapi) {
+        this.endpointGroupingRule4Openapi = endpointGroupingRule4Openapi;
+        this.formattedNames = newServiceCache();
+    }
 
     public String format(String serviceName, String endpointName) {
+        final Cache<String, Cache<String, String>> formattedNames = this.formattedNames;
+        if (endpointGroupingRule4Openapi == null && endpointGroupingRule == null) {
+            return endpointName;
+        }
+
+        final Cache<String, String> serviceCache = formattedNames.asMap().computeIfAbsent(
+            serviceName, name -> CacheBuilder.newBuilder().maximumSize(MAX_CACHED_ENDPOINTS_PER_SERVICE).build());
+        String formattedName = serviceCache.getIfPresent(endpointName);
+        if (formattedName == null) {
+            formattedName = doFormat(serviceName, endpointName);
+            serviceCache.put(endpointName, formattedName);
+        }
+        return formattedName;
+    }
+
+    private static Cache<String, Cache<String, String>> newServiceCache() {
+        return CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SERVICES).build();
+    }
+
+    private String doFormat(String serviceName, String endpointName) {
         String formattedName = endpointName;
         if (endpointGroupingRule4Openapi != null) {
             formattedName = formatByOpenapi(serviceName, formattedName);
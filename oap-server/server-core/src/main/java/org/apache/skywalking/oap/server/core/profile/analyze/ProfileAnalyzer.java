@@ -18,14 +18,19 @@
 
 package org.apache.skywalking.oap.server.core.profile.analyze;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.skywalking.oap.server.core.profile.ProfileThreadSnapshotRecord;
 import org.apache.skywalking.oap.server.core.query.type.ProfileAnalyzation;
@@ -41,13 +46,23 @@ import org.slf4j.LoggerFactory;
 /**
  * Analyze {@link ProfileStack} data to {@link ProfileAnalyzation}
  *
+ * The snapshots are queried page by page in the sequence order, and folded into the trees one by one, so only one page
+ * of the snapshots is in the heap during the analysis. The folded trees are cached by the segment and the time ranges,
+ * the repeated queries only fold the snapshots not folded yet. The snapshots are saved asynchronously, a snapshot could
+ * become visible after the later ones have been folded, then the trees are folded again from scratch, as the durations
+ * are calculated in the sequence order.
+ *
  * See: https://github.com/apache/skywalking/blob/421ba88dbfba48cdc5845547381aa4763775b4b1/docs/en/guides/backend-profile.md#thread-analyst
  */
 public class ProfileAnalyzer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProfileAnalyzer.class);
 
-    private static final ProfileAnalyzeCollector ANALYZE_COLLECTOR = new ProfileAnalyzeCollector();
+    /**
+     * The max number of the cached analyses. The memory of every analysis is bounded by the distinct frames of the
+     * profiled segment.
+     */
+    private static final int MAX_CACHED_ANALYSES = 100;
 
     private final int threadSnapshotAnalyzeBatchSize;
     private final int analyzeSnapshotMaxSize;
@@ -55,6 +70,11 @@ public class ProfileAnalyzer {
     private final ModuleManager moduleManager;
     protected IProfileThreadSnapshotQueryDAO profileThreadSnapshotQueryDAO;
 
+    private final Cache<String, StackAggregation> aggregations = CacheBuilder.newBuilder()
+                                                                             .maximumSize(MAX_CACHED_ANALYSES)
+                                                                             .expireAfterAccess(10, TimeUnit.MINUTES)
+                                                                             .build();
+
     public ProfileAnalyzer(ModuleManager moduleManager, int snapshotAnalyzeBatchSize, int analyzeSnapshotMaxSize) {
         this.moduleManager = moduleManager;
         this.threadSnapshotAnalyzeBatchSize = snapshotAnalyzeBatchSize;
@@ -77,18 +97,8 @@ public class ProfileAnalyzer {
             analyzation.setTip("Out of snapshot analyze limit, " + sequenceSearch.getTotalSequenceCount() + " snapshots found, but analysis first " + analyzeSnapshotMaxSize + " snapshots only.");
         }
 
-        // query snapshots
-        List<ProfileStack> stacks = sequenceSearch.getRanges().parallelStream().map(r -> {
-            try {
-                return getProfileThreadSnapshotQueryDAO().queryRecords(segmentId, r.getMinSequence(), r.getMaxSequence());
-            } catch (IOException e) {
-                LOGGER.warn(e.getMessage(), e);
-                return Collections.<ProfileThreadSnapshotRecord>emptyList();
-            }
-        }).flatMap(Collection::stream).map(ProfileStack::deserialize).distinct().collect(Collectors.toList());
-
-        // analyze
-        final List<ProfileStackTree> trees = analyze(stacks);
+        // query snapshots and analyze
+        final List<ProfileStackTree> trees = analyze(segmentId, timeRanges, sequenceSearch);
         if (trees != null) {
             analyzation.getTrees().addAll(trees);
         }
@@ -134,21 +144,72 @@ public class ProfileAnalyzer {
     }
 
     /**
-     * Analyze records
+     * Fold the snapshots in the sequence ranges into the cached trees, then build the result
      */
-    protected List<ProfileStackTree> analyze(List<ProfileStack> stacks) {
-        if (CollectionUtils.isEmpty(stacks)) {
-            return null;
+    private List<ProfileStackTree> analyze(String segmentId,
+                                           List<ProfileAnalyzeTimeRange> timeRanges,
+                                           SequenceSearch sequenceSearch) throws IOException {
+        final StackAggregation aggregation;
+        try {
+            aggregation = aggregations.get(aggregationKey(segmentId, timeRanges), StackAggregation::new);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getMessage(), e);
         }
 
-        // using parallel stream
-        Map<String, ProfileStackTree> stackTrees = stacks.parallelStream()
-                                                         // stack list cannot be empty
-                                                         .filter(s -> CollectionUtils.isNotEmpty(s.getStack()))
-                                                         .collect(Collectors.groupingBy(s -> s.getStack()
-                                                                                              .get(0), ANALYZE_COLLECTOR));
+        synchronized (aggregation) {
+            final List<SequenceRange> ranges = new ArrayList<>(sequenceSearch.getRanges());
+            ranges.sort(Comparator.comparingInt(SequenceRange::getMinSequence));
+            if (!fold(segmentId, ranges, aggregation, true)) {
+                aggregation.reset();
+                fold(segmentId, ranges, aggregation, false);
+            }
 
-        return new ArrayList<>(stackTrees.values());
+            return aggregation.buildAnalyzeResult();
+        }
+    }
+
+    /**
+     * Fold the snapshots not folded yet in the sorted ranges.
+     *
+     * @param checkLate stop folding if any snapshot is found before the folded ones.
+     * @return false if the folding is stopped by the late snapshot.
+     */
+    private boolean fold(String segmentId,
+                         List<SequenceRange> ranges,
+                         StackAggregation aggregation,
+                         boolean checkLate) {
+        for (SequenceRange range : ranges) {
+            // query from the first snapshot not folded in this range
+            final int minSequence = aggregation.folded.nextClearBit(range.getMinSequence());
+            if (minSequence >= range.getMaxSequence()) {
+                continue;
+            }
+
+            final List<ProfileThreadSnapshotRecord> records;
+            try {
+                records = new ArrayList<>(getProfileThreadSnapshotQueryDAO().queryRecords(
+                    segmentId, minSequence, range.getMaxSequence()));
+            } catch (IOException e) {
+                LOGGER.warn(e.getMessage(), e);
+                continue;
+            }
+            records.sort(Comparator.comparingInt(ProfileThreadSnapshotRecord::getSequence));
+            if (checkLate && aggregation.isLate(records)) {
+                return false;
+            }
+            for (ProfileThreadSnapshotRecord record : records) {
+                aggregation.accumulate(record);
+            }
+        }
+        return true;
+    }
+
+    private static String aggregationKey(String segmentId, List<ProfileAnalyzeTimeRange> timeRanges) {
+        final StringBuilder key = new StringBuilder().append(segmentId);
+        for (ProfileAnalyzeTimeRange range : timeRanges) {
+            key.append('|').append(range.getStart()).append('-').append(range.getEnd());
+        }
+        return key.toString();
     }
 
     protected IProfileThreadSnapshotQueryDAO getProfileThreadSnapshotQueryDAO() {
@@ -201,4 +262,53 @@ public class ProfileAnalyzer {
         }
 
     }
+
+    /**
+     * The trees folded from the snapshots of one segment in the time ranges, grouped by the first frame.
+     */
+    private static class StackAggregation {
+        private final Map<String, ProfileStackNode> trees = new HashMap<>();
+        // the sequences of the folded snapshots
+        private final BitSet folded = new BitSet();
+
+        private void accumulate(ProfileThreadSnapshotRecord record) {
+            // duplicate snapshot, or the snapshot in the overlapped ranges
+            if (folded.get(record.getSequence())) {
+                return;
+            }
+            folded.set(record.getSequence());
+
+            final ProfileStack stack = ProfileStack.deserialize(record);
+            // stack list cannot be empty
+            if (CollectionUtils.isEmpty(stack.getStack())) {
+                return;
+            }
+            trees.computeIfAbsent(stack.getStack().get(0), k -> ProfileStackNode.newNode()).accumulateFrom(stack);
+        }
+
+        /**
+         * @return true if any record isn't folded, but the snapshots after it have been folded.
+         */
+        private boolean isLate(List<ProfileThreadSnapshotRecord> records) {
+            final int nextSequence = folded.length();
+            for (ProfileThreadSnapshotRecord record : records) {
+                if (record.getSequence() < nextSequence && !folded.get(record.getSequence())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void reset() {
+            trees.clear();
+            folded.clear();
+        }
+
+        private List<ProfileStackTree> buildAnalyzeResult() {
+            if (trees.isEmpty()) {
+                return null;
+            }
+            return trees.values().stream().map(ProfileStackNode::buildAnalyzeResult).collect(Collectors.toList());
+        }
+    }
 }
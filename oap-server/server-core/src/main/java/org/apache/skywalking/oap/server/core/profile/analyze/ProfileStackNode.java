@@ -20,36 +20,42 @@ package org.apache.skywalking.oap.server.core.profile.analyze;
 
 import com.google.common.base.Objects;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.function.Consumer;
 import org.apache.skywalking.oap.server.core.query.type.ProfileStackElement;
 import org.apache.skywalking.oap.server.core.query.type.ProfileStackTree;
 
 /**
  * Work for profiling stacks, intermediate state of the {@link ProfileStackElement} and {@link ProfileStack}
+ *
+ * The stacks are folded into the tree one by one in the sequence order, every node only keeps the count and the
+ * duration of the continuous dump windows, rather than the stacks detected it. So the memory of the tree is bounded
+ * by the number of the distinct frames, and the tree could keep folding the new stacks after the result built.
  */
 public class ProfileStackNode {
 
     private String codeSignature;
-    private List<ProfileStack> detectedStacks;
     private List<ProfileStackNode> children;
-    private int duration;
+    private int count;
+    // sum of the closed continuous dump windows
+    private long closedDuration;
+    // current continuous dump window
+    private long windowStartDumpTime;
+    private int lastSequence;
+    private long lastDumpTime;
 
     /**
      * create new empty, un-init node
      */
     public static ProfileStackNode newNode() {
         ProfileStackNode emptyNode = new ProfileStackNode();
-        emptyNode.detectedStacks = new LinkedList<>();
         emptyNode.children = new ArrayList<>();
         return emptyNode;
     }
 
     /**
-     * accumulate {@link ProfileStack} to this tree, it will invoke on the tree root node
+     * accumulate {@link ProfileStack} to this tree, it will invoke on the tree root node. The stacks should be
+     * accumulated in the sequence order without duplication.
      */
     public void accumulateFrom(ProfileStack stack) {
         List<String> stackList = stack.getStack();
@@ -90,70 +96,18 @@ public class ProfileStackNode {
     }
 
     /**
-     * combine from other {@link ProfileStackNode}
-     */
-    public ProfileStackNode combine(ProfileStackNode node) {
-        // combine this node
-        this.combineDetectedStacks(node);
-
-        // merge tree using LDR to traversal tree node
-        // using stack to avoid recursion
-        // merge key.children <- value.children
-        LinkedList<Pair<ProfileStackNode, ProfileStackNode>> stack = new LinkedList<>();
-        stack.add(new Pair<>(this, node));
-        while (!stack.isEmpty()) {
-            Pair<ProfileStackNode, ProfileStackNode> needCombineNode = stack.pop();
-
-            // merge value children to key
-            // add to stack if need to keep traversal
-            combineChildrenNodes(needCombineNode.key, needCombineNode.value, stack::add);
-        }
-
-        return this;
-    }
-
-    /**
-     * merge all children nodes to appoint node
-     */
-    private void combineChildrenNodes(ProfileStackNode targetNode, ProfileStackNode beingMergedNode,
-        Consumer<Pair<ProfileStackNode, ProfileStackNode>> continueChildrenMerging) {
-        if (beingMergedNode.children.isEmpty()) {
-            return;
-        }
-
-        for (ProfileStackNode childrenNode : targetNode.children) {
-            // find node from being merged node children
-            for (ListIterator<ProfileStackNode> it = beingMergedNode.children.listIterator(); it.hasNext(); ) {
-                ProfileStackNode node = it.next();
-                if (node != null && node.matches(childrenNode)) {
-                    childrenNode.combineDetectedStacks(node);
-                    continueChildrenMerging.accept(new Pair<>(childrenNode, node));
-
-                    it.set(null);
-                    break;
-                }
-            }
-        }
-
-        for (ProfileStackNode node : beingMergedNode.children) {
-            if (node != null) {
-                targetNode.children.add(node);
-            }
-        }
-    }
-
-    /**
-     * build GraphQL result, calculate duration and count data using parallels
+     * build GraphQL result, calculate duration and count data. The tree isn't changed, so it could be built again
+     * after more stacks accumulated.
      */
     public ProfileStackTree buildAnalyzeResult() {
-        // all nodes add to single-level list (such as flat), work for parallel calculating
+        // all nodes add to single-level list (such as flat)
         LinkedList<Pair<ProfileStackElement, ProfileStackNode>> nodeMapping = new LinkedList<>();
         int idGenerator = 1;
 
         ProfileStackElement root = buildElement(idGenerator++);
         nodeMapping.add(new Pair<>(root, this));
 
-        // same with combine logic
+        // traversal the tree by level
         LinkedList<Pair<ProfileStackElement, ProfileStackNode>> stack = new LinkedList<>();
         stack.add(new Pair<>(root, this));
         while (!stack.isEmpty()) {
@@ -161,88 +115,50 @@ public class ProfileStackNode {
             ProfileStackElement respElement = mergingPair.key;
 
             // generate children node and add to stack and all node mapping
+            int childrenDuration = 0;
             for (ProfileStackNode children : mergingPair.value.children) {
                 ProfileStackElement element = children.buildElement(idGenerator++);
                 element.setParentId(respElement.getId());
+                childrenDuration += element.getDuration();
 
                 Pair<ProfileStackElement, ProfileStackNode> pair = new Pair<>(element, children);
                 stack.add(pair);
                 nodeMapping.add(pair);
             }
+            respElement.setDurationChildExcluded(respElement.getDuration() - childrenDuration);
         }
 
-        // calculate durations
-        nodeMapping.parallelStream().forEach(t -> t.value.calculateDuration(t.key));
-        nodeMapping.parallelStream().forEach(t -> t.value.calculateDurationExcludeChild(t.key));
-
         ProfileStackTree tree = new ProfileStackTree();
         nodeMapping.forEach(n -> tree.getElements().add(n.key));
 
         return tree;
     }
 
+    /**
+     * extend the current dump window if the stack is continuous with the last detected one, otherwise close it and
+     * start a new window
+     */
     private void detectedBy(ProfileStack stack) {
-        this.detectedStacks.add(stack);
-    }
-
-    private void combineDetectedStacks(ProfileStackNode node) {
-        this.detectedStacks.addAll(node.detectedStacks);
+        if (count == 0) {
+            windowStartDumpTime = stack.getDumpTime();
+        } else if (lastSequence + 1 != stack.getSequence()) {
+            closedDuration += lastDumpTime - windowStartDumpTime;
+            windowStartDumpTime = stack.getDumpTime();
+        }
+        lastSequence = stack.getSequence();
+        lastDumpTime = stack.getDumpTime();
+        count++;
     }
 
     private ProfileStackElement buildElement(int id) {
         ProfileStackElement element = new ProfileStackElement();
         element.setId(id);
         element.setCodeSignature(this.codeSignature);
-        element.setCount(this.detectedStacks.size());
+        element.setCount(this.count);
+        element.setDuration(Math.toIntExact(closedDuration + lastDumpTime - windowStartDumpTime));
         return element;
     }
 
-    /**
-     * calculate duration to {@link ProfileStackElement#getDuration()}
-     */
-    private void calculateDuration(ProfileStackElement element) {
-        if (this.detectedStacks.size() <= 1) {
-            element.setDuration(0);
-            return;
-        }
-
-        Collections.sort(this.detectedStacks);
-
-        // calculate time windows duration
-        ProfileStack currentTimeWindowStartStack = detectedStacks.get(0);
-        ProfileStack currentTimeWindowEndTack = detectedStacks.get(0);
-        long duration = 0;
-        for (ListIterator<ProfileStack> it = detectedStacks.listIterator(1); it.hasNext(); ) {
-            ProfileStack currentStack = it.next();
-
-            // is continuity
-            if (currentTimeWindowEndTack.getSequence() + 1 != currentStack.getSequence()) {
-                duration += currentTimeWindowEndTack.getDumpTime() - currentTimeWindowStartStack.getDumpTime();
-                currentTimeWindowStartStack = currentStack;
-            }
-
-            currentTimeWindowEndTack = currentStack;
-        }
-
-        // calculate last one time windows
-        duration += currentTimeWindowEndTack.getDumpTime() - currentTimeWindowStartStack.getDumpTime();
-
-        this.duration = Math.toIntExact(duration);
-        element.setDuration(this.duration);
-    }
-
-    /**
-     * calculate duration to {@link ProfileStackElement#getDurationChildExcluded()}, expends on {@link
-     * #calculateDuration(ProfileStackElement)}
-     */
-    private void calculateDurationExcludeChild(ProfileStackElement element) {
-        element.setDurationChildExcluded(element.getDuration() - children.stream().mapToInt(t -> t.duration).sum());
-    }
-
-    private boolean matches(ProfileStackNode node) {
-        return Objects.equal(this.codeSignature, node.codeSignature);
-    }
-
     private static class Pair<K, V> {
         private final K key;
         private final V value;
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote;
+
+import com.google.protobuf.ByteString;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
+
+/**
+ * The complex column object which is transferred between OAP nodes in the compact binary format through {@link
+ * RemoteData#getDataObjectBinariesList()}, rather than the string format of {@link
+ * StorageDataComplexObject#toStorageData()}. The storage format is not affected.
+ *
+ * The implementation should provide a public constructor with a single {@link ByteString} parameter, which is used by
+ * the generated deserialize codes of OAL metrics.
+ */
+public interface BinarySerializable {
+    /**
+     * @return the binary representing this object.
+     */
+    ByteString toBinary();
+
+    /**
+     * Initialize this object based on the given binary data.
+     */
+    void fromBinary(ByteString binary);
+}
@@ -24,13 +24,16 @@ import io.netty.handler.ssl.SslContext;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.util.StringUtil;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.BatchedRemoteData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.Empty;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessage;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessageBatch;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteServiceGrpc;
 import org.apache.skywalking.oap.server.library.client.grpc.GRPCClient;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
@@ -41,14 +44,22 @@ import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 /**
  * This is a wrapper of the gRPC client for sending message to each other OAP server. It contains a block queue to
- * buffering the message and sending the message by batch.
+ * buffering the message and sending the message by batch, through a long-lived and flow controlled stream.
+ *
+ * The first batch to a remote server probes whether the batchCall rpc is served. The legacy call rpc is used for the
+ * remote server of the previous versions, which responds UNIMPLEMENTED.
  */
 @Slf4j
 public class GRPCRemoteClient implements RemoteClient {
+    /**
+     * The serialized size of the remote data in one batch message, keep it far below the default max inbound message
+     * size(4MiB) of the gRPC server.
+     */
+    private static final int MAX_BATCH_BYTES = 1024 * 1024;
+
     private final int channelSize;
     private final int bufferSize;
     private final Address address;
-    private final AtomicInteger concurrentStreamObserverNumber = new AtomicInteger(0);
     private SslContext sslContext;
     private GRPCClient client;
     private DataCarrier<RemoteMessage> carrier;
@@ -56,6 +67,12 @@ public class GRPCRemoteClient implements RemoteClient {
     private CounterMetrics remoteOutCounter;
     private CounterMetrics remoteOutErrorCounter;
     private int remoteTimeout;
+    private final String compression;
+    private volatile RemoteMessageStream stream;
+    /**
+     * The rpc used to send the messages to the remote server.
+     */
+    private volatile RemoteProtocol protocol = RemoteProtocol.UNKNOWN;
 
     public GRPCRemoteClient(final ModuleDefineHolder moduleDefineHolder,
                             final Address address,
@@ -63,12 +80,27 @@ public class GRPCRemoteClient implements RemoteClient {
                             final int bufferSize,
                             final int remoteTimeout,
                             final SslContext sslContext) {
+        this(moduleDefineHolder, address, channelSize, bufferSize, remoteTimeout, sslContext, null);
+    }
+
+    /**
+     * @param compression the gRPC compressor name of the remote stream, such as gzip. Null or empty means no
+     *                    compression.
+     */
+    public GRPCRemoteClient(final ModuleDefineHolder moduleDefineHolder,
+                            final Address address,
+                            final int channelSize,
+                            final int bufferSize,
+                            final int remoteTimeout,
+                            final SslContext sslContext,
+                            final String compression) {
 
         this.address = address;
         this.channelSize = channelSize;
         this.bufferSize = bufferSize;
         this.remoteTimeout = remoteTimeout;
         this.sslContext = sslContext;
+        this.compression = compression;
 
         remoteOutCounter = moduleDefineHolder.find(TelemetryModule.NAME)
                                              .provider()
@@ -159,12 +191,16 @@ public class GRPCRemoteClient implements RemoteClient {
         @Override
         public void consume(List<RemoteMessage> remoteMessages) {
             try {
-                StreamObserver<RemoteMessage> streamObserver = createStreamObserver();
-                for (RemoteMessage remoteMessage : remoteMessages) {
-                    remoteOutCounter.inc();
-                    streamObserver.onNext(remoteMessage);
+                if (protocol == RemoteProtocol.LEGACY) {
+                    sendLegacy(remoteMessages);
+                    return;
+                }
+                final RemoteMessageStream current = protocol == RemoteProtocol.BATCH ? getStream() : null;
+                if (current != null) {
+                    drop(sendBatches(current, remoteMessages));
+                } else {
+                    probe(remoteMessages);
                 }
-                streamObserver.onCompleted();
             } catch (Throwable t) {
                 remoteOutErrorCounter.inc();
                 log.error(t.getMessage(), t);
@@ -182,55 +218,152 @@ public class GRPCRemoteClient implements RemoteClient {
     }
 
     /**
-     * Create a gRPC stream observer to sending stream data, one stream observer could send multiple stream data by a
-     * single consume. The max number of concurrency allowed at the same time is 10.
-     *
-     * @return stream observer
+     * Send the messages through a new stream and wait for the response, to find out the rpc served by the remote
+     * server. The messages are sent again through the legacy call if the batchCall is not served.
      */
-    private StreamObserver<RemoteMessage> createStreamObserver() {
-        int sleepTotalMillis = 0;
-        int sleepMillis = 10;
+    private void probe(final List<RemoteMessage> remoteMessages) throws InterruptedException {
+        final RemoteMessageStream probing = openStream();
+        final int dropped = sendBatches(probing, remoteMessages);
+        if (dropped == 0) {
+            probing.complete();
+            if (probing.awaitCompleted(remoteTimeout, TimeUnit.SECONDS)) {
+                protocol = RemoteProtocol.BATCH;
+                return;
+            }
+        }
+        if (probing.isUnimplemented()) {
+            log.warn("Remote server [{}] doesn't serve the batchCall, fall back to the legacy call.", address);
+            protocol = RemoteProtocol.LEGACY;
+            sendLegacy(remoteMessages);
+        } else if (dropped > 0) {
+            drop(dropped);
+        } else {
+            probing.cancel("Remote stream is not completed in " + remoteTimeout + " seconds.");
+            remoteOutErrorCounter.inc(remoteMessages.size());
+            log.error(
+                "Remote stream to [{}] is broken or not completed in {} seconds, {} messages may be lost.", address,
+                remoteTimeout, remoteMessages.size()
+            );
+        }
+    }
 
-        // Control the concurrency of gRPC streaming stub.
-        // If over 10 created and not finished/error, this blocks the method.
-        while (concurrentStreamObserverNumber.get() > 10) {
-            try {
-                Thread.sleep(sleepMillis);
-            } catch (InterruptedException e) {
-                log.error(e.getMessage(), e);
+    /**
+     * Pack the messages into batches and send them through the stream.
+     *
+     * @return the number of the messages not sent, because the stream is terminated or not ready in the remote timeout.
+     */
+    private int sendBatches(final RemoteMessageStream stream,
+                                final List<RemoteMessage> remoteMessages) throws InterruptedException {
+        RemoteMessageBatch.Builder batch = RemoteMessageBatch.newBuilder();
+        int batchBytes = 0;
+        for (int i = 0; i < remoteMessages.size(); i++) {
+            final RemoteMessage remoteMessage = remoteMessages.get(i);
+            remoteOutCounter.inc();
+            final RemoteData remoteData = remoteMessage.getRemoteData();
+            batch.addData(BatchedRemoteData.newBuilder()
+                                           .setNextWorkerId(stream.workerId(remoteMessage.getNextWorkerName(), batch))
+                                           .setRemoteData(remoteData));
+            batchBytes += remoteData.getSerializedSize();
+            if (batchBytes >= MAX_BATCH_BYTES || i == remoteMessages.size() - 1) {
+                if (!send(stream, batch.build())) {
+                    return batch.getDataCount() + remoteMessages.size() - 1 - i;
+                }
+                batch = RemoteMessageBatch.newBuilder();
+                batchBytes = 0;
             }
+        }
+        return 0;
+    }
 
-            sleepTotalMillis += sleepMillis;
+    private void drop(final int dropped) {
+        if (dropped > 0) {
+            remoteOutErrorCounter.inc(dropped);
+            log.error(
+                "Remote stream to [{}] is terminated or not ready in {} seconds, drop {} messages.", address,
+                remoteTimeout, dropped
+            );
+        }
+    }
+
+    /**
+     * Send the batch once the stream is ready, which means the remote server and the network keep up with the sending.
+     * The stream is cancelled if it is not ready in the remote timeout.
+     *
+     * @return false if the stream is terminated or not ready, the batch is not sent.
+     */
+    private boolean send(final RemoteMessageStream stream, final RemoteMessageBatch batch) throws InterruptedException {
+        if (!stream.awaitReady(remoteTimeout, TimeUnit.SECONDS)) {
+            stream.cancel("Remote stream is not ready in " + remoteTimeout + " seconds.");
+            return false;
+        }
+        stream.send(batch);
+        return true;
+    }
 
-            if (sleepTotalMillis > 60000) {
-                log.warn("Remote client [{}] block times over 60 seconds. Current streaming number {}",
-                         address, concurrentStreamObserverNumber.get()
-                );
-                // Reset sleepTotalMillis to avoid too many warn logs.
-                sleepTotalMillis = 0;
+    /**
+     * Get the long-lived stream to the remote OAP server. A new stream is created if there is no stream, or the current
+     * one has been used for half of the remote timeout, leaving the other half to deliver the sent batches before the
+     * deadline. Only called by the consumer thread.
+     *
+     * @return null if the current stream has been terminated.
+     */
+    private RemoteMessageStream getStream() {
+        RemoteMessageStream current = stream;
+        if (current != null && current.isTerminated()) {
+            protocol = RemoteProtocol.UNKNOWN;
+            stream = null;
+            return null;
+        }
+        if (current == null || current.ageNanos() > TimeUnit.SECONDS.toNanos(remoteTimeout) / 2) {
+            if (current != null) {
+                current.complete();
             }
+            current = openStream();
+            stream = current;
         }
+        return current;
+    }
+
+    private RemoteMessageStream openStream() {
+        final RemoteMessageStream opened = new RemoteMessageStream(address);
+        getStubWithDeadline().batchCall(opened);
+        return opened;
+    }
 
-        final StreamObserver<RemoteMessage> remoteMessageStreamObserver
-            = getStub().withDeadlineAfter(remoteTimeout, TimeUnit.SECONDS)
-                       .call(new StreamObserver<Empty>() {
-                           @Override
-                           public void onNext(Empty empty) {
-                           }
+    /**
+     * Send the messages through the legacy call rpc, one message per request.
+     */
+    private void sendLegacy(final List<RemoteMessage> remoteMessages) {
+        final StreamObserver<RemoteMessage> streamObserver = getStubWithDeadline().call(new StreamObserver<Empty>() {
+            @Override
+            public void onNext(Empty empty) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                remoteOutErrorCounter.inc();
+                log.error(throwable.getMessage(), throwable);
+                // The remote server may have been upgraded, probe it again.
+                protocol = RemoteProtocol.UNKNOWN;
+            }
 
-                           @Override
-                           public void onError(Throwable throwable) {
-                               concurrentStreamObserverNumber.addAndGet(-1);
-                               log.error(throwable.getMessage(), throwable);
-                           }
+            @Override
+            public void onCompleted() {
+            }
+        });
+        for (RemoteMessage remoteMessage : remoteMessages) {
+            remoteOutCounter.inc();
+            streamObserver.onNext(remoteMessage);
+        }
+        streamObserver.onCompleted();
+    }
 
-                           @Override
-                           public void onCompleted() {
-                               concurrentStreamObserverNumber.addAndGet(-1);
-                           }
-                       });
-        concurrentStreamObserverNumber.incrementAndGet();
-        return remoteMessageStreamObserver;
+    private RemoteServiceGrpc.RemoteServiceStub getStubWithDeadline() {
+        RemoteServiceGrpc.RemoteServiceStub stub = getStub().withDeadlineAfter(remoteTimeout, TimeUnit.SECONDS);
+        if (StringUtil.isNotEmpty(compression)) {
+            stub = stub.withCompression(compression);
+        }
+        return stub;
     }
 
     @Override
@@ -238,6 +371,9 @@ public class GRPCRemoteClient implements RemoteClient {
         if (Objects.nonNull(this.carrier)) {
             this.carrier.shutdownConsumers();
         }
+        if (Objects.nonNull(this.stream)) {
+            this.stream.cancel("Remote client closed.");
+        }
         if (Objects.nonNull(this.client)) {
             this.client.shutdown();
         }
@@ -252,4 +388,8 @@ public class GRPCRemoteClient implements RemoteClient {
     public int compareTo(RemoteClient o) {
         return address.compareTo(o.getAddress());
     }
+
+    private enum RemoteProtocol {
+        UNKNOWN, BATCH, LEGACY
+    }
 }
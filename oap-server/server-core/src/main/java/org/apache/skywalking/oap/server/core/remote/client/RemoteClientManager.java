@@ -62,6 +62,7 @@ public class RemoteClientManager implements Service {
     private volatile List<RemoteClient> usingClients;
     private GaugeMetrics gauge;
     private int remoteTimeout;
+    private String remoteCompression;
 
     /**
      * Initial the manager for all remote communication clients.
@@ -91,6 +92,14 @@ public class RemoteClientManager implements Service {
         this.remoteTimeout = remoteTimeout;
     }
 
+    /**
+     * @param remoteCompression the gRPC compressor name for cluster internal communication, such as gzip. Null or empty
+     *                          means no compression.
+     */
+    public void setRemoteCompression(final String remoteCompression) {
+        this.remoteCompression = remoteCompression;
+    }
+
     public void start() {
         Optional.ofNullable(sslContext).ifPresent(DynamicSslContext::start);
         Executors.newSingleThreadScheduledExecutor().scheduleWithFixedDelay(this::refresh, 1, 5, TimeUnit.SECONDS);
@@ -232,7 +241,8 @@ public class RemoteClientManager implements Service {
                         newRemoteClients.add(client);
                     } else {
                         RemoteClient client;
-                        client = new GRPCRemoteClient(moduleDefineHolder, address, 1, 3000, remoteTimeout, sslContext);
+                        client = new GRPCRemoteClient(
+                            moduleDefineHolder, address, 1, 3000, remoteTimeout, sslContext, remoteCompression);
                         client.connect();
                         newRemoteClients.add(client);
                     }
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote.client;
+
+import io.grpc.Status;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.Empty;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessageBatch;
+
+/**
+ * RemoteMessageStream is the long-lived batchCall stream from the current OAP node to another one. The worker names
+ * are declared in the stream at the first time they are used, and referred by the ids afterwards.
+ *
+ * The stream is flow controlled by gRPC, the sender waits for the ready signal rather than polling. All methods,
+ * except {@link #cancel(String)}, should only be called by the single sending thread.
+ *
+ * The stream is opened with the remote timeout as the deadline, the sender should move to a new stream before the
+ * deadline, see {@link #ageNanos()}.
+ */
+@Slf4j
+class RemoteMessageStream implements ClientResponseObserver<RemoteMessageBatch, Empty> {
+    private final Address address;
+    private final Map<String, Integer> workerIds = new HashMap<>();
+    private final Object readyLock = new Object();
+    private volatile ClientCallStreamObserver<RemoteMessageBatch> requestStream;
+    private final long openTime = System.nanoTime();
+    private volatile boolean terminated;
+    private volatile Throwable error;
+
+    RemoteMessageStream(final Address address) {
+        this.address = address;
+    }
+
+    @Override
+    public void beforeStart(final ClientCallStreamObserver<RemoteMessageBatch> requestStream) {
+        this.requestStream = requestStream;
+        requestStream.setOnReadyHandler(this::signal);
+    }
+
+    /**
+     * @return the id of the worker name in this stream. The name is added into the batch if it is new in this stream.
+     */
+    int workerId(final String nextWorkerName, final RemoteMessageBatch.Builder batch) {
+        Integer id = workerIds.get(nextWorkerName);
+        if (id == null) {
+            id = workerIds.size();
+            workerIds.put(nextWorkerName, id);
+            batch.addNewWorkerNames(nextWorkerName);
+        }
+        return id;
+    }
+
+    /**
+     * Wait until the transport could accept more messages without excessive buffering.
+     *
+     * @return false if the stream has been terminated, or it is not ready in the given timeout.
+     */
+    boolean awaitReady(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (readyLock) {
+            while (!terminated && !requestStream.isReady()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(readyLock, remaining);
+            }
+        }
+        return !terminated;
+    }
+
+    /**
+     * Wait until the remote server responds the end of the stream.
+     *
+     * @return true if the stream has been completed without error in the given timeout.
+     */
+    boolean awaitCompleted(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (readyLock) {
+            while (!terminated) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(readyLock, remaining);
+            }
+        }
+        return error == null;
+    }
+
+    void send(final RemoteMessageBatch batch) {
+        requestStream.onNext(batch);
+    }
+
+    /**
+     * Half close the stream, the batches have been sent are still delivered before the deadline.
+     */
+    void complete() {
+        requestStream.onCompleted();
+    }
+
+    boolean isTerminated() {
+        return terminated;
+    }
+
+    /**
+     * @return true if the remote server doesn't serve the batchCall rpc, such as the OAP of the previous versions.
+     */
+    boolean isUnimplemented() {
+        return error != null && Status.fromThrowable(error).getCode() == Status.Code.UNIMPLEMENTED;
+    }
+
+    long ageNanos() {
+        return System.nanoTime() - openTime;
+    }
+
+    void cancel(final String reason) {
+        terminated = true;
+        requestStream.cancel(reason, null);
+        signal();
+    }
+
+    @Override
+    public void onNext(final Empty empty) {
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        error = throwable;
+        terminated = true;
+        if (!isUnimplemented()) {
+            log.error("Remote stream to [{}] is broken.", address, throwable);
+        }
+        signal();
+    }
+
+    @Override
+    public void onCompleted() {
+        terminated = true;
+        signal();
+    }
+
+    private void signal() {
+        synchronized (readyLock) {
+            readyLock.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote.selector;
+
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.remote.client.Address;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClient;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.GaugeMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * ConsistentHashSelector places every OAP node on a hash ring through a number of virtual nodes, and selects the first
+ * node clockwise from the hash of {@link StreamData#remoteHashCode()}. Compared with {@link HashCodeSelector}, only the
+ * keys of the joined or left node move when the cluster changes, about 1/N of all keys, rather than almost all.
+ *
+ * The ring is built from the node addresses only, so all OAP nodes with the same cluster view select the same target.
+ * It is rebuilt when {@link org.apache.skywalking.oap.server.core.remote.client.RemoteClientManager} publishes a new
+ * client list, and the ratio of the remapped keys is reported as a gauge.
+ */
+@Slf4j
+public class ConsistentHashSelector implements RemoteClientSelector {
+    private static final int DEFAULT_VIRTUAL_NODES = 160;
+    /**
+     * The number of points sampled evenly in the hash space to measure the remapped keys.
+     */
+    private static final int REMAPPED_SAMPLES = 1 << 16;
+
+    private final ModuleDefineHolder moduleDefineHolder;
+    private final int virtualNodes;
+    private volatile Ring ring;
+    private GaugeMetrics remappedRatio;
+
+    public ConsistentHashSelector(ModuleDefineHolder moduleDefineHolder) {
+        this(moduleDefineHolder, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ConsistentHashSelector(ModuleDefineHolder moduleDefineHolder, int virtualNodes) {
+        this.moduleDefineHolder = moduleDefineHolder;
+        this.virtualNodes = virtualNodes;
+    }
+
+    @Override
+    public RemoteClient select(List<RemoteClient> clients, StreamData streamData) {
+        Ring current = ring;
+        if (current == null || current.clients != clients) {
+            current = rebuild(clients);
+        }
+        return clients.get(current.owner(mix(streamData.remoteHashCode())));
+    }
+
+    private synchronized Ring rebuild(List<RemoteClient> clients) {
+        final Ring previous = ring;
+        if (previous != null && previous.clients == clients) {
+            return previous;
+        }
+        final Ring current = new Ring(clients, virtualNodes);
+        if (previous != null) {
+            final double ratio = current.remappedRatio(previous);
+            getRemappedRatio().setValue(ratio);
+            log.info("Remote clients changed from {} to {}, {} of the keys are remapped.",
+                     previous.clients.size(), clients.size(), ratio
+            );
+        }
+        ring = current;
+        return current;
+    }
+
+    private GaugeMetrics getRemappedRatio() {
+        if (remappedRatio == null) {
+            remappedRatio = moduleDefineHolder.find(TelemetryModule.NAME)
+                                              .provider()
+                                              .getService(MetricsCreator.class)
+                                              .createGauge(
+                                                  "remote_selector_remapped_key_ratio",
+                                                  "The ratio of the keys remapped to other OAP nodes at the latest cluster change.",
+                                                  MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+                                              );
+        }
+        return remappedRatio;
+    }
+
+    /**
+     * The remote hash codes are usually built by {@link String#hashCode()}, which doesn't spread well on the ring.
+     */
+    private static int mix(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static class Ring {
+        private final List<RemoteClient> clients;
+        /**
+         * The sorted positions of the virtual nodes.
+         */
+        private final int[] points;
+        /**
+         * The index of the client in {@link #clients} owning the virtual node at the same position of {@link #points}.
+         */
+        private final int[] owners;
+
+        private Ring(List<RemoteClient> clients, int virtualNodes) {
+            this.clients = clients;
+            final long[] nodes = new long[clients.size() * virtualNodes];
+            int n = 0;
+            for (int i = 0; i < clients.size(); i++) {
+                final String address = clients.get(i).getAddress().toString();
+                for (int v = 0; v < virtualNodes; v++) {
+                    final int point = Hashing.murmur3_32()
+                                             .hashString(address + "#" + v, StandardCharsets.UTF_8)
+                                             .asInt();
+                    // Sort by the point, then by the client index to make the collided points deterministic.
+                    nodes[n++] = ((long) point << 32) | i;
+                }
+            }
+            Arrays.sort(nodes);
+            points = new int[nodes.length];
+            owners = new int[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                points[i] = (int) (nodes[i] >> 32);
+                owners[i] = (int) nodes[i];
+            }
+        }
+
+        private int owner(int hash) {
+            int index = Arrays.binarySearch(points, hash);
+            if (index < 0) {
+                index = -index - 1;
+                if (index == points.length) {
+                    index = 0;
+                }
+            }
+            return owners[index];
+        }
+
+        private Address ownerAddress(int hash) {
+            return clients.get(owner(hash)).getAddress();
+        }
+
+        private double remappedRatio(Ring previous) {
+            final int step = (int) ((1L << 32) / REMAPPED_SAMPLES);
+            int remapped = 0;
+            int hash = Integer.MIN_VALUE;
+            for (int i = 0; i < REMAPPED_SAMPLES; i++, hash += step) {
+                if (!ownerAddress(hash).equals(previous.ownerAddress(hash))) {
+                    remapped++;
+                }
+            }
+            return (double) remapped / REMAPPED_SAMPLES;
+        }
+    }
+}
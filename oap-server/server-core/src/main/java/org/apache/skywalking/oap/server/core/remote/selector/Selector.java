@@ -19,5 +19,5 @@
 package org.apache.skywalking.oap.server.core.remote.selector;
 
 public enum Selector {
-    HashCode, Rolling, ForeverFirst
+    HashCode, ConsistentHash, Rolling, ForeverFirst
 }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.source;
 
+import java.util.List;
 import org.apache.skywalking.oap.server.core.analysis.DispatcherDetectorListener;
 import org.apache.skywalking.oap.server.library.module.Service;
 
@@ -28,5 +29,13 @@ import org.apache.skywalking.oap.server.library.module.Service;
 public interface SourceReceiver extends Service {
     void receive(ISource source);
 
+    /**
+     * Receive a batch of sources. The sources of the same scope are forwarded to the dispatchers together, so the
+     * dispatchers could push them into the streaming process in batch.
+     */
+    default void receive(List<? extends ISource> sources) {
+        sources.forEach(this::receive);
+    }
+
     DispatcherDetectorListener getDispatcherDetectorListener();
 }
@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.core.source;
 
 import java.io.IOException;
+import java.util.List;
 import lombok.Getter;
 import org.apache.skywalking.oap.server.core.analysis.DispatcherDetectorListener;
 import org.apache.skywalking.oap.server.core.analysis.DispatcherManager;
@@ -36,6 +37,11 @@ public class SourceReceiverImpl implements SourceReceiver {
         dispatcherManager.forward(source);
     }
 
+    @Override
+    public void receive(List<? extends ISource> sources) {
+        dispatcherManager.forward(sources);
+    }
+
     @Override
     public DispatcherDetectorListener getDispatcherDetectorListener() {
         return getDispatcherManager();
@@ -35,6 +35,16 @@ public interface IBatchDAO extends DAO {
      */
     void insert(InsertRequest insertRequest);
 
+    /**
+     * Push a batch of data into the database in async mode, the same as calling {@link #insert(InsertRequest)} one by
+     * one. The implementations could override this to write the batch in one request.
+     *
+     * @param insertRequests data to insert.
+     */
+    default void insert(List<InsertRequest> insertRequests) {
+        insertRequests.forEach(this::insert);
+    }
+
     /**
      * Push data collection into the database in async mode. This method is driven by streaming process. This method
      * doesn't request the data queryable immediately after the method finished.
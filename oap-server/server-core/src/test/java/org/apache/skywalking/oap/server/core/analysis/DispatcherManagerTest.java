@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.source.Log;
+import org.apache.skywalking.oap.server.core.source.ServiceMeta;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DispatcherManagerTest {
+    private static final List<List<Log>> LOG_BATCHES = new ArrayList<>();
+    private static final List<ServiceMeta> SERVICE_METAS = new ArrayList<>();
+
+    private DispatcherManager dispatcherManager;
+
+    @Before
+    public void setup() throws Exception {
+        LOG_BATCHES.clear();
+        SERVICE_METAS.clear();
+        dispatcherManager = new DispatcherManager();
+        dispatcherManager.addIfAsSourceDispatcher(LogBatchDispatcher.class);
+        dispatcherManager.addIfAsSourceDispatcher(ServiceMetaDispatcher.class);
+    }
+
+    @Test
+    public void testForwardBatchByScope() {
+        final Log log1 = new Log();
+        final Log log2 = new Log();
+        final Log log3 = new Log();
+        final ServiceMeta serviceMeta = new ServiceMeta();
+
+        dispatcherManager.forward(Arrays.asList(log1, log2, serviceMeta, log3));
+
+        Assert.assertEquals(2, LOG_BATCHES.size());
+        Assert.assertEquals(Arrays.asList(log1, log2), LOG_BATCHES.get(0));
+        Assert.assertEquals(Arrays.asList(log3), LOG_BATCHES.get(1));
+        Assert.assertEquals(Arrays.asList(serviceMeta), SERVICE_METAS);
+    }
+
+    public static class LogBatchDispatcher implements SourceDispatcher<Log> {
+        @Override
+        public void dispatch(final Log source) {
+            Assert.fail("The logs should be dispatched in batch");
+        }
+
+        @Override
+        public void dispatch(final List<Log> sources) {
+            LOG_BATCHES.add(new ArrayList<>(sources));
+        }
+    }
+
+    public static class ServiceMetaDispatcher implements SourceDispatcher<ServiceMeta> {
+        @Override
+        public void dispatch(final ServiceMeta source) {
+            SERVICE_METAS.add(source);
+        }
+    }
+}
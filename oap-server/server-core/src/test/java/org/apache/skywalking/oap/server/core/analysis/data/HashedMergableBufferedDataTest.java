@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HashedMergableBufferedDataTest {
+    @Test
+    public void testMerge() {
+        HashedMergableBufferedData<MockMetrics> buffer = new HashedMergableBufferedData<>(4);
+        for (int i = 0; i < 100; i++) {
+            buffer.accept(new MockMetrics("entity-" + (i % 10), 202107011200L, 1));
+            buffer.accept(new MockMetrics("entity-" + (i % 10), 202107011201L, 2));
+        }
+
+        List<MockMetrics> result = buffer.read();
+        Assert.assertEquals(20, result.size());
+        for (MockMetrics metrics : result) {
+            Assert.assertEquals(metrics.getTimeBucket() == 202107011200L ? 10 : 20, metrics.value);
+        }
+
+        Assert.assertTrue(buffer.read().isEmpty());
+
+        buffer.accept(new MockMetrics("entity-0", 202107011200L, 1));
+        result = buffer.read();
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals(1, result.get(0).value);
+    }
+
+    @Test
+    public void testHashCollision() {
+        HashedMergableBufferedData<MockMetrics> buffer = new HashedMergableBufferedData<>();
+        MockMetrics first = new MockMetrics("a", 202107011200L, 1);
+        MockMetrics second = new MockMetrics("b", 202107011200L, 2);
+        first.hashCode = 1;
+        second.hashCode = 1;
+        buffer.accept(first);
+        buffer.accept(second);
+
+        List<MockMetrics> result = buffer.read();
+        Assert.assertEquals(2, result.size());
+        Assert.assertSame(first, result.get(0));
+        Assert.assertSame(second, result.get(1));
+    }
+
+    @Test
+    public void testAbandon() {
+        HashedMergableBufferedData<MockMetrics> buffer = new HashedMergableBufferedData<>();
+        MockMetrics metrics = new MockMetrics("a", 202107011200L, 1);
+        metrics.combinable = false;
+        buffer.accept(metrics);
+        buffer.accept(new MockMetrics("a", 202107011200L, 1));
+        Assert.assertTrue(buffer.read().isEmpty());
+
+        buffer.accept(metrics);
+        buffer.accept(new MockMetrics("a", 202107011200L, 1));
+        MockMetrics replaced = new MockMetrics("a", 202107011200L, 5);
+        buffer.accept(replaced);
+        List<MockMetrics> result = buffer.read();
+        Assert.assertEquals(1, result.size());
+        Assert.assertSame(replaced, result.get(0));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Simulate one L1 aggregation flush period, a batch of newly received metrics is merged into the buffer, then the
+ * buffer is read. Run with {@code -prof gc} to compare the allocation rate.
+ */
+@Fork(2)
+@BenchmarkMode(Mode.Throughput)
+public class MergableBufferedDataBenchmark {
+
+    @State(Scope.Thread)
+    public static class MyState {
+        @Param({
+            "100",
+            "10000"
+        })
+        int entityCount;
+
+        int metricsPerFlush = 50_000;
+        long timeBucket = 202107011200L;
+        String[] entityIds;
+
+        MergableBufferedData<MockMetrics> mergableBufferedData = new MergableBufferedData<>();
+        HashedMergableBufferedData<MockMetrics> hashedMergableBufferedData = new HashedMergableBufferedData<>();
+
+        @Setup
+        public void setup() {
+            entityIds = new String[entityCount];
+            for (int i = 0; i < entityCount; i++) {
+                entityIds[i] = "c2VydmljZS1hLmluc3RhbmNlLTE=.1_" + i;
+            }
+        }
+    }
+
+    @Benchmark
+    public void testMergableBufferedData(MyState myState, Blackhole blackhole) {
+        testAcceptAndRead(myState, myState.mergableBufferedData, blackhole);
+    }
+
+    @Benchmark
+    public void testHashedMergableBufferedData(MyState myState, Blackhole blackhole) {
+        testAcceptAndRead(myState, myState.hashedMergableBufferedData, blackhole);
+    }
+
+    private void testAcceptAndRead(MyState myState, BufferedData<MockMetrics> buffer, Blackhole blackhole) {
+        final String[] entityIds = myState.entityIds;
+        for (int i = 0; i < myState.metricsPerFlush; i++) {
+            // Metrics are always newly created by the source dispatchers, so the id is never cached.
+            buffer.accept(new MockMetrics(entityIds[i % entityIds.length], myState.timeBucket + (i & 1), 1));
+        }
+        blackhole.consume(buffer.read());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(MergableBufferedDataBenchmark.class.getSimpleName())
+            .forks(2)
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.Objects;
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+
+class MockMetrics extends Metrics {
+    private final String entityId;
+    long value;
+    boolean combinable = true;
+    Integer hashCode;
+
+    MockMetrics(String entityId, long timeBucket, long value) {
+        this.entityId = entityId;
+        this.value = value;
+        setTimeBucket(timeBucket);
+    }
+
+    @Override
+    protected String id0() {
+        return getTimeBucket() + Const.ID_CONNECTOR + entityId;
+    }
+
+    @Override
+    public boolean combine(Metrics metrics) {
+        if (!combinable) {
+            return false;
+        }
+        value += ((MockMetrics) metrics).value;
+        return true;
+    }
+
+    @Override
+    public void calculate() {
+
+    }
+
+    @Override
+    public Metrics toHour() {
+        return null;
+    }
+
+    @Override
+    public Metrics toDay() {
+        return null;
+    }
+
+    @Override
+    public void deserialize(RemoteData remoteData) {
+
+    }
+
+    @Override
+    public RemoteData.Builder serialize() {
+        return null;
+    }
+
+    @Override
+    public int remoteHashCode() {
+        return entityId.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MockMetrics)) {
+            return false;
+        }
+        MockMetrics that = (MockMetrics) o;
+        return getTimeBucket() == that.getTimeBucket() && entityId.equals(that.entityId);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode != null ? hashCode : Objects.hash(entityId, getTimeBucket());
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Map;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterEntity;
 import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
 import org.apache.skywalking.oap.server.core.analysis.metrics.IntList;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.StorageHashMapBuilder;
 import org.junit.Assert;
 import org.junit.Test;
@@ -163,6 +164,43 @@ public class PercentileFunctionTest {
         Assert.assertEquals(0, inst2.getPercentileValues().size());
     }
 
+    @Test
+    public void testDeserializeFromPreviousVersion() {
+        PercentileFunctionInst inst = new PercentileFunctionInst();
+        inst.accept(
+            MeterEntity.newService("service-test"),
+            new PercentileFunction.PercentileArgument(
+                new BucketedValues(
+                    BUCKETS,
+                    new long[] {
+                        10,
+                        20,
+                        30,
+                        40
+                    }
+                ),
+                RANKS
+            )
+        );
+        inst.calculate();
+
+        // The OAP of the previous versions sends the object fields as strings.
+        RemoteData legacy = inst.serialize()
+                                .clearDataObjectBinaries()
+                                .addDataObjectStrings(inst.getDataset().toStorageData())
+                                .addDataObjectStrings(inst.getRanks().toStorageData())
+                                .addDataObjectStrings(inst.getPercentileValues().toStorageData())
+                                .build();
+
+        PercentileFunctionInst inst2 = new PercentileFunctionInst();
+        inst2.deserialize(legacy);
+
+        Assert.assertEquals(inst, inst2);
+        Assert.assertEquals(inst.getDataset(), inst2.getDataset());
+        Assert.assertEquals(inst.getRanks(), inst2.getRanks());
+        Assert.assertEquals(inst.getPercentileValues(), inst2.getPercentileValues());
+    }
+
     @Test
     public void testBuilder() throws IllegalAccessException, InstantiationException {
         PercentileFunctionInst inst = new PercentileFunctionInst();
@@ -17,6 +17,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.metrics;
 
+import com.google.protobuf.ByteString;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -59,4 +60,27 @@ public class DataTableTestCase {
 
         Assert.assertEquals("1,100|2,200|5,500|6,600|7,700", dataTable.toStorageData());
     }
+
+    @Test
+    public void binary() {
+        dataTable.put("negative", -1L);
+        final ByteString binary = dataTable.toBinary();
+        DataTable dataTable = new DataTable(binary);
+
+        Assert.assertEquals(this.dataTable, dataTable);
+        Assert.assertEquals(-1L, dataTable.get("negative").longValue());
+        Assert.assertTrue(binary.size() < this.dataTable.toStorageData().length());
+        Assert.assertEquals(new DataTable(), new DataTable(new DataTable().toBinary()));
+    }
+
+    @Test
+    public void intListBinary() {
+        IntList intList = new IntList(3);
+        intList.add(50);
+        intList.add(99);
+        intList.add(-1);
+
+        Assert.assertEquals(intList, new IntList(intList.toBinary()));
+        Assert.assertEquals(0, new IntList(new IntList(0).toBinary()).size());
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.config.group;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EndpointNameGroupingTest {
+    @Test
+    public void testFormatWithoutRules() {
+        final EndpointNameGrouping grouping = new EndpointNameGrouping();
+        Assert.assertEquals("/prod/123", grouping.format("serviceA", "/prod/123"));
+    }
+
+    @Test
+    public void testCacheDroppedWhenRuleChanged() {
+        final EndpointNameGrouping grouping = new EndpointNameGrouping();
+        final EndpointGroupingRule rule = new EndpointGroupingRule();
+        rule.addRule("serviceA", "/prod/{id}", "/prod/[0-9]+");
+        grouping.setEndpointGroupingRule(rule);
+
+        Assert.assertEquals("/prod/{id}", grouping.format("serviceA", "/prod/123"));
+        Assert.assertEquals("/prod/{id}", grouping.format("serviceA", "/prod/123"));
+        Assert.assertEquals("/prod/123", grouping.format("serviceB", "/prod/123"));
+
+        final EndpointGroupingRule newRule = new EndpointGroupingRule();
+        newRule.addRule("serviceA", "/prod/{no}", "/prod/[0-9]+");
+        grouping.setEndpointGroupingRule(newRule);
+
+        Assert.assertEquals("/prod/{no}", grouping.format("serviceA", "/prod/123"));
+    }
+
+    @Test
+    public void testFormatMoreServicesThanCached() {
+        final EndpointNameGrouping grouping = new EndpointNameGrouping();
+        final EndpointGroupingRule rule = new EndpointGroupingRule();
+        for (int i = 0; i < 1100; i++) {
+            rule.addRule("service" + i, "/prod/{id}", "/prod/[0-9]+");
+        }
+        grouping.setEndpointGroupingRule(rule);
+
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 1100; i++) {
+                Assert.assertEquals("/prod/{id}", grouping.format("service" + i, "/prod/123"));
+            }
+        }
+    }
+}
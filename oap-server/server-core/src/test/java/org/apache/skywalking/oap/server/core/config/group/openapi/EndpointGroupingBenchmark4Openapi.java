@@ -20,6 +20,7 @@ package org.apache.skywalking.oap.server.core.config.group.openapi;
 
 import java.io.FileNotFoundException;
 import lombok.SneakyThrows;
+import org.apache.skywalking.oap.server.core.config.group.EndpointNameGrouping;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -100,6 +101,38 @@ public class EndpointGroupingBenchmark4Openapi {
 
     }
 
+    @State(Scope.Benchmark)
+    public static class FormatClassPaths1000 {
+        private EndpointGroupingRule4Openapi rule;
+        private EndpointNameGrouping grouping;
+
+        @SneakyThrows
+        public FormatClassPaths1000() {
+            rule = new EndpointGroupingRule4Openapi();
+            for (int i = 0; i <= 199; i++) {
+                rule.addGroupedRule("serviceA", "GET:/products1/{id}/" + i, "GET:/products1/([^/]+)/" + i);
+                rule.addGroupedRule("serviceA", "POST:/products1/{id}/" + i, "POST:/products1/([^/]+)/" + i);
+                rule.addGroupedRule("serviceA", "GET:/products2/{id}/" + i, "GET:/products2/([^/]+)/" + i);
+                rule.addGroupedRule("serviceA", "POST:/products3/{id}/" + i, "POST:/products3/([^/]+)/" + i);
+                rule.addGroupedRule("serviceA", "GET:/products3/{id}/" + i, "GET:/products3/([^/]+)/" + i);
+            }
+            rule.sortRulesAll();
+            grouping = new EndpointNameGrouping();
+            grouping.setEndpointGroupingRule4Openapi(rule);
+        }
+
+        public void format(String serviceName, String endpointName) {
+            rule.format(serviceName, endpointName);
+        }
+
+        /**
+         * Format through {@link EndpointNameGrouping}, the result is cached.
+         */
+        public void formatCached(String serviceName, String endpointName) {
+            grouping.format(serviceName, endpointName);
+        }
+    }
+
     @Benchmark
     public void formatEndpointNameMatchedPaths20(FormatClassPaths20 formatClass) {
         formatClass.format("serviceA", "GET:/products1/123");
@@ -115,6 +148,16 @@ public class EndpointGroupingBenchmark4Openapi {
         formatClass.format("serviceA", "GET:/products1/123");
     }
 
+    @Benchmark
+    public void formatEndpointNameMatchedPaths1000(FormatClassPaths1000 formatClass) {
+        formatClass.format("serviceA", "GET:/products1/123/199");
+    }
+
+    @Benchmark
+    public void formatEndpointNameMatchedPaths1000Cached(FormatClassPaths1000 formatClass) {
+        formatClass.formatCached("serviceA", "GET:/products1/123/199");
+    }
+
     public static void main(String[] args) throws RunnerException, FileNotFoundException {
 
         Options opt = new OptionsBuilder()
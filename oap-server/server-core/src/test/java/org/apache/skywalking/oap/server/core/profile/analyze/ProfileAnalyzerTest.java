@@ -18,12 +18,23 @@
 
 package org.apache.skywalking.oap.server.core.profile.analyze;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.skywalking.apm.network.language.profile.v3.ThreadStack;
+import org.apache.skywalking.oap.server.core.profile.ProfileThreadSnapshotRecord;
+import org.apache.skywalking.oap.server.core.query.type.ProfileAnalyzeTimeRange;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackElement;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackTree;
 import org.junit.Test;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
 import java.io.InputStream;
 
+import static org.junit.Assert.assertEquals;
+
 public class ProfileAnalyzerTest {
 
     public static final int MAX_ANALYZE_COUNT = 10;
@@ -37,6 +48,111 @@ public class ProfileAnalyzerTest {
         }
     }
 
+    @Test
+    public void testAnalyzeIncrementally() throws IOException {
+        final List<ProfileThreadSnapshotRecord> records = new ArrayList<>();
+        records.add(record(0, "A", "B"));
+        records.add(record(1, "A", "B", "C"));
+
+        final ProfileAnalyzer analyzer = new ProfileAnalyzer(null, 2, 100);
+        analyzer.profileThreadSnapshotQueryDAO = new ProfileStackAnalyze.ThreadSnapshotDAO(records);
+        final ProfileAnalyzeTimeRange range = new ProfileAnalyzeTimeRange();
+        range.setStart(0);
+        range.setEnd(100);
+
+        List<ProfileStackTree> trees = analyzer.analyze("segment", Collections.singletonList(range)).getTrees();
+        assertEquals(1, trees.size());
+        assertElement(trees.get(0).getElements().get(0), "A", 2, 10, 0);
+        assertElement(trees.get(0).getElements().get(1), "B", 2, 10, 10);
+
+        // the new snapshots are folded into the cached trees
+        records.add(record(2, "A", "B", "C"));
+        records.add(record(4, "A", "D"));
+        trees = analyzer.analyze("segment", Collections.singletonList(range)).getTrees();
+        assertEquals(1, trees.size());
+        final List<ProfileStackElement> elements = trees.get(0).getElements();
+        assertEquals(4, elements.size());
+        // 0-2 and 4
+        assertElement(elements.get(0), "A", 4, 20, 0);
+        assertElement(elements.get(1), "B", 3, 20, 10);
+        assertElement(elements.get(2), "D", 1, 0, 0);
+        assertElement(elements.get(3), "C", 2, 10, 10);
+    }
+
+    @Test
+    public void testAnalyzeLateSnapshots() throws IOException {
+        final List<ProfileThreadSnapshotRecord> records = new ArrayList<>();
+        records.add(record(0, "A", "B"));
+        // the snapshot 1 is not visible yet
+        records.add(record(2, "A", "C"));
+
+        final ProfileAnalyzer analyzer = new ProfileAnalyzer(null, 10, 100);
+        analyzer.profileThreadSnapshotQueryDAO = new ProfileStackAnalyze.ThreadSnapshotDAO(records);
+        final List<ProfileAnalyzeTimeRange> ranges = Collections.singletonList(range(0, 100));
+
+        List<ProfileStackTree> trees = analyzer.analyze("segment", ranges).getTrees();
+        assertEquals(1, trees.size());
+        assertEquals(2, trees.get(0).getElements().get(0).getCount());
+
+        // the snapshot 1 becomes visible after the snapshot 2 has been folded
+        records.add(1, record(1, "A", "B"));
+        records.add(record(3, "A", "C"));
+        trees = analyzer.analyze("segment", ranges).getTrees();
+        assertEquals(4, trees.get(0).getElements().get(0).getCount());
+        assertTrees(analyzeFromScratch(records, ranges), trees);
+
+        // nothing is folded twice
+        trees = analyzer.analyze("segment", ranges).getTrees();
+        assertTrees(analyzeFromScratch(records, ranges), trees);
+    }
+
+    private static List<ProfileStackTree> analyzeFromScratch(List<ProfileThreadSnapshotRecord> records,
+                                                             List<ProfileAnalyzeTimeRange> ranges) throws IOException {
+        final ProfileAnalyzer analyzer = new ProfileAnalyzer(null, 10, 100);
+        analyzer.profileThreadSnapshotQueryDAO = new ProfileStackAnalyze.ThreadSnapshotDAO(records);
+        return analyzer.analyze("segment", ranges).getTrees();
+    }
+
+    private static void assertTrees(List<ProfileStackTree> expected, List<ProfileStackTree> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final List<ProfileStackElement> expectedElements = expected.get(i).getElements();
+            final List<ProfileStackElement> actualElements = actual.get(i).getElements();
+            assertEquals(expectedElements.size(), actualElements.size());
+            for (int j = 0; j < expectedElements.size(); j++) {
+                final ProfileStackElement element = expectedElements.get(j);
+                assertElement(actualElements.get(j), element.getCodeSignature(), element.getCount(),
+                              element.getDuration(), element.getDurationChildExcluded());
+            }
+        }
+    }
+
+    private static ProfileAnalyzeTimeRange range(long start, long end) {
+        final ProfileAnalyzeTimeRange range = new ProfileAnalyzeTimeRange();
+        range.setStart(start);
+        range.setEnd(end);
+        return range;
+    }
+
+    private static ProfileThreadSnapshotRecord record(int sequence, String... stack) {
+        final ProfileThreadSnapshotRecord record = new ProfileThreadSnapshotRecord();
+        record.setSequence(sequence);
+        record.setDumpTime(sequence * 10);
+        record.setStackBinary(ThreadStack.newBuilder().addAllCodeSignatures(Arrays.asList(stack)).build().toByteArray());
+        return record;
+    }
+
+    private static void assertElement(ProfileStackElement element,
+                                      String code,
+                                      int count,
+                                      int duration,
+                                      int durationChildExcluded) {
+        assertEquals(code, element.getCodeSignature());
+        assertEquals(count, element.getCount());
+        assertEquals(duration, element.getDuration());
+        assertEquals(durationChildExcluded, element.getDurationChildExcluded());
+    }
+
     private <T> T loadYaml(String file, Class<T> cls) {
         InputStream expectedInputStream = Thread.currentThread().getContextClassLoader().getResourceAsStream(file);
         return new Yaml().loadAs(expectedInputStream, cls);
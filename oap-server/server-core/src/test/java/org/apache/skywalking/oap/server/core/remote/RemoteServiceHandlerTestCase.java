@@ -23,11 +23,14 @@ import io.grpc.inprocess.InProcessServerBuilder;
 import io.grpc.stub.StreamObserver;
 import io.grpc.testing.GrpcCleanupRule;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.BatchedRemoteData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.Empty;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessage;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessageBatch;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteServiceGrpc;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceGetter;
@@ -52,13 +55,89 @@ import static org.mockito.Mockito.when;
 
 public class RemoteServiceHandlerTestCase {
 
+    private static final String TEST_WORKER_ID = "mock-worker";
+    private static final AtomicInteger RECEIVED = new AtomicInteger();
+
     @Rule
     public final GrpcCleanupRule gRPCCleanup = new GrpcCleanupRule();
 
     @Test
     public void callTest() throws DuplicateProviderException, ProviderNotFoundException, IOException {
-        final String testWorkerId = "mock-worker";
+        RemoteServiceGrpc.RemoteServiceStub remoteServiceStub = startServer();
+
+        StreamObserver<RemoteMessage> streamObserver = remoteServiceStub.call(new StreamObserver<Empty>() {
+            @Override
+            public void onNext(Empty empty) {
+
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+
+            }
+
+            @Override
+            public void onCompleted() {
+
+            }
+        });
+
+        RemoteMessage.Builder remoteMessage = RemoteMessage.newBuilder();
+        remoteMessage.setNextWorkerName(TEST_WORKER_ID);
+
+        RemoteData.Builder remoteData = RemoteData.newBuilder();
+        remoteData.addDataStrings("test1");
+        remoteData.addDataStrings("test2");
+
+        remoteData.addDataLongs(10);
+        remoteData.addDataLongs(20);
+        remoteMessage.setRemoteData(remoteData);
+
+        streamObserver.onNext(remoteMessage.build());
+        streamObserver.onCompleted();
+    }
+
+    @Test
+    public void batchCallTest() throws IOException {
+        RemoteServiceGrpc.RemoteServiceStub remoteServiceStub = startServer();
+
+        StreamObserver<RemoteMessageBatch> streamObserver = remoteServiceStub.batchCall(new StreamObserver<Empty>() {
+            @Override
+            public void onNext(Empty empty) {
+
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+
+            }
+
+            @Override
+            public void onCompleted() {
+
+            }
+        });
+
+        RemoteData.Builder remoteData = RemoteData.newBuilder();
+        remoteData.addDataStrings("test1");
+        remoteData.addDataStrings("test2");
 
+        remoteData.addDataLongs(10);
+        remoteData.addDataLongs(20);
+        BatchedRemoteData data = BatchedRemoteData.newBuilder().setNextWorkerId(0).setRemoteData(remoteData).build();
+
+        RECEIVED.set(0);
+        streamObserver.onNext(RemoteMessageBatch.newBuilder().addNewWorkerNames(TEST_WORKER_ID).addData(data).build());
+        // The worker name declared by the previous batch is referred by the id.
+        streamObserver.onNext(RemoteMessageBatch.newBuilder().addData(data).addData(data).build());
+        // The undeclared worker id is ignored.
+        streamObserver.onNext(RemoteMessageBatch.newBuilder().addData(data.toBuilder().setNextWorkerId(1)).build());
+        streamObserver.onCompleted();
+
+        Assert.assertEquals(3, RECEIVED.get());
+    }
+
+    private RemoteServiceGrpc.RemoteServiceStub startServer() throws IOException {
         ModuleManagerTesting moduleManager = new ModuleManagerTesting();
         ModuleDefineTesting moduleDefine = new ModuleDefineTesting();
         moduleManager.put(CoreModule.NAME, moduleDefine);
@@ -68,7 +147,7 @@ public class RemoteServiceHandlerTestCase {
         moduleDefine.provider().registerServiceImplementation(IWorkerInstanceSetter.class, workerInstancesService);
 
         TestWorker worker = new TestWorker(moduleManager);
-        workerInstancesService.put(testWorkerId, worker, TestRemoteData.class);
+        workerInstancesService.put(TEST_WORKER_ID, worker, TestRemoteData.class);
 
         String serverName = InProcessServerBuilder.generateName();
         MetricsCreator metricsCreator = mock(MetricsCreator.class);
@@ -105,41 +184,10 @@ public class RemoteServiceHandlerTestCase {
                                                    .build()
                                                    .start());
 
-        RemoteServiceGrpc.RemoteServiceStub remoteServiceStub = RemoteServiceGrpc.newStub(gRPCCleanup.register(InProcessChannelBuilder
+        return RemoteServiceGrpc.newStub(gRPCCleanup.register(InProcessChannelBuilder
             .forName(serverName)
             .directExecutor()
             .build()));
-
-        StreamObserver<RemoteMessage> streamObserver = remoteServiceStub.call(new StreamObserver<Empty>() {
-            @Override
-            public void onNext(Empty empty) {
-
-            }
-
-            @Override
-            public void onError(Throwable throwable) {
-
-            }
-
-            @Override
-            public void onCompleted() {
-
-            }
-        });
-
-        RemoteMessage.Builder remoteMessage = RemoteMessage.newBuilder();
-        remoteMessage.setNextWorkerName(testWorkerId);
-
-        RemoteData.Builder remoteData = RemoteData.newBuilder();
-        remoteData.addDataStrings("test1");
-        remoteData.addDataStrings("test2");
-
-        remoteData.addDataLongs(10);
-        remoteData.addDataLongs(20);
-        remoteMessage.setRemoteData(remoteData);
-
-        streamObserver.onNext(remoteMessage.build());
-        streamObserver.onCompleted();
     }
 
     static class TestRemoteData extends StreamData {
@@ -187,6 +235,7 @@ public class RemoteServiceHandlerTestCase {
             Assert.assertEquals("test2", data.str2);
             Assert.assertEquals(10, data.long1);
             Assert.assertEquals(20, data.long2);
+            RECEIVED.incrementAndGet();
         }
     }
 }
@@ -18,12 +18,18 @@
 
 package org.apache.skywalking.oap.server.core.remote.client;
 
+import io.grpc.BindableService;
+import io.grpc.stub.StreamObserver;
 import io.grpc.testing.GrpcServerRule;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.remote.RemoteServiceHandler;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.Empty;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessage;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteServiceGrpc;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceGetter;
 import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceSetter;
@@ -49,6 +55,7 @@ import static org.mockito.Mockito.when;
 public class GRPCRemoteClientTestCase {
 
     private final String nextWorkerName = "mock-worker";
+    private final AtomicInteger received = new AtomicInteger();
     private ModuleManagerTesting moduleManager;
     @Rule
     public final GrpcServerRule grpcServerRule = new GrpcServerRule().directExecutor();
@@ -69,6 +76,20 @@ public class GRPCRemoteClientTestCase {
 
     @Test
     public void testPush() throws InterruptedException {
+        Assert.assertEquals(12, push(null, false));
+    }
+
+    @Test
+    public void testPushWithCompression() throws InterruptedException {
+        Assert.assertEquals(12, push("gzip", false));
+    }
+
+    @Test
+    public void testPushToPreviousVersion() throws InterruptedException {
+        Assert.assertEquals(12, push(null, true));
+    }
+
+    private int push(String compression, boolean legacyServer) throws InterruptedException {
         MetricsCreator metricsCreator = mock(MetricsCreator.class);
         when(metricsCreator.createCounter(any(), any(), any(), any())).thenReturn(new CounterMetrics() {
             @Override
@@ -98,10 +119,22 @@ public class GRPCRemoteClientTestCase {
         moduleManager.put(TelemetryModule.NAME, telemetryModuleDefine);
         telemetryModuleDefine.provider().registerServiceImplementation(MetricsCreator.class, metricsCreator);
 
-        grpcServerRule.getServiceRegistry().addService(new RemoteServiceHandler(moduleManager));
+        final RemoteServiceHandler remoteServiceHandler = new RemoteServiceHandler(moduleManager);
+        BindableService service = remoteServiceHandler;
+        if (legacyServer) {
+            // The OAP of the previous versions only serves the call rpc.
+            service = new RemoteServiceGrpc.RemoteServiceImplBase() {
+                @Override
+                public StreamObserver<RemoteMessage> call(final StreamObserver<Empty> responseObserver) {
+                    return remoteServiceHandler.call(responseObserver);
+                }
+            };
+        }
+        grpcServerRule.getServiceRegistry().addService(service);
 
         Address address = new Address("not-important", 11, false);
-        GRPCRemoteClient remoteClient = spy(new GRPCRemoteClient(moduleManager, address, 1, 10, 10, null));
+        GRPCRemoteClient remoteClient = spy(
+            new GRPCRemoteClient(moduleManager, address, 1, 10, 10, null, compression));
         remoteClient.connect();
 
         doReturn(grpcServerRule.getChannel()).when(remoteClient).getChannel();
@@ -111,6 +144,8 @@ public class GRPCRemoteClientTestCase {
         }
 
         TimeUnit.SECONDS.sleep(2);
+        remoteClient.close();
+        return received.get();
     }
 
     public static class TestStreamData extends StreamData {
@@ -145,6 +180,7 @@ public class GRPCRemoteClientTestCase {
         public void in(Object o) {
             TestStreamData streamData = (TestStreamData) o;
             Assert.assertEquals(987, streamData.value);
+            received.incrementAndGet();
         }
     }
 }
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote.selector;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.remote.client.Address;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClient;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.apache.skywalking.oap.server.testing.module.ModuleDefineTesting;
+import org.apache.skywalking.oap.server.testing.module.ModuleManagerTesting;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConsistentHashSelectorTest {
+    private static final int KEYS = 100_000;
+
+    private ModuleManagerTesting moduleManager;
+
+    @Before
+    public void setup() {
+        moduleManager = new ModuleManagerTesting();
+        ModuleDefineTesting telemetryModuleDefine = new ModuleDefineTesting();
+        moduleManager.put(TelemetryModule.NAME, telemetryModuleDefine);
+        telemetryModuleDefine.provider().registerServiceImplementation(MetricsCreator.class, new MetricsCreatorNoop());
+    }
+
+    @Test
+    public void testSameTargetForSameAddresses() {
+        List<RemoteClient> clients = clients(3);
+        ConsistentHashSelector selector1 = new ConsistentHashSelector(moduleManager);
+        ConsistentHashSelector selector2 = new ConsistentHashSelector(moduleManager);
+        List<RemoteClient> reversed = new ArrayList<>(clients);
+        Collections.reverse(reversed);
+
+        for (int i = 0; i < 1000; i++) {
+            final TestStreamData data = new TestStreamData(String.valueOf(i).hashCode());
+            Assert.assertEquals(
+                selector1.select(clients, data).getAddress(), selector2.select(reversed, data).getAddress());
+        }
+    }
+
+    @Test
+    public void testBalance() {
+        List<RemoteClient> clients = clients(4);
+        ConsistentHashSelector selector = new ConsistentHashSelector(moduleManager);
+
+        Map<Address, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            final RemoteClient client = selector.select(clients, new TestStreamData(("key" + i).hashCode()));
+            counts.merge(client.getAddress(), 1, Integer::sum);
+        }
+        Assert.assertEquals(4, counts.size());
+        counts.values().forEach(count -> Assert.assertTrue(count > KEYS / 4 * 0.8 && count < KEYS / 4 * 1.2));
+    }
+
+    @Test
+    public void testRemappedKeysOnScaleOut() {
+        List<RemoteClient> clients = clients(4);
+        List<RemoteClient> scaledClients = clients(5);
+        ConsistentHashSelector selector = new ConsistentHashSelector(moduleManager);
+
+        Address[] owners = new Address[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            owners[i] = selector.select(clients, new TestStreamData(("key" + i).hashCode())).getAddress();
+        }
+        int remapped = 0;
+        for (int i = 0; i < KEYS; i++) {
+            final Address owner = selector.select(scaledClients, new TestStreamData(("key" + i).hashCode()))
+                                          .getAddress();
+            if (!owner.equals(owners[i])) {
+                // Keys only move to the new node.
+                Assert.assertEquals(scaledClients.get(4).getAddress(), owner);
+                remapped++;
+            }
+        }
+        // About 1/5 of the keys move to the new node, while the modulo hashing moves about 4/5.
+        Assert.assertTrue(remapped > KEYS / 5 * 0.8 && remapped < KEYS / 5 * 1.2);
+    }
+
+    private static List<RemoteClient> clients(int size) {
+        ImmutableList.Builder<RemoteClient> clients = ImmutableList.builder();
+        for (int i = 0; i < size; i++) {
+            clients.add(new TestRemoteClient(new Address("10.0.0." + i, 11800, false)));
+        }
+        return clients.build();
+    }
+
+    private static class TestRemoteClient implements RemoteClient {
+        private final Address address;
+
+        private TestRemoteClient(Address address) {
+            this.address = address;
+        }
+
+        @Override
+        public Address getAddress() {
+            return address;
+        }
+
+        @Override
+        public void connect() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void push(String nextWorkerName, StreamData streamData) {
+        }
+
+        @Override
+        public int compareTo(RemoteClient o) {
+            return address.compareTo(o.getAddress());
+        }
+    }
+
+    private static class TestStreamData extends StreamData {
+        private final int remoteHashCode;
+
+        private TestStreamData(int remoteHashCode) {
+            this.remoteHashCode = remoteHashCode;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return remoteHashCode;
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+    }
+}
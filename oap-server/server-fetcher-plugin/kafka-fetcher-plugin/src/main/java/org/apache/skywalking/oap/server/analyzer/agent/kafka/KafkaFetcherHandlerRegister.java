@@ -159,8 +159,13 @@ public class KafkaFetcherHandlerRegister implements Runnable {
             try {
                 ConsumerRecords<String, Bytes> consumerRecords = consumer.poll(Duration.ofMillis(500L));
                 if (!consumerRecords.isEmpty()) {
-                    for (final ConsumerRecord<String, Bytes> record : consumerRecords) {
-                        executor.submit(() -> handlerMap.get(record.topic()).handle(record));
+                    for (final TopicPartition partition : consumerRecords.partitions()) {
+                        final KafkaHandler handler = handlerMap.get(partition.topic());
+                        final List<ConsumerRecord<String, Bytes>> records = consumerRecords.records(partition);
+                        for (final List<ConsumerRecord<String, Bytes>> batch : Lists.partition(
+                            records, handler.getBatchSize())) {
+                            executor.submit(() -> handler.handle(batch));
+                        }
                     }
                     if (!enableKafkaMessageAutoCommit) {
                         consumer.commitAsync();
@@ -62,4 +62,18 @@ public interface KafkaHandler {
      */
     void handle(ConsumerRecord<String, Bytes> record);
 
+    /**
+     * The max number of records of a partition handled in one task, see {@link #handle(List)}.
+     */
+    default int getBatchSize() {
+        return 1;
+    }
+
+    /**
+     * Deserialize the records and push them to downstream in batch. By default, the records are handled one by one.
+     */
+    default void handle(List<ConsumerRecord<String, Bytes>> records) {
+        records.forEach(this::handle);
+    }
+
 }
@@ -17,6 +17,8 @@
 
 package org.apache.skywalking.oap.server.analyzer.agent.kafka.provider.handler;
 
+import java.util.ArrayList;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.utils.Bytes;
@@ -33,6 +35,10 @@ import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 @Slf4j
 public class LogHandler implements KafkaHandler {
+    /**
+     * The max number of logs analyzed in one batch.
+     */
+    private static final int BATCH_SIZE = 100;
 
     private final KafkaFetcherConfig config;
     private final HistogramMetrics histogram;
@@ -84,6 +90,41 @@ public class LogHandler implements KafkaHandler {
         }
     }
 
+    @Override
+    public int getBatchSize() {
+        return BATCH_SIZE;
+    }
+
+    /**
+     * The latency of the batch is shared by the logs, so the histogram still counts every log.
+     */
+    @Override
+    public void handle(final List<ConsumerRecord<String, Bytes>> records) {
+        final long startNanos = System.nanoTime();
+        final List<LogData.Builder> logs = new ArrayList<>(records.size());
+        try {
+            for (final ConsumerRecord<String, Bytes> record : records) {
+                try {
+                    logs.add(parseConsumerRecord(record).toBuilder());
+                } catch (Exception e) {
+                    errorCounter.inc();
+                    log.error(e.getMessage(), e);
+                }
+            }
+            logAnalyzerService.doAnalysis(logs);
+        } catch (Exception e) {
+            errorCounter.inc();
+            log.error(e.getMessage(), e);
+        } finally {
+            if (!logs.isEmpty()) {
+                final double latency = (System.nanoTime() - startNanos) / 1.0E9D / logs.size();
+                for (int i = 0; i < logs.size(); i++) {
+                    histogram.observe(latency);
+                }
+            }
+        }
+    }
+
     protected String getDataFormat() {
         return "protobuf";
     }
@@ -70,7 +70,8 @@ public class TraceSegmentHandler extends AbstractKafkaHandler {
     @Override
     public void handle(final ConsumerRecord<String, Bytes> record) {
         try (HistogramMetrics.Timer ignore = histogram.createTimer()) {
-            SegmentObject segment = SegmentObject.parseFrom(record.value().get());
+            final byte[] originalBinary = record.value().get();
+            SegmentObject segment = SegmentObject.parseFrom(originalBinary);
             if (log.isDebugEnabled()) {
                 log.debug(
                     "Fetched a tracing segment[{}] from service instance[{}].",
@@ -78,7 +79,7 @@ public class TraceSegmentHandler extends AbstractKafkaHandler {
                     segment.getServiceInstance()
                 );
             }
-            segmentParserService.send(segment);
+            segmentParserService.send(segment, originalBinary);
         } catch (InvalidProtocolBufferException e) {
             errorCounter.inc();
             log.error("handle record failed", e);
@@ -120,10 +120,13 @@ public class PrometheusFetcherProvider extends ModuleProvider {
             return;
         }
         final MeterSystem service = getManager().find(CoreModule.NAME).provider().getService(MeterSystem.class);
+        final MetricsCreator metricsCreator = getManager().find(TelemetryModule.NAME)
+                                                          .provider()
+                                                          .getService(MetricsCreator.class);
         rules.forEach(r -> {
             ses.scheduleAtFixedRate(new Runnable() {
 
-                private final PrometheusMetricConverter converter = new PrometheusMetricConverter(r, service);
+                private final PrometheusMetricConverter converter = new PrometheusMetricConverter(r, service, metricsCreator);
 
                 @Override public void run() {
                     try (HistogramMetrics.Timer ignored = histogram.createTimer()) {
@@ -73,7 +73,7 @@ public class MetricServiceGRPCHandler extends MetricsServiceGrpc.MetricsServiceI
 
         converters = config.rules()
                            .stream()
-                           .map(rule -> new PrometheusMetricConverter(rule, meterSystem))
+                           .map(rule -> new PrometheusMetricConverter(rule, meterSystem, metricsCreator))
                            .collect(Collectors.toList());
     }
 
@@ -42,17 +42,24 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.receiver.envoy.EnvoyMetricReceiverConfig;
 import org.apache.skywalking.oap.server.receiver.envoy.als.ServiceMetaInfo;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
 
 @Slf4j
 public class K8SServiceRegistry {
-    protected final Map<String/* ip */, ServiceMetaInfo> ipServiceMetaInfoMap;
+    /**
+     * The composed services, only the addresses affected by a service, endpoints or pod event are composed again in
+     * {@link #recompose(String)}. The service meta info is reused if neither the pod nor the service changes, to avoid
+     * evaluating the service name rule again.
+     */
+    protected final Map<String/* ip */, ComposedService> ipServiceMetaInfoMap;
 
     protected final Map<String/* namespace:serviceName */, V1Service> idServiceMap;
 
@@ -207,27 +214,33 @@ public class K8SServiceRegistry {
     }
 
     protected void addService(final V1Service service) {
-        ofNullable(service.getMetadata()).ifPresent(
-            metadata -> idServiceMap.put(metadata.getNamespace() + ":" + metadata.getName(), service)
-        );
-
-        recompose();
+        ofNullable(service.getMetadata()).ifPresent(metadata -> {
+            final String id = metadata.getNamespace() + ":" + metadata.getName();
+            idServiceMap.put(id, service);
+            recomposeService(id);
+        });
     }
 
     protected void removeService(final V1Service service) {
-        ofNullable(service.getMetadata()).ifPresent(
-            metadata -> idServiceMap.remove(metadata.getNamespace() + ":" + metadata.getName())
-        );
+        ofNullable(service.getMetadata()).ifPresent(metadata -> {
+            final String id = metadata.getNamespace() + ":" + metadata.getName();
+            idServiceMap.remove(id);
+            recomposeService(id);
+        });
     }
 
     protected void addPod(final V1Pod pod) {
-        ofNullable(pod.getStatus()).flatMap(status -> ofNullable(status.getPodIP())).ifPresent(podIP -> ipPodMap.put(podIP, pod));
-
-        recompose();
+        ofNullable(pod.getStatus()).flatMap(status -> ofNullable(status.getPodIP())).ifPresent(podIP -> {
+            ipPodMap.put(podIP, pod);
+            recompose(podIP);
+        });
     }
 
     protected void removePod(final V1Pod pod) {
-        ofNullable(pod.getStatus()).flatMap(status -> ofNullable(status.getPodIP())).ifPresent(ipPodMap::remove);
+        ofNullable(pod.getStatus()).flatMap(status -> ofNullable(status.getPodIP())).ifPresent(podIP -> {
+            ipPodMap.remove(podIP);
+            recompose(podIP);
+        });
     }
 
     protected void addEndpoints(final V1Endpoints endpoints) {
@@ -242,17 +255,21 @@ public class K8SServiceRegistry {
 
         ofNullable(endpoints.getSubsets()).ifPresent(subsets -> subsets.forEach(
             subset -> ofNullable(subset.getAddresses()).ifPresent(addresses -> addresses.forEach(
-                address -> ofNullable(address.getIp()).ifPresent(ip -> ipServiceMap.put(ip, namespace + ":" + name))
+                address -> ofNullable(address.getIp()).ifPresent(ip -> {
+                    ipServiceMap.put(ip, namespace + ":" + name);
+                    recompose(ip);
+                })
             ))
         ));
-
-        recompose();
     }
 
     protected void removeEndpoints(final V1Endpoints endpoints) {
         ofNullable(endpoints.getSubsets()).ifPresent(subsets -> subsets.forEach(
             subset -> ofNullable(subset.getAddresses()).ifPresent(addresses -> addresses.forEach(
-                address -> ofNullable(address.getIp()).ifPresent(ipServiceMap::remove)
+                address -> ofNullable(address.getIp()).ifPresent(ip -> {
+                    ipServiceMap.remove(ip);
+                    recompose(ip);
+                })
             ))
         ));
     }
@@ -268,53 +285,98 @@ public class K8SServiceRegistry {
     }
 
     public ServiceMetaInfo findService(final String ip) {
-        final ServiceMetaInfo service = ipServiceMetaInfoMap.get(ip);
+        final ComposedService service = ipServiceMetaInfoMap.get(ip);
         if (isNull(service)) {
-            log.debug("Unknown ip {}, ip -> service is null", ip);
+            if (log.isDebugEnabled()) {
+                log.debug("Unknown ip {}, ip -> service is null", ip);
+            }
             return config.serviceMetaInfoFactory().unknown();
         }
-        return service;
+        return service.serviceMetaInfo;
+    }
+
+    /**
+     * Compose the addresses of the service again.
+     */
+    protected void recomposeService(final String namespaceService) {
+        ipServiceMap.forEach((ip, id) -> {
+            if (namespaceService.equals(id)) {
+                recompose(ip);
+            }
+        });
     }
 
-    protected void recompose() {
-        ipPodMap.forEach((ip, pod) -> {
+    /**
+     * Compose the service of the address again. It is atomic per address, so the concurrent events of the pod and the
+     * service can't leave a stale result.
+     */
+    protected void recompose(final String ip) {
+        ipServiceMetaInfoMap.compute(ip, (unused, previous) -> {
+            final V1Pod pod = ipPodMap.get(ip);
             final String namespaceService = ipServiceMap.get(ip);
             final V1Service service;
-            if (isNullOrEmpty(namespaceService) || isNull(service = idServiceMap.get(namespaceService))) {
-                return;
+            if (isNull(pod) || isNullOrEmpty(namespaceService)
+                || isNull(service = idServiceMap.get(namespaceService))) {
+                return null;
             }
 
-            final Map<String, Object> context = ImmutableMap.of("service", service, "pod", pod);
+            if (nonNull(previous)
+                && isSameVersion(previous.pod.getMetadata(), pod.getMetadata())
+                && isSameVersion(previous.service.getMetadata(), service.getMetadata())) {
+                return previous;
+            }
             final V1ObjectMeta podMetadata = pod.getMetadata();
             if (isNull(podMetadata)) {
                 log.warn("Pod metadata is null, {}", pod);
-                return;
+                return null;
             }
-
-            ipServiceMetaInfoMap.computeIfAbsent(ip, unused -> {
-                final ServiceMetaInfo serviceMetaInfo = new ServiceMetaInfo();
-
-                try {
-                    serviceMetaInfo.setServiceName(serviceNameFormatter.format(context));
-                } catch (Exception e) {
-                    log.error("Failed to evaluate service name.", e);
-                    final V1ObjectMeta serviceMetadata = service.getMetadata();
-                    if (isNull(serviceMetadata)) {
-                        log.warn("Service metadata is null, {}", service);
-                        return config.serviceMetaInfoFactory().unknown();
-                    }
-                    serviceMetaInfo.setServiceName(serviceMetadata.getName());
-                }
-                serviceMetaInfo.setServiceInstanceName(
-                    String.format("%s.%s", podMetadata.getName(), podMetadata.getNamespace()));
-                serviceMetaInfo.setTags(transformLabelsToTags(podMetadata.getLabels()));
-
-                return serviceMetaInfo;
-            });
+            return new ComposedService(pod, service, compose(service, pod, podMetadata));
         });
     }
 
+    private ServiceMetaInfo compose(final V1Service service, final V1Pod pod, final V1ObjectMeta podMetadata) {
+        final Map<String, Object> context = ImmutableMap.of("service", service, "pod", pod);
+        final ServiceMetaInfo serviceMetaInfo = new ServiceMetaInfo();
+
+        try {
+            serviceMetaInfo.setServiceName(serviceNameFormatter.format(context));
+        } catch (Exception e) {
+            log.error("Failed to evaluate service name.", e);
+            final V1ObjectMeta serviceMetadata = service.getMetadata();
+            if (isNull(serviceMetadata)) {
+                log.warn("Service metadata is null, {}", service);
+                return config.serviceMetaInfoFactory().unknown();
+            }
+            serviceMetaInfo.setServiceName(serviceMetadata.getName());
+        }
+        serviceMetaInfo.setServiceInstanceName(
+            String.format("%s.%s", podMetadata.getName(), podMetadata.getNamespace()));
+        serviceMetaInfo.setTags(transformLabelsToTags(podMetadata.getLabels()));
+
+        return serviceMetaInfo;
+    }
+
+    /**
+     * The informers pass a new object for every update event, even if the resource is not changed, so the resource
+     * version is compared.
+     */
+    private static boolean isSameVersion(final V1ObjectMeta previous, final V1ObjectMeta current) {
+        if (previous == current) {
+            return true;
+        }
+        return nonNull(previous) && nonNull(current)
+            && nonNull(current.getResourceVersion())
+            && current.getResourceVersion().equals(previous.getResourceVersion());
+    }
+
     public boolean isEmpty() {
         return ipServiceMetaInfoMap.isEmpty();
     }
+
+    @RequiredArgsConstructor
+    protected static class ComposedService {
+        private final V1Pod pod;
+        private final V1Service service;
+        private final ServiceMetaInfo serviceMetaInfo;
+    }
 }
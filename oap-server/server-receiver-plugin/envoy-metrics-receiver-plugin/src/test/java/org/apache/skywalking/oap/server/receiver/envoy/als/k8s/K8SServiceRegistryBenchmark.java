@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.envoy.als.k8s;
+
+import com.google.common.collect.ImmutableMap;
+import io.kubernetes.client.openapi.models.V1EndpointAddress;
+import io.kubernetes.client.openapi.models.V1EndpointSubset;
+import io.kubernetes.client.openapi.models.V1Endpoints;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodStatus;
+import io.kubernetes.client.openapi.models.V1Service;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.receiver.envoy.EnvoyMetricReceiverConfig;
+import org.apache.skywalking.oap.server.receiver.envoy.als.ServiceMetaInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure {@link K8SServiceRegistry#findService(String)} against the lookup in a plain {@link ConcurrentHashMap} keyed
+ * by the IP strings, and the handling of the informer events. The IP strings are copied before the lookups, as the
+ * ones decoded from the access logs don't have the cached hash codes.
+ */
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class K8SServiceRegistryBenchmark {
+    private static final int LOOKUP_NUMBER = 1024;
+
+    @State(Scope.Thread)
+    public static class MyState {
+        @Param({
+            "100",
+            "10000"
+        })
+        private int podNumber;
+
+        private K8SServiceRegistry registry;
+        private Map<String, ServiceMetaInfo> ipServiceMetaInfoMap;
+        private char[][] ips;
+        private long resourceVersion;
+        private int updated;
+
+        @Setup
+        public void setup() {
+            registry = new K8SServiceRegistry(new EnvoyMetricReceiverConfig());
+            for (int i = 0; i < podNumber / 10; i++) {
+                registry.addService(service(i));
+                registry.addEndpoints(endpoints(i));
+            }
+            for (int i = 0; i < podNumber; i++) {
+                registry.addPod(pod(i));
+            }
+
+            ipServiceMetaInfoMap = new ConcurrentHashMap<>();
+            for (int i = 0; i < podNumber; i++) {
+                ipServiceMetaInfoMap.put(ip(i), registry.findService(ip(i)));
+            }
+
+            // 1/8 of the lookups are unknown addresses, such as the ingress outside the cluster.
+            ips = new char[LOOKUP_NUMBER][];
+            for (int i = 0; i < LOOKUP_NUMBER; i++) {
+                ips[i] = (i % 8 == 0 ? "192.168.1." + i % 256 : ip(i * 31 % podNumber)).toCharArray();
+            }
+        }
+
+        private V1Service service(int index) {
+            return new V1Service().metadata(
+                new V1ObjectMeta().namespace("default")
+                                  .name("service-" + index)
+                                  .resourceVersion(String.valueOf(++resourceVersion)));
+        }
+
+        private static V1Endpoints endpoints(int index) {
+            final V1EndpointSubset subset = new V1EndpointSubset();
+            for (int j = 0; j < 10; j++) {
+                subset.addAddressesItem(new V1EndpointAddress().ip(ip(index * 10 + j)));
+            }
+            return new V1Endpoints().metadata(new V1ObjectMeta().namespace("default").name("service-" + index))
+                                    .addSubsetsItem(subset);
+        }
+
+        private V1Pod pod(int index) {
+            return new V1Pod().metadata(
+                new V1ObjectMeta().namespace("default")
+                                  .name("pod-" + index)
+                                  .resourceVersion(String.valueOf(++resourceVersion))
+                                  .labels(ImmutableMap.of("service.istio.io/canonical-name", "service-" + index / 10)))
+                              .status(new V1PodStatus().podIP(ip(index)));
+        }
+
+        private int nextUpdated(int bound) {
+            updated = (updated + 1) % bound;
+            return updated;
+        }
+
+        private static String ip(int index) {
+            return "10.44." + (index >> 8) + "." + (index & 0xFF);
+        }
+    }
+
+    @Benchmark
+    public void findService(MyState state, Blackhole blackhole) {
+        for (final char[] ip : state.ips) {
+            blackhole.consume(state.registry.findService(new String(ip)));
+        }
+    }
+
+    @Benchmark
+    public void concurrentHashMap(MyState state, Blackhole blackhole) {
+        for (final char[] ip : state.ips) {
+            blackhole.consume(state.ipServiceMetaInfoMap.get(new String(ip)));
+        }
+    }
+
+    /**
+     * A pod is changed, only its address is composed again.
+     */
+    @Benchmark
+    public void updatePod(MyState state) {
+        state.registry.addPod(state.pod(state.nextUpdated(state.podNumber)));
+    }
+
+    /**
+     * A service is changed, the addresses of its endpoints are composed again.
+     */
+    @Benchmark
+    public void updateService(MyState state) {
+        state.registry.addService(state.service(state.nextUpdated(state.podNumber / 10)));
+    }
+
+    /**
+     * The informer resyncs unchanged endpoints, the composed services are reused.
+     */
+    @Benchmark
+    public void resyncEndpoints(MyState state) {
+        state.registry.addEndpoints(MyState.endpoints(state.nextUpdated(state.podNumber / 10)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(K8SServiceRegistryBenchmark.class.getName())
+            .addProfiler("gc")
+            .build();
+        new Runner(opt).run();
+    }
+}
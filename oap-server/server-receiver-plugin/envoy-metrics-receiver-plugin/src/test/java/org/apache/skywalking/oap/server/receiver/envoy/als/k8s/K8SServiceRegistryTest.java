@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.envoy.als.k8s;
+
+import com.google.common.collect.ImmutableMap;
+import io.kubernetes.client.openapi.models.V1EndpointAddress;
+import io.kubernetes.client.openapi.models.V1EndpointSubset;
+import io.kubernetes.client.openapi.models.V1Endpoints;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodStatus;
+import io.kubernetes.client.openapi.models.V1Service;
+import org.apache.skywalking.oap.server.receiver.envoy.EnvoyMetricReceiverConfig;
+import org.apache.skywalking.oap.server.receiver.envoy.als.ServiceMetaInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class K8SServiceRegistryTest {
+    private EnvoyMetricReceiverConfig config;
+    private K8SServiceRegistry registry;
+
+    @Before
+    public void setUp() {
+        config = new EnvoyMetricReceiverConfig();
+        registry = new K8SServiceRegistry(config);
+    }
+
+    @Test
+    public void testFindService() {
+        assertTrue(registry.isEmpty());
+
+        registry.addService(service("productpage"));
+        registry.addEndpoints(endpoints("productpage", "10.44.2.54"));
+        registry.addPod(pod("productpage-v1", "productpage", "10.44.2.54", "1"));
+
+        assertFalse(registry.isEmpty());
+        final ServiceMetaInfo service = registry.findService("10.44.2.54");
+        assertEquals("productpage", service.getServiceName());
+        assertEquals("productpage-v1.default", service.getServiceInstanceName());
+        assertSame(config.serviceMetaInfoFactory().unknown(), registry.findService("10.44.2.55"));
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        registry.addService(service("productpage"));
+        registry.addEndpoints(endpoints("productpage", "10.44.2.54"));
+        registry.addPod(pod("productpage-v1", "productpage", "10.44.2.54", "1"));
+        final ServiceMetaInfo service = registry.findService("10.44.2.54");
+
+        // The same version of the pod, the composed service is reused.
+        registry.addPod(pod("productpage-v1", "productpage", "10.44.2.54", "1"));
+        assertSame(service, registry.findService("10.44.2.54"));
+
+        registry.addPod(pod("productpage-v1", "productpage-canary", "10.44.2.54", "2"));
+        assertNotSame(service, registry.findService("10.44.2.54"));
+        assertEquals("productpage-canary", registry.findService("10.44.2.54").getServiceName());
+
+        registry.removePod(pod("productpage-v1", "productpage-canary", "10.44.2.54", "2"));
+        assertTrue(registry.isEmpty());
+        assertSame(config.serviceMetaInfoFactory().unknown(), registry.findService("10.44.2.54"));
+    }
+
+    @Test
+    public void testRemoveServiceAndEndpoints() {
+        registry.addService(service("productpage"));
+        registry.addEndpoints(endpoints("productpage", "10.44.2.54"));
+        registry.addPod(pod("productpage-v1", "productpage", "10.44.2.54", "1"));
+        registry.addPod(pod("reviews-v1", "reviews", "10.44.2.55", "1"));
+        // The pod is composed once its service and endpoints arrive.
+        assertSame(config.serviceMetaInfoFactory().unknown(), registry.findService("10.44.2.55"));
+        registry.addService(service("reviews"));
+        registry.addEndpoints(endpoints("reviews", "10.44.2.55"));
+        assertEquals("reviews", registry.findService("10.44.2.55").getServiceName());
+
+        registry.removeService(service("productpage"));
+        assertSame(config.serviceMetaInfoFactory().unknown(), registry.findService("10.44.2.54"));
+        assertEquals("reviews", registry.findService("10.44.2.55").getServiceName());
+
+        registry.removeEndpoints(endpoints("reviews", "10.44.2.55"));
+        assertSame(config.serviceMetaInfoFactory().unknown(), registry.findService("10.44.2.55"));
+        assertTrue(registry.isEmpty());
+    }
+
+    private static V1Service service(final String name) {
+        return new V1Service().metadata(new V1ObjectMeta().namespace("default").name(name).resourceVersion("1"));
+    }
+
+    private static V1Endpoints endpoints(final String name, final String ip) {
+        return new V1Endpoints().metadata(new V1ObjectMeta().namespace("default").name(name))
+                                .addSubsetsItem(new V1EndpointSubset().addAddressesItem(new V1EndpointAddress().ip(ip)));
+    }
+
+    private static V1Pod pod(final String name, final String app, final String ip, final String version) {
+        return new V1Pod().metadata(new V1ObjectMeta().namespace("default")
+                                                      .name(name)
+                                                      .resourceVersion(version)
+                                                      .labels(ImmutableMap.of("service.istio.io/canonical-name", app)))
+                          .status(new V1PodStatus().podIP(ip));
+    }
+}
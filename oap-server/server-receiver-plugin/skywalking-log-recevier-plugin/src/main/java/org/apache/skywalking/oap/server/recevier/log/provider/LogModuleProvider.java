@@ -17,6 +17,12 @@
 
 package org.apache.skywalking.oap.server.recevier.log.provider;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.oap.log.analyzer.module.LogAnalyzerModule;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.server.GRPCHandlerRegister;
@@ -33,6 +39,18 @@ import org.apache.skywalking.oap.server.recevier.log.provider.handler.rest.LogRe
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
 
 public class LogModuleProvider extends ModuleProvider {
+    /**
+     * The threads analyzing the logs flushed from the idle gRPC streams.
+     */
+    private static final int ANALYSIS_THREADS = 2;
+    /**
+     * The max number of the flushed batches waiting for the analysis. Once it is full, the flush timer analyzes the
+     * batch by itself.
+     */
+    private static final int ANALYSIS_QUEUE_SIZE = 1000;
+
+    private ScheduledExecutorService flushScheduler;
+    private ThreadPoolExecutor analysisExecutor;
 
     @Override
     public String name() {
@@ -60,7 +78,19 @@ public class LogModuleProvider extends ModuleProvider {
                                                               .provider()
                                                               .getService(GRPCHandlerRegister.class);
 
-        grpcHandlerRegister.addHandler(new LogReportServiceHandler(getManager()));
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("LogReportFlush-%d").setDaemon(true).build());
+        analysisExecutor = new ThreadPoolExecutor(
+            ANALYSIS_THREADS, ANALYSIS_THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(ANALYSIS_QUEUE_SIZE),
+            new ThreadFactoryBuilder().setNameFormat("LogReportAnalysis-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flushScheduler.shutdownNow();
+            analysisExecutor.shutdown();
+        }));
+        grpcHandlerRegister.addHandler(new LogReportServiceHandler(getManager(), flushScheduler, analysisExecutor));
 
         JettyHandlerRegister jettyHandlerRegister = getManager().find(SharingServerModule.NAME)
                                                                 .provider()
@@ -18,6 +18,12 @@
 package org.apache.skywalking.oap.server.recevier.log.provider.handler.grpc;
 
 import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
@@ -34,18 +40,40 @@ import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 /**
- * Collect log data
+ * Collect log data. The logs of a stream are buffered and analyzed in batch, the buffer is flushed once it is full, or
+ * the first buffered log has waited for {@link #FLUSH_INTERVAL_MILLIS}. A full buffer is analyzed by the thread of the
+ * stream, while the timer only takes the buffer and hands it to the analysis executor, so a slow analysis doesn't hold
+ * the stream or delay the timers of the other streams.
  */
 @Slf4j
 public class LogReportServiceHandler extends LogReportServiceGrpc.LogReportServiceImplBase implements GRPCHandler {
+    /**
+     * The max number of logs in the streaming buffered before the analysis.
+     */
+    private static final int MAX_BATCH_SIZE = 100;
+    /**
+     * The max time of a log waiting in the buffer, flush the buffer even if the client keeps the stream open without
+     * sending more logs.
+     */
+    static final long FLUSH_INTERVAL_MILLIS = 1000;
 
     private final ModuleManager moduleManager;
     private final HistogramMetrics histogram;
     private final CounterMetrics errorCounter;
     private final ILogAnalyzerService logAnalyzerService;
+    private final ScheduledExecutorService flushScheduler;
+    private final Executor analysisExecutor;
 
-    public LogReportServiceHandler(final ModuleManager moduleManager) {
+    /**
+     * @param flushScheduler   schedules the flush of the idle streams.
+     * @param analysisExecutor analyzes the logs flushed by the timer.
+     */
+    public LogReportServiceHandler(final ModuleManager moduleManager,
+                                   final ScheduledExecutorService flushScheduler,
+                                   final Executor analysisExecutor) {
         this.moduleManager = moduleManager;
+        this.flushScheduler = flushScheduler;
+        this.analysisExecutor = analysisExecutor;
         MetricsCreator metricsCreator = moduleManager.find(TelemetryModule.NAME)
                                                      .provider()
                                                      .getService(MetricsCreator.class);
@@ -68,6 +96,10 @@ public class LogReportServiceHandler extends LogReportServiceGrpc.LogReportServi
 
             private String serviceName;
 
+            private List<LogData.Builder> logs = new ArrayList<>();
+
+            private ScheduledFuture<?> scheduledFlush;
+
             /**
              * If this is not the first element of the streaming,
              * use the previous not-null name as the service name.
@@ -85,27 +117,77 @@ public class LogReportServiceHandler extends LogReportServiceGrpc.LogReportServi
                 if (log.isDebugEnabled()) {
                     log.debug("received log in streaming");
                 }
-                HistogramMetrics.Timer timer = histogram.createTimer();
-                try {
-                    LogData.Builder builder = logData.toBuilder();
+                LogData.Builder builder = logData.toBuilder();
+                final List<LogData.Builder> batch;
+                synchronized (this) {
                     setServiceName(builder);
-                    logAnalyzerService.doAnalysis(builder, null);
+                    logs.add(builder);
+                    if (logs.size() < MAX_BATCH_SIZE) {
+                        if (scheduledFlush == null) {
+                            scheduledFlush = flushScheduler.schedule(
+                                this::flush, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                        }
+                        return;
+                    }
+                    batch = takeLogs();
+                }
+                analyze(batch);
+            }
+
+            private void flush() {
+                final List<LogData.Builder> batch = takeLogs();
+                if (!batch.isEmpty()) {
+                    analysisExecutor.execute(() -> analyze(batch));
+                }
+            }
+
+            /**
+             * Take the buffered logs and cancel the scheduled flush.
+             */
+            private synchronized List<LogData.Builder> takeLogs() {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+                final List<LogData.Builder> batch = logs;
+                if (!batch.isEmpty()) {
+                    logs = new ArrayList<>();
+                }
+                return batch;
+            }
+
+            /**
+             * Analyze the logs in one batch. The latency of the batch is shared by the logs, so the histogram still
+             * counts every log.
+             */
+            private void analyze(final List<LogData.Builder> batch) {
+                if (batch.isEmpty()) {
+                    return;
+                }
+                final long startNanos = System.nanoTime();
+                try {
+                    logAnalyzerService.doAnalysis(batch);
                 } catch (Exception e) {
                     errorCounter.inc();
                     log.error(e.getMessage(), e);
                 } finally {
-                    timer.finish();
+                    final double latency = (System.nanoTime() - startNanos) / 1.0E9D / batch.size();
+                    for (int i = 0; i < batch.size(); i++) {
+                        histogram.observe(latency);
+                    }
                 }
             }
 
             @Override
             public void onError(final Throwable throwable) {
+                analyze(takeLogs());
                 log.error(throwable.getMessage(), throwable);
                 responseObserver.onCompleted();
             }
 
             @Override
             public void onCompleted() {
+                analyze(takeLogs());
                 responseObserver.onNext(Commands.newBuilder().build());
                 responseObserver.onCompleted();
             }
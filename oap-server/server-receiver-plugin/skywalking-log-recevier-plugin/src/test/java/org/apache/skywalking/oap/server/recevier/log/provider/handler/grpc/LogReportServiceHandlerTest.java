@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.recevier.log.provider.handler.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.LogReportServiceGrpc;
+import org.apache.skywalking.oap.log.analyzer.module.LogAnalyzerModule;
+import org.apache.skywalking.oap.log.analyzer.provider.log.ILogAnalyzerService;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LogReportServiceHandlerTest {
+    private final AtomicInteger observed = new AtomicInteger();
+    private ILogAnalyzerService logAnalyzerService;
+    private ScheduledExecutorService flushScheduler;
+    private ExecutorService analysisExecutor;
+    private Server server;
+    private ManagedChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        logAnalyzerService = mock(ILogAnalyzerService.class);
+        ModuleManager moduleManager = mock(ModuleManager.class, RETURNS_DEEP_STUBS);
+        when(moduleManager.find(LogAnalyzerModule.NAME).provider().getService(ILogAnalyzerService.class))
+            .thenReturn(logAnalyzerService);
+        when(moduleManager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class))
+            .thenReturn(new MetricsCreatorNoop() {
+                @Override
+                public HistogramMetrics createHistogramMetric(final String name, final String tips,
+                                                              final MetricsTag.Keys tagKeys,
+                                                              final MetricsTag.Values tagValues,
+                                                              final double... buckets) {
+                    return new HistogramMetrics() {
+                        @Override
+                        public void observe(final double value) {
+                            observed.incrementAndGet();
+                        }
+                    };
+                }
+            });
+
+        flushScheduler = Executors.newSingleThreadScheduledExecutor();
+        analysisExecutor = Executors.newSingleThreadExecutor();
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                                       .directExecutor()
+                                       .addService(
+                                           new LogReportServiceHandler(moduleManager, flushScheduler, analysisExecutor))
+                                       .build()
+                                       .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    }
+
+    @After
+    public void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        flushScheduler.shutdownNow();
+        analysisExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testFlushFullBatchAndCompletion() throws Exception {
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        StreamObserver<LogData> stream = collect(completed);
+        send(stream, 150);
+        stream.onCompleted();
+        completed.get(10, TimeUnit.SECONDS);
+
+        List<List<LogData.Builder>> batches = captureBatches(2);
+        Assert.assertEquals(100, batches.get(0).size());
+        Assert.assertEquals(50, batches.get(1).size());
+        // The service name of the first log is used by the rest of the stream.
+        Assert.assertEquals("service", batches.get(1).get(49).getService());
+        Assert.assertEquals(150, observed.get());
+    }
+
+    @Test
+    public void testFlushIdleStream() throws Exception {
+        StreamObserver<LogData> stream = collect(new CompletableFuture<>());
+        send(stream, 10);
+
+        verify(logAnalyzerService, after(LogReportServiceHandler.FLUSH_INTERVAL_MILLIS / 2).never())
+            .doAnalysis(any(List.class));
+        List<List<LogData.Builder>> batches = captureBatches(1);
+        Assert.assertEquals(10, batches.get(0).size());
+        Assert.assertEquals(10, observed.get());
+
+        // Nothing left for the completion.
+        stream.onCompleted();
+        verify(logAnalyzerService, after(200).times(1)).doAnalysis(any(List.class));
+    }
+
+    @Test(timeout = 20_000)
+    @SuppressWarnings("unchecked")
+    public void testSlowFlushDoesNotBlockStream() throws Exception {
+        CountDownLatch analyzing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (((List<LogData.Builder>) invocation.getArgument(0)).size() == 10) {
+                analyzing.countDown();
+                release.await();
+            }
+            return null;
+        }).when(logAnalyzerService).doAnalysis(any(List.class));
+
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        StreamObserver<LogData> stream = collect(completed);
+        send(stream, 10);
+        Assert.assertTrue(analyzing.await(LogReportServiceHandler.FLUSH_INTERVAL_MILLIS * 3, TimeUnit.MILLISECONDS));
+
+        // The flushed batch is still being analyzed, the stream goes on.
+        send(stream, 100);
+        stream.onCompleted();
+        completed.get(10, TimeUnit.SECONDS);
+        release.countDown();
+
+        List<List<LogData.Builder>> batches = captureBatches(2);
+        Assert.assertEquals(10, batches.get(0).size());
+        Assert.assertEquals(100, batches.get(1).size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<LogData.Builder>> captureBatches(final int count) {
+        ArgumentCaptor<List<LogData.Builder>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logAnalyzerService, timeout(LogReportServiceHandler.FLUSH_INTERVAL_MILLIS * 3).times(count))
+            .doAnalysis(captor.capture());
+        verify(logAnalyzerService, never()).doAnalysis(any(LogData.Builder.class), any());
+        return captor.getAllValues();
+    }
+
+    private StreamObserver<LogData> collect(final CompletableFuture<Void> completed) {
+        return LogReportServiceGrpc.newStub(channel).collect(new StreamObserver<Commands>() {
+            @Override
+            public void onNext(final Commands commands) {
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                completed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.complete(null);
+            }
+        });
+    }
+
+    private static void send(final StreamObserver<LogData> stream, final int count) {
+        for (int i = 0; i < count; i++) {
+            LogData.Builder builder = LogData.newBuilder().setTimestamp(i + 1);
+            if (i == 0) {
+                builder.setService("service");
+            }
+            stream.onNext(builder.build());
+        }
+    }
+}
@@ -46,7 +46,11 @@ public class ReceiverGRPCHandlerRegister implements GRPCHandlerRegister {
 
     @Override
     public void addHandler(ServerServiceDefinition definition) {
-        grpcHandlerRegister.addHandler(definition);
+        if (interceptors.isEmpty()) {
+            grpcHandlerRegister.addHandler(definition);
+        } else {
+            grpcHandlerRegister.addHandler(ServerInterceptors.intercept(definition, interceptors));
+        }
     }
 
     /**
@@ -67,8 +67,10 @@ public class TraceModuleProvider extends ModuleProvider {
                                                                 .getService(JettyHandlerRegister.class);
 
         TraceSegmentReportServiceHandler traceSegmentReportServiceHandler = new TraceSegmentReportServiceHandler(getManager());
-        grpcHandlerRegister.addHandler(traceSegmentReportServiceHandler);
-        grpcHandlerRegister.addHandler(new TraceSegmentReportServiceHandlerCompat(traceSegmentReportServiceHandler));
+        grpcHandlerRegister.addHandler(
+            traceSegmentReportServiceHandler.keepOriginalBinary(traceSegmentReportServiceHandler.bindService()));
+        grpcHandlerRegister.addHandler(traceSegmentReportServiceHandler.keepOriginalBinary(
+            new TraceSegmentReportServiceHandlerCompat(traceSegmentReportServiceHandler).bindService()));
 
         jettyHandlerRegister.addHandler(new TraceSegmentReportListServletHandler(getManager()));
         jettyHandlerRegister.addHandler(new TraceSegmentReportSingleServletHandler(getManager()));
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc;
+
+import com.google.common.io.ByteStreams;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+
+/**
+ * The segment received through gRPC, with the exact binary sent by the agent. The binary is saved as the segment raw
+ * data, rather than serializing the parsed {@link SegmentObject} again.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReceivedSegment {
+    private final SegmentObject segment;
+    private final byte[] originalBinary;
+
+    /**
+     * Read the whole message binary, then parse the {@link SegmentObject} from it.
+     */
+    static class Marshaller implements MethodDescriptor.Marshaller<ReceivedSegment> {
+        @Override
+        public InputStream stream(final ReceivedSegment value) {
+            return new ByteArrayInputStream(value.getOriginalBinary());
+        }
+
+        @Override
+        public ReceivedSegment parse(final InputStream stream) {
+            try {
+                final byte[] binary = ByteStreams.toByteArray(stream);
+                return new ReceivedSegment(SegmentObject.parseFrom(binary), binary);
+            } catch (InvalidProtocolBufferException e) {
+                throw Status.INTERNAL.withDescription("Invalid protobuf byte sequence")
+                                     .withCause(e)
+                                     .asRuntimeException();
+            } catch (IOException e) {
+                throw Status.INTERNAL.withDescription("Failed to read the segment")
+                                     .withCause(e)
+                                     .asRuntimeException();
+            }
+        }
+    }
+}
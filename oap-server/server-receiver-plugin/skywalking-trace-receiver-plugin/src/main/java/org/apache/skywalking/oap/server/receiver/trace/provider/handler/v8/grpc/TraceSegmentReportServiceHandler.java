@@ -18,6 +18,10 @@
 
 package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc;
 
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.stub.ServerCalls;
 import io.grpc.stub.StreamObserver;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.network.common.v3.Commands;
@@ -62,34 +66,22 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
 
     @Override
     public StreamObserver<SegmentObject> collect(StreamObserver<Commands> responseObserver) {
-        return new StreamObserver<SegmentObject>() {
+        return new SegmentStreamObserver<SegmentObject>(responseObserver) {
             @Override
-            public void onNext(SegmentObject segment) {
-                if (log.isDebugEnabled()) {
-                    log.debug("received segment in streaming");
-                }
-
-                HistogramMetrics.Timer timer = histogram.createTimer();
-                try {
-                    segmentParserService.send(segment);
-                } catch (Exception e) {
-                    errorCounter.inc();
-                    log.error(e.getMessage(), e);
-                } finally {
-                    timer.finish();
-                }
-            }
-
-            @Override
-            public void onError(Throwable throwable) {
-                log.error(throwable.getMessage(), throwable);
-                responseObserver.onCompleted();
+            protected void send(final SegmentObject segment) {
+                segmentParserService.send(segment);
             }
+        };
+    }
 
+    /**
+     * The same as {@link #collect(StreamObserver)}, but the segments keep the binary received from the network.
+     */
+    public StreamObserver<ReceivedSegment> collectWithOriginalBinary(StreamObserver<Commands> responseObserver) {
+        return new SegmentStreamObserver<ReceivedSegment>(responseObserver) {
             @Override
-            public void onCompleted() {
-                responseObserver.onNext(Commands.newBuilder().build());
-                responseObserver.onCompleted();
+            protected void send(final ReceivedSegment segment) {
+                segmentParserService.send(segment.getSegment(), segment.getOriginalBinary());
             }
         };
     }
@@ -100,19 +92,83 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
             log.debug("received {} segments", request.getSegmentsCount());
         }
 
-        request.getSegmentsList().forEach(segment -> {
-            HistogramMetrics.Timer timer = histogram.createTimer();
-            try {
-                segmentParserService.send(segment);
-            } catch (Exception e) {
-                errorCounter.inc();
-                log.error(e.getMessage(), e);
-            } finally {
-                timer.finish();
-            }
-        });
+        request.getSegmentsList().forEach(segment -> analyze(() -> segmentParserService.send(segment)));
 
         responseObserver.onNext(Commands.newBuilder().build());
         responseObserver.onCompleted();
     }
+
+    /**
+     * Replace the {@code collect} method of the given service definition, the replacement reads the segments with the
+     * original binary, see {@link #collectWithOriginalBinary(StreamObserver)}. Other methods are kept as they are.
+     *
+     * @param definition bound from this handler, or the compatible handler delegating to this one.
+     */
+    public ServerServiceDefinition keepOriginalBinary(ServerServiceDefinition definition) {
+        final String serviceName = definition.getServiceDescriptor().getName();
+        final String collectMethodName = MethodDescriptor.generateFullMethodName(serviceName, "collect");
+        final ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(serviceName);
+        for (final ServerMethodDefinition<?, ?> method : definition.getMethods()) {
+            final MethodDescriptor<?, ?> descriptor = method.getMethodDescriptor();
+            if (collectMethodName.equals(descriptor.getFullMethodName())) {
+                builder.addMethod(
+                    TraceSegmentReportServiceGrpc.getCollectMethod()
+                                                 .toBuilder(
+                                                     new ReceivedSegment.Marshaller(),
+                                                     TraceSegmentReportServiceGrpc.getCollectMethod()
+                                                                                  .getResponseMarshaller()
+                                                 )
+                                                 .setFullMethodName(descriptor.getFullMethodName())
+                                                 .build(),
+                    ServerCalls.asyncClientStreamingCall(this::collectWithOriginalBinary)
+                );
+            } else {
+                builder.addMethod(method);
+            }
+        }
+        return builder.build();
+    }
+
+    private void analyze(Runnable analysis) {
+        HistogramMetrics.Timer timer = histogram.createTimer();
+        try {
+            analysis.run();
+        } catch (Exception e) {
+            errorCounter.inc();
+            log.error(e.getMessage(), e);
+        } finally {
+            timer.finish();
+        }
+    }
+
+    private abstract class SegmentStreamObserver<T> implements StreamObserver<T> {
+        private final StreamObserver<Commands> responseObserver;
+
+        private SegmentStreamObserver(final StreamObserver<Commands> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        protected abstract void send(T segment);
+
+        @Override
+        public void onNext(T segment) {
+            if (log.isDebugEnabled()) {
+                log.debug("received segment in streaming");
+            }
+
+            analyze(() -> send(segment));
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.error(throwable.getMessage(), throwable);
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void onCompleted() {
+            responseObserver.onNext(Commands.newBuilder().build());
+            responseObserver.onCompleted();
+        }
+    }
 }
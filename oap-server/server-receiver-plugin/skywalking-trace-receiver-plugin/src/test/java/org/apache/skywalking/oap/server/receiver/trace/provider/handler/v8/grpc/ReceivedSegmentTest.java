@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc;
+
+import io.grpc.StatusRuntimeException;
+import java.io.ByteArrayInputStream;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReceivedSegmentTest {
+    @Test
+    public void testParseKeepsOriginalBinary() {
+        final SegmentObject segment = SegmentObject.newBuilder()
+                                                   .setTraceId("trace-id")
+                                                   .setTraceSegmentId("segment-id")
+                                                   .setService("service")
+                                                   .setServiceInstance("instance")
+                                                   .addSpans(SpanObject.newBuilder()
+                                                                       .setSpanId(0)
+                                                                       .setParentSpanId(-1)
+                                                                       .setOperationName("/test"))
+                                                   .build();
+        final byte[] binary = segment.toByteArray();
+
+        final ReceivedSegment received = new ReceivedSegment.Marshaller().parse(new ByteArrayInputStream(binary));
+
+        Assert.assertEquals(segment, received.getSegment());
+        Assert.assertArrayEquals(binary, received.getOriginalBinary());
+    }
+
+    @Test(expected = StatusRuntimeException.class)
+    public void testParseInvalidBinary() {
+        new ReceivedSegment.Marshaller().parse(new ByteArrayInputStream(new byte[] {(byte) 0xFF, (byte) 0xFF}));
+    }
+}
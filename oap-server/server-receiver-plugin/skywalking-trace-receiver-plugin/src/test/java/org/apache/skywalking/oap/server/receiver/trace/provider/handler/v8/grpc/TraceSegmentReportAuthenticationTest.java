@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
+import org.apache.skywalking.oap.server.analyzer.module.AnalyzerModule;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.ISegmentParserService;
+import org.apache.skywalking.oap.server.core.server.GRPCHandlerRegister;
+import org.apache.skywalking.oap.server.core.server.auth.AuthenticationInterceptor;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.receiver.sharing.server.ReceiverGRPCHandlerRegister;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The segment service definition keeping the original binary should be protected by the authentication of the
+ * sharing server, as same as the services registered as {@link BindableService}.
+ */
+public class TraceSegmentReportAuthenticationTest {
+    private static final String TOKEN = "test-token";
+
+    private ISegmentParserService segmentParserService;
+    private Server server;
+    private ManagedChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        segmentParserService = mock(ISegmentParserService.class);
+        ModuleManager moduleManager = mock(ModuleManager.class, RETURNS_DEEP_STUBS);
+        when(moduleManager.find(AnalyzerModule.NAME).provider().getService(ISegmentParserService.class))
+            .thenReturn(segmentParserService);
+        when(moduleManager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class))
+            .thenReturn(new MetricsCreatorNoop());
+
+        String serverName = InProcessServerBuilder.generateName();
+        InProcessServerBuilder serverBuilder = InProcessServerBuilder.forName(serverName).directExecutor();
+
+        ReceiverGRPCHandlerRegister register = new ReceiverGRPCHandlerRegister();
+        register.setGrpcHandlerRegister(new GRPCHandlerRegister() {
+            @Override
+            public void addHandler(BindableService handler) {
+                serverBuilder.addService(handler);
+            }
+
+            @Override
+            public void addHandler(ServerServiceDefinition definition) {
+                serverBuilder.addService(definition);
+            }
+
+            @Override
+            public void addFilter(ServerInterceptor interceptor) {
+                serverBuilder.intercept(interceptor);
+            }
+        });
+        register.addFilter(new AuthenticationInterceptor(TOKEN));
+
+        TraceSegmentReportServiceHandler handler = new TraceSegmentReportServiceHandler(moduleManager);
+        register.addHandler(handler.keepOriginalBinary(handler.bindService()));
+
+        server = serverBuilder.build().start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    }
+
+    @After
+    public void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testReportWithoutToken() throws Exception {
+        Status status = report(TraceSegmentReportServiceGrpc.newStub(channel));
+
+        Assert.assertEquals(Status.Code.PERMISSION_DENIED, status.getCode());
+        verify(segmentParserService, never()).send(any());
+        verify(segmentParserService, never()).send(any(), any());
+    }
+
+    @Test
+    public void testReportWithToken() throws Exception {
+        Metadata metadata = new Metadata();
+        metadata.put(Metadata.Key.of("Authentication", Metadata.ASCII_STRING_MARSHALLER), TOKEN);
+        Status status = report(MetadataUtils.attachHeaders(TraceSegmentReportServiceGrpc.newStub(channel), metadata));
+
+        Assert.assertEquals(Status.Code.OK, status.getCode());
+        verify(segmentParserService, timeout(1000)).send(any(), any());
+    }
+
+    private Status report(TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub stub) throws Exception {
+        CompletableFuture<Status> result = new CompletableFuture<>();
+        StreamObserver<SegmentObject> observer = stub.collect(new StreamObserver<Commands>() {
+            @Override
+            public void onNext(Commands commands) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.complete(Status.fromThrowable(throwable));
+            }
+
+            @Override
+            public void onCompleted() {
+                result.complete(Status.OK);
+            }
+        });
+        observer.onNext(SegmentObject.newBuilder().setTraceId("trace-id").setTraceSegmentId("segment-id").build());
+        observer.onCompleted();
+        return result.get(10, TimeUnit.SECONDS);
+    }
+}
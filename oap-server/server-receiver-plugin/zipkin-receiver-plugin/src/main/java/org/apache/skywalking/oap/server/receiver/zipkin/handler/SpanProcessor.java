@@ -18,40 +18,39 @@
 
 package org.apache.skywalking.oap.server.receiver.zipkin.handler;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
 import java.util.zip.GZIPInputStream;
 import javax.servlet.http.HttpServletRequest;
 
-import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.oap.server.core.config.NamingControl;
 import org.apache.skywalking.oap.server.core.source.SourceReceiver;
 import org.apache.skywalking.oap.server.receiver.zipkin.ZipkinReceiverConfig;
 import org.apache.skywalking.oap.server.receiver.zipkin.trace.SpanForward;
-import zipkin2.Span;
 import zipkin2.codec.SpanBytesDecoder;
 
-@RequiredArgsConstructor
+/**
+ * SpanProcessor decodes the spans from the request body in a streaming way, and forwards them chunk by chunk. The
+ * processor is shared by all requests of the handler, the decoders and their buffers are pooled per thread.
+ */
 public class SpanProcessor {
-    private final NamingControl namingControl;
-    private final SourceReceiver receiver;
+    /**
+     * The max number of spans decoded and forwarded at once.
+     */
+    static final int CHUNK_SIZE = 100;
 
-    void convert(ZipkinReceiverConfig config, SpanBytesDecoder decoder, HttpServletRequest request) throws IOException {
-        try (InputStream inputStream = getInputStream(request)) {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            byte[] buffer = new byte[2048];
-            int readCntOnce;
+    private static final ThreadLocal<SpanStreamDecoder> DECODER = ThreadLocal.withInitial(
+        () -> new SpanStreamDecoder(CHUNK_SIZE));
 
-            while ((readCntOnce = inputStream.read(buffer)) >= 0) {
-                out.write(buffer, 0, readCntOnce);
-            }
+    private final SpanForward forward;
 
-            List<Span> spanList = decoder.decodeList(out.toByteArray());
+    public SpanProcessor(NamingControl namingControl, SourceReceiver receiver, ZipkinReceiverConfig config) {
+        this.forward = new SpanForward(namingControl, receiver, config);
+    }
 
-            SpanForward forward = new SpanForward(namingControl, receiver, config);
-            forward.send(spanList);
+    void convert(SpanBytesDecoder decoder, HttpServletRequest request) throws IOException {
+        try (InputStream inputStream = getInputStream(request)) {
+            DECODER.get().decode(inputStream, decoder, forward::send);
         }
     }
 
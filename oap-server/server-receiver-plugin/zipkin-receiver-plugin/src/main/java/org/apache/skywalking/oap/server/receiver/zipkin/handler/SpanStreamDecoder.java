@@ -0,0 +1,363 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.zipkin.handler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import zipkin2.Span;
+import zipkin2.codec.SpanBytesDecoder;
+
+/**
+ * SpanStreamDecoder decodes the spans from the input stream chunk by chunk, rather than reading the whole body before
+ * decoding.
+ *
+ * The bytes are read into a reusable buffer and scanned for the boundaries of the top level elements, which are the
+ * span objects of the JSON array, or the length-delimited spans of the proto3 ListOfSpans. Once the buffer holds
+ * {@link #chunkSize} spans, the bytes of them are decoded, then the buffer is compacted for the following bytes. So the
+ * buffer only grows up to the size of one chunk, no matter how large the body is. The thrift encoding has no cheap
+ * boundary to scan, so the whole body is buffered and decoded at once.
+ *
+ * The decoded spans are only forwarded in chunks after the whole body is decoded, so nothing is forwarded from a body
+ * malformed in the middle, and the retried request doesn't ingest the spans twice.
+ *
+ * This decoder is not thread safe, it is expected to be pooled per thread.
+ */
+class SpanStreamDecoder {
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    /**
+     * The buffer grown by a large chunk or a thrift body, and the list grown by a large body, are released after
+     * decoding, to avoid holding them in every thread.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+    private static final int PROTO3_WIRE_TYPE_LENGTH_DELIMITED = 2;
+
+    private final int chunkSize;
+    private List<Span> spans;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * The end of the read bytes in the buffer.
+     */
+    private int limit;
+    /**
+     * The position of the next byte to scan.
+     */
+    private int position;
+    /**
+     * The start of the first span in the current chunk, -1 means no span has been found since the last flush.
+     */
+    private int chunkStart = -1;
+    /**
+     * The end of the last complete span in the current chunk.
+     */
+    private int chunkEnd;
+    private int chunkCount;
+
+    private Scanner scanner;
+
+    SpanStreamDecoder(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size should be positive, but got " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.spans = new ArrayList<>(chunkSize);
+    }
+
+    /**
+     * Decode all spans in the stream, then the consumer is called once per chunk. The consumer is not called if any
+     * span is malformed. The list passed to the consumer is only valid in the call.
+     */
+    void decode(InputStream inputStream, SpanBytesDecoder decoder, Consumer<List<Span>> consumer) throws IOException {
+        try {
+            switch (decoder) {
+                case JSON_V1:
+                case JSON_V2:
+                    scanner = new JsonScanner();
+                    decodeChunks(inputStream, decoder);
+                    break;
+                case PROTO3:
+                    scanner = new Proto3Scanner();
+                    decodeChunks(inputStream, decoder);
+                    break;
+                default:
+                    decodeWhole(inputStream, decoder);
+            }
+            for (int from = 0; from < spans.size(); from += chunkSize) {
+                consumer.accept(spans.subList(from, Math.min(from + chunkSize, spans.size())));
+            }
+        } finally {
+            reset();
+        }
+    }
+
+    private void decodeChunks(InputStream inputStream, SpanBytesDecoder decoder) throws IOException {
+        while (true) {
+            if (position == limit && !fill(inputStream)) {
+                break;
+            }
+            final int end = scanner.scan(buffer, position, limit);
+            if (end < 0) {
+                position = limit;
+                continue;
+            }
+            position = end;
+            chunkEnd = end;
+            if (++chunkCount == chunkSize) {
+                flush(decoder);
+            }
+        }
+        if (!scanner.isComplete()) {
+            throw new IllegalArgumentException("Truncated span in the " + decoder.encoding() + " body");
+        }
+        flush(decoder);
+    }
+
+    private void decodeWhole(InputStream inputStream, SpanBytesDecoder decoder) throws IOException {
+        int read;
+        while ((read = inputStream.read(buffer, limit, buffer.length - limit)) >= 0) {
+            limit += read;
+            if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length << 1);
+            }
+        }
+        if (limit == 0) {
+            return;
+        }
+        decoder.decodeList(Arrays.copyOf(buffer, limit), spans);
+    }
+
+    /**
+     * Read more bytes into the buffer. The bytes before the current chunk have been decoded or skipped, so they are
+     * dropped to make room, and the buffer only grows when the current chunk fills it.
+     *
+     * @return false if the stream is at the end.
+     */
+    private boolean fill(InputStream inputStream) throws IOException {
+        if (limit == buffer.length) {
+            final int keepFrom = chunkStart >= 0 ? chunkStart : position;
+            if (keepFrom > 0) {
+                System.arraycopy(buffer, keepFrom, buffer, 0, limit - keepFrom);
+                limit -= keepFrom;
+                position -= keepFrom;
+                if (chunkStart >= 0) {
+                    chunkStart -= keepFrom;
+                    chunkEnd -= keepFrom;
+                }
+            } else {
+                buffer = Arrays.copyOf(buffer, buffer.length << 1);
+            }
+        }
+        final int read = inputStream.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    private void flush(SpanBytesDecoder decoder) {
+        if (chunkCount == 0) {
+            return;
+        }
+        decoder.decodeList(scanner.chunk(buffer, chunkStart, chunkEnd), spans);
+        chunkStart = -1;
+        chunkCount = 0;
+    }
+
+    private void reset() {
+        if (buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+            buffer = new byte[INITIAL_BUFFER_SIZE];
+        }
+        if (spans.size() > chunkSize) {
+            spans = new ArrayList<>(chunkSize);
+        } else {
+            spans.clear();
+        }
+        limit = 0;
+        position = 0;
+        chunkStart = -1;
+        chunkEnd = 0;
+        chunkCount = 0;
+        scanner = null;
+    }
+
+    private abstract class Scanner {
+        /**
+         * Scan the bytes in [from, to), mark the start of the chunk when a span starts.
+         *
+         * @return the position after the end of the first completed span, or -1 if no span is completed in the range.
+         */
+        abstract int scan(byte[] bytes, int from, int to);
+
+        /**
+         * @return true if the scanner is not in the middle of a span.
+         */
+        abstract boolean isComplete();
+
+        /**
+         * @return the bytes of the spans in [start, end), which could be decoded as a list.
+         */
+        abstract byte[] chunk(byte[] bytes, int start, int end);
+
+        void markStart(int index) {
+            if (chunkStart < 0) {
+                chunkStart = index;
+            }
+        }
+    }
+
+    /**
+     * Find the objects in the top level JSON array. Only the brackets, braces and strings are tracked, the content is
+     * left to the {@link SpanBytesDecoder}.
+     */
+    private class JsonScanner extends Scanner {
+        private boolean arrayStarted;
+        private int depth;
+        private boolean inString;
+        private boolean escaped;
+
+        @Override
+        int scan(byte[] bytes, int from, int to) {
+            for (int i = from; i < to; i++) {
+                final byte b = bytes[i];
+                if (depth == 0) {
+                    if (b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ',') {
+                        continue;
+                    }
+                    if (!arrayStarted && b == '[') {
+                        arrayStarted = true;
+                    } else if (arrayStarted && b == '{') {
+                        markStart(i);
+                        depth = 1;
+                    } else if (arrayStarted && b == ']') {
+                        arrayStarted = false;
+                    } else {
+                        throw new IllegalArgumentException("Malformed JSON span list, unexpected '" + (char) b + "'");
+                    }
+                } else if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (b == '\\') {
+                        escaped = true;
+                    } else if (b == '"') {
+                        inString = false;
+                    }
+                } else if (b == '"') {
+                    inString = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        boolean isComplete() {
+            return depth == 0;
+        }
+
+        @Override
+        byte[] chunk(byte[] bytes, int start, int end) {
+            final byte[] chunk = new byte[end - start + 2];
+            chunk[0] = '[';
+            System.arraycopy(bytes, start, chunk, 1, end - start);
+            chunk[chunk.length - 1] = ']';
+            return chunk;
+        }
+    }
+
+    /**
+     * Find the length-delimited spans of the proto3 ListOfSpans, the key and length varints are read byte by byte, and
+     * the span bytes are skipped. A run of spans is a ListOfSpans by itself.
+     */
+    private class Proto3Scanner extends Scanner {
+        private boolean readingKey = true;
+        private long varint;
+        private int varintShift;
+        private long remaining = -1;
+
+        @Override
+        int scan(byte[] bytes, int from, int to) {
+            int i = from;
+            while (i < to) {
+                if (remaining >= 0) {
+                    final int skip = (int) Math.min(remaining, to - i);
+                    i += skip;
+                    remaining -= skip;
+                    if (remaining == 0) {
+                        remaining = -1;
+                        return i;
+                    }
+                    continue;
+                }
+                final byte b = bytes[i];
+                if (readingKey && varintShift == 0) {
+                    markStart(i);
+                }
+                varint |= (long) (b & 0x7f) << varintShift;
+                varintShift += 7;
+                i++;
+                if ((b & 0x80) != 0) {
+                    if (varintShift > 63) {
+                        throw new IllegalArgumentException("Malformed proto3 span list, varint is too long");
+                    }
+                    continue;
+                }
+                if (readingKey) {
+                    if ((varint & 0x07) != PROTO3_WIRE_TYPE_LENGTH_DELIMITED) {
+                        throw new IllegalArgumentException(
+                            "Malformed proto3 span list, unexpected wire type " + (varint & 0x07));
+                    }
+                    readingKey = false;
+                } else {
+                    if (varint < 0 || varint > Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Malformed proto3 span list, span length " + varint);
+                    }
+                    readingKey = true;
+                    remaining = varint;
+                    if (remaining == 0) {
+                        remaining = -1;
+                        varint = 0;
+                        varintShift = 0;
+                        return i;
+                    }
+                }
+                varint = 0;
+                varintShift = 0;
+            }
+            return -1;
+        }
+
+        @Override
+        boolean isComplete() {
+            return readingKey && varintShift == 0 && remaining < 0;
+        }
+
+        @Override
+        byte[] chunk(byte[] bytes, int start, int end) {
+            return Arrays.copyOfRange(bytes, start, end);
+        }
+    }
+}
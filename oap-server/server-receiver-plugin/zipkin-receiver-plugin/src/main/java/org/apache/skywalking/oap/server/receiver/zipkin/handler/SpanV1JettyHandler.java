@@ -36,16 +36,14 @@ import zipkin2.codec.SpanBytesDecoder;
 
 @Slf4j
 public class SpanV1JettyHandler extends JettyHandler {
-    private final ZipkinReceiverConfig config;
-    private final SourceReceiver sourceReceiver;
-    private final NamingControl namingControl;
+    private final SpanProcessor processor;
     private final HistogramMetrics histogram;
     private final CounterMetrics errorCounter;
 
     public SpanV1JettyHandler(ZipkinReceiverConfig config, ModuleManager manager) {
-        sourceReceiver = manager.find(CoreModule.NAME).provider().getService(SourceReceiver.class);
-        namingControl = manager.find(CoreModule.NAME).provider().getService(NamingControl.class);
-        this.config = config;
+        SourceReceiver sourceReceiver = manager.find(CoreModule.NAME).provider().getService(SourceReceiver.class);
+        NamingControl namingControl = manager.find(CoreModule.NAME).provider().getService(NamingControl.class);
+        processor = new SpanProcessor(namingControl, sourceReceiver, config);
         MetricsCreator metricsCreator = manager.find(TelemetryModule.NAME)
                 .provider()
                 .getService(MetricsCreator.class);
@@ -75,8 +73,7 @@ public class SpanV1JettyHandler extends JettyHandler {
 
             SpanBytesDecoder decoder = SpanEncode.isThrift(encode) ? SpanBytesDecoder.THRIFT : SpanBytesDecoder.JSON_V1;
 
-            SpanProcessor processor = new SpanProcessor(namingControl, sourceReceiver);
-            processor.convert(config, decoder, request);
+            processor.convert(decoder, request);
 
             response.setStatus(202);
         } catch (Exception e) {
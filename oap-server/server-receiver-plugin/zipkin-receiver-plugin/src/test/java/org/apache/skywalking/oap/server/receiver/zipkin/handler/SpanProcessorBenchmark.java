@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.zipkin.handler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.core.analysis.DispatcherDetectorListener;
+import org.apache.skywalking.oap.server.core.config.NamingControl;
+import org.apache.skywalking.oap.server.core.config.group.EndpointNameGrouping;
+import org.apache.skywalking.oap.server.core.source.ISource;
+import org.apache.skywalking.oap.server.core.source.SourceReceiver;
+import org.apache.skywalking.oap.server.receiver.zipkin.ZipkinReceiverConfig;
+import org.apache.skywalking.oap.server.receiver.zipkin.trace.SpanForward;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import zipkin2.Endpoint;
+import zipkin2.Span;
+import zipkin2.codec.SpanBytesDecoder;
+import zipkin2.codec.SpanBytesEncoder;
+
+/**
+ * Compare the streaming decoding of {@link SpanProcessor} with the previous way, which reads the whole body before
+ * decoding, and creates the {@link SpanForward} per request.
+ */
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpanProcessorBenchmark {
+
+    @State(Scope.Thread)
+    public static class MyState {
+        @Param({
+            "JSON_V2",
+            "PROTO3"
+        })
+        private String encoding;
+        @Param({"1000"})
+        private int spanNumber;
+
+        private SpanBytesDecoder decoder;
+        private byte[] body;
+        private ZipkinReceiverConfig config;
+        private NamingControl namingControl;
+        private BlackholeSourceReceiver receiver;
+        private SpanForward forward;
+        private SpanStreamDecoder streamDecoder;
+
+        @Setup
+        public void setup(Blackhole blackhole) {
+            decoder = SpanBytesDecoder.valueOf(encoding);
+            final List<Span> spans = new ArrayList<>(spanNumber);
+            for (int i = 0; i < spanNumber; i++) {
+                spans.add(Span.newBuilder()
+                              .traceId("463ac35c9f6413ad48485a3953bb" + String.format("%04x", i % 0xffff))
+                              .id(String.format("%016x", i + 1))
+                              .parentId("0000000000000001")
+                              .name("get /api/v1/users")
+                              .kind(Span.Kind.SERVER)
+                              .localEndpoint(Endpoint.newBuilder().serviceName("frontend").ip("192.168.99.1").build())
+                              .remoteEndpoint(Endpoint.newBuilder().serviceName("backend").ip("172.19.0.2").build())
+                              .timestamp(1472470996199000L + i)
+                              .duration(207000L)
+                              .putTag("http.method", "GET")
+                              .putTag("http.path", "/api/v1/users")
+                              .build());
+            }
+            body = SpanBytesEncoder.valueOf(encoding).encodeList(spans);
+            config = new ZipkinReceiverConfig();
+            namingControl = new NamingControl(70, 100, 100, new EndpointNameGrouping());
+            receiver = new BlackholeSourceReceiver(blackhole);
+            forward = new SpanForward(namingControl, receiver, config);
+            streamDecoder = new SpanStreamDecoder(SpanProcessor.CHUNK_SIZE);
+        }
+    }
+
+    @Benchmark
+    public void readWholeBody(MyState state) throws IOException {
+        try (InputStream inputStream = new ByteArrayInputStream(state.body)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[2048];
+            int readCntOnce;
+
+            while ((readCntOnce = inputStream.read(buffer)) >= 0) {
+                out.write(buffer, 0, readCntOnce);
+            }
+
+            List<Span> spanList = state.decoder.decodeList(out.toByteArray());
+
+            SpanForward forward = new SpanForward(state.namingControl, state.receiver, state.config);
+            forward.send(spanList);
+        }
+    }
+
+    @Benchmark
+    public void decodeStream(MyState state) throws IOException {
+        try (InputStream inputStream = new ByteArrayInputStream(state.body)) {
+            state.streamDecoder.decode(inputStream, state.decoder, state.forward::send);
+        }
+    }
+
+    private static class BlackholeSourceReceiver implements SourceReceiver {
+        private final Blackhole blackhole;
+
+        BlackholeSourceReceiver(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void receive(ISource source) {
+            blackhole.consume(source);
+        }
+
+        @Override
+        public DispatcherDetectorListener getDispatcherDetectorListener() {
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(SpanProcessorBenchmark.class.getName())
+            .addProfiler("gc")
+            .build();
+        new Runner(opt).run();
+    }
+}
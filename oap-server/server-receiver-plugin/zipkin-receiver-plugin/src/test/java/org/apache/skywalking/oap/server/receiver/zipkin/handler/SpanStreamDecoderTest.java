@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.zipkin.handler;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import zipkin2.Endpoint;
+import zipkin2.Span;
+import zipkin2.codec.SpanBytesDecoder;
+import zipkin2.codec.SpanBytesEncoder;
+
+public class SpanStreamDecoderTest {
+    private static final int SPAN_NUMBER = 203;
+
+    @Test
+    public void testDecodeJsonV2() throws IOException {
+        assertDecode(SpanBytesEncoder.JSON_V2, SpanBytesDecoder.JSON_V2);
+    }
+
+    @Test
+    public void testDecodeJsonV1() throws IOException {
+        assertDecode(SpanBytesEncoder.JSON_V1, SpanBytesDecoder.JSON_V1);
+    }
+
+    @Test
+    public void testDecodeProto3() throws IOException {
+        assertDecode(SpanBytesEncoder.PROTO3, SpanBytesDecoder.PROTO3);
+    }
+
+    @Test
+    public void testDecodeThrift() throws IOException {
+        assertDecode(SpanBytesEncoder.THRIFT, SpanBytesDecoder.THRIFT);
+    }
+
+    @Test
+    public void testDecodeEmptyList() throws IOException {
+        final SpanStreamDecoder decoder = new SpanStreamDecoder(10);
+        final List<List<Span>> chunks = new ArrayList<>();
+        decoder.decode(new ByteArrayInputStream("[ ]".getBytes()), SpanBytesDecoder.JSON_V2,
+                       spans -> chunks.add(new ArrayList<>(spans))
+        );
+        Assert.assertTrue(chunks.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedJson() throws IOException {
+        final byte[] bytes = SpanBytesEncoder.JSON_V2.encodeList(spans());
+        new SpanStreamDecoder(10).decode(
+            new ByteArrayInputStream(bytes, 0, bytes.length - 10), SpanBytesDecoder.JSON_V2, spans -> {
+            });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedProto3() throws IOException {
+        final byte[] bytes = SpanBytesEncoder.PROTO3.encodeList(spans());
+        new SpanStreamDecoder(10).decode(
+            new ByteArrayInputStream(bytes, 0, bytes.length - 10), SpanBytesDecoder.PROTO3, spans -> {
+            });
+    }
+
+    @Test
+    public void testMalformedJsonInTheMiddle() throws IOException {
+        final byte[] bytes = SpanBytesEncoder.JSON_V2.encodeList(spans());
+        // Break the span after the first chunks, the spans before it should not be forwarded.
+        final int broken = indexOf(bytes, "\"name\":\"get /api/{id}/[150]\"".getBytes());
+        bytes[broken + "\"name\"".length()] = 'x';
+        assertNothingForwarded(bytes, SpanBytesDecoder.JSON_V2);
+    }
+
+    @Test
+    public void testMalformedProto3InTheMiddle() throws IOException {
+        final byte[] bytes = SpanBytesEncoder.PROTO3.encodeList(spans());
+        // Replace the key of the span after the first chunks by an unexpected wire type.
+        final int broken = bytes.length * 3 / 4;
+        int position = 0;
+        while (position < broken) {
+            position += 1 + varintSize(bytes, position + 1) + readVarint(bytes, position + 1);
+        }
+        bytes[position] = 0x0b;
+        assertNothingForwarded(bytes, SpanBytesDecoder.PROTO3);
+    }
+
+    private static void assertNothingForwarded(byte[] bytes, SpanBytesDecoder bytesDecoder) throws IOException {
+        final SpanStreamDecoder decoder = new SpanStreamDecoder(50);
+        final List<Span> forwarded = new ArrayList<>();
+        try {
+            decoder.decode(new SlowInputStream(bytes), bytesDecoder, forwarded::addAll);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(forwarded.isEmpty());
+        }
+
+        // The decoder is reusable after the failure.
+        decoder.decode(new ByteArrayInputStream(SpanBytesEncoder.JSON_V2.encodeList(spans())),
+                       SpanBytesDecoder.JSON_V2, forwarded::addAll
+        );
+        Assert.assertEquals(spans(), forwarded);
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i + target.length <= bytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + target.length), target)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not found");
+    }
+
+    private static int readVarint(byte[] bytes, int position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            final byte b = bytes[position++];
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static int varintSize(byte[] bytes, int position) {
+        int size = 1;
+        while ((bytes[position++] & 0x80) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private void assertDecode(SpanBytesEncoder encoder, SpanBytesDecoder bytesDecoder) throws IOException {
+        final List<Span> expected = spans();
+        final byte[] bytes = encoder.encodeList(expected);
+        // The chunk is larger than the initial buffer, and the body is larger than the chunk, so the buffer is grown
+        // and compacted. Reuse the decoder to make sure nothing is left from the previous decoding.
+        final SpanStreamDecoder decoder = new SpanStreamDecoder(50);
+        for (int i = 0; i < 2; i++) {
+            final List<Span> decoded = new ArrayList<>();
+            final List<Integer> chunkSizes = new ArrayList<>();
+            decoder.decode(new SlowInputStream(bytes), bytesDecoder, spans -> {
+                chunkSizes.add(spans.size());
+                decoded.addAll(spans);
+            });
+            Assert.assertEquals(expected, decoded);
+            Assert.assertEquals(Arrays.asList(50, 50, 50, 50, 3), chunkSizes);
+        }
+    }
+
+    private static List<Span> spans() {
+        final List<Span> spans = new ArrayList<>();
+        for (int i = 0; i < SPAN_NUMBER; i++) {
+            spans.add(Span.newBuilder()
+                          .traceId("463ac35c9f6413ad48485a3953bb" + String.format("%04x", i))
+                          .id(String.format("%016x", i + 1))
+                          .name("get /api/{id}/[" + i + "]")
+                          .kind(Span.Kind.SERVER)
+                          .localEndpoint(Endpoint.newBuilder().serviceName("frontend").ip("192.168.99.1").build())
+                          .timestamp(1472470996199000L + i)
+                          .duration(207000L)
+                          .putTag("http.path", "/api/\"quoted\"/{" + i + "}")
+                          .putTag("escaped", "\\" + i + "\\")
+                          .build());
+        }
+        return spans;
+    }
+
+    /**
+     * Return at most 7 bytes per read, to split the spans across the reads.
+     */
+    private static class SlowInputStream extends ByteArrayInputStream {
+        SlowInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 7));
+        }
+    }
+}
@@ -43,15 +43,32 @@ public class SQLExecutor implements InsertRequest, UpdateRequest {
     }
 
     public void invoke(Connection connection) throws SQLException {
-        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            setParameters(preparedStatement);
 
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("execute sql in batch: {}, parameters: {}", sql, param);
+            }
+            preparedStatement.execute();
+        }
+    }
+
+    /**
+     * Bind the parameters of this executor to the given statement, which must be prepared from the same {@link #sql}.
+     * This makes the statement reusable for all executors sharing the same SQL in {@link PreparedStatement#addBatch()}.
+     */
+    public void setParameters(PreparedStatement preparedStatement) throws SQLException {
         for (int i = 0; i < param.size(); i++) {
             preparedStatement.setObject(i + 1, param.get(i));
         }
+    }
 
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("execute sql in batch: {}, parameters: {}", sql, param);
-        }
-        preparedStatement.execute();
+    public String getSql() {
+        return sql;
+    }
+
+    @Override
+    public String toString() {
+        return "sql: " + sql + ", parameters: " + param;
     }
 }
@@ -18,9 +18,15 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.BulkConsumePool;
@@ -37,6 +43,11 @@ import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
 
 @Slf4j
 public class H2BatchDAO implements IBatchDAO {
+    /**
+     * The max number of statements in one JDBC batch execution.
+     */
+    private static final int MAX_BATCH_SIZE = 2000;
+
     private JDBCHikariCPClient h2Client;
     private final DataCarrier<PrepareRequest> dataCarrier;
 
@@ -65,14 +76,19 @@ public class H2BatchDAO implements IBatchDAO {
             log.debug("batch sql statements execute, data size: {}", prepareRequests.size());
         }
 
+        // Group the SQL executors by the SQL text, every group shares one prepared statement in batch execution.
+        final Map<String, List<SQLExecutor>> groupedExecutors = new LinkedHashMap<>();
+        for (PrepareRequest prepareRequest : prepareRequests) {
+            SQLExecutor sqlExecutor = (SQLExecutor) prepareRequest;
+            groupedExecutors.computeIfAbsent(sqlExecutor.getSql(), sql -> new ArrayList<>()).add(sqlExecutor);
+        }
+
         try (Connection connection = h2Client.getConnection()) {
-            for (PrepareRequest prepareRequest : prepareRequests) {
-                try {
-                    SQLExecutor sqlExecutor = (SQLExecutor) prepareRequest;
-                    sqlExecutor.invoke(connection);
-                } catch (SQLException e) {
-                    // Just avoid one execution failure makes the rest of batch failure.
-                    log.error(e.getMessage(), e);
+            for (Map.Entry<String, List<SQLExecutor>> group : groupedExecutors.entrySet()) {
+                final List<SQLExecutor> sqlExecutors = group.getValue();
+                int from = 0;
+                while (from < sqlExecutors.size()) {
+                    from = executeBatch(connection, group.getKey(), sqlExecutors, from);
                 }
             }
         } catch (SQLException | JDBCClientException e) {
@@ -80,6 +96,55 @@ public class H2BatchDAO implements IBatchDAO {
         }
     }
 
+    /**
+     * Execute the SQL executors in [from, from + {@link #MAX_BATCH_SIZE}) through one batch execution. One execution
+     * failure doesn't make the rest of batch failure, the failed executions are logged and retried one by one.
+     *
+     * @return the index of the next SQL executor to execute.
+     */
+    private int executeBatch(Connection connection, String sql, List<SQLExecutor> sqlExecutors, int from) {
+        final int to = Math.min(from + MAX_BATCH_SIZE, sqlExecutors.size());
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (int i = from; i < to; i++) {
+                sqlExecutors.get(i).setParameters(preparedStatement);
+                preparedStatement.addBatch();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("execute sql in batch: {}, batch size: {}", sql, to - from);
+            }
+            preparedStatement.executeBatch();
+            return to;
+        } catch (BatchUpdateException e) {
+            final int[] updateCounts = e.getUpdateCounts();
+            if (updateCounts == null || updateCounts.length < to - from) {
+                // The driver stopped at the first failed execution, skip it and continue with the rest.
+                final int failed = from + (updateCounts == null ? 0 : updateCounts.length);
+                log.error("Failed to execute {}", sqlExecutors.get(failed), e);
+                return failed + 1;
+            }
+            // The driver continued after the failure, but a rewritten multi-row statement fails all rows in it,
+            // so retry the failed executions one by one.
+            for (int i = 0; i < updateCounts.length; i++) {
+                if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                    invoke(connection, sqlExecutors.get(from + i));
+                }
+            }
+            return to;
+        } catch (SQLException e) {
+            log.error(e.getMessage(), e);
+            return to;
+        }
+    }
+
+    private void invoke(Connection connection, SQLExecutor sqlExecutor) {
+        try {
+            sqlExecutor.invoke(connection);
+        } catch (SQLException e) {
+            // Just avoid one execution failure makes the rest of batch failure.
+            log.error(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void insert(InsertRequest insertRequest) {
         this.dataCarrier.produce(insertRequest);
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class H2BatchDAOTest {
+    private static final String INSERT = "insert into batch_test(id, amount) values (?, ?)";
+    private static final String UPDATE = "update batch_test set amount = ? where id = ?";
+
+    private JDBCHikariCPClient client;
+    private H2BatchDAO batchDAO;
+
+    @Before
+    public void setUp() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        properties.setProperty("dataSource.url", "jdbc:h2:mem:batch-test;DB_CLOSE_DELAY=-1");
+        properties.setProperty("dataSource.user", "sa");
+        client = new JDBCHikariCPClient(properties);
+        client.connect();
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "create table batch_test(id varchar(20) primary key, amount int)");
+        }
+        batchDAO = new H2BatchDAO(client);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "drop table batch_test");
+        }
+        client.shutdown();
+    }
+
+    @Test
+    public void testFlush() throws Exception {
+        List<PrepareRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            requests.add(new SQLExecutor(INSERT, Arrays.asList("id-" + i, i)));
+        }
+        requests.add(new SQLExecutor(UPDATE, Arrays.asList(-1, "id-0")));
+        batchDAO.flush(requests);
+
+        Assert.assertEquals(5000, count());
+        Assert.assertEquals(-1, valueOf("id-0"));
+    }
+
+    @Test
+    public void testFailureIsolation() throws Exception {
+        batchDAO.flush(Arrays.asList(new SQLExecutor(INSERT, Arrays.asList("id-1", 1))));
+
+        List<PrepareRequest> requests = new ArrayList<>();
+        requests.add(new SQLExecutor(INSERT, Arrays.asList("id-0", 0)));
+        // Duplicate primary key.
+        requests.add(new SQLExecutor(INSERT, Arrays.asList("id-1", 100)));
+        requests.add(new SQLExecutor(INSERT, Arrays.asList("id-2", 2)));
+        batchDAO.flush(requests);
+
+        Assert.assertEquals(3, count());
+        Assert.assertEquals(1, valueOf("id-1"));
+        Assert.assertEquals(2, valueOf("id-2"));
+    }
+
+    private int count() throws Exception {
+        try (Connection connection = client.getConnection();
+             ResultSet resultSet = client.executeQuery(connection, "select count(1) from batch_test")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private int valueOf(String id) throws Exception {
+        try (Connection connection = client.getConnection();
+             ResultSet resultSet = client.executeQuery(
+                 connection, "select amount from batch_test where id = ?", id)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}